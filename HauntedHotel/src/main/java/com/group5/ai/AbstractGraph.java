@@ -0,0 +1,393 @@
+package com.group5.ai;
+
+import com.group5.tile.CollisionMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * The {@code AbstractGraph} class is the precomputed high level graph used by hierarchical
+ * pathfinding (HPA*).
+ *
+ * <p>The map is split into square clusters. Wherever two neighbouring clusters share a
+ * walkable stretch of border, an entrance is placed (one in the middle of short stretches,
+ * one at each end of long ones), giving a pair of abstract nodes joined by a one-step edge.
+ * Inside every cluster the step distance between each pair of its abstract nodes is found
+ * with a breadth-first search limited to the cluster, which gives the intra-cluster edges.
+ * Searching this graph touches a few nodes per cluster instead of every tile, and only the
+ * segments the entity is about to walk need to be refined into tiles.</p>
+ *
+ * <p>The graph is immutable and built from one {@link CollisionMap}; when the map changes a
+ * new graph is built.</p>
+ *
+ * @author Group 5
+ * @version 1.0
+ */
+public final class AbstractGraph {
+
+    /** Default width and height of a cluster in tiles. */
+    public static final int DEFAULT_CLUSTER_SIZE = 10;
+
+    /** Border stretches at least this long get an entrance at each end instead of one in the middle. */
+    private static final int MIN_SPLIT_ENTRANCE = 6;
+
+    /** Walkability grid the graph was built from. */
+    private final CollisionMap collision;
+
+    /** Map size and cluster layout. */
+    private final int cols, rows, clusterSize, clustersX, clustersY;
+
+    /** Tile index ({@code row * cols + col}) of every abstract node. */
+    private int[] nodeTile;
+
+    /** Neighbours and edge costs of every abstract node. */
+    private int[][] edgeTo, edgeCost;
+
+    /** Abstract nodes of every cluster. */
+    private int[][] clusterNodes;
+
+    private AbstractGraph(CollisionMap collision, int clusterSize) {
+        this.collision = collision;
+        this.cols = collision.getCols();
+        this.rows = collision.getRows();
+        this.clusterSize = clusterSize;
+        this.clustersX = (cols + clusterSize - 1) / clusterSize;
+        this.clustersY = (rows + clusterSize - 1) / clusterSize;
+    }
+
+    /**
+     * Builds the graph with the default cluster size.
+     *
+     * @param collision the walkability grid
+     * @return the abstract graph
+     */
+    public static AbstractGraph build(CollisionMap collision) {
+        return build(collision, DEFAULT_CLUSTER_SIZE);
+    }
+
+    /**
+     * Builds the graph: finds the entrances between clusters and the distances between
+     * the entrances of each cluster.
+     *
+     * @param collision the walkability grid
+     * @param clusterSize width and height of a cluster in tiles
+     * @return the abstract graph
+     */
+    public static AbstractGraph build(CollisionMap collision, int clusterSize) {
+        if (clusterSize < 2) {
+            throw new IllegalArgumentException("Cluster size must be at least 2");
+        }
+        AbstractGraph graph = new AbstractGraph(collision, clusterSize);
+        graph.buildGraph();
+        return graph;
+    }
+
+    private void buildGraph() {
+        HashMap<Integer, Integer> ids = new HashMap<>();
+        ArrayList<Integer> tiles = new ArrayList<>();
+        ArrayList<ArrayList<int[]>> edges = new ArrayList<>();
+
+        // ENTRANCES BETWEEN HORIZONTAL NEIGHBOURS
+        for (int cy = 0; cy < clustersY; cy++) {
+            for (int cx = 0; cx < clustersX - 1; cx++) {
+                int leftCol = (cx + 1) * clusterSize - 1;
+                int top = cy * clusterSize;
+                int bottom = Math.min(rows, top + clusterSize) - 1;
+                int segmentStart = -1;
+                for (int row = top; row <= bottom + 1; row++) {
+                    boolean open = row <= bottom
+                            && !collision.isSolid(leftCol, row) && !collision.isSolid(leftCol + 1, row);
+                    if (open && segmentStart < 0) {
+                        segmentStart = row;
+                    } else if (!open && segmentStart >= 0) {
+                        for (int row2 : entrancePositions(segmentStart, row - 1)) {
+                            link(tileIndex(leftCol, row2), tileIndex(leftCol + 1, row2), ids, tiles, edges);
+                        }
+                        segmentStart = -1;
+                    }
+                }
+            }
+        }
+
+        // ENTRANCES BETWEEN VERTICAL NEIGHBOURS
+        for (int cy = 0; cy < clustersY - 1; cy++) {
+            for (int cx = 0; cx < clustersX; cx++) {
+                int topRow = (cy + 1) * clusterSize - 1;
+                int left = cx * clusterSize;
+                int right = Math.min(cols, left + clusterSize) - 1;
+                int segmentStart = -1;
+                for (int col = left; col <= right + 1; col++) {
+                    boolean open = col <= right
+                            && !collision.isSolid(col, topRow) && !collision.isSolid(col, topRow + 1);
+                    if (open && segmentStart < 0) {
+                        segmentStart = col;
+                    } else if (!open && segmentStart >= 0) {
+                        for (int col2 : entrancePositions(segmentStart, col - 1)) {
+                            link(tileIndex(col2, topRow), tileIndex(col2, topRow + 1), ids, tiles, edges);
+                        }
+                        segmentStart = -1;
+                    }
+                }
+            }
+        }
+
+        int nodeCount = tiles.size();
+        nodeTile = new int[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            nodeTile[i] = tiles.get(i);
+        }
+
+        // GROUP NODES BY CLUSTER
+        int[] clusterCount = new int[clustersX * clustersY];
+        for (int i = 0; i < nodeCount; i++) {
+            clusterCount[clusterOf(nodeTile[i])]++;
+        }
+        clusterNodes = new int[clusterCount.length][];
+        for (int c = 0; c < clusterCount.length; c++) {
+            clusterNodes[c] = new int[clusterCount[c]];
+        }
+        Arrays.fill(clusterCount, 0);
+        for (int i = 0; i < nodeCount; i++) {
+            int c = clusterOf(nodeTile[i]);
+            clusterNodes[c][clusterCount[c]++] = i;
+        }
+
+        // INTRA-CLUSTER DISTANCES
+        Scratch scratch = newScratch();
+        for (int c = 0; c < clusterNodes.length; c++) {
+            for (int u : clusterNodes[c]) {
+                clusterSearch(c, nodeTile[u], scratch);
+                for (int v : clusterNodes[c]) {
+                    if (v != u) {
+                        int d = scratch.dist[toLocal(c, nodeTile[v])];
+                        if (d > 0) {
+                            edges.get(u).add(new int[] {v, d});
+                        }
+                    }
+                }
+            }
+        }
+
+        edgeTo = new int[nodeCount][];
+        edgeCost = new int[nodeCount][];
+        for (int i = 0; i < nodeCount; i++) {
+            ArrayList<int[]> list = edges.get(i);
+            edgeTo[i] = new int[list.size()];
+            edgeCost[i] = new int[list.size()];
+            for (int e = 0; e < list.size(); e++) {
+                edgeTo[i][e] = list.get(e)[0];
+                edgeCost[i][e] = list.get(e)[1];
+            }
+        }
+    }
+
+    /** Positions of the entrances placed on a walkable border stretch. */
+    private static int[] entrancePositions(int start, int end) {
+        if (end - start + 1 >= MIN_SPLIT_ENTRANCE) {
+            return new int[] {start, end};
+        }
+        return new int[] {(start + end) / 2};
+    }
+
+    /** Adds a pair of abstract nodes on both sides of a border joined by a one-step edge. */
+    private void link(int tileA, int tileB, HashMap<Integer, Integer> ids,
+                      ArrayList<Integer> tiles, ArrayList<ArrayList<int[]>> edges) {
+        int a = nodeFor(tileA, ids, tiles, edges);
+        int b = nodeFor(tileB, ids, tiles, edges);
+        edges.get(a).add(new int[] {b, 1});
+        edges.get(b).add(new int[] {a, 1});
+    }
+
+    private static int nodeFor(int tile, HashMap<Integer, Integer> ids,
+                               ArrayList<Integer> tiles, ArrayList<ArrayList<int[]>> edges) {
+        Integer id = ids.get(tile);
+        if (id == null) {
+            id = tiles.size();
+            ids.put(tile, id);
+            tiles.add(tile);
+            edges.add(new ArrayList<>());
+        }
+        return id;
+    }
+
+    /**
+     * Breadth-first search from a tile limited to one cluster. Afterwards {@code scratch.dist}
+     * holds the step distance of every tile of the cluster (by local index), or {@code -1}.
+     * The start tile is expanded even if it is solid.
+     *
+     * @param cluster the cluster to search in
+     * @param fromTile the tile index to start from; must lie in the cluster
+     * @param scratch work arrays from {@link #newScratch()}
+     */
+    void clusterSearch(int cluster, int fromTile, Scratch scratch) {
+        clusterSearch(cluster, fromTile, -1, scratch);
+    }
+
+    /**
+     * Same as {@link #clusterSearch(int, int, Scratch)}, but {@code goalTile} can be
+     * reached even if it is solid, matching {@link Pathfinder}'s treatment of the goal.
+     */
+    void clusterSearch(int cluster, int fromTile, int goalTile, Scratch scratch) {
+        int goalLocal = goalTile < 0 ? -1 : toLocal(cluster, goalTile);
+        int x0 = (cluster % clustersX) * clusterSize;
+        int y0 = (cluster / clustersX) * clusterSize;
+        int width = Math.min(clusterSize, cols - x0);
+        int height = Math.min(clusterSize, rows - y0);
+
+        int[] dist = scratch.dist;
+        int[] parent = scratch.parent;
+        int[] queue = scratch.queue;
+        Arrays.fill(dist, -1);
+
+        int from = toLocal(cluster, fromTile);
+        dist[from] = 0;
+        parent[from] = -1;
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = from;
+
+        while (head < tail) {
+            int local = queue[head++];
+            int lx = local % clusterSize;
+            int ly = local / clusterSize;
+            for (int d = 0; d < 4; d++) {
+                int nx = lx + (d == 0 ? -1 : d == 1 ? 1 : 0);
+                int ny = ly + (d == 2 ? -1 : d == 3 ? 1 : 0);
+                if (nx < 0 || ny < 0 || nx >= width || ny >= height) {
+                    continue;
+                }
+                int next = ny * clusterSize + nx;
+                if (dist[next] < 0 && (next == goalLocal || !collision.isSolid(x0 + nx, y0 + ny))) {
+                    dist[next] = dist[local] + 1;
+                    parent[next] = local;
+                    queue[tail++] = next;
+                }
+            }
+        }
+    }
+
+    /**
+     * Refines one segment of an abstract path into tiles. The two tiles are either
+     * neighbours across a cluster border or lie in the same cluster.
+     *
+     * @param fromTile the tile index the segment starts at
+     * @param toTile the tile index the segment ends at
+     * @param scratch work arrays from {@link #newScratch()}
+     * @return the number of tiles written to {@code scratch.path} (excluding {@code fromTile}),
+     *         or {@code -1} if there is no path inside the cluster
+     */
+    public int refine(int fromTile, int toTile, Scratch scratch) {
+        int fromCol = fromTile % cols, fromRow = fromTile / cols;
+        int toCol = toTile % cols, toRow = toTile / cols;
+        if (Math.abs(fromCol - toCol) + Math.abs(fromRow - toRow) == 1) {
+            scratch.path[0] = toTile;
+            return 1;
+        }
+
+        int cluster = clusterOf(fromTile);
+        if (cluster != clusterOf(toTile)) {
+            return -1;
+        }
+        clusterSearch(cluster, fromTile, toTile, scratch);
+        int local = toLocal(cluster, toTile);
+        int length = scratch.dist[local];
+        if (length < 0) {
+            return -1;
+        }
+        int x0 = (cluster % clustersX) * clusterSize;
+        int y0 = (cluster / clustersX) * clusterSize;
+        for (int i = length - 1; i >= 0; i--) {
+            scratch.path[i] = tileIndex(x0 + local % clusterSize, y0 + local / clusterSize);
+            local = scratch.parent[local];
+        }
+        return length;
+    }
+
+    /** @return new work arrays sized for this graph's clusters */
+    public Scratch newScratch() {
+        return new Scratch(clusterSize);
+    }
+
+    /**
+     * Work arrays for cluster-limited searches, so the immutable graph can be used by
+     * several threads at once. Each thread needs its own {@code Scratch}.
+     */
+    public static final class Scratch {
+        final int[] dist, parent, queue;
+        /** Tiles written by {@link AbstractGraph#refine(int, int, Scratch)}. */
+        public final int[] path;
+
+        Scratch(int clusterSize) {
+            int cells = clusterSize * clusterSize;
+            dist = new int[cells];
+            parent = new int[cells];
+            queue = new int[cells];
+            path = new int[cells];
+        }
+    }
+
+    /**
+     * @param col the tile column
+     * @param row the tile row
+     * @return the row-major tile index
+     */
+    public int tileIndex(int col, int row) {
+        return row * cols + col;
+    }
+
+    /**
+     * @param tile a tile index
+     * @return the cluster containing the tile
+     */
+    public int clusterOf(int tile) {
+        return (tile / cols / clusterSize) * clustersX + (tile % cols) / clusterSize;
+    }
+
+    /** Index of a tile inside its cluster's work arrays. */
+    int toLocal(int cluster, int tile) {
+        int x0 = (cluster % clustersX) * clusterSize;
+        int y0 = (cluster / clustersX) * clusterSize;
+        return (tile / cols - y0) * clusterSize + (tile % cols - x0);
+    }
+
+    /** @return the collision map this graph was built from */
+    public CollisionMap getCollision() {
+        return collision;
+    }
+
+    /** @return the number of map columns */
+    public int getCols() {
+        return cols;
+    }
+
+    /** @return the cluster width and height in tiles */
+    public int getClusterSize() {
+        return clusterSize;
+    }
+
+    /** @return the number of abstract nodes */
+    public int getNodeCount() {
+        return nodeTile.length;
+    }
+
+    /** @return the tile index of an abstract node */
+    int nodeTile(int node) {
+        return nodeTile[node];
+    }
+
+    /** @return the neighbours of an abstract node */
+    int[] edgeTo(int node) {
+        return edgeTo[node];
+    }
+
+    /** @return the costs of the edges returned by {@link #edgeTo(int)} */
+    int[] edgeCost(int node) {
+        return edgeCost[node];
+    }
+
+    /** @return the abstract nodes of a cluster */
+    int[] clusterNodes(int cluster) {
+        return clusterNodes[cluster];
+    }
+}
@@ -0,0 +1,184 @@
+package com.group5.ai;
+
+import com.group5.tile.CollisionMap;
+
+import java.util.Arrays;
+
+/**
+ * The {@code FlowField} class is a Dijkstra map toward a single goal tile: a breadth-first
+ * search over the walkability grid stores every tile's step distance to the goal.
+ *
+ * <p>The field is rebuilt only when the goal tile or the collision map changes. Any number of
+ * entities can then read their next step in constant time by moving to the neighbouring
+ * tile with the smallest distance, so chasing the player costs one BFS per player tile
+ * change instead of one A* search per monster.</p>
+ *
+ * @author Group 5
+ * @version 1.0
+ */
+public class FlowField {
+
+    /** Distance of tiles that cannot reach the goal. */
+    public static final int UNREACHABLE = -1;
+
+    /** Neighbour orders used by {@link #nextStep(int, int)}: left, right, up, down or up, down, left, right. */
+    private static final int[] HORIZONTAL_FIRST_COL = {-1, 1, 0, 0};
+    private static final int[] HORIZONTAL_FIRST_ROW = {0, 0, -1, 1};
+    private static final int[] VERTICAL_FIRST_COL = {0, 0, -1, 1};
+    private static final int[] VERTICAL_FIRST_ROW = {-1, 1, 0, 0};
+
+    /** Size of the grid. */
+    private final int cols, rows;
+
+    /** Step distance of every tile to the goal, in row-major order. */
+    private final int[] distance;
+
+    /** BFS queue of tile indexes, reused between builds. */
+    private final int[] queue;
+
+    /** Collision map the field was built on. */
+    private CollisionMap collision;
+
+    /** Goal tile the field leads to. */
+    private int goalCol = -1, goalRow = -1;
+
+    /** Number of times the field was rebuilt. */
+    private int builds = 0;
+
+    /**
+     * Constructs an empty flow field for a grid.
+     *
+     * @param cols number of columns
+     * @param rows number of rows
+     */
+    public FlowField(int cols, int rows) {
+        this.cols = cols;
+        this.rows = rows;
+        distance = new int[cols * rows];
+        queue = new int[cols * rows];
+        Arrays.fill(distance, UNREACHABLE);
+    }
+
+    /**
+     * Points the field at a goal, rebuilding it only if the goal or the map changed.
+     *
+     * @param collision the walkability grid
+     * @param goalCol the goal column
+     * @param goalRow the goal row
+     * @return {@code true} if the field was rebuilt
+     */
+    public boolean update(CollisionMap collision, int goalCol, int goalRow) {
+        if (collision == this.collision && goalCol == this.goalCol && goalRow == this.goalRow) {
+            return false;
+        }
+        this.collision = collision;
+        this.goalCol = goalCol;
+        this.goalRow = goalRow;
+        build();
+        return true;
+    }
+
+    /** Breadth-first search outward from the goal. The goal itself always counts as walkable. */
+    private void build() {
+        builds++;
+        Arrays.fill(distance, UNREACHABLE);
+        if (goalCol < 0 || goalRow < 0 || goalCol >= cols || goalRow >= rows) {
+            return;
+        }
+
+        int head = 0;
+        int tail = 0;
+        int goal = goalRow * cols + goalCol;
+        distance[goal] = 0;
+        queue[tail++] = goal;
+
+        while (head < tail) {
+            int i = queue[head++];
+            int col = i % cols;
+            int row = i / cols;
+            int next = distance[i] + 1;
+
+            if (row - 1 >= 0) tail = visit(col, row - 1, next, tail);
+            if (col - 1 >= 0) tail = visit(col - 1, row, next, tail);
+            if (row + 1 < rows) tail = visit(col, row + 1, next, tail);
+            if (col + 1 < cols) tail = visit(col + 1, row, next, tail);
+        }
+    }
+
+    private int visit(int col, int row, int dist, int tail) {
+        int i = row * cols + col;
+        if (distance[i] == UNREACHABLE && !collision.isSolid(col, row)) {
+            distance[i] = dist;
+            queue[tail++] = i;
+        }
+        return tail;
+    }
+
+    /**
+     * @param col the tile column
+     * @param row the tile row
+     * @return the step distance from the tile to the goal, or {@link #UNREACHABLE}
+     */
+    public int getDistance(int col, int row) {
+        if (col < 0 || row < 0 || col >= cols || row >= rows) {
+            return UNREACHABLE;
+        }
+        return distance[row * cols + col];
+    }
+
+    /**
+     * Finds the neighbouring tile one step closer to the goal. When several neighbours are
+     * equally close, the one along the axis with the larger remaining distance wins, which
+     * keeps movement close to a straight line.
+     *
+     * @param col the current column
+     * @param row the current row
+     * @return the row-major index ({@code row * cols + col}) of the next tile,
+     *         or {@code -1} if the tile is the goal or cannot reach it
+     */
+    public int nextStep(int col, int row) {
+        int current = getDistance(col, row);
+        int best = current == UNREACHABLE ? Integer.MAX_VALUE : current;
+        int bestIndex = -1;
+
+        int[] dCol, dRow;
+        if (Math.abs(goalCol - col) >= Math.abs(goalRow - row)) {
+            dCol = HORIZONTAL_FIRST_COL;
+            dRow = HORIZONTAL_FIRST_ROW;
+        } else {
+            dCol = VERTICAL_FIRST_COL;
+            dRow = VERTICAL_FIRST_ROW;
+        }
+
+        for (int d = 0; d < 4; d++) {
+            int c = col + dCol[d];
+            int r = row + dRow[d];
+            int dist = getDistance(c, r);
+            if (dist != UNREACHABLE && dist < best) {
+                best = dist;
+                bestIndex = r * cols + c;
+            }
+        }
+        return bestIndex;
+    }
+
+    /** @return the number of columns */
+    public int getCols() {
+        return cols;
+    }
+
+    /** @return the goal column, or {@code -1} before the first update */
+    public int getGoalCol() {
+        return goalCol;
+    }
+
+    /** @return the goal row, or {@code -1} before the first update */
+    public int getGoalRow() {
+        return goalRow;
+    }
+
+    /** @return how many times the field was rebuilt */
+    public int getBuilds() {
+        return builds;
+    }
+}
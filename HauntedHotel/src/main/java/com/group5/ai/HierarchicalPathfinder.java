@@ -0,0 +1,289 @@
+package com.group5.ai;
+
+import java.util.Arrays;
+
+/**
+ * The {@code HierarchicalPathfinder} class runs HPA* searches over an {@link AbstractGraph}.
+ *
+ * <p>The start and goal tiles are connected to the abstract nodes of their clusters with a
+ * search limited to each cluster, then A* runs over the abstract graph. The result is a short
+ * list of waypoints (start, entrances, goal); consecutive waypoints are either neighbours or
+ * lie in the same cluster, so each segment can be turned into tiles later with
+ * {@link AbstractGraph#refine(int, int, AbstractGraph.Scratch)} when the entity gets there.</p>
+ *
+ * <p>An instance holds scratch state for one search at a time, like {@link Pathfinder}.</p>
+ *
+ * @author Group 5
+ * @version 1.0
+ */
+public class HierarchicalPathfinder {
+
+    /** Waypoints of the last successful search as tile indexes, starting with the start tile. */
+    int[] waypoints = new int[16];
+
+    /** Number of entries in {@link #waypoints}. */
+    int waypointCount = 0;
+
+    /** Number of abstract nodes expanded by the last search. */
+    int expanded = 0;
+
+    // SEARCH STATE, indexed by abstract node; the last two slots are the start and the goal
+    private int[] gCost = new int[0];
+    private int[] parent = new int[0];
+    private int[] openStamp = new int[0];
+    private int[] closedStamp = new int[0];
+    private int[] startCost = new int[0];
+    private int[] startStamp = new int[0];
+    private int[] goalCost = new int[0];
+    private int[] goalStamp = new int[0];
+    private int stamp = 0;
+
+    /** Binary heap of (F cost << 32 | node) keys, with stale entries skipped when polled. */
+    private long[] heap = new long[64];
+    private int heapSize = 0;
+
+    /** Work arrays for the cluster searches. */
+    private AbstractGraph.Scratch scratch;
+    private AbstractGraph scratchGraph;
+
+    /**
+     * Searches for a route between two tiles.
+     *
+     * @param graph the abstract graph of the map
+     * @param startCol the start column
+     * @param startRow the start row
+     * @param goalCol the goal column
+     * @param goalRow the goal row
+     * @return {@code true} if a route was found; the waypoints are then available
+     */
+    public boolean search(AbstractGraph graph, int startCol, int startRow, int goalCol, int goalRow) {
+        waypointCount = 0;
+        expanded = 0;
+
+        int start = graph.tileIndex(startCol, startRow);
+        int goal = graph.tileIndex(goalCol, goalRow);
+        if (start == goal) {
+            return false;
+        }
+        prepare(graph);
+
+        int startCluster = graph.clusterOf(start);
+        int goalCluster = graph.clusterOf(goal);
+
+        // SAME CLUSTER: a path that stays inside it is good enough
+        if (startCluster == goalCluster) {
+            graph.clusterSearch(startCluster, start, goal, scratch);
+            if (scratch.dist[graph.toLocal(startCluster, goal)] >= 0) {
+                addWaypoint(start);
+                addWaypoint(goal);
+                return true;
+            }
+        }
+
+        int nodeCount = graph.getNodeCount();
+        int startId = nodeCount;
+        int goalId = nodeCount + 1;
+
+        // CONNECT THE START AND THE GOAL TO THEIR CLUSTERS
+        graph.clusterSearch(startCluster, start, scratch);
+        for (int node : graph.clusterNodes(startCluster)) {
+            int d = scratch.dist[graph.toLocal(startCluster, graph.nodeTile(node))];
+            if (d >= 0) {
+                startCost[node] = d;
+                startStamp[node] = stamp;
+            }
+        }
+        graph.clusterSearch(goalCluster, goal, scratch);
+        for (int node : graph.clusterNodes(goalCluster)) {
+            int d = scratch.dist[graph.toLocal(goalCluster, graph.nodeTile(node))];
+            if (d >= 0) {
+                goalCost[node] = d;
+                goalStamp[node] = stamp;
+            }
+        }
+
+        // A* OVER THE ABSTRACT GRAPH
+        heapSize = 0;
+        gCost[startId] = 0;
+        parent[startId] = -1;
+        openStamp[startId] = stamp;
+        push(startId, distance(graph, start, goal));
+
+        while (heapSize > 0) {
+            int node = (int) pop();
+            if (closedStamp[node] == stamp) {
+                continue;
+            }
+            closedStamp[node] = stamp;
+            expanded++;
+
+            if (node == goalId) {
+                trackThePath(graph, start, goal, startId, goalId);
+                return true;
+            }
+
+            if (node == startId) {
+                for (int next : graph.clusterNodes(startCluster)) {
+                    if (startStamp[next] == stamp) {
+                        relax(graph, next, startCost[next], node, goal);
+                    }
+                }
+                continue;
+            }
+
+            int[] to = graph.edgeTo(node);
+            int[] cost = graph.edgeCost(node);
+            for (int e = 0; e < to.length; e++) {
+                relax(graph, to[e], gCost[node] + cost[e], node, goal);
+            }
+            if (goalStamp[node] == stamp) {
+                relaxGoal(goalId, gCost[node] + goalCost[node], node);
+            }
+        }
+        return false;
+    }
+
+    /** @return the number of waypoints found by the last search */
+    public int getWaypointCount() {
+        return waypointCount;
+    }
+
+    /**
+     * @param i the waypoint number
+     * @return the tile index of a waypoint
+     */
+    public int getWaypoint(int i) {
+        return waypoints[i];
+    }
+
+    /** @return the number of abstract nodes expanded by the last search */
+    public int getExpanded() {
+        return expanded;
+    }
+
+    /** Opens or improves an abstract node. */
+    private void relax(AbstractGraph graph, int node, int g, int from, int goal) {
+        if (closedStamp[node] == stamp) {
+            return;
+        }
+        if (openStamp[node] != stamp || g < gCost[node]) {
+            openStamp[node] = stamp;
+            gCost[node] = g;
+            parent[node] = from;
+            push(node, g + distance(graph, graph.nodeTile(node), goal));
+        }
+    }
+
+    /** Opens or improves the goal; its heuristic is zero. */
+    private void relaxGoal(int goalId, int g, int from) {
+        if (openStamp[goalId] != stamp || g < gCost[goalId]) {
+            openStamp[goalId] = stamp;
+            gCost[goalId] = g;
+            parent[goalId] = from;
+            push(goalId, g);
+        }
+    }
+
+    /** Rebuilds the waypoint list by following parent links back from the goal. */
+    private void trackThePath(AbstractGraph graph, int start, int goal, int startId, int goalId) {
+        int count = 0;
+        for (int node = goalId; node != -1; node = parent[node]) {
+            count++;
+        }
+        ensureWaypoints(count);
+        int i = count;
+        for (int node = goalId; node != -1; node = parent[node]) {
+            int tile = node == goalId ? goal : node == startId ? start : graph.nodeTile(node);
+            waypoints[--i] = tile;
+        }
+        // drop repeats, e.g. when the start tile is itself an entrance
+        waypointCount = 0;
+        for (int j = 0; j < count; j++) {
+            if (waypointCount == 0 || waypoints[waypointCount - 1] != waypoints[j]) {
+                waypoints[waypointCount++] = waypoints[j];
+            }
+        }
+    }
+
+    private void addWaypoint(int tile) {
+        ensureWaypoints(waypointCount + 1);
+        waypoints[waypointCount++] = tile;
+    }
+
+    private void ensureWaypoints(int capacity) {
+        if (capacity > waypoints.length) {
+            waypoints = Arrays.copyOf(waypoints, Math.max(capacity, waypoints.length * 2));
+        }
+    }
+
+    /** Sizes the scratch arrays for a graph and starts a new search stamp. */
+    private void prepare(AbstractGraph graph) {
+        int size = graph.getNodeCount() + 2;
+        if (gCost.length < size) {
+            gCost = new int[size];
+            parent = new int[size];
+            openStamp = new int[size];
+            closedStamp = new int[size];
+            startCost = new int[size];
+            startStamp = new int[size];
+            goalCost = new int[size];
+            goalStamp = new int[size];
+            stamp = 0;
+        }
+        if (graph != scratchGraph) {
+            scratch = graph.newScratch();
+            scratchGraph = graph;
+        }
+        stamp++;
+        if (stamp == Integer.MAX_VALUE) {
+            Arrays.fill(openStamp, 0);
+            Arrays.fill(closedStamp, 0);
+            Arrays.fill(startStamp, 0);
+            Arrays.fill(goalStamp, 0);
+            stamp = 1;
+        }
+    }
+
+    private static int distance(AbstractGraph graph, int a, int b) {
+        int cols = graph.getCols();
+        return Math.abs(a % cols - b % cols) + Math.abs(a / cols - b / cols);
+    }
+
+    private void push(int node, int f) {
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heapSize * 2);
+        }
+        long key = ((long) f << 32) | node;
+        int i = heapSize++;
+        while (i > 0) {
+            int p = (i - 1) >>> 1;
+            if (heap[p] <= key) {
+                break;
+            }
+            heap[i] = heap[p];
+            i = p;
+        }
+        heap[i] = key;
+    }
+
+    /** @return the node with the lowest F cost */
+    private long pop() {
+        long top = heap[0];
+        long last = heap[--heapSize];
+        int i = 0;
+        int half = heapSize >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < heapSize && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (heap[child] >= last) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return top & 0xFFFFFFFFL;
+    }
+}
@@ -40,6 +40,12 @@ public class Node {
     /** Indicates whether the node has already been checked during search. */
     boolean checked;
 
+    /** Position of this node in the {@link NodeHeap} open set, or {@code -1} when not queued. */
+    int heapIndex = -1;
+
+    /** Identifier of the search that last initialised this node's search state. */
+    int searchId;
+
     /**
      * Constructs a {@code Node} with the specified column and row position.
      *
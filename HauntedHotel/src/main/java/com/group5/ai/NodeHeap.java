@@ -0,0 +1,194 @@
+package com.group5.ai;
+
+import java.util.Arrays;
+
+/**
+ * The {@code NodeHeap} class is the open set used by the {@link Pathfinder}.
+ * It is a binary min-heap of {@link Node} objects ordered by F cost, with ties broken
+ * by the lower H cost so nodes closer to the goal are expanded first.
+ *
+ * <p>Each node remembers its position in the heap ({@link Node#heapIndex}), so
+ * {@link #contains(Object)} is O(1) and {@link #remove(Object)} and
+ * {@link #update(Node)} are O(log n) instead of a linear list scan.</p>
+ *
+ * @author Group 5
+ * @version 1.0
+ */
+public class NodeHeap {
+
+    /** Heap storage; only the first {@code size} entries are used. */
+    private Node[] heap;
+
+    /** Number of nodes currently in the heap. */
+    private int size = 0;
+
+    /** Constructs an empty heap with room for 64 nodes before growing. */
+    public NodeHeap() {
+        this(64);
+    }
+
+    /**
+     * Constructs an empty heap.
+     *
+     * @param capacity the initial capacity
+     */
+    public NodeHeap(int capacity) {
+        heap = new Node[Math.max(1, capacity)];
+    }
+
+    /**
+     * Adds a node to the heap. Nodes already in the heap are ignored.
+     *
+     * @param node the node to add
+     * @return {@code true} if the node was added
+     */
+    public boolean add(Node node) {
+        if (contains(node)) {
+            return false;
+        }
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        heap[size] = node;
+        node.heapIndex = size;
+        size++;
+        siftUp(node.heapIndex);
+        return true;
+    }
+
+    /**
+     * Removes and returns the node with the lowest F cost.
+     *
+     * @return the best node, or {@code null} if the heap is empty
+     */
+    public Node poll() {
+        if (size == 0) {
+            return null;
+        }
+        Node best = heap[0];
+        removeAt(0);
+        return best;
+    }
+
+    /** @return the node with the lowest F cost without removing it, or {@code null} */
+    public Node peek() {
+        return size == 0 ? null : heap[0];
+    }
+
+    /**
+     * Removes a node from the heap.
+     *
+     * @param o the node to remove
+     * @return {@code true} if the node was in the heap
+     */
+    public boolean remove(Object o) {
+        if (!contains(o)) {
+            return false;
+        }
+        removeAt(((Node) o).heapIndex);
+        return true;
+    }
+
+    /**
+     * Restores the heap order after a node's cost has changed.
+     *
+     * @param node a node in the heap whose F or H cost was modified
+     */
+    public void update(Node node) {
+        if (!contains(node)) {
+            return;
+        }
+        siftUp(node.heapIndex);
+        siftDown(node.heapIndex);
+    }
+
+    /**
+     * @param o the object to look for
+     * @return {@code true} if the node is currently in this heap
+     */
+    public boolean contains(Object o) {
+        if (!(o instanceof Node)) {
+            return false;
+        }
+        int i = ((Node) o).heapIndex;
+        return i >= 0 && i < size && heap[i] == o;
+    }
+
+    /** Removes all nodes from the heap. */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            heap[i].heapIndex = -1;
+            heap[i] = null;
+        }
+        size = 0;
+    }
+
+    /** @return the number of nodes in the heap */
+    public int size() {
+        return size;
+    }
+
+    /** @return {@code true} if the heap contains no nodes */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Removes the node at the given heap position. */
+    private void removeAt(int i) {
+        Node removed = heap[i];
+        size--;
+        if (i != size) {
+            heap[i] = heap[size];
+            heap[i].heapIndex = i;
+            heap[size] = null;
+            siftUp(i);
+            siftDown(heap[i].heapIndex);
+        } else {
+            heap[size] = null;
+        }
+        removed.heapIndex = -1;
+    }
+
+    private void siftUp(int i) {
+        Node node = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!less(node, heap[parent])) {
+                break;
+            }
+            heap[i] = heap[parent];
+            heap[i].heapIndex = i;
+            i = parent;
+        }
+        heap[i] = node;
+        node.heapIndex = i;
+    }
+
+    private void siftDown(int i) {
+        Node node = heap[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && less(heap[right], heap[child])) {
+                child = right;
+            }
+            if (!less(heap[child], node)) {
+                break;
+            }
+            heap[i] = heap[child];
+            heap[i].heapIndex = i;
+            i = child;
+        }
+        heap[i] = node;
+        node.heapIndex = i;
+    }
+
+    /** Orders by F cost, then by H cost. */
+    private static boolean less(Node a, Node b) {
+        if (a.fCost != b.fCost) {
+            return a.fCost < b.fCost;
+        }
+        return a.hCost < b.hCost;
+    }
+}
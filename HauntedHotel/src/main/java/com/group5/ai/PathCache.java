@@ -0,0 +1,399 @@
+package com.group5.ai;
+
+import com.group5.tile.CollisionMap;
+
+import java.util.Arrays;
+
+/**
+ * The {@code PathCache} class remembers the last path an entity planned so it does not
+ * have to run a full A* search every frame.
+ *
+ * <p>A cached path stays valid while the collision map is unchanged and the entity keeps
+ * following it; each frame only the next waypoint is consumed. When the goal moves by a
+ * single tile the path is repaired in place: it is cut short if the goal moved onto the
+ * path, or extended by one step if the goal moved to a neighbouring walkable tile. After
+ * {@link #MAX_REPAIRS} repairs, or whenever the path cannot be repaired, a fresh search
+ * is run so the route does not drift too far from the shortest one.</p>
+ *
+ * <p>Long routes on maps with an {@link AbstractGraph} are planned with HPA*: only the
+ * abstract waypoints are stored and each segment is refined into tiles when the entity
+ * reaches the end of the tiles refined so far.</p>
+ *
+ * <p>Failed searches are cached as well, so an unreachable goal is not searched for
+ * again until the entity, the goal or the map changes.</p>
+ *
+ * @author Group 5
+ * @version 1.0
+ */
+public class PathCache {
+
+    /** Number of in-place repairs allowed before the path is planned again from scratch. */
+    public static final int MAX_REPAIRS = 8;
+
+    /** Routes longer than this many clusters (Manhattan distance) use hierarchical search. */
+    public static final int HIERARCHICAL_DISTANCE = 2;
+
+    /** Tiles of the cached path; index 0 is the tile the path was planned from. */
+    private int[] cols = new int[32];
+    private int[] rows = new int[32];
+
+    /** Number of tiles in the cached path. */
+    private int length = 0;
+
+    /** Index of the next waypoint to walk to. */
+    private int cursor = 0;
+
+    /** Whether the cached path can be followed. */
+    private boolean valid = false;
+
+    /** Collision map the cached path was planned on. */
+    private CollisionMap collision;
+
+    /** Goal the cached path leads to. */
+    private int goalCol, goalRow;
+
+    /** Repairs applied since the last full search. */
+    private int repairs = 0;
+
+    /** Whether the cached route was planned over the abstract graph. */
+    private boolean hierarchical = false;
+
+    /** Abstract graph {@link #scratch} was allocated for; kept across plans on the same map. */
+    private AbstractGraph graph;
+
+    /** Abstract waypoints of a hierarchical route not yet refined into tiles. */
+    private int[] pending = new int[0];
+    private int pendingCount = 0;
+    private int pendingCursor = 0;
+
+    /** Work arrays for refining hierarchical routes. */
+    private AbstractGraph.Scratch scratch;
+
+    /** Key of the last failed search: (start, goal) on {@link #collision}. */
+    private boolean failed = false;
+    private int failedStartCol, failedStartRow, failedGoalCol, failedGoalRow;
+
+    /** Statistics, mainly for tests. */
+    private int searches = 0;
+    private int totalRepairs = 0;
+
+    /**
+     * Updates the cached path for the entity's current tile and goal, searching only when
+     * the cached path cannot be reused or repaired.
+     *
+     * @param pathfinder the pathfinder used when a new search is needed
+     * @param collision the walkability grid of the map the entity is on
+     * @param startCol the entity's current column
+     * @param startRow the entity's current row
+     * @param goalCol the goal column
+     * @param goalRow the goal row
+     * @return {@code true} if there is a next waypoint to walk to
+     */
+    public boolean next(Pathfinder pathfinder, CollisionMap collision,
+                        int startCol, int startRow, int goalCol, int goalRow) {
+        return next(null, pathfinder, null, collision, startCol, startRow, goalCol, goalRow);
+    }
+
+    /**
+     * Same as {@link #next(Pathfinder, CollisionMap, int, int, int, int)}, but borrows a
+     * search context from the service only when a search is actually needed.
+     * Safe to call from a worker thread as long as no other thread uses this cache.
+     *
+     * @param service the pool providing search contexts
+     * @param collision the walkability grid of the map the entity is on
+     * @param startCol the entity's current column
+     * @param startRow the entity's current row
+     * @param goalCol the goal column
+     * @param goalRow the goal row
+     * @return {@code true} if there is a next waypoint to walk to
+     */
+    public boolean next(PathfindingService service, CollisionMap collision,
+                        int startCol, int startRow, int goalCol, int goalRow) {
+        return next(service, null, null, collision, startCol, startRow, goalCol, goalRow);
+    }
+
+    /**
+     * Same as {@link #next(PathfindingService, CollisionMap, int, int, int, int)}, but routes
+     * longer than {@link #HIERARCHICAL_DISTANCE} clusters are planned over the abstract graph
+     * and refined lazily.
+     *
+     * @param service the pool providing search contexts
+     * @param graph the abstract graph of the map the entity is on
+     * @param startCol the entity's current column
+     * @param startRow the entity's current row
+     * @param goalCol the goal column
+     * @param goalRow the goal row
+     * @return {@code true} if there is a next waypoint to walk to
+     */
+    public boolean next(PathfindingService service, AbstractGraph graph,
+                        int startCol, int startRow, int goalCol, int goalRow) {
+        return next(service, null, graph, graph.getCollision(), startCol, startRow, goalCol, goalRow);
+    }
+
+    private boolean next(PathfindingService service, Pathfinder pathfinder, AbstractGraph graph,
+                         CollisionMap collision, int startCol, int startRow, int goalCol, int goalRow) {
+        if (startCol == goalCol && startRow == goalRow) {
+            return false;
+        }
+
+        if (collision != this.collision) {
+            // map changed or a tile changed: everything cached is stale, including the graph
+            invalidate();
+            this.collision = collision;
+            this.graph = null;
+            scratch = null;
+        }
+
+        if (failed) {
+            if (startCol == failedStartCol && startRow == failedStartRow
+                    && goalCol == failedGoalCol && goalRow == failedGoalRow) {
+                return false;
+            }
+            failed = false;
+        }
+
+        if (valid && !follow(startCol, startRow)) {
+            valid = false;
+        }
+        if (valid && !retarget(goalCol, goalRow, collision)) {
+            valid = false;
+        }
+        if (!valid) {
+            Pathfinder context = pathfinder != null ? pathfinder : service.acquire();
+            try {
+                if (!plan(context, graph, collision, startCol, startRow, goalCol, goalRow)) {
+                    return false;
+                }
+            } finally {
+                if (pathfinder == null) {
+                    service.release(context);
+                }
+            }
+        }
+        if (cursor >= length && pendingCursor < pendingCount && !refineNext()) {
+            return false;
+        }
+        return cursor < length;
+    }
+
+    /** @return the column of the next waypoint */
+    public int getNextCol() {
+        return cols[cursor];
+    }
+
+    /** @return the row of the next waypoint */
+    public int getNextRow() {
+        return rows[cursor];
+    }
+
+    /** @return the number of waypoints left on the cached path */
+    public int getRemaining() {
+        return valid ? length - cursor : 0;
+    }
+
+    /** @return how many full searches this cache has run */
+    public int getSearches() {
+        return searches;
+    }
+
+    /** @return {@code true} if the cached route was planned with hierarchical search */
+    public boolean isHierarchical() {
+        return valid && hierarchical;
+    }
+
+    /** @return the number of tiles refined so far on the cached route, including the start */
+    public int getRefinedLength() {
+        return valid ? length : 0;
+    }
+
+    /** @return the refinement work arrays, or {@code null} before the first hierarchical plan */
+    AbstractGraph.Scratch getScratch() {
+        return scratch;
+    }
+
+    /** @return how many in-place repairs this cache has applied */
+    public int getRepairs() {
+        return totalRepairs;
+    }
+
+    /**
+     * Forgets the cached path and any cached failure. The refinement work arrays are kept, so
+     * planning again on the same map does not allocate them again.
+     */
+    public void invalidate() {
+        valid = false;
+        failed = false;
+        length = 0;
+        cursor = 0;
+        repairs = 0;
+        hierarchical = false;
+        pendingCount = 0;
+        pendingCursor = 0;
+    }
+
+    /**
+     * Consumes the next waypoint once the entity has reached it.
+     *
+     * @return {@code false} if the entity is no longer on the cached path
+     */
+    private boolean follow(int startCol, int startRow) {
+        if (cursor < length && cols[cursor] == startCol && rows[cursor] == startRow) {
+            cursor++;
+        }
+        return cols[cursor - 1] == startCol && rows[cursor - 1] == startRow;
+    }
+
+    /**
+     * Repairs the cached path for a goal that moved by at most one tile.
+     *
+     * @return {@code false} if the path has to be planned again
+     */
+    private boolean retarget(int newGoalCol, int newGoalRow, CollisionMap collision) {
+        if (newGoalCol == goalCol && newGoalRow == goalRow) {
+            return true;
+        }
+        if (repairs >= MAX_REPAIRS) {
+            return false;
+        }
+
+        // goal moved onto the remaining path: cut it short
+        for (int i = cursor - 1; i < length; i++) {
+            if (cols[i] == newGoalCol && rows[i] == newGoalRow) {
+                length = i + 1;
+                pendingCount = 0;
+                setGoal(newGoalCol, newGoalRow);
+                return true;
+            }
+        }
+        if (pendingCursor < pendingCount) {
+            // the end of a hierarchical route is not refined yet
+            return false;
+        }
+
+        // goal stepped to a neighbouring tile: extend the path by one step
+        int distance = Math.abs(newGoalCol - goalCol) + Math.abs(newGoalRow - goalRow);
+        if (distance == 1 && !collision.isSolid(newGoalCol, newGoalRow)) {
+            ensureCapacity(length + 1);
+            cols[length] = newGoalCol;
+            rows[length] = newGoalRow;
+            length++;
+            setGoal(newGoalCol, newGoalRow);
+            return true;
+        }
+        return false;
+    }
+
+    private void setGoal(int newGoalCol, int newGoalRow) {
+        goalCol = newGoalCol;
+        goalRow = newGoalRow;
+        repairs++;
+        totalRepairs++;
+    }
+
+    /** Runs a full search and caches its result. */
+    private boolean plan(Pathfinder pathfinder, AbstractGraph graph, CollisionMap collision,
+                         int startCol, int startRow, int goalCol, int goalRow) {
+        searches++;
+        invalidate();
+
+        int distance = Math.abs(goalCol - startCol) + Math.abs(goalRow - startRow);
+        if (graph != null && distance > HIERARCHICAL_DISTANCE * graph.getClusterSize()) {
+            return planHierarchical(pathfinder.getHierarchical(), graph, startCol, startRow, goalCol, goalRow);
+        }
+
+        pathfinder.setNode(collision, startCol, startRow, goalCol, goalRow);
+
+        if (!pathfinder.search()) {
+            fail(startCol, startRow, goalCol, goalRow);
+            return false;
+        }
+
+        int size = pathfinder.pathList.size();
+        ensureCapacity(size + 1);
+        cols[0] = startCol;
+        rows[0] = startRow;
+        for (int i = 0; i < size; i++) {
+            Node node = pathfinder.pathList.get(i);
+            cols[i + 1] = node.col;
+            rows[i + 1] = node.row;
+        }
+        length = size + 1;
+        cursor = 1;
+        valid = true;
+        repairs = 0;
+        this.goalCol = goalCol;
+        this.goalRow = goalRow;
+        return true;
+    }
+
+    /** Plans over the abstract graph and refines the first segment. */
+    private boolean planHierarchical(HierarchicalPathfinder hierarchical, AbstractGraph graph,
+                                     int startCol, int startRow, int goalCol, int goalRow) {
+        if (!hierarchical.search(graph, startCol, startRow, goalCol, goalRow)) {
+            fail(startCol, startRow, goalCol, goalRow);
+            return false;
+        }
+
+        int count = hierarchical.getWaypointCount();
+        if (pending.length < count) {
+            pending = new int[count];
+        }
+        for (int i = 0; i < count; i++) {
+            pending[i] = hierarchical.getWaypoint(i);
+        }
+        pendingCount = count;
+        pendingCursor = 1;
+        if (scratch == null || this.graph != graph) {
+            scratch = graph.newScratch();
+        }
+        this.graph = graph;
+        this.hierarchical = true;
+
+        cols[0] = startCol;
+        rows[0] = startRow;
+        length = 1;
+        cursor = 1;
+        valid = true;
+        repairs = 0;
+        this.goalCol = goalCol;
+        this.goalRow = goalRow;
+        return refineNext();
+    }
+
+    /** Turns the next abstract segment into tiles and appends them to the path. */
+    private boolean refineNext() {
+        int cols = graph.getCols();
+        int from = this.rows[length - 1] * cols + this.cols[length - 1];
+        int to = pending[pendingCursor++];
+
+        int count = graph.refine(from, to, scratch);
+        if (count < 0) {
+            // cannot happen on an unchanged map; start over next frame
+            invalidate();
+            return false;
+        }
+        ensureCapacity(length + count);
+        for (int i = 0; i < count; i++) {
+            this.cols[length] = scratch.path[i] % cols;
+            this.rows[length] = scratch.path[i] / cols;
+            length++;
+        }
+        return true;
+    }
+
+    private void fail(int startCol, int startRow, int goalCol, int goalRow) {
+        failed = true;
+        failedStartCol = startCol;
+        failedStartRow = startRow;
+        failedGoalCol = goalCol;
+        failedGoalRow = goalRow;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > cols.length) {
+            int newLength = Math.max(capacity, cols.length * 2);
+            cols = Arrays.copyOf(cols, newLength);
+            rows = Arrays.copyOf(rows, newLength);
+        }
+    }
+}
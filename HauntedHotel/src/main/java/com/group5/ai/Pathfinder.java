@@ -2,15 +2,22 @@ package com.group5.ai;
 
 import com.group5.entity.Entity;
 import com.group5.main.GamePanel;
+import com.group5.tile.CollisionMap;
 
 import java.util.ArrayList;
+import java.util.Collections;
 
 /**
  * The {@code Pathfinder} class implements an A* pathfinding system used for entity navigation within the game world.
  * It calculates the optimal path between a start and goal position, avoiding solid tiles and other obstacles.
  * 
  * <p>The pathfinder works by using a grid of {@link Node} objects that represent the world map. Each node
- * stores cost values (G, H, and F) to determine the most efficient path.</p>
+ * stores cost values (G, H, and F) to determine the most efficient path. The open set is a
+ * {@link NodeHeap}, and G costs are the real accumulated step costs from the start node.</p>
+ *
+ * <p>Instead of clearing the whole grid before every search, each search gets a new id and a node's
+ * search state is only reset when the search first reaches it, so the cost of a search is
+ * proportional to the area it explores rather than to the map size.</p>
  * 
  * <p>This class interacts closely with the {@link GamePanel} and tile management system to determine which
  * nodes are solid and cannot be traversed.</p>
@@ -26,8 +33,11 @@ public class Pathfinder {
     /** 2D array of {@link Node} objects representing the game world grid. */
     Node[][] node;
 
-    /** List of nodes that are being considered for expansion during the search (open list). */
-    ArrayList<Node> openList = new ArrayList<>();
+    /** Default maximum number of node expansions per search. */
+    public static final int DEFAULT_MAX_STEPS = 500;
+
+    /** Nodes that are being considered for expansion during the search (open list). */
+    NodeHeap openList = new NodeHeap();
 
     /** Final list of nodes that make up the calculated path from start to goal. */
     public ArrayList<Node> pathList = new ArrayList<>();
@@ -47,6 +57,18 @@ public class Pathfinder {
     /** Step counter used to prevent infinite loops during pathfinding. */
     int step = 0;
 
+    /** Maximum number of node expansions before a search gives up. */
+    public int maxSteps = DEFAULT_MAX_STEPS;
+
+    /** Collision map the nodes' solid flags were last copied from. */
+    CollisionMap syncedCollision;
+
+    /** Hierarchical search state of this context, created on first use. */
+    HierarchicalPathfinder hierarchical;
+
+    /** Id of the current search; nodes stamped with an older id hold stale search state. */
+    int searchId = 0;
+
     /**
      * Constructs a {@code Pathfinder} for the given {@link GamePanel}.
      * Initializes the grid of nodes using the world dimensions.
@@ -105,11 +127,14 @@ public class Pathfinder {
         pathList.clear();
         goalReached = false;
         step = 0;
+        syncedCollision = null;
     }
 
     /**
      * Configures the pathfinding nodes by setting the start and goal positions
      * and marking solid tiles based on the current map’s tile data.
+     * Only the start and goal nodes are initialised here; every other node is
+     * initialised lazily when the search first reaches it.
      *
      * @param startCol the column index of the start node
      * @param startRow the row index of the start node
@@ -117,36 +142,118 @@ public class Pathfinder {
      * @param goalRow  the row index of the goal node
      */
     public void setNode(int startCol, int startRow, int goalCol, int goalRow) {
-        resetNodes();
+        setNode(gp.tileM.getCollisionMap(gp.currentMap), startCol, startRow, goalCol, goalRow);
+    }
+
+    /**
+     * Configures a search on an explicit collision map. Unlike
+     * {@link #setNode(int, int, int, int)} this does not read any game state, so it is
+     * safe to call from a worker thread on a context from the {@link PathfindingService}.
+     *
+     * @param collision the walkability grid to search on
+     * @param startCol the column index of the start node
+     * @param startRow the row index of the start node
+     * @param goalCol  the column index of the goal node
+     * @param goalRow  the row index of the goal node
+     */
+    public void setNode(CollisionMap collision, int startCol, int startRow, int goalCol, int goalRow) {
+        beginSearch();
 
         startNode = node[startCol][startRow];
         currentNode = startNode;
         goalNode = node[goalCol][goalRow];
-        openList.add(currentNode);
 
-        // Ensure the goal node is never marked solid
-        node[goalCol][goalRow].solid = false;
+        syncSolid(collision);
 
-        int col = 0;
-        int row = 0;
+        prepare(goalNode);
+        prepare(startNode);
+        startNode.gCost = 0;
+        startNode.hCost = heuristic(startNode);
+        startNode.fCost = startNode.hCost;
+        startNode.open = true;
+        openList.add(startNode);
+    }
 
-        while (col < gp.maxWorldCol && row < gp.maxWorldRow) {
-            int tileNum = gp.tileM.mapTilenum[gp.currentMap][col][row];
-            if (gp.tileM.tile[tileNum].collision == true) {
-                node[col][row].solid = true;
+    /**
+     * Copies the solid flags from a collision map into the nodes. Skipped when the nodes
+     * already reflect that collision map, so an unchanged map costs nothing per search.
+     *
+     * @param collision the walkability grid of the current map
+     */
+    void syncSolid(CollisionMap collision) {
+        if (collision == syncedCollision) {
+            return;
+        }
+        for (int col = 0; col < gp.maxWorldCol; col++) {
+            for (int row = 0; row < gp.maxWorldRow; row++) {
+                node[col][row].solid = collision.isSolid(col, row);
             }
-            getCost(node[col][row]);
+        }
+        syncedCollision = collision;
+    }
 
-            col++;
-            if (col == gp.maxWorldCol) {
-                col = 0;
-                row++;
-            }
+    /**
+     * Returns the HPA* search state belonging to this context, so contexts handed out by the
+     * {@link PathfindingService} can run hierarchical searches too.
+     *
+     * @return the hierarchical pathfinder of this context
+     */
+    public HierarchicalPathfinder getHierarchical() {
+        if (hierarchical == null) {
+            hierarchical = new HierarchicalPathfinder();
         }
+        return hierarchical;
     }
 
     /**
-     * Calculates the cost values for the specified node used in A* pathfinding.
+     * Starts a new search: bumps the search id so every node's previous search state
+     * becomes stale, and clears the open list, path list, step count and goal status.
+     */
+    void beginSearch() {
+        openList.clear();
+        pathList.clear();
+        goalReached = false;
+        step = 0;
+
+        searchId++;
+        if (searchId == Integer.MAX_VALUE) {
+            // ids are about to wrap, fall back to one full reset
+            resetNodes();
+            searchId = 1;
+        }
+    }
+
+    /**
+     * Clears a node's search state if it was last touched by an earlier search.
+     *
+     * @param node the node about to be used by the current search
+     */
+    void prepare(Node node) {
+        if (node.searchId != searchId) {
+            node.searchId = searchId;
+            node.open = false;
+            node.checked = false;
+            node.parent = null;
+            node.gCost = 0;
+            node.hCost = 0;
+            node.fCost = 0;
+        }
+    }
+
+    /**
+     * Estimated remaining cost from a node to the goal node (Manhattan distance).
+     *
+     * @param node the node to estimate from
+     * @return the H cost of the node
+     */
+    int heuristic(Node node) {
+        return Math.abs(node.col - goalNode.col) + Math.abs(node.row - goalNode.row);
+    }
+
+    /**
+     * Calculates estimated cost values for the specified node.
+     * {@link #search()} itself uses accumulated G costs; this helper seeds a node
+     * with straight-line (Manhattan) estimates.
      * <ul>
      *     <li>G Cost: Distance from the start node.</li>
      *     <li>H Cost: Estimated distance to the goal node.</li>
@@ -169,61 +276,73 @@ public class Pathfinder {
 
     /**
      * Executes the A* pathfinding search algorithm.
-     * Expands nodes until the goal is reached or the step limit (500) is exceeded.
+     * Expands the open node with the lowest F cost until the goal is reached, the open list
+     * runs out or the step limit ({@link #maxSteps}) is exceeded.
      *
      * @return {@code true} if the goal is reached, {@code false} otherwise
      */
     public boolean search() {
-        while ((goalReached == false && step < 500)) {
-            int col = currentNode.col;
-            int row = currentNode.row;
-
-            currentNode.checked = true;
-            openList.remove(currentNode);
-
-            if (row - 1 >= 0) openNode(node[col][row - 1]);
-            if (col - 1 >= 0) openNode(node[col - 1][row]);
-            if (row + 1 < gp.maxWorldRow) openNode(node[col][row + 1]);
-            if (col + 1 < gp.maxWorldCol) openNode(node[col + 1][row]);
-
-            int bestNodeIndex = 0;
-            int bestNodefCost = 999;
-
-            for (int i = 0; i < openList.size(); i++) {
-                if (openList.get(i).fCost < bestNodefCost) {
-                    bestNodeIndex = i;
-                    bestNodefCost = openList.get(i).fCost;
-                } else if (openList.get(i).fCost == bestNodefCost) {
-                    if (openList.get(i).gCost < openList.get(bestNodeIndex).gCost) {
-                        bestNodeIndex = i;
-                    }
-                }
-            }
-
-            if (openList.size() == 0) break;
+        if (startNode == goalNode) {
+            // already there, no path to walk
+            return false;
+        }
 
-            currentNode = openList.get(bestNodeIndex);
+        while (goalReached == false && step < maxSteps && !openList.isEmpty()) {
+            currentNode = openList.poll();
 
             if (currentNode == goalNode) {
                 goalReached = true;
                 trackThePath();
+                break;
             }
+
+            int col = currentNode.col;
+            int row = currentNode.row;
+
+            currentNode.checked = true;
+
+            if (row - 1 >= 0) expand(node[col][row - 1]);
+            if (col - 1 >= 0) expand(node[col - 1][row]);
+            if (row + 1 < gp.maxWorldRow) expand(node[col][row + 1]);
+            if (col + 1 < gp.maxWorldCol) expand(node[col + 1][row]);
+
             step++;
         }
         return goalReached;
     }
 
+    /** Initialises a neighbour for the current search and opens it. */
+    private void expand(Node node) {
+        prepare(node);
+        openNode(node);
+    }
+
     /**
-     * Adds a node to the open list if it is not solid, open, or checked.
+     * Adds a node to the open list if it is not solid (the goal node always counts as walkable) or checked, or lowers its cost
+     * if it is already open and the current node offers a shorter route to it.
      * Also assigns its parent node for path reconstruction.
      *
      * @param node the node to be opened
      */
     public void openNode(Node node) {
-        if (node.open == false && node.checked == false && node.solid == false) {
+        if (node.checked || (node.solid && node != goalNode)) {
+            return;
+        }
+
+        int gCost = currentNode.gCost + 1;
+
+        if (node.open == false) {
             node.open = true;
             node.parent = currentNode;
+            node.gCost = gCost;
+            node.hCost = heuristic(node);
+            node.fCost = gCost + node.hCost;
             openList.add(node);
+        } else if (gCost < node.gCost && openList.contains(node)) {
+            node.parent = currentNode;
+            node.gCost = gCost;
+            node.fCost = gCost + node.hCost;
+            openList.update(node);
         }
     }
 
@@ -234,8 +353,9 @@ public class Pathfinder {
     public void trackThePath() {
         Node current = goalNode;
         while (current != startNode) {
-            pathList.add(0, current);
+            pathList.add(current);
             current = current.parent;
         }
+        Collections.reverse(pathList);
     }
 }
@@ -0,0 +1,72 @@
+package com.group5.ai;
+
+import com.group5.main.GamePanel;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@code PathfindingService} class hands out {@link Pathfinder} search contexts from a pool.
+ *
+ * <p>Each context owns its own scratch state (node flags, open list and path list) while the
+ * walkability data comes from the immutable {@link com.group5.tile.CollisionMap} shared by all
+ * of them, so several entities can search at the same time without clobbering each other's
+ * results. Contexts are created on demand and reused after {@link #release(Pathfinder)}.</p>
+ *
+ * @author Group 5
+ * @version 1.0
+ */
+public class PathfindingService {
+
+    /** Reference to the main {@link GamePanel} used to size new contexts. */
+    private final GamePanel gp;
+
+    /** Idle search contexts. */
+    private final ConcurrentLinkedQueue<Pathfinder> pool = new ConcurrentLinkedQueue<>();
+
+    /** Number of contexts created so far. */
+    private final AtomicInteger created = new AtomicInteger();
+
+    /**
+     * Constructs an empty {@code PathfindingService}.
+     *
+     * @param gp the main game panel reference
+     */
+    public PathfindingService(GamePanel gp) {
+        this.gp = gp;
+    }
+
+    /**
+     * Takes an idle search context from the pool, creating one if none is free.
+     * The caller owns the context until it passes it to {@link #release(Pathfinder)}.
+     *
+     * @return a search context no other caller is using
+     */
+    public Pathfinder acquire() {
+        Pathfinder pathfinder = pool.poll();
+        if (pathfinder == null) {
+            pathfinder = new Pathfinder(gp);
+            created.incrementAndGet();
+        }
+        return pathfinder;
+    }
+
+    /**
+     * Returns a search context to the pool.
+     *
+     * @param pathfinder a context obtained from {@link #acquire()}
+     */
+    public void release(Pathfinder pathfinder) {
+        pool.offer(pathfinder);
+    }
+
+    /** @return the number of search contexts created so far */
+    public int getCreated() {
+        return created.get();
+    }
+
+    /** @return the number of idle search contexts in the pool */
+    public int getIdle() {
+        return pool.size();
+    }
+}
@@ -0,0 +1,312 @@
+package com.group5.entity;
+
+import com.group5.main.FrameSnapshot;
+import com.group5.main.GamePanel;
+import com.group5.main.SpriteCache;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * The {@code BulletStore} class holds large numbers of simple projectiles as parallel
+ * primitive arrays instead of one {@link Projectile} object each.
+ * <p>
+ * Every bullet is a position, a velocity, a remaining lifetime, the {@link Entity#type} of
+ * its owner and a bullet type. Live bullets are kept packed in {@code [0, count)}, so
+ * {@link #update()} is a plain loop over arrays that the JIT can vectorize, followed by one
+ * batched hit test against the player and one against the monsters of the current map.
+ * Expired bullets are swap-removed, so the arrays never need to be shifted.
+ * </p>
+ * <p>
+ * Bullets fly straight, ignore tiles, hit with their whole sprite and deal damage like
+ * {@link Entity#damagePlayer()} and {@link Player#damageMonster(int)}, the same as a
+ * {@link Projectile}. With {@code hauntedhotel.bulletStore=true} the monsters fire their
+ * shots into the store (see {@link #fire(int, Entity, Projectile)}); the player's own shot
+ * stays a {@link Projectile}, since it is gated on its {@code alive} flag.
+ * </p>
+ *
+ * @author Group 5
+ * @version 1.0
+ */
+public class BulletStore {
+
+    /** Bullet type ids; index the per-type tables below. */
+    public static final int FIREBALL = 0;
+    public static final int SNOWBALL = 1;
+
+    /** Owner ids, matching {@link Entity#type}: bullets hit the other side only. */
+    public static final int OWNER_PLAYER = 0;
+    public static final int OWNER_MONSTER = 2;
+
+    /** Sprite of each bullet type. */
+    private static final String[] SPRITES = {"/projectile/Fireball", "/objects/snowball"};
+
+    /** Damage each bullet type deals to the player. */
+    private static final int[] DAMAGE = {2, 2};
+
+    /** Reference to the game panel for the player, monsters and tile size. */
+    private final GamePanel gp;
+
+    /** Top-left corner of each bullet's sprite in world pixels. */
+    private float[] x, y;
+
+    /** Movement per frame in pixels. */
+    private float[] vx, vy;
+
+    /** Frames left before each bullet expires. */
+    private int[] life;
+
+    /** Owner id and bullet type of each bullet. */
+    private byte[] owner, type;
+
+    /** Number of live bullets; entries {@code [0, count)} are in use. */
+    private int count = 0;
+
+    /** Sprites per bullet type, loaded on first capture. */
+    private BufferedImage[] images;
+
+    /** Scratch copies of the current map's monster hitboxes for the batched hit test. */
+    private final int[] monsterSlot, monsterX, monsterY, monsterW, monsterH;
+
+    /** Number of bullets that hit something since creation, mainly for tests. */
+    private int hits = 0;
+
+    /**
+     * Creates an empty store.
+     *
+     * @param gp the game panel
+     * @param initialCapacity number of bullets the arrays hold before growing
+     */
+    public BulletStore(GamePanel gp, int initialCapacity) {
+        this.gp = gp;
+        int capacity = Math.max(1, initialCapacity);
+        x = new float[capacity];
+        y = new float[capacity];
+        vx = new float[capacity];
+        vy = new float[capacity];
+        life = new int[capacity];
+        owner = new byte[capacity];
+        type = new byte[capacity];
+        int slots = gp.monster[0].length;
+        monsterSlot = new int[slots];
+        monsterX = new int[slots];
+        monsterY = new int[slots];
+        monsterW = new int[slots];
+        monsterH = new int[slots];
+    }
+
+    /**
+     * Adds a bullet.
+     *
+     * @param bulletType {@link #FIREBALL} or {@link #SNOWBALL}
+     * @param worldx the world X-coordinate of the sprite's top-left corner
+     * @param worldy the world Y-coordinate of the sprite's top-left corner
+     * @param speedX movement per frame along X
+     * @param speedY movement per frame along Y
+     * @param frames number of frames the bullet lives
+     * @param ownerId {@link #OWNER_PLAYER} or {@link #OWNER_MONSTER}
+     */
+    public void spawn(int bulletType, float worldx, float worldy, float speedX, float speedY, int frames, int ownerId) {
+        if (count == x.length) {
+            grow();
+        }
+        x[count] = worldx;
+        y[count] = worldy;
+        vx[count] = speedX;
+        vy[count] = speedY;
+        life[count] = frames;
+        owner[count] = (byte) ownerId;
+        type[count] = (byte) bulletType;
+        count++;
+    }
+
+    /**
+     * Adds a monster's shot, flying the way the shooter faces with the speed and lifetime of
+     * the projectile it would otherwise fire.
+     *
+     * @param bulletType {@link #FIREBALL} or {@link #SNOWBALL}
+     * @param shooter the monster firing
+     * @param template the shooter's projectile, for its speed and lifetime
+     */
+    public void fire(int bulletType, Entity shooter, Projectile template) {
+        Direction direction = shooter.direction;
+        spawn(bulletType, shooter.worldx, shooter.worldy, direction.dx * template.speed,
+                direction.dy * template.speed, template.maxLife, OWNER_MONSTER);
+    }
+
+    /**
+     * Moves every bullet one frame, applies hits and removes expired bullets.
+     */
+    public void update() {
+        int n = count;
+        if (n == 0) {
+            return;
+        }
+        float[] x = this.x, y = this.y, vx = this.vx, vy = this.vy;
+        int[] life = this.life;
+        for (int i = 0; i < n; i++) {
+            x[i] += vx[i];
+            y[i] += vy[i];
+            life[i]--;
+        }
+
+        hitPlayer();
+        hitMonsters();
+        compact();
+    }
+
+    /** Removes every bullet. */
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * Adds the bullets that are on screen to a frame snapshot, on top of the entities.
+     *
+     * @param frame the snapshot being captured
+     */
+    public void capture(FrameSnapshot frame) {
+        if (count == 0 || gp.headless) {
+            return;
+        }
+        if (images == null) {
+            images = new BufferedImage[SPRITES.length];
+            for (int t = 0; t < SPRITES.length; t++) {
+                images[t] = SpriteCache.get(SPRITES[t], gp.tileSize, gp.tileSize);
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            int bx = (int) x[i];
+            int by = (int) y[i];
+            if (frame.isOnScreen(bx, by)) {
+                frame.addSprite(images[type[i]], bx, by, 1f, -1, false);
+            }
+        }
+    }
+
+    /** @return the number of live bullets */
+    public int size() {
+        return count;
+    }
+
+    /** @return the number of bullets the arrays can hold before growing */
+    public int capacity() {
+        return x.length;
+    }
+
+    /** @return the number of bullets that hit the player or a monster */
+    public int getHits() {
+        return hits;
+    }
+
+    /** @return the world X-coordinate of a live bullet */
+    public float getX(int i) {
+        return x[i];
+    }
+
+    /** @return the world Y-coordinate of a live bullet */
+    public float getY(int i) {
+        return y[i];
+    }
+
+    /** @return the frames left for a live bullet */
+    public int getLife(int i) {
+        return life[i];
+    }
+
+    /** Tests monster bullets against the player; bullets pass through while the player is invincible. */
+    private void hitPlayer() {
+        Player player = gp.player;
+        if (player.invincible) {
+            return;
+        }
+        int px0 = player.worldx + player.solidArea.x;
+        int py0 = player.worldy + player.solidArea.y;
+        int px1 = px0 + player.solidArea.width;
+        int py1 = py0 + player.solidArea.height;
+        int size = gp.tileSize;
+
+        for (int i = 0; i < count; i++) {
+            if (owner[i] != OWNER_MONSTER || life[i] <= 0) {
+                continue;
+            }
+            float bx = x[i];
+            float by = y[i];
+            if (bx < px1 && bx + size > px0 && by < py1 && by + size > py0) {
+                player.life -= DAMAGE[type[i]];
+                player.invincible = true;
+                life[i] = 0;
+                hits++;
+                return;
+            }
+        }
+    }
+
+    /** Tests player bullets against the live monsters of the current map. */
+    private void hitMonsters() {
+        Entity[] slots = gp.monster[gp.currentMap];
+        int monsters = 0;
+        for (int s = 0; s < slots.length; s++) {
+            Entity m = slots[s];
+            if (m != null && m.alive && !m.dying) {
+                monsterSlot[monsters] = s;
+                monsterX[monsters] = m.worldx + m.solidArea.x;
+                monsterY[monsters] = m.worldy + m.solidArea.y;
+                monsterW[monsters] = m.solidArea.width;
+                monsterH[monsters] = m.solidArea.height;
+                monsters++;
+            }
+        }
+        if (monsters == 0) {
+            return;
+        }
+
+        int size = gp.tileSize;
+        for (int i = 0; i < count; i++) {
+            if (owner[i] != OWNER_PLAYER || life[i] <= 0) {
+                continue;
+            }
+            float bx = x[i];
+            float by = y[i];
+            for (int m = 0; m < monsters; m++) {
+                if (bx < monsterX[m] + monsterW[m] && bx + size > monsterX[m]
+                        && by < monsterY[m] + monsterH[m] && by + size > monsterY[m]) {
+                    gp.player.damageMonster(monsterSlot[m]);
+                    life[i] = 0;
+                    hits++;
+                    break;
+                }
+            }
+        }
+    }
+
+    /** Removes expired bullets by moving the last live bullet into their place. */
+    private void compact() {
+        int i = 0;
+        while (i < count) {
+            if (life[i] > 0) {
+                i++;
+                continue;
+            }
+            int last = --count;
+            x[i] = x[last];
+            y[i] = y[last];
+            vx[i] = vx[last];
+            vy[i] = vy[last];
+            life[i] = life[last];
+            owner[i] = owner[last];
+            type[i] = type[last];
+        }
+    }
+
+    private void grow() {
+        int capacity = x.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        vx = Arrays.copyOf(vx, capacity);
+        vy = Arrays.copyOf(vy, capacity);
+        life = Arrays.copyOf(life, capacity);
+        owner = Arrays.copyOf(owner, capacity);
+        type = Arrays.copyOf(type, capacity);
+    }
+}
@@ -0,0 +1,53 @@
+package com.group5.entity;
+
+/**
+ * The {@code Direction} enum lists the four directions an entity can face or move in.
+ * <p>
+ * Each direction carries its unit step ({@link #dx}, {@link #dy}), so movement is
+ * {@code worldx += direction.dx * speed} instead of a switch over strings, and its
+ * {@link #opposite()} for knock-back and damage reactions.
+ * </p>
+ *
+ * @author Group 5
+ * @version 1.0
+ */
+public enum Direction {
+    UP(0, -1),
+    DOWN(0, 1),
+    LEFT(-1, 0),
+    RIGHT(1, 0);
+
+    /** Step along X and Y for one unit of movement: -1, 0 or 1. */
+    public final int dx, dy;
+
+    /** Number of directions, the size of per-direction tables indexed by {@link #ordinal()}. */
+    public static final int COUNT = 4;
+
+    /** All directions, shared so callers do not copy {@link #values()}. */
+    private static final Direction[] ALL = values();
+
+    Direction(int dx, int dy) {
+        this.dx = dx;
+        this.dy = dy;
+    }
+
+    /** @return the direction pointing the other way */
+    public Direction opposite() {
+        switch (this) {
+            case UP: return DOWN;
+            case DOWN: return UP;
+            case LEFT: return RIGHT;
+            default: return LEFT;
+        }
+    }
+
+    /**
+     * Returns a direction by index, in declaration order.
+     *
+     * @param index 0 for up, 1 for down, 2 for left, 3 for right
+     * @return the direction
+     */
+    public static Direction of(int index) {
+        return ALL[index];
+    }
+}
@@ -1,12 +1,15 @@
 package com.group5.entity;
 
+import com.group5.ai.FlowField;
+import com.group5.ai.PathCache;
+import com.group5.main.FrameProfiler;
+import com.group5.main.FrameSnapshot;
 import com.group5.main.GamePanel;
-import com.group5.main.UtilityTool;
+import com.group5.main.RenderQueue;
+import com.group5.main.SpriteCache;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
 
 /**
  * The {@code Entity} class serves as a base class for all movable and drawable objects in the game,
@@ -29,6 +32,12 @@ public class Entity {
     /** Attack animation sprites for all directions. */
     public BufferedImage attackUp1, attackUp2, attackUp3, attackDown1, attackDown2, attackDown3, attackLeft1, attackLeft2, attackLeft3, attackRight1, attackRight2, attackRight3;
 
+    /**
+     * Walking and attack frames indexed by {@link Direction#ordinal()} and {@code spriteNum - 1},
+     * built from the fields above by {@link #indexSprites()}.
+     */
+    BufferedImage[][] sprites, attackSprites;
+
     /** General-purpose image references for objects or UI. */
     public BufferedImage image, image2, image3;
 
@@ -48,8 +57,8 @@ public class Entity {
      /** World coordinates for entity position. */
     public int worldx, worldy;
 
-    /** Current facing direction ("up", "down", "left", or "right"). */
-    public String direction = "down";
+    /** Current facing direction. */
+    public Direction direction = Direction.DOWN;
 
     /** Movement speed of the entity. */
     public int speed;
@@ -110,6 +119,27 @@ public class Entity {
     /** Reference to a projectile object associated with the entity. */
     public Projectile projectile;
 
+    /** Path planned by {@link #searchPath(int, int)}, created on first use. */
+    PathCache pathCache;
+
+    /** Next tile found by {@link #nextPathStep(int, int, int, int)}. */
+    protected int nextPathCol, nextPathRow;
+
+    /** Key and result of the last step planned, so {@link #planPath()} is not repeated in {@link #setAction()}. */
+    private long plannedUpdate = -1;
+    private int plannedStartCol, plannedStartRow, plannedGoalCol, plannedGoalRow;
+    private boolean plannedResult;
+
+    /** Whether the last step planned needed a path search instead of the player's flow field. */
+    private boolean plannedSearch;
+
+    /** Render queue this entity is in and the last frame it was offered; managed by {@link RenderQueue}. */
+    public RenderQueue renderQueue;
+    public int renderFrame;
+
+    /** Frames per blink of the dying animation; the entity is removed after six blinks. */
+    static final int DYING_BLINK = 5;
+
 
     /**
      * Constructs an {@code Entity} linked to the given {@link GamePanel}.
@@ -139,6 +169,7 @@ public class Entity {
                 gp.obj[gp.currentMap][i] = droppedItem;
                 gp.obj[gp.currentMap][i].worldx = worldx;
                 gp.obj[gp.currentMap][i].worldy = worldy;
+                gp.cChecker.refresh();
                 break;
             }
         }
@@ -152,12 +183,14 @@ public class Entity {
      * If the entity is a monster and contacts the player, it causes damage.
      */
     public void checkCollision() {
+        long t = gp.profiler.start();
         collisionOn = false;
         gp.cChecker.checkTile(this);
         gp.cChecker.checkObject(this, false);
         gp.cChecker.checkEntity(this, gp.npc);
         gp.cChecker.checkEntity(this, gp.monster);
         boolean contactPlayer = gp.cChecker.checkPlayer(this);
+        gp.profiler.stop(FrameProfiler.Phase.COLLISION, t);
 
         if(this.type == 2 && contactPlayer == true) {
             damagePlayer();
@@ -176,20 +209,8 @@ public class Entity {
 
         // IF COLLIS IS FALSE PLAYERS MOVES
         if(collisionOn == false){
-            switch (direction){
-                case "up":
-                    worldy -= speed;
-                    break;
-                case "down":
-                    worldy += speed;
-                    break;
-                case "left":
-                    worldx -= speed;
-                    break;
-                case "right":
-                    worldx += speed;
-                    break;
-            }
+            worldx += direction.dx * speed;
+            worldy += direction.dy * speed;
         }
 
         spriteCounter++;
@@ -217,6 +238,102 @@ public class Entity {
 
     }
 
+    /**
+     * Returns this entity's path cache, creating it on first use.
+     *
+     * @return the path cache
+     */
+    public PathCache getPathCache() {
+        if (pathCache == null) {
+            pathCache = new PathCache();
+        }
+        return pathCache;
+    }
+
+    /**
+     * Finds the next tile on the way to a goal tile and stores it in {@link #nextPathCol}
+     * and {@link #nextPathRow}. Chasing the player reads the shared flow field of the map;
+     * any other goal uses this entity's cached path (A* nearby, HPA* for long routes).
+     *
+     * @param startCol the entity's current column
+     * @param startRow the entity's current row
+     * @param goalCol the goal column position
+     * @param goalRow the goal row position
+     * @return {@code true} if there is a next tile to walk to
+     */
+    public boolean nextPathStep(int startCol, int startRow, int goalCol, int goalRow) {
+        if (plannedUpdate == gp.updateCount && startCol == plannedStartCol && startRow == plannedStartRow
+                && goalCol == plannedGoalCol && goalRow == plannedGoalRow) {
+            return plannedResult;
+        }
+        plannedSearch = false;
+        plannedResult = findPathStep(startCol, startRow, goalCol, goalRow);
+        plannedUpdate = gp.updateCount;
+        plannedStartCol = startCol;
+        plannedStartRow = startRow;
+        plannedGoalCol = goalCol;
+        plannedGoalRow = goalRow;
+        return plannedResult;
+    }
+
+    private boolean findPathStep(int startCol, int startRow, int goalCol, int goalRow) {
+        if (gp.player != null) {
+            FlowField field = gp.getPlayerFlowField();
+            if (field.getGoalCol() == goalCol && field.getGoalRow() == goalRow) {
+                int next = field.nextStep(startCol, startRow);
+                if (next < 0) {
+                    return false;
+                }
+                nextPathCol = next % field.getCols();
+                nextPathRow = next / field.getCols();
+                return true;
+            }
+        }
+
+        plannedSearch = true;
+        PathCache cache = getPathCache();
+        if (!cache.next(gp.pathService, gp.tileM.getPathGraph(gp.currentMap),
+                startCol, startRow, goalCol, goalRow)) {
+            return false;
+        }
+        nextPathCol = cache.getNextCol();
+        nextPathRow = cache.getNextRow();
+        return true;
+    }
+
+    /**
+     * Plans this frame's path step ahead of {@link #update()}, possibly on a worker thread.
+     * Implementations may only call {@link #nextPathStep(int, int, int, int)} and read
+     * positions; the result is reused when {@link #setAction()} asks for the same step.
+     * Does nothing by default.
+     */
+    public void planPath() {}
+
+    /**
+     * Tells whether the last step planned went through this entity's {@link PathCache} (A* or
+     * HPA*) rather than a flow-field lookup. A planner that searched last update will most likely
+     * search again, so only those are worth handing to other threads.
+     *
+     * @return {@code true} if the last planned step needed a path search
+     */
+    public boolean plansSearch() {
+        return plannedSearch;
+    }
+
+    /**
+     * Plans the next step toward the player's tile. Used by chasing monsters in {@link #planPath()}.
+     */
+    protected void planPathToPlayer() {
+        int goalCol = (gp.player.worldx + gp.player.solidArea.x) / gp.tileSize;
+        int goalRow = (gp.player.worldy + gp.player.solidArea.y) / gp.tileSize;
+        goalCol = Math.max(0, Math.min(goalCol, gp.maxWorldCol - 1));
+        goalRow = Math.max(0, Math.min(goalRow, gp.maxWorldRow - 1));
+
+        int startCol = (worldx + solidArea.x) / gp.tileSize;
+        int startRow = (worldy + solidArea.y) / gp.tileSize;
+        nextPathStep(startCol, startRow, goalCol, goalRow);
+    }
+
     /**
      * Uses the pathfinding system to move the entity toward a specific goal tile.
      *
@@ -228,11 +345,9 @@ public class Entity {
         int startCol = (worldx + solidArea.x) / gp.tileSize;
         int startRow = (worldy + solidArea.y) / gp.tileSize;
 
-        gp.pFinder.setNode(startCol, startRow, goalCol, goalRow);
-
-        if(gp.pFinder.search() == true) {
-            int nextX = gp.pFinder.pathList.get(0).col * gp.tileSize;
-            int nextY = gp.pFinder.pathList.get(0).row * gp.tileSize;
+        if(nextPathStep(startCol, startRow, goalCol, goalRow)) {
+            int nextX = nextPathCol * gp.tileSize;
+            int nextY = nextPathRow * gp.tileSize;
 
             // ENTITY SOLID AREA POS
             int enLeftX = worldx + solidArea.x;
@@ -241,50 +356,50 @@ public class Entity {
             int enBottomY = worldy + solidArea.y + solidArea.height;
 
             if(enTopY > nextY && enLeftX >= nextX && enRightX < nextX +gp.tileSize) {
-                direction = "up";
+                direction = Direction.UP;
             }
             else if(enTopY < nextY && enLeftX >= nextX && enRightX < nextX +gp.tileSize) {
-                direction = "down";
+                direction = Direction.DOWN;
             }
             else if(enTopY >= nextY && enBottomY < nextY + gp.tileSize) {
                 // left or right
                 if(enLeftX > nextX) {
-                    direction = "left";
+                    direction = Direction.LEFT;
                 }
                 if(enLeftX < nextX) {
-                    direction = "right";
+                    direction = Direction.RIGHT;
                 }
             }
             else if(enTopY > nextY && enLeftX > nextX) {
                 // up or left
-                direction = "up";
+                direction = Direction.UP;
                 checkCollision();
                 if(collisionOn == true) {
-                    direction = "left";
+                    direction = Direction.LEFT;
                 }
             }
             else if(enTopY > nextY && enLeftX < nextX) {
                 // up or right
-                direction = "up";
+                direction = Direction.UP;
                 checkCollision();
                 if(collisionOn == true) {
-                    direction = "right";
+                    direction = Direction.RIGHT;
                 }
             }
             else if(enTopY < nextY && enLeftX > nextX) {
                 // down or left
-                direction = "down";
+                direction = Direction.DOWN;
                 checkCollision();
                 if(collisionOn == true) {
-                    direction = "left";
+                    direction = Direction.LEFT;
                 }
             }
             else if(enTopY < nextY && enLeftX < nextX) {
                 // down or right
-                direction = "down";
+                direction = Direction.DOWN;
                 checkCollision();
                 if(collisionOn == true) {
-                    direction = "right";
+                    direction = Direction.RIGHT;
                 }
             }
 
@@ -306,25 +421,19 @@ public class Entity {
     }
 
     /**
-     * Loads and scales an image from a given path.
+     * Returns an image from a given path scaled to the given size. Images come from the
+     * shared {@link SpriteCache}, so each one is only decoded once per process.
      *
      * @param imagePath the relative path to the image (without file extension)
      * @param width the target width of the image
      * @param height the target height of the image
-     * @return the scaled image as a {@link BufferedImage}
+     * @return the scaled image as a {@link BufferedImage}, or {@code null} in headless mode
      */
     public BufferedImage setUp(String imagePath, int width, int height) {
-        UtilityTool uTool = new UtilityTool();
-        BufferedImage scaledImage = null;
-
-        try {
-            scaledImage = ImageIO.read(getClass().getResourceAsStream(imagePath + ".png"));
-            scaledImage = uTool.scaleImage(scaledImage, width, height);
-
-        }catch(IOException e) {
-            e.printStackTrace();
+        if (gp != null && gp.headless) {
+            return null;
         }
-        return scaledImage;
+        return SpriteCache.get(imagePath, width, height);
     }
 
 
@@ -344,53 +453,8 @@ public class Entity {
                 worldy + gp.tileSize > gp.player.worldy - gp.player.screenY &&
                 worldy - gp.tileSize < gp.player.worldy + gp.player.screenY) {
 
-            switch(direction) {
-                case "up":
-                    if(spriteNum == 1){
-                        image = up1;
-                    }
-                    if(spriteNum == 2){
-                        image = up2;
-                    }
-                    if(spriteNum == 3){
-                        image = up3;
-                    }
-                    break;
-                case "down":
-                    if(spriteNum == 1){
-                        image = down1;
-                    }
-                    if(spriteNum == 2){
-                        image = down2;
-                    }
-                    if(spriteNum == 3){
-                        image = down3;
-                    }
-                    break;
-                case "right":
-                    if(spriteNum == 1){
-                        image = right1;
-                    }
-                    if(spriteNum == 2){
-                        image = right2;
-                    }
-                    if(spriteNum == 3){
-                        image = right3;
-                    }
-                    break;
-                case "left":
-                    if(spriteNum == 1){
-                        image = left1;
-                    }
-                    if(spriteNum == 2){
-                        image = left2;
-                    }
-                    if(spriteNum == 3){
-                        image = left3;
-                    }
-                    break;
-            }
-            
+            image = currentImage();
+
             if(type == 2 && hpBarOn == true) {
 
                 double oneScale = (double)gp.tileSize/maxLife;
@@ -402,12 +466,6 @@ public class Entity {
 
                 g2.setColor(new Color(225,30,60));
                 g2.fillRect(screenX, screenY - 30, (int)hpBarValue, 15);
-                hpBarCounter++;
-
-                if(hpBarCounter > 600) {
-                    hpBarOn = false;
-                    hpBarCounter = 0;
-                }
             }
 
             if(type == 1) {
@@ -424,14 +482,8 @@ public class Entity {
                 
             }
 
-            if(invincible == true) {
-                hpBarOn = true;
-                hpBarCounter = 0;
-                changeAlpha(g2,0.4f);
-            }
-            if(dying == true) {
-                dyingAnimation(g2);
-            }
+            // faded while invincible, blinking while dying; the timers run in updateEffects()
+            changeAlpha(g2, currentAlpha());
 
             g2.drawImage(image, screenX, screenY, null);
 
@@ -445,37 +497,88 @@ public class Entity {
 
 
     /**
-     * Plays the dying animation by toggling the entity’s visibility over time.
+     * Returns the sprite for the current direction and animation frame.
      *
-     * @param g2 the {@link Graphics2D} object used for rendering
+     * @return the image to draw, or {@code null} if it is not loaded
      */
-    public void dyingAnimation(Graphics2D g2) {
-        dyingCounter++;
-
-        int i =5;
-
-        if(dyingCounter <= i) {
-            changeAlpha(g2, 0f);
+    public BufferedImage currentImage() {
+        if (sprites == null) {
+            indexSprites();
         }
-        if(dyingCounter > i && dyingCounter <= i*2) {
-            changeAlpha(g2, 1f);
+        if (spriteNum < 1 || spriteNum > 3) {
+            return null;
         }
-        if(dyingCounter > i*2 && dyingCounter <= i*3) {
-            changeAlpha(g2, 0f);
+        return sprites[direction.ordinal()][spriteNum - 1];
+    }
+
+    /**
+     * Rebuilds the per-direction sprite index from the frame fields. Called on first use, so
+     * subclasses only need it if they replace their frames after the entity has been drawn.
+     */
+    public void indexSprites() {
+        sprites = new BufferedImage[Direction.COUNT][];
+        sprites[Direction.UP.ordinal()] = new BufferedImage[] {up1, up2, up3};
+        sprites[Direction.DOWN.ordinal()] = new BufferedImage[] {down1, down2, down3};
+        sprites[Direction.LEFT.ordinal()] = new BufferedImage[] {left1, left2, left3};
+        sprites[Direction.RIGHT.ordinal()] = new BufferedImage[] {right1, right2, right3};
+
+        attackSprites = new BufferedImage[Direction.COUNT][];
+        attackSprites[Direction.UP.ordinal()] = new BufferedImage[] {attackUp1, attackUp2, attackUp3};
+        attackSprites[Direction.DOWN.ordinal()] = new BufferedImage[] {attackDown1, attackDown2, attackDown3};
+        attackSprites[Direction.LEFT.ordinal()] = new BufferedImage[] {attackLeft1, attackLeft2, attackLeft3};
+        attackSprites[Direction.RIGHT.ordinal()] = new BufferedImage[] {attackRight1, attackRight2, attackRight3};
+    }
+
+    /**
+     * Returns the opacity the entity is drawn with: faded while invincible and blinking
+     * while dying, as {@link #draw(Graphics2D)} does.
+     *
+     * @return the alpha, from 0 to 1
+     */
+    public float currentAlpha() {
+        float alpha = invincible ? 0.4f : 1f;
+        if (dying && dyingCounter > 0 && dyingCounter <= DYING_BLINK * 6) {
+            alpha = ((dyingCounter - 1) / DYING_BLINK) % 2 == 0 ? 0f : 1f;
         }
-        if(dyingCounter > i*3 && dyingCounter <= i*4) {
-            changeAlpha(g2, 1f);
+        return alpha;
+    }
+
+    /**
+     * Advances the health bar timeout and the dying animation by one simulation step.
+     * Drawing never changes an entity, neither through {@link FrameSnapshot}s nor through
+     * {@link #draw(Graphics2D)}, so these timers run the same however often frames are rendered.
+     */
+    public void updateEffects() {
+        if (type == 2 && hpBarOn) {
+            hpBarCounter++;
+            if (hpBarCounter > 600) {
+                hpBarOn = false;
+                hpBarCounter = 0;
+            }
         }
-        if(dyingCounter > i*4 && dyingCounter <= i*5) {
-            changeAlpha(g2, 0f);
+        if (invincible) {
+            hpBarOn = true;
+            hpBarCounter = 0;
         }
-        if(dyingCounter > i*5 && dyingCounter <= i*6) {
-            changeAlpha(g2, 1f);
+        if (dying) {
+            dyingCounter++;
+            if (dyingCounter > DYING_BLINK * 6) {
+                alive = false;
+            }
         }
-        if(dyingCounter > i*6) {
-            alive = false;
+    }
 
+    /**
+     * Adds this entity to a frame snapshot if it is on screen.
+     *
+     * @param frame the snapshot being captured
+     */
+    public void capture(FrameSnapshot frame) {
+        if (!frame.isOnScreen(worldx, worldy)) {
+            return;
         }
+        int hpBar = type == 2 && hpBarOn ? (int) ((double) gp.tileSize / maxLife * life) : -1;
+        frame.addSprite(currentImage(), worldx, worldy, currentAlpha(), hpBar, type == 1);
     }
 
     /**
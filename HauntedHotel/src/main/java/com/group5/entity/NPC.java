@@ -33,7 +33,7 @@ public class NPC extends Entity{
         super(gp);
 
         type = 1;
-        direction = "down";
+        direction = Direction.DOWN;
         //speed = 1;
         //getNPCImage();
         down1 = setUp("/npc/npc1", gp.tileSize, gp.tileSize);
@@ -96,16 +96,16 @@ public class NPC extends Entity{
             int i = random.nextInt(100)+1;
 
             if (i <= 25) {
-                direction = "up";
+                direction = Direction.UP;
             }
             if (i > 25 && i <= 50) {
-                direction = "down";
+                direction = Direction.DOWN;
             }
             if (i > 50 && i <= 75) {
-                direction = "left";
+                direction = Direction.LEFT;
             }
             if (i > 75 && i <= 100) {
-                direction = "right";
+                direction = Direction.RIGHT;
             }
             actionLockCounter = 0;
         }
@@ -1,5 +1,7 @@
 package com.group5.entity;
 
+import com.group5.main.FrameProfiler;
+import com.group5.main.FrameSnapshot;
 import com.group5.main.GamePanel;
 import com.group5.main.KeyHandler;
 import com.group5.object.Obj_ElectricBall;
@@ -97,7 +99,7 @@ public class Player extends Entity {
         worldy = gp.tileSize * DEFAULT_SPAWN_TILE_Y;
 
         speed = PLAYER_SPEED;
-        direction = "down";
+        direction = Direction.DOWN;
 
         maxLife = PLAYER_MAX_LIFE;
         life = maxLife;
@@ -179,13 +181,14 @@ public class Player extends Entity {
     }
 
     private void updateDirection() {
-        if (keyH.upPressed) direction = "up";
-        else if (keyH.downPressed) direction = "down";
-        else if (keyH.leftPressed) direction = "left";
-        else if (keyH.rightPressed) direction = "right";
+        if (keyH.upPressed) direction = Direction.UP;
+        else if (keyH.downPressed) direction = Direction.DOWN;
+        else if (keyH.leftPressed) direction = Direction.LEFT;
+        else if (keyH.rightPressed) direction = Direction.RIGHT;
     }
 
     private void processCollisions() {
+        long t = gp.profiler.start();
         collisionOn = false;
 
         // tile collision
@@ -200,17 +203,14 @@ public class Player extends Entity {
 
         int monsterIndex = gp.cChecker.checkEntity(this, gp.monster);
         contactMonster(monsterIndex);
+        gp.profiler.stop(FrameProfiler.Phase.COLLISION, t);
 
         gp.eHandler.checkEvent();
     }
 
     private void movePlayer() {
-        switch (direction) {
-            case "up": worldy -= speed; break;
-            case "down": worldy += speed; break;
-            case "left": worldx -= speed; break;
-            case "right": worldx += speed; break;
-        }
+        worldx += direction.dx * speed;
+        worldy += direction.dy * speed;
     }
 
     private void updateMovementAnimation() {
@@ -237,37 +237,26 @@ public class Player extends Entity {
             attacking = false;
         }
 
-        // save current values
-        int currentWorldX = worldx;
-        int currentWorldY = worldy;
-        int solidAreaWidth = solidArea.width;
-        int solidAreaHeight = solidArea.height;
-
-        // shift hitbox to attack area and expand hitbox
-        shiftAttackHitbox();
-
-        // check collision with monsters using updated hitbox
-        int monsterIndex = gp.cChecker.checkEntity(this, gp.monster);
+        // check the attack hitbox in front of the player against monsters
+        int monsterIndex = gp.cChecker.probeArea(attackX(), attackY(), attackArea.width, attackArea.height,
+                this, gp.monster[gp.currentMap]).index();
         damageMonster(monsterIndex);
+    }
 
-        // restore saved values
-        worldx = currentWorldX;
-        worldy = currentWorldY;
-        solidArea.width = solidAreaWidth;
-        solidArea.height = solidAreaHeight;
+    /**
+     * @return the left edge of the attack hitbox: the solid area shifted one attack width, plus
+     * one step of {@code speed}, toward the facing side
+     */
+    private int attackX() {
+        return worldx + solidArea.x + direction.dx * attackArea.width + direction.dx * speed;
     }
 
-    /** Moves player's position and expands the solidArea to represent an attack hitbox. */
-    private void shiftAttackHitbox() {
-        switch (direction) {
-            case "up": worldy -= attackArea.height; break;
-            case "down": worldy += attackArea.height; break;
-            case "left": worldx -= attackArea.width; break;
-            case "right": worldx += attackArea.width; break;
-        }
-        // expand solid area to match attack area for collision checking
-        solidArea.width = attackArea.width;
-        solidArea.height = attackArea.height;
+    /**
+     * @return the top edge of the attack hitbox: the solid area shifted one attack height, plus
+     * one step of {@code speed}, toward the facing side
+     */
+    private int attackY() {
+        return worldy + solidArea.y + direction.dy * attackArea.height + direction.dy * speed;
     }
 
     // ================= PICKUP / INTERACT =================
@@ -291,6 +280,7 @@ public class Player extends Entity {
 
             gp.playSE(1);
             gp.obj[gp.currentMap][i] = null;
+            gp.cChecker.refresh();
         } else {
             text = "Inventory full";
         }
@@ -329,12 +319,8 @@ public class Player extends Entity {
                 life -= 2;
                 invincible = true;
                 // simple knockback: move player slightly opposite to current direction
-                switch (direction) {
-                    case "up": worldy += gp.tileSize; break;
-                    case "down": worldy -= gp.tileSize; break;
-                    case "left": worldx += gp.tileSize; break;
-                    case "right": worldx -= gp.tileSize; break;
-                }
+                worldx -= direction.dx * gp.tileSize;
+                worldy -= direction.dy * gp.tileSize;
             }
         }
     }
@@ -410,8 +396,8 @@ public class Player extends Entity {
         int tempScreenX = screenX;
         int tempScreenY = screenY;
 
-        if (attacking && "up".equals(direction)) tempScreenY = screenY - gp.tileSize;
-        if (attacking && "left".equals(direction)) tempScreenX = screenX - gp.tileSize;
+        if (attacking && direction == Direction.UP) tempScreenY = screenY - gp.tileSize;
+        if (attacking && direction == Direction.LEFT) tempScreenX = screenX - gp.tileSize;
 
         if (invincible) {
             g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.3f));
@@ -423,30 +409,27 @@ public class Player extends Entity {
         g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1f));
     }
 
-    private BufferedImage getCurrentSprite() {
-        boolean attack = attacking;
-        int s = spriteNum;
-
-        switch (direction) {
-            case "up":
-                return attack ? spriteByNumber(s, attackUp1, attackUp2, attackUp3)
-                              : spriteByNumber(s, up1, up2, up3);
-            case "down":
-                return attack ? spriteByNumber(s, attackDown1, attackDown2, attackDown3)
-                              : spriteByNumber(s, down1, down2, down3);
-            case "left":
-                return attack ? spriteByNumber(s, attackLeft1, attackLeft2, attackLeft3)
-                              : spriteByNumber(s, left1, left2, left3);
-            case "right":
-            default:
-                return attack ? spriteByNumber(s, attackRight1, attackRight2, attackRight3)
-                              : spriteByNumber(s, right1, right2, right3);
-        }
+    /**
+     * Adds the player to a frame snapshot, shifted like {@link #draw(Graphics2D)} while
+     * attacking up or left and faded while invincible.
+     *
+     * @param frame the snapshot being captured
+     */
+    @Override
+    public void capture(FrameSnapshot frame) {
+        int x = worldx;
+        int y = worldy;
+        if (attacking && direction == Direction.UP) y -= gp.tileSize;
+        if (attacking && direction == Direction.LEFT) x -= gp.tileSize;
+        frame.addSprite(getCurrentSprite(), x, y, invincible ? 0.3f : 1f, -1, false);
     }
 
-    private BufferedImage spriteByNumber(int s, BufferedImage a, BufferedImage b, BufferedImage c) {
-        if (s == 1) return a;
-        if (s == 2) return b;
-        return c;
+    private BufferedImage getCurrentSprite() {
+        if (sprites == null) {
+            indexSprites();
+        }
+        BufferedImage[] frames = (attacking ? attackSprites : sprites)[direction.ordinal()];
+        // any frame number other than 1 or 2 shows the third frame
+        return frames[spriteNum == 1 ? 0 : spriteNum == 2 ? 1 : 2];
     }
-}
\ No newline at end of file
+}
@@ -19,6 +19,9 @@ public class Projectile extends Entity{
     /** The entity (player or monster) that fired this projectile. */
     Entity user;
 
+    /** The pool this projectile returns to when it expires, or {@code null} if it is not pooled. */
+    ProjectilePool<?> pool;
+
     /**
      * Constructs a new {@code Projectile} instance associated with the given {@link GamePanel}.
      *
@@ -35,11 +38,11 @@ public class Projectile extends Entity{
      *
      * @param worldx the world X-coordinate where the projectile starts
      * @param worldy the world Y-coordinate where the projectile starts
-     * @param direction the direction the projectile will travel ("up", "down", "left", or "right")
+     * @param direction the direction the projectile will travel
      * @param alive whether the projectile is active
      * @param user the entity that fired the projectile (e.g., player or monster)
      */
-    public void set(int worldx, int worldy, String direction, boolean alive, Entity user) {
+    public void set(int worldx, int worldy, Direction direction, boolean alive, Entity user) {
 
         this.worldx = worldx;
         this.worldy = worldy;
@@ -78,20 +81,8 @@ public class Projectile extends Entity{
         }
 
 
-        switch (direction){
-            case "up":
-                worldy -= speed;
-                break;
-            case "down":
-                worldy += speed;
-                break;
-            case "left":
-                worldx -= speed;
-                break;
-            case "right":
-                worldx += speed;
-                break;
-        }
+        worldx += direction.dx * speed;
+        worldy += direction.dy * speed;
         spriteNum = 1;
         life--;
         if(life <= 0) {
@@ -100,4 +91,12 @@ public class Projectile extends Entity{
 
     }
 
+    /**
+     * Gives this projectile back to its pool, if it came from one.
+     */
+    public void release() {
+        if (pool != null) {
+            pool.release(this);
+        }
+    }
 }
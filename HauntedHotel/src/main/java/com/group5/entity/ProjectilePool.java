@@ -0,0 +1,94 @@
+package com.group5.entity;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * The {@code ProjectilePool} class keeps a stack of spare projectiles of one type so firing
+ * does not allocate during play.
+ * <p>
+ * Projectiles are created up front, handed out by {@link #obtain()} and reset by the shooter
+ * with {@link Projectile#set(int, int, Direction, boolean, Entity)}. When a projectile expires,
+ * {@link com.group5.main.GamePanel#update()} removes it from the active list and gives it back
+ * with {@link #release(Projectile)}. The pool only grows when more projectiles of its type are
+ * in flight at once than it has ever held.
+ * </p>
+ *
+ * @param <T> the projectile type
+ * @author Group 5
+ * @version 1.0
+ */
+public class ProjectilePool<T extends Projectile> {
+
+    /** Creates a new projectile when the pool runs dry. */
+    private final Supplier<T> factory;
+
+    /** Spare projectiles; entries {@code [0, free)} are available. */
+    private Projectile[] spare;
+    private int free = 0;
+
+    /** Number of projectiles this pool has created. */
+    private int created = 0;
+
+    /**
+     * Creates a pool and fills it with spare projectiles.
+     *
+     * @param factory creates one projectile of the pooled type
+     * @param initialSize number of projectiles to create up front
+     */
+    public ProjectilePool(Supplier<T> factory, int initialSize) {
+        this.factory = factory;
+        this.spare = new Projectile[Math.max(1, initialSize)];
+        for (int i = 0; i < initialSize; i++) {
+            spare[free++] = create();
+        }
+    }
+
+    /**
+     * Takes a spare projectile, creating one if none is left.
+     *
+     * @return a projectile that is not in flight; call {@code set(...)} before adding it to the game
+     */
+    @SuppressWarnings("unchecked")
+    public T obtain() {
+        if (free == 0) {
+            return create();
+        }
+        T projectile = (T) spare[--free];
+        spare[free] = null;
+        return projectile;
+    }
+
+    /**
+     * Returns an expired projectile to the pool. Projectiles from another pool are ignored.
+     *
+     * @param projectile the projectile to reuse
+     */
+    public void release(Projectile projectile) {
+        if (projectile.pool != this) {
+            return;
+        }
+        projectile.alive = false;
+        if (free == spare.length) {
+            spare = Arrays.copyOf(spare, spare.length * 2);
+        }
+        spare[free++] = projectile;
+    }
+
+    /** @return the number of spare projectiles */
+    public int getFree() {
+        return free;
+    }
+
+    /** @return the number of projectiles this pool has created */
+    public int getCreated() {
+        return created;
+    }
+
+    private T create() {
+        T projectile = factory.get();
+        projectile.pool = this;
+        created++;
+        return projectile;
+    }
+}
@@ -0,0 +1,277 @@
+package com.group5.main;
+
+import com.group5.tile.TileManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@code AssetLoader} class decodes images and loads maps on a pool of worker threads, so
+ * the game thread finds them ready instead of reading files mid-frame.
+ * <p>
+ * At start-up {@link #preload()} queues every sprite the game uses: first the tiles, the player,
+ * the HUD icons and the projectiles, which the game's constructors need right away and now wait
+ * for in parallel instead of one after another, then the sprites of each map's monsters and
+ * objects, which keep decoding while the title screen shows the progress bar. When the player
+ * walks toward a teleport, {@link #prefetchMap(int, int, int)} loads the destination map, its
+ * sprites and the chunks visible on arrival, so the teleport itself only switches maps.
+ * </p>
+ * <p>
+ * Decoding goes through {@link SpriteCache}, so a sprite the game asks for while a worker is
+ * decoding it is waited for rather than decoded twice. Workers are daemon threads that stop
+ * after a few idle seconds.
+ * </p>
+ *
+ * @author Group 5
+ * @version 1.0
+ */
+public class AssetLoader {
+
+    /** A sprite to decode: resource path without {@code .png} and size in tiles. */
+    record Sprite(String path, int cols, int rows) {}
+
+    /** Sprites used on every map besides the tiles: the player, the HUD icons and the projectiles. */
+    static final List<Sprite> COMMON_SPRITES = new ArrayList<>();
+
+    /** Sprites of the monsters, NPCs and objects placed on each map, indexed by map. */
+    static final List<List<Sprite>> MAP_SPRITES = new ArrayList<>();
+
+    static {
+        for (String direction : new String[] {"up", "down", "left", "right"}) {
+            for (int frame = 1; frame <= 3; frame++) {
+                COMMON_SPRITES.add(new Sprite("/player/Player276-" + direction + frame, 1, 1));
+            }
+        }
+        for (String direction : new String[] {"up", "down", "left", "right"}) {
+            boolean vertical = direction.equals("up") || direction.equals("down");
+            for (int frame = 1; frame <= 3; frame++) {
+                COMMON_SPRITES.add(new Sprite("/player/PlayerAttack-" + direction + frame,
+                        vertical ? 1 : 2, vertical ? 2 : 1));
+            }
+        }
+        for (String path : new String[] {"/objects/Chest_Key", "/objects/Money", "/objects/heart_full",
+                "/objects/heart_half", "/objects/heart_blank", "/objects/snowball",
+                "/projectile/Fireball", "/projectile/ElectricBall"}) {
+            COMMON_SPRITES.add(new Sprite(path, 1, 1));
+        }
+
+        // lobby
+        MAP_SPRITES.add(sprites("/npc/npc1"));
+        // Myers
+        MAP_SPRITES.add(sprites("/monster/Myers_stand", "/monster/Myersrun_L1", "/monster/Myersrun_L2",
+                "/monster/Myersrun_r1", "/monster/Myersrun_r2", "/objects/key"));
+        // Christmas
+        List<Sprite> santa = frames("/monster/", 2);
+        santa.addAll(sprites("/objects/key", "/objects/gift"));
+        MAP_SPRITES.add(santa);
+        // basement
+        MAP_SPRITES.add(frames("/monster/Boss-", 3));
+    }
+
+    /** The game the assets are loaded for. */
+    private final GamePanel gp;
+
+    /** The worker threads. */
+    private final ThreadPoolExecutor pool;
+
+    /** Maps being prefetched right now. */
+    private final Set<Integer> prefetching = ConcurrentHashMap.newKeySet();
+
+    /** Maps whose sprites have all been decoded. */
+    private final Set<Integer> spritesReady = ConcurrentHashMap.newKeySet();
+
+    /** Number of tasks queued and finished so far. */
+    private int queued = 0;
+    private int finished = 0;
+
+    /** Number of maps prefetched so far, mainly for tests. */
+    private final AtomicInteger prefetches = new AtomicInteger();
+
+    /**
+     * Creates a loader with one worker per processor but one, leaving a core to the game thread.
+     *
+     * @param gp the game the assets are loaded for
+     */
+    public AssetLoader(GamePanel gp) {
+        this(gp, Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+    }
+
+    /**
+     * Creates a loader.
+     *
+     * @param gp the game the assets are loaded for
+     * @param threads the number of worker threads
+     */
+    public AssetLoader(GamePanel gp, int threads) {
+        this.gp = gp;
+        AtomicInteger count = new AtomicInteger();
+        pool = new ThreadPoolExecutor(threads, threads, 2, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), task -> {
+            Thread thread = new Thread(task, "asset-loader-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        pool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Queues every sprite of the game for decoding: the tiles and {@link #COMMON_SPRITES} first,
+     * then each map's sprites in map order. Does nothing in headless mode.
+     */
+    public void preload() {
+        if (gp.headless) {
+            return;
+        }
+        for (String path : TileManager.tileImages()) {
+            decode(new Sprite(path, 1, 1));
+        }
+        for (Sprite sprite : COMMON_SPRITES) {
+            decode(sprite);
+        }
+        for (int map = 0; map < MAP_SPRITES.size(); map++) {
+            int m = map;
+            submit(() -> loadSprites(m));
+        }
+    }
+
+    /**
+     * Prepares a map the player is about to teleport into: loads its tiles, collision map and
+     * path graph, decodes its sprites and bakes the tile chunks visible at the arrival point.
+     * Does nothing if the map is already being prefetched, or is resident with its sprites
+     * decoded, so it can be called every frame while the player stands near a teleport.
+     *
+     * @param map the destination map
+     * @param worldx the world x position the player arrives at
+     * @param worldy the world y position the player arrives at
+     */
+    public void prefetchMap(int map, int worldx, int worldy) {
+        if ((spritesReady.contains(map) || gp.headless) && gp.tileM.isResident(map)) {
+            return;
+        }
+        if (!prefetching.add(map)) {
+            return;
+        }
+        prefetches.incrementAndGet();
+        submit(() -> {
+            try {
+                gp.tileM.getMap(map);
+                loadSprites(map);
+                gp.tileM.prebakeView(map, worldx, worldy);
+            } finally {
+                prefetching.remove(map);
+            }
+        });
+    }
+
+    /**
+     * Bakes the tile chunks around a position on a worker thread, so entering a map does not
+     * bake on the game thread. Does nothing in headless mode.
+     *
+     * @param map the map index
+     * @param worldx the world x position the view will be centred on
+     * @param worldy the world y position the view will be centred on
+     */
+    public void prebake(int map, int worldx, int worldy) {
+        if (gp.headless) {
+            return;
+        }
+        submit(() -> gp.tileM.prebake(map, worldx, worldy));
+    }
+
+    /** @return the fraction of queued tasks that have finished, 1 when the loader is idle */
+    public synchronized double getProgress() {
+        return queued == 0 ? 1 : (double) finished / queued;
+    }
+
+    /** @return {@code true} once every queued task has finished */
+    public synchronized boolean isDone() {
+        return finished == queued;
+    }
+
+    /** @return the number of maps prefetched so far */
+    public int getPrefetches() {
+        return prefetches.get();
+    }
+
+    /**
+     * Waits until every queued task has finished.
+     *
+     * @param timeoutMillis the longest time to wait
+     * @return {@code true} if the loader is idle, {@code false} if the time ran out
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public synchronized boolean awaitDone(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (finished != queued) {
+            long left = deadline - System.currentTimeMillis();
+            if (left <= 0) {
+                return false;
+            }
+            wait(left);
+        }
+        return true;
+    }
+
+    /** Decodes a map's sprites and remembers that they are ready. */
+    private void loadSprites(int map) {
+        if (gp.headless || map >= MAP_SPRITES.size()) {
+            return;
+        }
+        for (Sprite sprite : MAP_SPRITES.get(map)) {
+            load(sprite);
+        }
+        spritesReady.add(map);
+    }
+
+    private void decode(Sprite sprite) {
+        submit(() -> load(sprite));
+    }
+
+    private void load(Sprite sprite) {
+        SpriteCache.get(sprite.path(), sprite.cols() * gp.tileSize, sprite.rows() * gp.tileSize);
+    }
+
+    /** Runs a task on a worker and counts it towards the progress. */
+    private void submit(Runnable task) {
+        synchronized (this) {
+            queued++;
+        }
+        pool.execute(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            } finally {
+                synchronized (this) {
+                    finished++;
+                    notifyAll();
+                }
+            }
+        });
+    }
+
+    /** @return tile-sized sprites for the given paths */
+    private static List<Sprite> sprites(String... paths) {
+        List<Sprite> sprites = new ArrayList<>();
+        for (String path : paths) {
+            sprites.add(new Sprite(path, 1, 1));
+        }
+        return sprites;
+    }
+
+    /** @return the walking frames {@code prefix + direction + frame} of a monster */
+    private static List<Sprite> frames(String prefix, int count) {
+        List<Sprite> sprites = new ArrayList<>();
+        for (String direction : new String[] {"up", "down", "left", "right"}) {
+            for (int frame = 1; frame <= count; frame++) {
+                sprites.add(new Sprite(prefix + direction + frame, 1, 1));
+            }
+        }
+        return sprites;
+    }
+}
@@ -17,6 +17,8 @@ import com.group5.monster.MyersEnemy;
  * <p>
  * It handles positioning each entity in the game world based on tile coordinates,
  * which are multiplied by {@code gp.tileSize} to align properly with the grid-based map system.
+ * Each map's assets can be placed on their own with {@link #setAssets(int)}, which the game does
+ * the first time the player enters a map.
  * </p>
  * 
  * @author Group 5
@@ -36,6 +38,17 @@ public class AssetSetter {
         this.gp = gp;
     }
 
+    /**
+     * Places the objects, NPCs and monsters of one map.
+     *
+     * @param mapNum the map index
+     */
+    public void setAssets(int mapNum) {
+        setObject(mapNum);
+        setNPC(mapNum);
+        setMonster(mapNum);
+    }
+
     /**
      * Initializes and places all interactable objects (e.g., gifts, keys) into the game world.
      * <p>
@@ -43,101 +56,109 @@ public class AssetSetter {
      * </p>
      */
     public void setObject() {
+        for (int mapNum = 0; mapNum < gp.maxMap; mapNum++) {
+            setObject(mapNum);
+        }
+    }
 
-        int mapNum = 0;
+    /**
+     * Initializes and places the interactable objects of one map.
+     *
+     * @param mapNum the map index
+     */
+    public void setObject(int mapNum) {
         int i = 0;
 
-        gp.obj[mapNum][i] = new Obj_Chest_Key(gp);
-        gp.obj[mapNum][i].worldx = 16 * gp.tileSize;
-        gp.obj[mapNum][i].worldy = 12 * gp.tileSize;
+        if (mapNum == 0) {
+            gp.obj[mapNum][i] = new Obj_Chest_Key(gp);
+            gp.obj[mapNum][i].worldx = 16 * gp.tileSize;
+            gp.obj[mapNum][i].worldy = 12 * gp.tileSize;
 
-        /* 
-        i++;
-        gp.obj[mapNum][i] = new Obj_Chest_Key(gp);
-        gp.obj[mapNum][i].worldx = 5 * gp.tileSize;
-        gp.obj[mapNum][i].worldy = 6 * gp.tileSize;
-        */ 
+            /* 
+            i++;
+            gp.obj[mapNum][i] = new Obj_Chest_Key(gp);
+            gp.obj[mapNum][i].worldx = 5 * gp.tileSize;
+            gp.obj[mapNum][i].worldy = 6 * gp.tileSize;
+            */ 
+        }
 
         //myers map
-        mapNum = 1;
-        i = 0;
-
-        //6 possible locations for the kye to spawn
-        int[][] keySpots = {
-            {4,4},
-            {20,3},
-            {34,3},
-            {5,11},
-            {19,11},
-            {36,11}  
-        };
-
-        // picking a random location
-        int rand = new java.util.Random().nextInt(keySpots.length);
-        gp.obj[mapNum][i] = new Obj_Myers_Key(gp);
-        gp.obj[mapNum][i].worldx = keySpots[rand][0]* gp.tileSize;
-        gp.obj[mapNum][i].worldy = keySpots[rand][1]* gp.tileSize;
+        if (mapNum == 1) {
+            //6 possible locations for the kye to spawn
+            int[][] keySpots = {
+                {4,4},
+                {20,3},
+                {34,3},
+                {5,11},
+                {19,11},
+                {36,11}  
+            };
+
+            // picking a random location
+            int rand = new java.util.Random().nextInt(keySpots.length);
+            gp.obj[mapNum][i] = new Obj_Myers_Key(gp);
+            gp.obj[mapNum][i].worldx = keySpots[rand][0]* gp.tileSize;
+            gp.obj[mapNum][i].worldy = keySpots[rand][1]* gp.tileSize;
+        }
 
 
         // Christmas map 
-        mapNum = 2;
-        i = 0;
-        
-        // random key spots 
-        int[][] christmasKeySpots = {
-            {18,16},
-            {25,15},
-            {43,12}
-        };
-
-        int random = new java.util.Random().nextInt(christmasKeySpots.length);
-        gp.obj[mapNum][i] = new Obj_Myers_Key(gp);
-        gp.obj[mapNum][i].worldx = christmasKeySpots[random][0]* gp.tileSize;
-        gp.obj[mapNum][i].worldy = christmasKeySpots[random][1]* gp.tileSize;
-
-
-        // gift objects (GOOD)
-        i++;
-        gp.obj[mapNum][i] = new Obj_Gift(gp);
-        gp.obj[mapNum][i].worldx = 18 * gp.tileSize;
-        gp.obj[mapNum][i].worldy = 16 * gp.tileSize;
-
-        i++;
-        gp.obj[mapNum][i] = new Obj_Gift(gp);
-        gp.obj[mapNum][i].worldx = 25 * gp.tileSize;
-        gp.obj[mapNum][i].worldy = 15 * gp.tileSize;
-        
-        i++;
-        gp.obj[mapNum][i] = new Obj_Gift(gp);
-        gp.obj[mapNum][i].worldx = 43 * gp.tileSize;
-        gp.obj[mapNum][i].worldy = 12 * gp.tileSize;
-
-        // gift objects (BAD)
-        i++;
-        gp.obj[mapNum][i] = new Obj_Gift(gp);
-        gp.obj[mapNum][i].worldx = 17 * gp.tileSize;
-        gp.obj[mapNum][i].worldy = 13 * gp.tileSize;
-
-        i++;
-        gp.obj[mapNum][i] = new Obj_Gift(gp);
-        gp.obj[mapNum][i].worldx = 22 * gp.tileSize;
-        gp.obj[mapNum][i].worldy = 17 * gp.tileSize;
-
-        i++;
-        gp.obj[mapNum][i] = new Obj_Gift(gp);
-        gp.obj[mapNum][i].worldx = 34 * gp.tileSize;
-        gp.obj[mapNum][i].worldy = 18 * gp.tileSize;
-
-        i++;
-        gp.obj[mapNum][i] = new Obj_Gift(gp);
-        gp.obj[mapNum][i].worldx = 31 * gp.tileSize;
-        gp.obj[mapNum][i].worldy = 15 * gp.tileSize;
-
-        i++;
-        gp.obj[mapNum][i] = new Obj_Gift(gp);
-        gp.obj[mapNum][i].worldx = 37 * gp.tileSize;
-        gp.obj[mapNum][i].worldy = 9 * gp.tileSize;
-
+        if (mapNum == 2) {
+            // random key spots 
+            int[][] christmasKeySpots = {
+                {18,16},
+                {25,15},
+                {43,12}
+            };
+
+            int random = new java.util.Random().nextInt(christmasKeySpots.length);
+            gp.obj[mapNum][i] = new Obj_Myers_Key(gp);
+            gp.obj[mapNum][i].worldx = christmasKeySpots[random][0]* gp.tileSize;
+            gp.obj[mapNum][i].worldy = christmasKeySpots[random][1]* gp.tileSize;
+
+
+            // gift objects (GOOD)
+            i++;
+            gp.obj[mapNum][i] = new Obj_Gift(gp);
+            gp.obj[mapNum][i].worldx = 18 * gp.tileSize;
+            gp.obj[mapNum][i].worldy = 16 * gp.tileSize;
+
+            i++;
+            gp.obj[mapNum][i] = new Obj_Gift(gp);
+            gp.obj[mapNum][i].worldx = 25 * gp.tileSize;
+            gp.obj[mapNum][i].worldy = 15 * gp.tileSize;
+
+            i++;
+            gp.obj[mapNum][i] = new Obj_Gift(gp);
+            gp.obj[mapNum][i].worldx = 43 * gp.tileSize;
+            gp.obj[mapNum][i].worldy = 12 * gp.tileSize;
+
+            // gift objects (BAD)
+            i++;
+            gp.obj[mapNum][i] = new Obj_Gift(gp);
+            gp.obj[mapNum][i].worldx = 17 * gp.tileSize;
+            gp.obj[mapNum][i].worldy = 13 * gp.tileSize;
+
+            i++;
+            gp.obj[mapNum][i] = new Obj_Gift(gp);
+            gp.obj[mapNum][i].worldx = 22 * gp.tileSize;
+            gp.obj[mapNum][i].worldy = 17 * gp.tileSize;
+
+            i++;
+            gp.obj[mapNum][i] = new Obj_Gift(gp);
+            gp.obj[mapNum][i].worldx = 34 * gp.tileSize;
+            gp.obj[mapNum][i].worldy = 18 * gp.tileSize;
+
+            i++;
+            gp.obj[mapNum][i] = new Obj_Gift(gp);
+            gp.obj[mapNum][i].worldx = 31 * gp.tileSize;
+            gp.obj[mapNum][i].worldy = 15 * gp.tileSize;
+
+            i++;
+            gp.obj[mapNum][i] = new Obj_Gift(gp);
+            gp.obj[mapNum][i].worldx = 37 * gp.tileSize;
+            gp.obj[mapNum][i].worldy = 9 * gp.tileSize;
+        }
     }
 
 
@@ -148,10 +169,22 @@ public class AssetSetter {
      * </p>
      */
     public void setNPC() {
-        int mapNum = 0;
-        gp.npc[mapNum][0] = new NPC(gp);
-        gp.npc[mapNum][0].worldx = gp.tileSize * 12;
-        gp.npc[mapNum][0].worldy = gp.tileSize * 6;
+        for (int mapNum = 0; mapNum < gp.maxMap; mapNum++) {
+            setNPC(mapNum);
+        }
+    }
+
+    /**
+     * Places the NPCs of one map.
+     *
+     * @param mapNum the map index
+     */
+    public void setNPC(int mapNum) {
+        if (mapNum == 0) {
+            gp.npc[mapNum][0] = new NPC(gp);
+            gp.npc[mapNum][0].worldx = gp.tileSize * 12;
+            gp.npc[mapNum][0].worldy = gp.tileSize * 6;
+        }
     }
 
     /**
@@ -161,25 +194,36 @@ public class AssetSetter {
      * </p>
      */
     public void setMonster() {
-        //myers
-        int mapNum = 1;
-        int i = 0;
-        gp.monster[mapNum][i] = new MyersEnemy(gp);
-        gp.monster[mapNum][i].worldx = gp.tileSize * 8;
-        gp.monster[mapNum][i].worldy = gp.tileSize * 12;
-
-        mapNum = 2;
-        i = 0;
-        gp.monster[mapNum][i] = new Enemy_Santa(gp);
-        gp.monster[mapNum][i].worldx = gp.tileSize * 35;
-        gp.monster[mapNum][i].worldy = gp.tileSize * 13;
-
-        mapNum = 3;
-        i = 0;
-        gp.monster[mapNum][i] = new Mon_Boss(gp);
-        gp.monster[mapNum][i].worldx = gp.tileSize * 40;
-        gp.monster[mapNum][i].worldy = gp.tileSize * 25;
-        
+        for (int mapNum = 0; mapNum < gp.maxMap; mapNum++) {
+            setMonster(mapNum);
+        }
+    }
 
+    /**
+     * Places the monsters of one map.
+     *
+     * @param mapNum the map index
+     */
+    public void setMonster(int mapNum) {
+        int i = 0;
+        switch (mapNum) {
+            case 1: //myers
+                gp.monster[mapNum][i] = new MyersEnemy(gp);
+                gp.monster[mapNum][i].worldx = gp.tileSize * 8;
+                gp.monster[mapNum][i].worldy = gp.tileSize * 12;
+                break;
+            case 2:
+                gp.monster[mapNum][i] = new Enemy_Santa(gp);
+                gp.monster[mapNum][i].worldx = gp.tileSize * 35;
+                gp.monster[mapNum][i].worldy = gp.tileSize * 13;
+                break;
+            case 3:
+                gp.monster[mapNum][i] = new Mon_Boss(gp);
+                gp.monster[mapNum][i].worldx = gp.tileSize * 40;
+                gp.monster[mapNum][i].worldy = gp.tileSize * 25;
+                break;
+            default:
+                break;
+        }
     }
 }
@@ -0,0 +1,181 @@
+package com.group5.main;
+
+import java.awt.AWTException;
+import java.awt.BufferCapabilities;
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.ImageCapabilities;
+import java.awt.image.BufferStrategy;
+import java.util.function.LongSupplier;
+
+/**
+ * The {@code CanvasRenderer} class is the active rendering backend: a {@link Canvas} whose
+ * {@link BufferStrategy} is drawn and presented directly by the game loop instead of asking
+ * Swing to {@code repaint()} the {@link GamePanel} on the event dispatch thread.
+ * <p>
+ * The game loop calls {@link #render()} when a frame is due; the frame is drawn into the back
+ * buffer with {@link GamePanel#render(Graphics2D)} and shown right away, so a frame is presented
+ * when the loop decides and not whenever the EDT gets around to it. Page flipping is requested
+ * first and plain blitting is used where the display does not support it. The time spent in
+ * {@link BufferStrategy#show()} is measured on every frame as the present latency and
+ * reported as the {@link FrameProfiler.Phase#PRESENT} phase of the profiler overlay, CSV log
+ * and flight recorder event.
+ * </p>
+ *
+ * <p>Selected with {@code -Dhauntedhotel.renderer=canvas}; the default is the {@code JPanel} path.</p>
+ *
+ * @author Group 5
+ * @version 1.0
+ */
+public class CanvasRenderer extends Canvas {
+
+    /** Number of buffers in the strategy: one front buffer and two back buffers. */
+    public static final int BUFFERS = 3;
+
+    /** The game drawn on this canvas. */
+    private final GamePanel gp;
+
+    /** Source of the current time in nanoseconds, used to time presents. */
+    private final LongSupplier clock;
+
+    /** The buffer strategy, created on the first frame after the canvas became displayable. */
+    private BufferStrategy strategy;
+
+    /** Present latency statistics. */
+    private long presents = 0;
+    private long lastPresentNanos = 0;
+    private long maxPresentNanos = 0;
+    private long totalPresentNanos = 0;
+
+    /** Number of frames that had to be drawn again because the buffer contents were lost. */
+    private long redraws = 0;
+
+    /**
+     * Creates the canvas for a game.
+     *
+     * @param gp the game panel that draws the frames and handles the keys
+     */
+    public CanvasRenderer(GamePanel gp) {
+        this(gp, System::nanoTime);
+    }
+
+    /**
+     * Creates the canvas for a game with the given clock.
+     *
+     * @param gp the game panel that draws the frames and handles the keys
+     * @param clock source of the current time in nanoseconds
+     */
+    CanvasRenderer(GamePanel gp, LongSupplier clock) {
+        this.gp = gp;
+        this.clock = clock;
+        setPreferredSize(new Dimension(gp.screenWidth, gp.screenHeight));
+        setBackground(Color.black);
+        setIgnoreRepaint(true);
+        setFocusable(true);
+        addKeyListener(gp.keyH);
+    }
+
+    /**
+     * Draws and presents one frame. Called by the game loop; does nothing until the canvas
+     * is displayable.
+     */
+    public void render() {
+        if (strategy == null) {
+            if (!isDisplayable()) {
+                return;
+            }
+            strategy = createStrategy();
+        }
+        present(strategy);
+    }
+
+    /** Creates a page-flipping strategy, or the best one AWT offers if flipping is not supported. */
+    private BufferStrategy createStrategy() {
+        BufferCapabilities flipping = new BufferCapabilities(
+                new ImageCapabilities(true), new ImageCapabilities(true), BufferCapabilities.FlipContents.UNDEFINED);
+        try {
+            createBufferStrategy(BUFFERS, flipping);
+        } catch (AWTException e) {
+            createBufferStrategy(BUFFERS);
+        }
+        return getBufferStrategy();
+    }
+
+    /**
+     * Draws the current frame into a strategy's back buffer and shows it, drawing again for as
+     * long as the strategy reports that the buffer contents were restored or lost.
+     *
+     * @param strategy the buffer strategy to present through
+     */
+    void present(BufferStrategy strategy) {
+        boolean first = true;
+        boolean drawn = false;
+        do {
+            do {
+                if (!first) {
+                    redraws++;
+                }
+                first = false;
+                Graphics2D g2 = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    g2.setColor(Color.black);
+                    g2.fillRect(0, 0, gp.screenWidth, gp.screenHeight);
+                    drawn = gp.drawFrame(g2);
+                } finally {
+                    g2.dispose();
+                }
+            } while (strategy.contentsRestored());
+
+            long start = clock.getAsLong();
+            strategy.show();
+            long nanos = clock.getAsLong() - start;
+            recordPresent(nanos);
+            if (drawn) {
+                gp.profiler.add(FrameProfiler.Phase.PRESENT, nanos);
+            }
+        } while (strategy.contentsLost());
+        if (drawn) {
+            gp.profiler.endRender();
+        }
+    }
+
+    /** Adds one measured present to the statistics. */
+    private void recordPresent(long nanos) {
+        presents++;
+        lastPresentNanos = nanos;
+        totalPresentNanos += nanos;
+        maxPresentNanos = Math.max(maxPresentNanos, nanos);
+    }
+
+    /** @return {@code true} if the strategy in use flips pages instead of copying the back buffer */
+    public boolean isPageFlipping() {
+        return strategy != null && strategy.getCapabilities().isPageFlipping();
+    }
+
+    /** @return the number of frames presented */
+    public long getPresents() {
+        return presents;
+    }
+
+    /** @return the number of times a frame was drawn again because its buffer was lost or restored */
+    public long getRedraws() {
+        return redraws;
+    }
+
+    /** @return the time the last {@link BufferStrategy#show()} took, in nanoseconds */
+    public long getLastPresentNanos() {
+        return lastPresentNanos;
+    }
+
+    /** @return the longest {@link BufferStrategy#show()} so far, in milliseconds */
+    public double getMaxPresentMillis() {
+        return maxPresentNanos / 1_000_000.0;
+    }
+
+    /** @return the average time of {@link BufferStrategy#show()}, in milliseconds */
+    public double getAveragePresentMillis() {
+        return presents == 0 ? 0 : totalPresentNanos / (presents * 1_000_000.0);
+    }
+}
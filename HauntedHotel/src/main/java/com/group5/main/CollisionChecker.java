@@ -1,6 +1,10 @@
 package com.group5.main;
 
 import com.group5.entity.Entity;
+import com.group5.tile.CollisionMap;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 
 /**
@@ -11,6 +15,12 @@ import com.group5.entity.Entity;
  * Collision detection ensures that entities do not move through solid tiles or objects
  * and helps manage interactions such as picking up items or taking damage.
  * </p>
+ * <p>
+ * The {@code probe} methods compute world-space boxes in local variables and return what
+ * was hit without writing to any entity, so once the spatial hashes are synced for the
+ * frame they can be called from several threads. The {@code check} methods wrap them and
+ * only set the checked entity's own {@code collisionOn} flag.
+ * </p>
  * 
  * @author Group 5
  * @version 1.0
@@ -20,6 +30,32 @@ public class CollisionChecker {
     /** Reference to the main {@link GamePanel} instance controlling the game state. */
     GamePanel gp;
 
+    /** Size of a spatial hash cell, in tiles. */
+    static final int CELL_TILES = 2;
+
+    /** One spatial hash per slot array (objects, NPCs and monsters of each map). */
+    private final Map<Entity[], SpatialHash> hashes = new IdentityHashMap<>();
+
+    /** Per-thread buffer for the candidate slots returned by spatial hash queries. */
+    private final ThreadLocal<int[]> candidates = ThreadLocal.withInitial(() -> new int[0]);
+
+    /**
+     * Result of a probe against a slot array.
+     *
+     * @param index the highest slot whose box was touched, or {@code 999} if none
+     * @param blocked whether any touched entity blocks movement
+     */
+    public record Contact(int index, boolean blocked) {
+
+        /** Nothing was touched. */
+        public static final Contact NONE = new Contact(999, false);
+
+        /** @return {@code true} if some slot was touched */
+        public boolean hit() {
+            return index != 999;
+        }
+    }
+
     /**
      * Constructs a new {@code CollisionChecker} with the specified {@link GamePanel}.
      *
@@ -31,15 +67,27 @@ public class CollisionChecker {
 
     /**
      * Checks if the specified entity collides with solid tiles in the world.
+     * If a collision tile is detected, the entity’s {@code collisionOn} flag is set to {@code true}.
+     *
+     * @param entity the entity to check for tile collisions
+     */
+    public void checkTile(Entity entity) {
+        if (probeTile(entity)) {
+            entity.collisionOn = true;
+        }
+    }
+
+    /**
+     * Tests whether the entity would walk into a solid tile with its next step.
      * <p>
      * This method calculates the entity’s current and potential tile positions
-     * based on its speed and direction. If a collision tile is detected,
-     * the entity’s {@code collisionOn} flag is set to {@code true}.
+     * based on its speed and direction. Tiles outside the world count as solid.
      * </p>
      *
-     * @param entity the entity to check for tile collisions
+     * @param entity the entity about to move
+     * @return {@code true} if the step is blocked by a tile
      */
-    public void checkTile(Entity entity) {
+    public boolean probeTile(Entity entity) {
 
         int entityLeftWorldx = entity.worldx + entity.solidArea.x;
         int entityRightWorldx = entity.worldx + entity.solidArea.x + entity.solidArea.width;
@@ -51,46 +99,23 @@ public class CollisionChecker {
         int entityTopRow = entityTopWorldy/gp.tileSize;
         int entityBottomRow = entityBottomWorldy/gp.tileSize;
 
-        int tileNum1, tileNum2;
+        CollisionMap collision = gp.tileM.getCollisionMap(gp.currentMap);
 
         switch (entity.direction) {
-            case "up":
-                entityTopRow = (entityTopWorldy - entity.speed) / gp.tileSize;
-                if (entityTopRow < 0 || entityLeftCol < 0 || 
-                    entityRightCol >= gp.maxWorldCol || entityTopRow >= gp.maxWorldRow) {
-                    entity.collisionOn = true; // or just break safely
-                    break;
-                }
-                tileNum1 = gp.tileM.mapTilenum[gp.currentMap][entityLeftCol][entityTopRow];
-                tileNum2 = gp.tileM.mapTilenum[gp.currentMap][entityRightCol][entityTopRow];
-                if(gp.tileM.tile[tileNum1].collision == true || gp.tileM.tile[tileNum2].collision == true){
-                    entity.collisionOn = true;
-                }
-                break;
-            case "down":
+            case UP:
+                entityTopRow = Math.floorDiv(entityTopWorldy - entity.speed, gp.tileSize);
+                return collision.isSolid(entityLeftCol, entityTopRow) || collision.isSolid(entityRightCol, entityTopRow);
+            case DOWN:
                 entityBottomRow = (entityBottomWorldy + entity.speed) / gp.tileSize;
-                tileNum1 = gp.tileM.mapTilenum[gp.currentMap][entityLeftCol][entityBottomRow];
-                tileNum2 = gp.tileM.mapTilenum[gp.currentMap][entityRightCol][entityBottomRow];
-                if (gp.tileM.tile[tileNum1].collision || gp.tileM.tile[tileNum2].collision) {
-                    entity.collisionOn = true;
-                }
-                break;
-            case "left":
-                entityLeftCol = (entityLeftWorldx - entity.speed) / gp.tileSize;
-                tileNum1 = gp.tileM.mapTilenum[gp.currentMap][entityLeftCol][entityTopRow];
-                tileNum2 = gp.tileM.mapTilenum[gp.currentMap][entityLeftCol][entityBottomRow];
-                if (gp.tileM.tile[tileNum1].collision || gp.tileM.tile[tileNum2].collision) {
-                    entity.collisionOn = true;
-                }
-                break;
-            case "right":
+                return collision.isSolid(entityLeftCol, entityBottomRow) || collision.isSolid(entityRightCol, entityBottomRow);
+            case LEFT:
+                entityLeftCol = Math.floorDiv(entityLeftWorldx - entity.speed, gp.tileSize);
+                return collision.isSolid(entityLeftCol, entityTopRow) || collision.isSolid(entityLeftCol, entityBottomRow);
+            case RIGHT:
                 entityRightCol = (entityRightWorldx + entity.speed) / gp.tileSize;
-                tileNum1 = gp.tileM.mapTilenum[gp.currentMap][entityRightCol][entityTopRow];
-                tileNum2 = gp.tileM.mapTilenum[gp.currentMap][entityRightCol][entityBottomRow];
-                if (gp.tileM.tile[tileNum1].collision || gp.tileM.tile[tileNum2].collision) {
-                    entity.collisionOn = true;
-                }
-                break;
+                return collision.isSolid(entityRightCol, entityTopRow) || collision.isSolid(entityRightCol, entityBottomRow);
+            default:
+                return false;
         }
     }
 
@@ -106,48 +131,23 @@ public class CollisionChecker {
      * @return the index of the collided object, or {@code 999} if no collision occurred
      */
     public int checkObject(Entity entity, boolean player) {
-
-        int index = 999;
-
-        for(int i = 0; i < gp.obj[1].length; i++){
-
-            if(gp.obj[gp.currentMap][i] != null) {
-                //Get entity solid area pos and onj solid area pos
-                entity.solidArea.x = entity.worldx + entity.solidArea.x;
-                entity.solidArea.y = entity.worldy + entity.solidArea.y;
-
-                gp.obj[gp.currentMap][i].solidArea.x = gp.obj[gp.currentMap][i].worldx + gp.obj[gp.currentMap][i].solidArea.x;
-                gp.obj[gp.currentMap][i].solidArea.y = gp.obj[gp.currentMap][i].worldy + gp.obj[gp.currentMap][i].solidArea.y;
-
-                switch (entity.direction) {
-                    case "up":
-                        entity.solidArea.y -= entity.speed;
-                        break;
-                    case "down":
-                        entity.solidArea.y += entity.speed;
-                        break;
-                    case "left":
-                        entity.solidArea.x -= entity.speed;
-                        break;
-                    case "right":
-                        entity.solidArea.y += entity.speed;
-                        break;
-                }
-                if(entity.solidArea.intersects(gp.obj[gp.currentMap][i].solidArea)) {
-                    if(gp.obj[gp.currentMap][i].collision == true) {
-                        entity.collisionOn = true;
-                    }
-                    if(player == true) {
-                        index = i;
-                    }
-                }
-                entity.solidArea.x = entity.solidAreaDefultX;
-                entity.solidArea.y = entity.solidAreaDefultY;
-                gp.obj[gp.currentMap][i].solidArea.x = gp.obj[gp.currentMap][i].solidAreaDefultX;
-                gp.obj[gp.currentMap][i].solidArea.y = gp.obj[gp.currentMap][i].solidAreaDefultY;
-            }
+        Contact contact = probeObjects(entity);
+        if (contact.blocked()) {
+            entity.collisionOn = true;
         }
-        return index;
+        return player ? contact.index() : 999;
+    }
+
+    /**
+     * Tests the entity's next step against the objects of the current map. Only objects
+     * stored in the spatial hash cells around the entity are tested.
+     *
+     * @param entity the entity about to move
+     * @return the highest object slot touched, and whether a solid object was touched
+     */
+    public Contact probeObjects(Entity entity) {
+        return probe(nextX(entity), nextY(entity), entity.solidArea.width, entity.solidArea.height,
+                entity, gp.obj[gp.currentMap], true);
     }
 
     /**
@@ -158,95 +158,153 @@ public class CollisionChecker {
      * @return the index of the collided entity, or {@code 999} if no collision occurred
      */
     public int checkEntity(Entity entity, Entity[][] target) {
-        int index = 999;
-
-        for(int i = 0; i < target[1].length; i++){
-
-            if(target[gp.currentMap][i] != null) {
-                //Get entity solid area pos and onj solid area pos
-                entity.solidArea.x = entity.worldx + entity.solidArea.x;
-                entity.solidArea.y = entity.worldy + entity.solidArea.y;
-
-                target[gp.currentMap][i].solidArea.x = target[gp.currentMap][i].worldx + target[gp.currentMap][i].solidArea.x;
-                target[gp.currentMap][i].solidArea.y = target[gp.currentMap][i].worldy + target[gp.currentMap][i].solidArea.y;
-
-                switch (entity.direction) {
-                    case "up":
-                        entity.solidArea.y -= entity.speed;
-                        break;
-                    case "down":
-                        entity.solidArea.y += entity.speed;
-                        break;
-                    case "left":
-                        entity.solidArea.x -= entity.speed;
-                        break;
-                    case "right":
-                        entity.solidArea.y += entity.speed;
-                        break;
-                }
-                if(entity.solidArea.intersects(target[gp.currentMap][i].solidArea)) {
-                    if(target[gp.currentMap][i] != entity) {
-                        entity.collisionOn = true;
-                        index = i;
-                    }
-                }
-                entity.solidArea.x = entity.solidAreaDefultX;
-                entity.solidArea.y = entity.solidAreaDefultY;
-                target[gp.currentMap][i].solidArea.x = target[gp.currentMap][i].solidAreaDefultX;
-                target[gp.currentMap][i].solidArea.y = target[gp.currentMap][i].solidAreaDefultY;
-            }
+        Contact contact = probeEntities(entity, target[gp.currentMap]);
+        if (contact.blocked()) {
+            entity.collisionOn = true;
         }
-        return index;
+        return contact.index();
+    }
+
+    /**
+     * Tests the entity's next step against other entities. The entity itself is ignored.
+     *
+     * @param entity the entity about to move
+     * @param targets the slots to test, e.g. {@code gp.monster[gp.currentMap]}
+     * @return the highest slot touched; any touched entity blocks movement
+     */
+    public Contact probeEntities(Entity entity, Entity[] targets) {
+        return probe(nextX(entity), nextY(entity), entity.solidArea.width, entity.solidArea.height,
+                entity, targets, false);
+    }
+
+    /**
+     * Tests an arbitrary world-space box, such as an attack hitbox, against other entities.
+     *
+     * @param x the left edge of the box in world pixels
+     * @param y the top edge of the box in world pixels
+     * @param width the box width
+     * @param height the box height
+     * @param self the entity owning the box, which is ignored; may be {@code null}
+     * @param targets the slots to test, e.g. {@code gp.monster[gp.currentMap]}
+     * @return the highest slot touched; any touched entity blocks movement
+     */
+    public Contact probeArea(int x, int y, int width, int height, Entity self, Entity[] targets) {
+        return probe(x, y, width, height, self, targets, false);
     }
 
     /**
      * Checks for collisions between a given entity (such as a monster or projectile) and the player.
-     * <p>
-     * If contact is detected, the entity’s {@code collisionOn} flag is set to {@code true},
-     * and {@code contactPlayer} is returned as {@code true}.
-     * </p>
+     * If contact is detected, the entity’s {@code collisionOn} flag is set to {@code true}.
      *
      * @param entity the entity to check for collision with the player
      * @return {@code true} if contact with the player occurs; {@code false} otherwise
      */
     public boolean checkPlayer(Entity entity) {
+        boolean contactPlayer = probePlayer(entity);
+        if (contactPlayer) {
+            entity.collisionOn = true;
+        }
+        return contactPlayer;
+    }
 
-        boolean contactPlayer = false;
-
-            //Get entity solid area pos and onj solid area pos
-        entity.solidArea.x = entity.worldx + entity.solidArea.x;
-        entity.solidArea.y = entity.worldy + entity.solidArea.y;
-
-        gp.player.solidArea.x = gp.player.worldx + gp.player.solidArea.x;
-        gp.player.solidArea.y = gp.player.worldy + gp.player.solidArea.y;
-
-            switch (entity.direction) {
-                case "up":
-                    entity.solidArea.y -= entity.speed;
-                    break;
-                case "down":
-                    entity.solidArea.y += entity.speed;
-                    break;
-                case "left":
-                    entity.solidArea.x -= entity.speed;
-                    break;
-                case "right":
-                    entity.solidArea.y += entity.speed;
-                    break;
-            }
+    /**
+     * Tests the entity's next step against the player.
+     *
+     * @param entity the entity about to move
+     * @return {@code true} if the entity would touch the player
+     */
+    public boolean probePlayer(Entity entity) {
+        Entity player = gp.player;
+        return intersects(nextX(entity), nextY(entity), entity.solidArea.width, entity.solidArea.height,
+                player.worldx + player.solidArea.x, player.worldy + player.solidArea.y,
+                player.solidArea.width, player.solidArea.height);
+    }
 
-        if (entity.solidArea.intersects(gp.player.solidArea)) {
-            entity.collisionOn = true;
-            contactPlayer = true;
+    /**
+     * Same test as {@link java.awt.Rectangle#intersects(java.awt.Rectangle)} on plain values:
+     * boxes with no area never intersect, and touching edges do not count.
+     *
+     * @return {@code true} if the two boxes overlap
+     */
+    public static boolean intersects(int ax, int ay, int aw, int ah, int bx, int by, int bw, int bh) {
+        if (aw <= 0 || ah <= 0 || bw <= 0 || bh <= 0) {
+            return false;
         }
+        return bx < ax + aw && ax < bx + bw && by < ay + ah && ay < by + bh;
+    }
+
+    /** @return the left edge of the entity's solid area after its next step */
+    private static int nextX(Entity entity) {
+        return entity.worldx + entity.solidArea.x + entity.direction.dx * entity.speed;
+    }
 
-        entity.solidArea.x = entity.solidAreaDefultX;
-        entity.solidArea.y = entity.solidAreaDefultY;
-        gp.player.solidArea.x = gp.player.solidAreaDefultX;
-        gp.player.solidArea.y = gp.player.solidAreaDefultY;
+    /** @return the top edge of the entity's solid area after its next step */
+    private static int nextY(Entity entity) {
+        return entity.worldy + entity.solidArea.y + entity.direction.dy * entity.speed;
+    }
 
-        return contactPlayer;
+    /** Tests a box against the nearby slots of a slot array. */
+    private Contact probe(int x, int y, int width, int height, Entity self, Entity[] slots,
+                          boolean solidOnly) {
+        int[] nearby = candidates.get();
+        if (nearby.length < slots.length) {
+            nearby = new int[slots.length];
+            candidates.set(nearby);
+        }
+        // padded by a tile: targets that moved earlier in the frame are still bucketed
+        // where they were when the frame started
+        int pad = gp.tileSize;
+        int count = getSpatialHash(slots).query(x - pad, y - pad, width + 2 * pad, height + 2 * pad, nearby);
+
+        int index = -1;
+        boolean blocked = false;
+        for (int k = 0; k < count; k++) {
+            int i = nearby[k];
+            Entity target = slots[i];
+            if (target == null || target == self) {
+                continue;
+            }
+            if (intersects(x, y, width, height,
+                    target.worldx + target.solidArea.x, target.worldy + target.solidArea.y,
+                    target.solidArea.width, target.solidArea.height)) {
+                index = Math.max(index, i);
+                if (!solidOnly || target.collision) {
+                    blocked = true;
+                }
+            }
+        }
+        return index < 0 ? Contact.NONE : new Contact(index, blocked);
     }
 
+    /**
+     * Returns the spatial hash of a slot array, syncing it once per frame.
+     *
+     * @param slots the slot array, e.g. {@code gp.monster[gp.currentMap]}
+     * @return the up-to-date hash for those slots
+     */
+    public synchronized SpatialHash getSpatialHash(Entity[] slots) {
+        SpatialHash hash = hashes.get(slots);
+        if (hash == null) {
+            hash = new SpatialHash(slots, CELL_TILES * gp.tileSize,
+                    gp.maxWorldCol * gp.tileSize, gp.maxWorldRow * gp.tileSize);
+            hashes.put(slots, hash);
+        }
+        if (hash.syncedFrame != gp.updateCount) {
+            hash.sync();
+            hash.syncedFrame = gp.updateCount;
+        }
+        return hash;
+    }
 
-}
\ No newline at end of file
+    /**
+     * Forces every spatial hash to resync on its next query. Hashes otherwise resync once per
+     * tick, so code that writes a slot in the middle of a tick (dropping or picking up an item,
+     * removing a dead monster, placing a map's entities) calls this to make the change visible
+     * to the probes that follow in the same tick.
+     */
+    public synchronized void refresh() {
+        for (SpatialHash hash : hashes.values()) {
+            hash.syncedFrame = -1;
+        }
+    }
+}
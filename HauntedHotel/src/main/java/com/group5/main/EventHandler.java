@@ -7,8 +7,9 @@ import com.group5.entity.Player;
  * It monitors the player's position and triggers appropriate responses when specific tiles or event
  * areas are interacted with. Events can include traps, transitions between maps, or scripted interactions.
  * <p>
- * This class uses a 3D array of {@link EventRect} objects to track event zones for each map tile and
- * ensures that repeated triggering of the same event is prevented until the player moves away.
+ * Event zones are {@link EventRect} objects, one per map tile, created the first time a tile is
+ * checked, so only the handful of tiles that have events ever get one. Repeated triggering of the
+ * same event is prevented until the player moves away.
  * </p>
  * 
  * @author Group 5
@@ -19,8 +20,11 @@ public class EventHandler {
     /** Reference to the main {@link GamePanel} instance controlling game state and entities. */
     GamePanel gp;
 
-    /** 3D array representing all event trigger areas across different maps. */
-    EventRect[][][] eventRect;
+    /**
+     * Event trigger areas of each map, indexed by {@code row * maxWorldCol + col}. A map's layer
+     * is allocated when one of its tiles is first checked and dropped when the map is evicted.
+     */
+    EventRect[][] eventRect;
 
     /** Tracks the previous X and Y position where an event occurred. */
     int previousEventX, previousEventY;
@@ -29,41 +33,53 @@ public class EventHandler {
     boolean canTouchEvent = true;
 
     /**
-     * Constructs a new {@code EventHandler} and initializes event rectangles for each map tile.
+     * Constructs a new {@code EventHandler}. Event rectangles are created on demand by
+     * {@link #getEventRect(int, int, int)}.
      *
      * @param gp the main {@link GamePanel} instance containing the game world data
      */
     public EventHandler(GamePanel gp) {
         this.gp = gp;
 
-        eventRect = new EventRect[gp.maxMap][gp.maxWorldCol][gp.maxWorldRow];
-
-        int map = 0;
-
-        int col = 0;
-        int row = 0;
-        while(map < gp.maxMap && col < gp.maxWorldCol && row < gp.maxWorldRow) {
-
-            eventRect[map][col][row] = new EventRect();
-            eventRect[map][col][row].x = 23;
-            eventRect[map][col][row].y = 23;
-            eventRect[map][col][row].width = 20;
-            eventRect[map][col][row].height = 20;
-            eventRect[map][col][row].eventRectDefultX = eventRect[map][col][row].x;
-            eventRect[map][col][row].eventRectDefultY = eventRect[map][col][row].y;
-
-            col++;
-            if(col == gp.maxWorldCol) {
-                col = 0;
-                row++;
+        eventRect = new EventRect[gp.maxMap][];
+    }
 
-                if (row == gp.maxWorldRow) {
-                    row = 0;
-                    map++;
-                }
-            }
+    /**
+     * Returns the event area of a map tile, creating it the first time it is asked for.
+     *
+     * @param map the map number
+     * @param col the tile column
+     * @param row the tile row
+     * @return the tile's event rectangle
+     */
+    EventRect getEventRect(int map, int col, int row) {
+        EventRect[] layer = eventRect[map];
+        if (layer == null) {
+            layer = new EventRect[gp.maxWorldCol * gp.maxWorldRow];
+            eventRect[map] = layer;
+        }
+        int index = row * gp.maxWorldCol + col;
+        EventRect rect = layer[index];
+        if (rect == null) {
+            rect = new EventRect();
+            rect.x = 23;
+            rect.y = 23;
+            rect.width = 20;
+            rect.height = 20;
+            rect.eventRectDefultX = rect.x;
+            rect.eventRectDefultY = rect.y;
+            layer[index] = rect;
         }
+        return rect;
+    }
 
+    /**
+     * Drops the event areas of a map that was evicted; they are recreated if it is entered again.
+     *
+     * @param map the map number
+     */
+    public void releaseMap(int map) {
+        eventRect[map] = null;
     }
 
     /** Used to check if the player can trigger an event related to taking damage or moving between levels. */
@@ -113,43 +129,59 @@ public class EventHandler {
         return false;
     }
     
+    /**
+     * Teleport tiles, checked in order: source map, column and row, destination map, column
+     * and row, then the fewest and most keys the player may hold for the teleport to open.
+     */
+    static final int[][] TELEPORTS = {
+        {0, 1, 7, 1, 40, 7, 1, 2},   // lobby to Myers
+        {1, 40, 7, 0, 1, 7, 2, 3},   // Myers to lobby
+        {0, 18, 7, 2, 16, 10, 1, 2}, // lobby to Christmas
+        {2, 16, 10, 0, 18, 7, 2, 3}, // Christmas to lobby
+        {0, 10, 1, 3, 1, 15, 3, 3},  // lobby to basement
+        {0, 9, 1, 3, 1, 15, 3, 3}
+    };
+
+    /** Distance in tiles from an open teleport at which its destination starts loading. */
+    static final int PREFETCH_TILES = 4;
+
     /** Used to check if the player can trigger an event related to taking damage or moving between levels. */
     private void handleTeleportEvents() {
-        int lobbyMap = 0;
-        int myersMap = 1;
-        int santaMap = 2;
-        int basementMap = 3;
-        int teleportTiles[][] = {
-            {40, 7}, {1, 7}, {16, 10}, {18, 7}, {1, 15}
-        };
-
-    if (isEventTriggered(0, 1, 7) && (gp.player.hasKey >= 1 && gp.player.hasKey <= 2)) {
-        teleport(myersMap, teleportTiles[0][0], teleportTiles[0][1]);
-    } else if (isEventTriggered(1, 40, 7) && (gp.player.hasKey >= 2 && gp.player.hasKey <= 3)) {
-        teleport(lobbyMap, teleportTiles[1][0], teleportTiles[1][1]);
-    } else if (isEventTriggered(0, 18, 7) && (gp.player.hasKey >= 1 && gp.player.hasKey <= 2)) {
-        teleport(santaMap, teleportTiles[2][0], teleportTiles[2][1]);
-    } else if (isEventTriggered(2, 16, 10) && (gp.player.hasKey >= 2 && gp.player.hasKey <= 3)) {
-        teleport(lobbyMap, teleportTiles[3][0], teleportTiles[3][1]);
-    } else if ((isEventTriggered(0, 10, 1) || isEventTriggered(0, 9, 1)) && gp.player.hasKey == 3) {
-        teleport(basementMap, teleportTiles[4][0], teleportTiles[4][1]);
+        for (int[] t : TELEPORTS) {
+            if (isEventTriggered(t[0], t[1], t[2]) && gp.player.hasKey >= t[6] && gp.player.hasKey <= t[7]) {
+                teleport(t[3], t[4], t[5]);
+                return;
+            }
+        }
     }
-}
-
-
-
 
+    /**
+     * Starts loading the destination of every open teleport the player is near, so the map,
+     * its sprites and the chunks around the arrival point are ready when the player steps on it.
+     */
+    private void prefetchTeleports() {
+        int playerCol = (gp.player.worldx + gp.player.solidArea.x) / gp.tileSize;
+        int playerRow = (gp.player.worldy + gp.player.solidArea.y) / gp.tileSize;
+        for (int[] t : TELEPORTS) {
+            if (t[0] == gp.currentMap && gp.player.hasKey >= t[6] && gp.player.hasKey <= t[7]
+                    && Math.abs(playerCol - t[1]) <= PREFETCH_TILES && Math.abs(playerRow - t[2]) <= PREFETCH_TILES) {
+                gp.assets.prefetchMap(t[3], t[4] * gp.tileSize, t[5] * gp.tileSize);
+            }
+        }
+    }
 
     /**
      * Checks if the player is currently standing in or near any event area and triggers appropriate
      * event responses such as teleportation or environmental hazards.
      * <p>
      * This method ensures that players cannot repeatedly trigger the same event without moving away.
+     * Near an open teleport it also starts loading the destination map in the background.
      * </p>
      */
 
 
     public void checkEvent() {
+        prefetchTeleports();
         if (!canTriggerEvent()) return;
 
         // Handle different event types
@@ -172,23 +204,18 @@ public class EventHandler {
     public boolean isEventTriggered(int map,int col, int row) {
         boolean triggerEvent = false;
         if (map == gp.currentMap) {
-            gp.player.solidArea.x = gp.player.worldx + gp.player.solidArea.x;
-            gp.player.solidArea.y = gp.player.worldy + gp.player.solidArea.y;
-            eventRect[map][col][row].x = col*gp.tileSize + eventRect[map][col][row].x;
-            eventRect[map][col][row].y = row*gp.tileSize + eventRect[map][col][row].y;
-
-            if(gp.player.solidArea.intersects(eventRect[map][col][row])) {
+            // compare world-space boxes without moving the player's or the event's rectangle
+            EventRect event = getEventRect(map, col, row);
+            if (CollisionChecker.intersects(
+                    gp.player.worldx + gp.player.solidArea.x, gp.player.worldy + gp.player.solidArea.y,
+                    gp.player.solidArea.width, gp.player.solidArea.height,
+                    col * gp.tileSize + event.x, row * gp.tileSize + event.y, event.width, event.height)) {
                 triggerEvent = true;
 
                 previousEventX = gp.player.worldx;
                 previousEventY = gp.player.worldy;
             }
-            // reset values
-            gp.player.solidArea.x = gp.player.solidAreaDefultX;
-            gp.player.solidArea.y = gp.player.solidAreaDefultY;
-            eventRect[map][col][row].x = eventRect[map][col][row].eventRectDefultX;
-            eventRect[map][col][row].y = eventRect[map][col][row].eventRectDefultY;
-    }
+        }
         return triggerEvent;
     }
 
@@ -220,8 +247,8 @@ public class EventHandler {
     /**
      * Teleports the player to a specified map and tile location.
      * <p>
-     * This method updates the player’s world coordinates and prevents immediate retriggering
-     * of the teleport event.
+     * This method updates the player’s world coordinates, enters the map (loading it and its
+     * entities the first time) and prevents immediate retriggering of the teleport event.
      * </p>
      *
      * @param map the destination map index
@@ -230,11 +257,12 @@ public class EventHandler {
      */
     public void teleport(int map, int col, int row) {
 
-        gp.currentMap = map;
         gp.player.worldx = gp.tileSize * col;
         gp.player.worldy = gp.tileSize * row;
         previousEventX = gp.player.worldx;
         previousEventY = gp.player.worldy;
         canTouchEvent = false;
+        gp.bullets.clear();
+        gp.enterMap(map);
     }
 }
@@ -0,0 +1,81 @@
+package com.group5.main;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * The {@code FrameEvent} class is the Java Flight Recorder event written by the
+ * {@link FrameProfiler} for every simulation step, with the time of each phase.
+ * <p>
+ * The event lasts from the start to the end of the step, so a recording can keep only the
+ * spikes by giving {@code com.group5.Frame} a threshold in its {@code .jfc} settings.
+ * </p>
+ *
+ * @author Group 5
+ * @version 1.0
+ */
+@Name("com.group5.Frame")
+@Label("Frame")
+@Category("Haunted Hotel")
+@Description("Time spent in each phase of one simulation step and the last drawn frame")
+@StackTrace(false)
+class FrameEvent extends Event {
+
+    @Label("Tick")
+    long tick;
+
+    @Label("Player") @Timespan(Timespan.NANOSECONDS)
+    long player;
+
+    @Label("Monsters") @Timespan(Timespan.NANOSECONDS)
+    long monsters;
+
+    @Label("Pathfinding") @Timespan(Timespan.NANOSECONDS)
+    long pathfinding;
+
+    @Label("Collision") @Timespan(Timespan.NANOSECONDS)
+    long collision;
+
+    @Label("Projectiles") @Timespan(Timespan.NANOSECONDS)
+    long projectiles;
+
+    @Label("Snapshot") @Timespan(Timespan.NANOSECONDS)
+    long snapshot;
+
+    @Label("Tile Draw") @Timespan(Timespan.NANOSECONDS)
+    long tiles;
+
+    @Label("Entity Draw") @Timespan(Timespan.NANOSECONDS)
+    long entities;
+
+    @Label("UI Draw") @Timespan(Timespan.NANOSECONDS)
+    long ui;
+
+    @Label("Present") @Timespan(Timespan.NANOSECONDS)
+    long present;
+
+    /**
+     * Fills the fields from the last committed phase times.
+     *
+     * @param tick the number of the simulation step
+     * @param last the phase times indexed by {@link FrameProfiler.Phase#ordinal()}
+     */
+    void record(long tick, long[] last) {
+        this.tick = tick;
+        player = last[FrameProfiler.Phase.PLAYER.ordinal()];
+        monsters = last[FrameProfiler.Phase.MONSTERS.ordinal()];
+        pathfinding = last[FrameProfiler.Phase.PATHFINDING.ordinal()];
+        collision = last[FrameProfiler.Phase.COLLISION.ordinal()];
+        projectiles = last[FrameProfiler.Phase.PROJECTILES.ordinal()];
+        snapshot = last[FrameProfiler.Phase.SNAPSHOT.ordinal()];
+        tiles = last[FrameProfiler.Phase.TILES.ordinal()];
+        entities = last[FrameProfiler.Phase.ENTITIES.ordinal()];
+        ui = last[FrameProfiler.Phase.UI.ordinal()];
+        present = last[FrameProfiler.Phase.PRESENT.ordinal()];
+    }
+}
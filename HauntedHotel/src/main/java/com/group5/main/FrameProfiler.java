@@ -0,0 +1,320 @@
+package com.group5.main;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * The {@code FrameProfiler} class measures how long each phase of a frame takes and keeps
+ * the last {@link #WINDOW} measurements of every phase for rolling percentiles.
+ * <p>
+ * Simulation phases are timed on the game thread and committed once per step by
+ * {@link #endUpdate(long)}; drawing phases are timed on the rendering thread and committed by
+ * {@link #endRender()}. A phase may be timed several times in one frame, the times are added
+ * up. {@link Phase#COLLISION} is timed inside the player and monster updates, so it is a part
+ * of those phases and not in addition to them. {@link Phase#PRESENT} is the time the
+ * {@link CanvasRenderer} spends showing a drawn frame, and stays at zero with the panel backend.
+ * {@link Phase#SNAPSHOT} covers all of {@link GamePanel#publishFrame()}: copying the HUD state,
+ * sorting the render queue and capturing every entity and bullet.
+ * </p>
+ *
+ * <p>Every committed step can also be written as a CSV row and as a {@link FrameEvent} for
+ * Java Flight Recorder, so frame spikes can be found after the fact.</p>
+ *
+ * <p>Profiling is off until {@link #setEnabled(boolean)} or {@link #toggleOverlay()} turns it
+ * on; while off, timing a phase costs one field read.</p>
+ *
+ * @author Group 5
+ * @version 1.0
+ */
+public class FrameProfiler {
+
+    /** The timed phases of a frame. */
+    public enum Phase {
+        PLAYER("player", false),
+        MONSTERS("monsters", false),
+        PATHFINDING("pathfinding", false),
+        COLLISION("collision", false),
+        PROJECTILES("projectiles", false),
+        SNAPSHOT("snapshot", false),
+        TILES("tile draw", true),
+        ENTITIES("entity draw", true),
+        UI("ui draw", true),
+        PRESENT("present", true);
+
+        /** Name shown in the overlay and used as the CSV column. */
+        public final String label;
+
+        /** Whether the phase is timed on the rendering thread. */
+        public final boolean render;
+
+        Phase(String label, boolean render) {
+            this.label = label;
+            this.render = render;
+        }
+    }
+
+    /** Number of frames kept per phase for the percentiles. */
+    public static final int WINDOW = 300;
+
+    /** Returned by {@link #start()} while profiling is off. */
+    static final long OFF = Long.MIN_VALUE;
+
+    private static final Phase[] PHASES = Phase.values();
+
+    /** Source of the current time in nanoseconds. */
+    private final LongSupplier clock;
+
+    private volatile boolean enabled = false;
+    private volatile boolean overlay = false;
+
+    /** Time spent in each phase in the frame being measured; each entry is written by one thread only. */
+    private final long[] current = new long[PHASES.length];
+
+    /** Last {@link #WINDOW} committed times of each phase, as a ring. */
+    private final long[][] samples = new long[PHASES.length][WINDOW];
+    private final int[] counts = new int[PHASES.length];
+    private final int[] next = new int[PHASES.length];
+
+    /** Most recently committed time of each phase. */
+    private final long[] last = new long[PHASES.length];
+
+    /** Open CSV log, or {@code null}. */
+    private BufferedWriter csv;
+
+    /** Flight recorder event of the step being measured, or {@code null} when it is not recorded. */
+    private FrameEvent event;
+
+    /** Creates a profiler timed with {@link System#nanoTime()}. */
+    public FrameProfiler() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * Creates a profiler with the given clock.
+     *
+     * @param clock source of the current time in nanoseconds
+     */
+    FrameProfiler(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /** @return {@code true} while phases are being timed */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turns timing on or off.
+     *
+     * @param enabled {@code true} to time phases
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /** @return {@code true} if the overlay with the percentiles is shown */
+    public boolean isOverlayVisible() {
+        return overlay;
+    }
+
+    /** Shows or hides the overlay; showing it also turns timing on. */
+    public void toggleOverlay() {
+        overlay = !overlay;
+        if (overlay) {
+            enabled = true;
+        }
+    }
+
+    /**
+     * Starts timing a phase.
+     *
+     * @return the start time to pass to {@link #stop(Phase, long)}
+     */
+    public long start() {
+        return enabled ? clock.getAsLong() : OFF;
+    }
+
+    /**
+     * Adds the time since {@code start} to a phase of the current frame.
+     *
+     * @param phase the phase that was running
+     * @param start the value returned by {@link #start()}
+     */
+    public void stop(Phase phase, long start) {
+        if (start != OFF) {
+            current[phase.ordinal()] += clock.getAsLong() - start;
+        }
+    }
+
+    /**
+     * Adds a time measured elsewhere to a phase of the current frame.
+     *
+     * @param phase the phase the time belongs to
+     * @param nanos the time in nanoseconds
+     */
+    public void add(Phase phase, long nanos) {
+        if (enabled) {
+            current[phase.ordinal()] += nanos;
+        }
+    }
+
+    /** Starts a simulation step; opens its flight recorder event if one is being recorded. */
+    public void beginUpdate() {
+        if (!enabled) {
+            return;
+        }
+        FrameEvent e = new FrameEvent();
+        if (e.isEnabled()) {
+            e.begin();
+            event = e;
+        }
+    }
+
+    /**
+     * Commits the simulation phases of a step and writes the step to the CSV log and the
+     * flight recorder. Called on the game thread.
+     *
+     * @param tick the number of the simulation step
+     */
+    public void endUpdate(long tick) {
+        if (!enabled) {
+            event = null;
+            return;
+        }
+        synchronized (this) {
+            commit(false);
+            if (csv != null) {
+                writeRow(tick);
+            }
+            if (event != null) {
+                event.record(tick, last);
+            }
+        }
+        if (event != null) {
+            event.commit();
+            event = null;
+        }
+    }
+
+    /** Commits the drawing phases of a frame. Called on the rendering thread. */
+    public void endRender() {
+        if (enabled) {
+            synchronized (this) {
+                commit(true);
+            }
+        }
+    }
+
+    /** Moves the current times of the simulation or drawing phases into their windows. */
+    private void commit(boolean render) {
+        for (Phase phase : PHASES) {
+            if (phase.render != render) {
+                continue;
+            }
+            int p = phase.ordinal();
+            samples[p][next[p]] = current[p];
+            next[p] = (next[p] + 1) % WINDOW;
+            counts[p] = Math.min(counts[p] + 1, WINDOW);
+            last[p] = current[p];
+            current[p] = 0;
+        }
+    }
+
+    /**
+     * Returns the given percentiles of a phase over the kept window.
+     *
+     * @param phase the phase
+     * @param quantiles the quantiles to read, each between 0 and 1
+     * @return the time of each quantile in nanoseconds; all {@code 0} before the phase was committed
+     */
+    public synchronized long[] percentiles(Phase phase, double... quantiles) {
+        int p = phase.ordinal();
+        long[] result = new long[quantiles.length];
+        int count = counts[p];
+        if (count == 0) {
+            return result;
+        }
+        long[] sorted = Arrays.copyOf(samples[p], count);
+        Arrays.sort(sorted);
+        for (int i = 0; i < quantiles.length; i++) {
+            int index = (int) Math.ceil(quantiles[i] * count) - 1;
+            result[i] = sorted[Math.max(0, Math.min(count - 1, index))];
+        }
+        return result;
+    }
+
+    /**
+     * Returns the most recently committed time of a phase.
+     *
+     * @param phase the phase
+     * @return the time in nanoseconds
+     */
+    public synchronized long getLast(Phase phase) {
+        return last[phase.ordinal()];
+    }
+
+    /**
+     * Returns how many frames of a phase are in the window.
+     *
+     * @param phase the phase
+     * @return the number of kept samples, at most {@link #WINDOW}
+     */
+    public synchronized int getCount(Phase phase) {
+        return counts[phase.ordinal()];
+    }
+
+    /**
+     * Starts writing every committed step to a CSV file with one column per phase in
+     * nanoseconds. The drawing columns hold the last drawn frame. Turns timing on.
+     *
+     * @param file the file to write; replaced if it exists
+     */
+    public synchronized void startCsv(Path file) {
+        closeCsv();
+        try {
+            csv = Files.newBufferedWriter(file);
+            csv.write("tick");
+            for (Phase phase : PHASES) {
+                csv.write(',');
+                csv.write(phase.label.replace(' ', '_'));
+            }
+            csv.newLine();
+            enabled = true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            csv = null;
+        }
+    }
+
+    /** Flushes and closes the CSV log, if one is open. */
+    public synchronized void closeCsv() {
+        if (csv == null) {
+            return;
+        }
+        try {
+            csv.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        csv = null;
+    }
+
+    /** Writes one CSV row from the last committed times. */
+    private void writeRow(long tick) {
+        try {
+            csv.write(Long.toString(tick));
+            for (long nanos : last) {
+                csv.write(',');
+                csv.write(Long.toString(nanos));
+            }
+            csv.newLine();
+        } catch (IOException e) {
+            e.printStackTrace();
+            closeCsv();
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.group5.main;
+
+import com.group5.entity.Entity;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * The {@code FrameSnapshot} class is a copy of everything the renderer needs to draw one
+ * frame of the world: the camera, the visible sprites in depth order with their alpha,
+ * health bars and labels, and the HUD values.
+ * <p>
+ * The simulation captures a snapshot after every step that advanced the world and publishes
+ * it through a {@link TripleBuffer}; {@link GamePanel#paintComponent(java.awt.Graphics)} draws
+ * the latest one, and draws no world until the first one is published. Only the game thread
+ * captures. Once published, a snapshot is not written again until the renderer has moved on to a
+ * newer one, so drawing never sees an entity half way through an update and never has to
+ * wait for the game thread.
+ * </p>
+ *
+ * @author Group 5
+ * @version 1.0
+ */
+public class FrameSnapshot {
+
+    private static final Color HP_BAR_BACK = new Color(20, 22, 40);
+    private static final Color HP_BAR_FRONT = new Color(225, 30, 60);
+    private static final Color LABEL_SHADOW = new Color(20, 22, 40);
+    private static final String LABEL = "Press T Here";
+
+    /** Simulation step this snapshot was captured after, or -1 if it was never captured. */
+    long tick = -1;
+
+    /** Map shown and the world position the view is centred on. */
+    int map;
+    int cameraX, cameraY;
+
+    /** Offset from world to screen coordinates, and the half size of the view used for culling. */
+    private int offsetX, offsetY;
+    private int halfWidth, halfHeight, tileSize;
+
+    /** HUD values. */
+    int life, maxLife, keys, money;
+
+    /** Visible sprites in drawing order; entries {@code [0, sprites)} are in use. */
+    private int sprites = 0;
+    private BufferedImage[] images = new BufferedImage[64];
+    private int[] x = new int[64];
+    private int[] y = new int[64];
+    private float[] alpha = new float[64];
+    private int[] hpBar = new int[64];
+    private boolean[] label = new boolean[64];
+
+    /**
+     * Fills this snapshot from the current game state. Called on the game thread.
+     *
+     * @param gp the game panel
+     */
+    void capture(GamePanel gp) {
+        tick = gp.updateCount;
+        map = gp.currentMap;
+        cameraX = gp.player.worldx;
+        cameraY = gp.player.worldy;
+        offsetX = gp.player.screenX - cameraX;
+        offsetY = gp.player.screenY - cameraY;
+        halfWidth = gp.player.screenX;
+        halfHeight = gp.player.screenY;
+        tileSize = gp.tileSize;
+        life = gp.player.life;
+        maxLife = gp.player.maxLife;
+        keys = gp.player.hasKey;
+        money = gp.player.hasMoney;
+
+        Arrays.fill(images, 0, sprites, null);
+        sprites = 0;
+
+        RenderQueue queue = gp.renderQueue;
+        queue.begin();
+        queue.offer(gp.player);
+        queue.offer(gp.npc[map][0]);
+        for (Entity m : gp.monster[map]) {
+            queue.offer(m);
+        }
+        for (int i = 0; i < gp.projectileList.size(); i++) {
+            queue.offer(gp.projectileList.get(i));
+        }
+        for (Entity o : gp.obj[map]) {
+            queue.offer(o);
+        }
+        queue.end();
+
+        for (int i = 0; i < queue.size(); i++) {
+            queue.get(i).capture(this);
+        }
+        gp.bullets.capture(this);
+    }
+
+    /** @return {@code true} once this snapshot has been captured */
+    public boolean isCaptured() {
+        return tick >= 0;
+    }
+
+    /**
+     * Tells whether a tile-sized sprite at a world position can appear on screen.
+     *
+     * @param worldx the sprite's world X-coordinate
+     * @param worldy the sprite's world Y-coordinate
+     * @return {@code true} if the sprite should be captured
+     */
+    public boolean isOnScreen(int worldx, int worldy) {
+        return worldx + tileSize > cameraX - halfWidth && worldx - tileSize < cameraX + halfWidth
+                && worldy + tileSize > cameraY - halfHeight && worldy - tileSize < cameraY + halfHeight;
+    }
+
+    /**
+     * Adds a sprite on top of the ones added so far.
+     *
+     * @param image the sprite image; {@code null} draws nothing but keeps bars and labels
+     * @param worldx the world X-coordinate of the image's top-left corner
+     * @param worldy the world Y-coordinate of the image's top-left corner
+     * @param opacity the alpha the image is drawn with
+     * @param hpBarWidth the width of the health bar in pixels, or -1 for none
+     * @param showLabel whether to show the NPC talk hint above the sprite
+     */
+    public void addSprite(BufferedImage image, int worldx, int worldy, float opacity, int hpBarWidth, boolean showLabel) {
+        if (sprites == images.length) {
+            int capacity = sprites * 2;
+            images = Arrays.copyOf(images, capacity);
+            x = Arrays.copyOf(x, capacity);
+            y = Arrays.copyOf(y, capacity);
+            alpha = Arrays.copyOf(alpha, capacity);
+            hpBar = Arrays.copyOf(hpBar, capacity);
+            label = Arrays.copyOf(label, capacity);
+        }
+        images[sprites] = image;
+        x[sprites] = worldx;
+        y[sprites] = worldy;
+        alpha[sprites] = opacity;
+        hpBar[sprites] = hpBarWidth;
+        label[sprites] = showLabel;
+        sprites++;
+    }
+
+    /** @return the number of captured sprites */
+    public int getSpriteCount() {
+        return sprites;
+    }
+
+    /** @return the image of a captured sprite */
+    public BufferedImage getImage(int i) {
+        return images[i];
+    }
+
+    /** @return the world X-coordinate of a captured sprite */
+    public int getX(int i) {
+        return x[i];
+    }
+
+    /** @return the world Y-coordinate of a captured sprite */
+    public int getY(int i) {
+        return y[i];
+    }
+
+    /** @return the alpha of a captured sprite */
+    public float getAlpha(int i) {
+        return alpha[i];
+    }
+
+    /**
+     * Draws the tiles and sprites of this snapshot. Called on the rendering thread.
+     *
+     * @param g2 the graphics context
+     * @param gp the game panel, for the tile manager
+     */
+    void draw(Graphics2D g2, GamePanel gp) {
+        FrameProfiler profiler = gp.profiler;
+        long t = profiler.start();
+        gp.tileM.draw(g2, map, cameraX, cameraY);
+        profiler.stop(FrameProfiler.Phase.TILES, t);
+
+        t = profiler.start();
+        for (int i = 0; i < sprites; i++) {
+            int screenX = x[i] + offsetX;
+            int screenY = y[i] + offsetY;
+
+            if (hpBar[i] >= 0) {
+                g2.setColor(HP_BAR_BACK);
+                g2.fillRect(screenX - 2, screenY - 32, tileSize + 2, 12);
+                g2.setColor(HP_BAR_FRONT);
+                g2.fillRect(screenX, screenY - 30, hpBar[i], 15);
+            }
+            if (label[i]) {
+                g2.setColor(LABEL_SHADOW);
+                g2.setFont(g2.getFont().deriveFont(Font.BOLD, 20F));
+                g2.drawString(LABEL, screenX, screenY - 30);
+                g2.setColor(Color.white);
+                g2.setFont(g2.getFont().deriveFont(Font.BOLD, 21F));
+                g2.drawString(LABEL, screenX + 1, screenY - 30);
+            }
+
+            if (alpha[i] < 1f) {
+                g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha[i]));
+                g2.drawImage(images[i], screenX, screenY, null);
+                g2.setComposite(AlphaComposite.SrcOver);
+            } else {
+                g2.drawImage(images[i], screenX, screenY, null);
+            }
+        }
+        profiler.stop(FrameProfiler.Phase.ENTITIES, t);
+    }
+}
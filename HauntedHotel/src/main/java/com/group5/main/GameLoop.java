@@ -0,0 +1,347 @@
+package com.group5.main;
+
+import java.awt.DisplayMode;
+import java.awt.GraphicsEnvironment;
+import java.awt.HeadlessException;
+import java.awt.Toolkit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * The {@code GameLoop} class drives the game with a fixed simulation step and a
+ * separately paced render rate.
+ * <p>
+ * Every iteration the loop advances the simulation by as many fixed steps as the
+ * elapsed time allows (clamped to {@link #MAX_CATCH_UP_STEPS} so a long stall does
+ * not trigger a spiral of updates), renders when the next render deadline is reached
+ * and then parks the thread with {@link LockSupport#parkNanos(long)} until the next
+ * deadline instead of spinning on {@link System#nanoTime()}.
+ * </p>
+ *
+ * <p>Pacing modes:</p>
+ * <ul>
+ *     <li>{@link PacingMode#CAPPED} — render at the configured render rate and sleep in between.</li>
+ *     <li>{@link PacingMode#UNCAPPED} — render on every iteration without sleeping.</li>
+ *     <li>{@link PacingMode#VSYNC} — render on every iteration and let the display pace the loop
+ *     while presenting a frame blocks until the display is ready (a page-flipping canvas);
+ *     otherwise render at the render rate, normally the display refresh rate, and sleep in between
+ *     like {@link PacingMode#CAPPED}. {@link Toolkit#sync()} only flushes, it never waits.</li>
+ * </ul>
+ *
+ * @author Group 5
+ * @version 1.0
+ */
+public class GameLoop implements Runnable {
+
+    /** How the loop paces rendering between simulation steps. */
+    public enum PacingMode { CAPPED, UNCAPPED, VSYNC }
+
+    /** Maximum number of simulation steps run in one iteration before the backlog is dropped. */
+    public static final int MAX_CATCH_UP_STEPS = 5;
+
+    /** Number of nanoseconds in one second. */
+    static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    /** Below this many nanoseconds left to wait, the loop yields instead of parking. */
+    static final long MIN_PARK_NANOS = 200_000L;
+
+    /** Callback advancing the simulation by one fixed step. */
+    private final Runnable update;
+
+    /** Callback presenting the current state. */
+    private final Runnable render;
+
+    /** Source of the current time in nanoseconds. */
+    private final LongSupplier clock;
+
+    /** Length of one simulation step in nanoseconds. */
+    private final long stepNanos;
+
+    /** Minimum time between two renders in nanoseconds when capped. */
+    private final long renderIntervalNanos;
+
+    /** Active pacing mode. */
+    private final PacingMode pacing;
+
+    /** Whether the render callback currently blocks until the display takes the frame. */
+    private final BooleanSupplier renderBlocks;
+
+    /** Whether the loop should keep running; cleared by {@link #stop()}. */
+    private volatile boolean running = true;
+
+    /** Whether the per-second statistics are printed to stdout. */
+    private boolean printStats = false;
+
+    // TIMING STATE
+    private long previousTime;
+    private long accumulator;
+    private long nextRenderTime;
+    private long lastRenderTime;
+    private boolean started = false;
+    private boolean firstFrame = true;
+
+    // STATISTICS
+    private long windowStart;
+    private int windowFrames, windowUpdates;
+    private long windowFrameNanos, windowMaxFrameNanos;
+
+    private volatile int fps, ups;
+    private volatile long lastFrameNanos;
+    private volatile double averageFrameMillis, maxFrameMillis;
+    private volatile long droppedSteps;
+
+    /**
+     * Constructs a capped {@code GameLoop} that renders once per simulation step.
+     *
+     * @param update callback advancing the simulation by one step
+     * @param render callback presenting the current state
+     * @param updatesPerSecond the fixed simulation rate
+     */
+    public GameLoop(Runnable update, Runnable render, int updatesPerSecond) {
+        this(update, render, updatesPerSecond, updatesPerSecond, PacingMode.CAPPED, System::nanoTime);
+    }
+
+    /**
+     * Constructs a {@code GameLoop} with separate simulation and render rates.
+     *
+     * @param update callback advancing the simulation by one step
+     * @param render callback presenting the current state
+     * @param updatesPerSecond the fixed simulation rate
+     * @param rendersPerSecond the render rate used in {@link PacingMode#CAPPED} mode
+     * @param pacing how rendering is paced
+     * @param clock source of the current time in nanoseconds
+     */
+    public GameLoop(Runnable update, Runnable render, int updatesPerSecond, int rendersPerSecond,
+                    PacingMode pacing, LongSupplier clock) {
+        this(update, render, updatesPerSecond, rendersPerSecond, pacing, clock, () -> false);
+    }
+
+    /**
+     * Constructs a {@code GameLoop} whose render callback may block on the display.
+     *
+     * @param update callback advancing the simulation by one step
+     * @param render callback presenting the current state
+     * @param updatesPerSecond the fixed simulation rate
+     * @param rendersPerSecond the render rate used in {@link PacingMode#CAPPED} mode, and in
+     * {@link PacingMode#VSYNC} mode while rendering does not block
+     * @param pacing how rendering is paced
+     * @param clock source of the current time in nanoseconds
+     * @param renderBlocks tells whether {@code render} currently waits for the display, so
+     * {@link PacingMode#VSYNC} may leave the pacing to it
+     */
+    public GameLoop(Runnable update, Runnable render, int updatesPerSecond, int rendersPerSecond,
+                    PacingMode pacing, LongSupplier clock, BooleanSupplier renderBlocks) {
+        if (updatesPerSecond <= 0 || rendersPerSecond <= 0) {
+            throw new IllegalArgumentException("Rates must be positive");
+        }
+        this.update = update;
+        this.render = render;
+        this.clock = clock;
+        this.pacing = pacing;
+        this.renderBlocks = renderBlocks;
+        this.stepNanos = NANOS_PER_SECOND / updatesPerSecond;
+        this.renderIntervalNanos = NANOS_PER_SECOND / rendersPerSecond;
+    }
+
+    /**
+     * Runs the loop on the calling thread until {@link #stop()} is called.
+     */
+    @Override
+    public void run() {
+        while (running) {
+            long wait = advance(clock.getAsLong());
+            if (wait >= MIN_PARK_NANOS) {
+                LockSupport.parkNanos(wait);
+            } else if (wait > 0) {
+                Thread.yield();
+            }
+        }
+    }
+
+    /** Asks the loop to exit after the current iteration. */
+    public void stop() {
+        running = false;
+    }
+
+    /** @return {@code false} once {@link #stop()} has been called */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Performs one loop iteration at the given time: runs the due simulation steps,
+     * renders if a frame is due and returns how long the caller may sleep.
+     *
+     * @param now the current time in nanoseconds
+     * @return nanoseconds until the next step or frame is due, or {@code 0} to continue immediately
+     */
+    long advance(long now) {
+        if (!started) {
+            started = true;
+            previousTime = now;
+            nextRenderTime = now;
+            lastRenderTime = now;
+            windowStart = now;
+        }
+
+        accumulator += now - previousTime;
+        previousTime = now;
+
+        // SIMULATION
+        int steps = 0;
+        while (accumulator >= stepNanos && steps < MAX_CATCH_UP_STEPS) {
+            update.run();
+            accumulator -= stepNanos;
+            steps++;
+        }
+        if (accumulator >= stepNanos) {
+            // too far behind: drop the backlog instead of trying to catch up
+            droppedSteps += accumulator / stepNanos;
+            accumulator %= stepNanos;
+        }
+        windowUpdates += steps;
+
+        // RENDER
+        boolean capped = pacing == PacingMode.CAPPED
+                || (pacing == PacingMode.VSYNC && !renderBlocks.getAsBoolean());
+        if (!capped || now >= nextRenderTime) {
+            render.run();
+            if (pacing == PacingMode.VSYNC) {
+                Toolkit.getDefaultToolkit().sync();
+            }
+            recordFrame(now);
+            nextRenderTime += renderIntervalNanos;
+            if (nextRenderTime < now) {
+                nextRenderTime = now + renderIntervalNanos;
+            }
+        }
+
+        if (now - windowStart >= NANOS_PER_SECOND) {
+            publishWindow(now);
+        }
+
+        if (!capped) {
+            return 0;
+        }
+        long untilStep = stepNanos - accumulator;
+        long untilRender = nextRenderTime - now;
+        return Math.max(0, Math.min(untilStep, untilRender));
+    }
+
+    /** Records the time since the previous rendered frame. */
+    private void recordFrame(long now) {
+        if (firstFrame) {
+            // nothing to measure against yet
+            firstFrame = false;
+            lastRenderTime = now;
+            return;
+        }
+        long frameNanos = now - lastRenderTime;
+        lastRenderTime = now;
+        lastFrameNanos = frameNanos;
+        windowFrames++;
+        windowFrameNanos += frameNanos;
+        windowMaxFrameNanos = Math.max(windowMaxFrameNanos, frameNanos);
+    }
+
+    /** Publishes the statistics of the last one-second window and starts a new one. */
+    private void publishWindow(long now) {
+        fps = windowFrames;
+        ups = windowUpdates;
+        averageFrameMillis = windowFrames == 0 ? 0 : windowFrameNanos / (windowFrames * 1_000_000.0);
+        maxFrameMillis = windowMaxFrameNanos / 1_000_000.0;
+
+        if (printStats) {
+            System.out.printf("FPS: %d | UPS: %d | frame avg: %.2f ms, max: %.2f ms%n",
+                    fps, ups, averageFrameMillis, maxFrameMillis);
+        }
+
+        windowStart = now;
+        windowFrames = 0;
+        windowUpdates = 0;
+        windowFrameNanos = 0;
+        windowMaxFrameNanos = 0;
+    }
+
+    /**
+     * Enables or disables printing the per-second statistics line.
+     *
+     * @param printStats {@code true} to print FPS, UPS and frame times once per second
+     */
+    public void setPrintStats(boolean printStats) {
+        this.printStats = printStats;
+    }
+
+    /** @return frames rendered during the last full second */
+    public int getFps() {
+        return fps;
+    }
+
+    /** @return simulation steps run during the last full second */
+    public int getUps() {
+        return ups;
+    }
+
+    /** @return time between the two most recent frames in nanoseconds */
+    public long getLastFrameNanos() {
+        return lastFrameNanos;
+    }
+
+    /** @return average frame time over the last full second in milliseconds */
+    public double getAverageFrameMillis() {
+        return averageFrameMillis;
+    }
+
+    /** @return worst frame time over the last full second in milliseconds */
+    public double getMaxFrameMillis() {
+        return maxFrameMillis;
+    }
+
+    /** @return total simulation steps dropped by catch-up clamping */
+    public long getDroppedSteps() {
+        return droppedSteps;
+    }
+
+    /** @return the active pacing mode */
+    public PacingMode getPacing() {
+        return pacing;
+    }
+
+    /**
+     * Returns the refresh rate of the default screen, for pacing {@link PacingMode#VSYNC} when
+     * presenting a frame does not wait for the display.
+     *
+     * @param fallback the rate returned when there is no screen or its rate is unknown
+     * @return the refresh rate in hertz
+     */
+    public static int displayRefreshRate(int fallback) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return fallback;
+        }
+        try {
+            int rate = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                    .getDisplayMode().getRefreshRate();
+            return rate == DisplayMode.REFRESH_RATE_UNKNOWN ? fallback : rate;
+        } catch (HeadlessException e) {
+            return fallback;
+        }
+    }
+
+    /**
+     * Parses a pacing mode name, falling back to {@link PacingMode#CAPPED}.
+     *
+     * @param name the mode name, case-insensitive, may be {@code null}
+     * @return the matching pacing mode
+     */
+    public static PacingMode parsePacing(String name) {
+        if (name != null) {
+            for (PacingMode mode : PacingMode.values()) {
+                if (mode.name().equalsIgnoreCase(name.trim())) {
+                    return mode;
+                }
+            }
+        }
+        return PacingMode.CAPPED;
+    }
+}
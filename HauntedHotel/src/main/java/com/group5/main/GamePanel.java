@@ -1,15 +1,22 @@
 package com.group5.main;
 
+import com.group5.entity.BulletStore;
 import com.group5.entity.Entity;
 import com.group5.entity.Player;
+import com.group5.entity.Projectile;
+import com.group5.entity.ProjectilePool;
+import com.group5.object.Obj_Fireball;
+import com.group5.object.Obj_Snowball;
 import com.group5.tile.TileManager;
+import com.group5.ai.FlowField;
 import com.group5.ai.Pathfinder;
+import com.group5.ai.PathfindingService;
 
 import javax.swing.*;
 import java.awt.*;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
+import java.util.Arrays;
 
 /**
  * The {@code GamePanel} class serves as the core of the game engine. It manages all
@@ -44,36 +51,106 @@ public class GamePanel extends JPanel implements Runnable {
     // WORLD SETTINGS
     public final int maxWorldCol = 70;
     public final int maxWorldRow = 30;
-    public final int maxMap = 5;
+    public final int maxMap = TileManager.MAP_FILES.length;
     public int currentMap = 0;
+
+    /** Whether each map's objects, NPCs and monsters have been placed; they are placed on first entry. */
+    final boolean[] populated = new boolean[maxMap];
   
 
     /** Frames per second target for the main game loop. */
     int FPS = 60;
 
-    // CORE COMPONENTS
-    public TileManager tileM = new TileManager(this);
-    public KeyHandler keyH = new KeyHandler(this);
-    Sound music = new Sound();
-    Sound se = new Sound();
-    public UI ui = new UI(this);
-    public EventHandler eHandler = new EventHandler(this);
-    public Pathfinder pFinder = new Pathfinder(this);
-    public CollisionChecker cChecker = new CollisionChecker(this);
-    public AssetSetter aSetter = new AssetSetter(this);
+    /** Render rate used when the loop is capped; defaults to the simulation rate. */
+    int renderFPS = Integer.getInteger("hauntedhotel.renderFps", FPS);
+
+    /** How the game loop paces rendering ({@code capped}, {@code uncapped} or {@code vsync}). */
+    GameLoop.PacingMode pacing = GameLoop.parsePacing(System.getProperty("hauntedhotel.pacing"));
+
+    /** Where frames are drawn: Swing painting of this panel, or active rendering on a {@link CanvasRenderer}. */
+    public enum RenderBackend { PANEL, CANVAS }
+
+    /** Rendering backend chosen with {@code hauntedhotel.renderer} ({@code panel} or {@code canvas}). */
+    RenderBackend backend = parseBackend(System.getProperty("hauntedhotel.renderer"));
+
+    /**
+     * Whether this panel runs as a headless simulation: no Swing setup, no image
+     * decoding and no audio. Set once by the constructor before any component is built.
+     */
+    public final boolean headless;
+
+    // CORE COMPONENTS (created in the constructor so they can see the headless flag)
+    public TileManager tileM;
+    public KeyHandler keyH;
+    Sound music;
+    Sound se;
+    public UI ui;
+    public EventHandler eHandler;
+    public Pathfinder pFinder;
+    public PathfindingService pathService;
+    public CollisionChecker cChecker;
+    public AssetSetter aSetter;
+
+    /** Decodes sprites and loads maps on worker threads ahead of use. */
+    public AssetLoader assets;
 
     /** Main game thread used to run the loop. */
     Thread gameThread; //used for time if you wanna do smt multiple times
+
+    /** Fixed-step loop driving {@link #update()} and the rendering backend. */
+    GameLoop gameLoop;
+
+    /** Canvas presenting the frames when the {@link RenderBackend#CANVAS} backend is used. */
+    CanvasRenderer canvas;
     
 
     // ENTITY AND OBJECT MANAGEMENT
-    public Player player = new Player(this, keyH);
+    public Player player;
     public Entity obj[][] = new Entity[maxMap][20];
     public Entity npc[][] = new Entity[maxMap][2];
     public Entity monster[][] = new Entity[maxMap][8];
-    ArrayList<Entity> entityList = new ArrayList<>();
     public ArrayList<Entity> projectileList = new ArrayList<>();
 
+    /** Entities to draw, kept in depth order between frames; used on the game thread. */
+    final RenderQueue renderQueue = new RenderQueue();
+
+    /** World snapshots handed from the game thread to the rendering thread. */
+    final TripleBuffer<FrameSnapshot> frames = new TripleBuffer<>(FrameSnapshot::new);
+
+    /** Simulation step of the last published snapshot, or -1 before the first; game thread only. */
+    private long publishedTick = -1;
+
+    /** Per-phase frame timing; shown with F3, or turned on with {@code hauntedhotel.profile=true}. */
+    public final FrameProfiler profiler = new FrameProfiler();
+
+    /** Reusable projectiles fired by monsters, one pool per projectile type. */
+    public ProjectilePool<Obj_Snowball> snowballs;
+    public ProjectilePool<Obj_Fireball> fireballs;
+
+    /** Number of projectiles of each type created up front. */
+    static final int PROJECTILE_POOL_SIZE = 8;
+
+    /** Simple straight-flying bullets, stored as arrays. */
+    public BulletStore bullets;
+
+    /** Whether monsters fire into {@link #bullets} instead of pooled projectiles; {@code hauntedhotel.bulletStore}. */
+    public boolean storeMonsterShots = Boolean.getBoolean("hauntedhotel.bulletStore");
+
+    /** Number of bullets the store holds before it grows. */
+    static final int BULLET_CAPACITY = 256;
+
+    /** Per-map distance field toward the player's tile, shared by all chasing monsters. */
+    FlowField flowField[] = new FlowField[maxMap];
+
+    /** Monsters planning their path this frame; reused between frames. */
+    final ArrayList<Entity> pathPlanners = new ArrayList<>();
+
+    /** From this many monsters searching for paths on, paths are planned in parallel. */
+    static final int PARALLEL_PLAN_THRESHOLD = 4;
+
+    /** Number of {@link #update()} calls in play state so far. */
+    public long updateCount = 0;
+
     // GAME STATES
     public int gameState;
     public final int titleState = 0;
@@ -86,14 +163,12 @@ public class GamePanel extends JPanel implements Runnable {
 
 
      /**
-     * Sets up the initial game environment by loading objects, NPCs, and monsters,
-     * then setting the starting state to the title screen.
+     * Sets up the initial game environment by entering the starting map, which places its
+     * objects, NPCs and monsters, then setting the starting state to the title screen.
      */
     public void setupGame() {
 
-        aSetter.setObject();
-        aSetter.setMonster();
-        aSetter.setNPC();
+        enterMap(currentMap);
 
         gameState = titleState;
 
@@ -103,14 +178,78 @@ public class GamePanel extends JPanel implements Runnable {
         
     }
 
+    /**
+     * Returns the flow field of the current map pointed at the player's tile.
+     * The field is only rebuilt when the player changes tile or the map's tiles change,
+     * so every chasing monster can call this each frame.
+     *
+     * @return the flow field leading to the player
+     */
+    public FlowField getPlayerFlowField() {
+        FlowField field = flowField[currentMap];
+        if (field == null) {
+            field = new FlowField(maxWorldCol, maxWorldRow);
+            flowField[currentMap] = field;
+        }
+        int col = (player.worldx + player.solidArea.x) / tileSize;
+        int row = (player.worldy + player.solidArea.y) / tileSize;
+        col = Math.max(0, Math.min(col, maxWorldCol - 1));
+        row = Math.max(0, Math.min(row, maxWorldRow - 1));
+
+        field.update(tileM.getCollisionMap(currentMap), col, row);
+        return field;
+    }
+
+    /**
+     * Makes a map the current one. The map's tiles are loaded if they are not resident, which
+     * may evict the least recently entered map, and its objects, NPCs and monsters are placed
+     * the first time it is entered. The tiles around the player are baked ahead of time on an
+     * {@link AssetLoader} worker.
+     *
+     * @param map the map index
+     */
+    public void enterMap(int map) {
+        currentMap = map;
+        tileM.enterMap(map);
+        populate(map);
+        assets.prebake(map, player.worldx, player.worldy);
+    }
+
+    /** Places a map's objects, NPCs and monsters unless that was already done. */
+    private void populate(int map) {
+        if (!populated[map]) {
+            populated[map] = true;
+            aSetter.setAssets(map);
+            cChecker.refresh();
+        }
+    }
+
+    /**
+     * Drops the per-map state that is rebuilt on demand after the tile manager evicted a map:
+     * its flow field and event areas. Entities stay, since killed monsters and picked up items
+     * are game progress.
+     *
+     * @param map the evicted map
+     */
+    public void releaseMap(int map) {
+        flowField[map] = null;
+        if (eHandler != null) {
+            eHandler.releaseMap(map);
+        }
+    }
+
      /** Resets player values to default for restarting the game. */
     public void restart() {
-        currentMap = 0;
         player.setDefaultValues();
         player.hasKey = 0;
-        aSetter.setObject();
-        aSetter.setMonster();
-        aSetter.setNPC();
+        bullets.clear();
+        for (int map = 0; map < maxMap; map++) {
+            Arrays.fill(obj[map], null);
+            Arrays.fill(npc[map], null);
+            Arrays.fill(monster[map], null);
+            populated[map] = false;
+        }
+        enterMap(0);
         gameState = playState;
 
 
@@ -120,50 +259,200 @@ public class GamePanel extends JPanel implements Runnable {
      * Constructor that initializes panel settings, input listeners, and rendering options.
      */
     public GamePanel () {
-        this.setPreferredSize(new Dimension(screenWidth, screenHeight));
-        this.setBackground(Color.black);
-        this.setDoubleBuffered(true);
-        this.addKeyListener(keyH);
-        this.setFocusable(true);
+        this(false);
+    }
+
+    /**
+     * Constructs the game, optionally as a headless simulation.
+     * <p>
+     * In headless mode the simulation ({@link #update()}, the player, monsters,
+     * collision, events and pathfinding) runs normally, but sprites and tiles are
+     * not decoded, no audio clips are opened and no Swing settings are applied,
+     * so it works with {@code java.awt.headless=true} on build machines.
+     * </p>
+     *
+     * @param headless {@code true} to run without rendering or audio
+     */
+    public GamePanel(boolean headless) {
+        this.headless = headless;
+
+        // decode on the workers while the constructors below ask for the same sprites
+        assets = new AssetLoader(this);
+        assets.preload();
+        tileM = new TileManager(this);
+        keyH = new KeyHandler(this);
+        music = new Sound();
+        se = new Sound();
+        ui = new UI(this);
+        eHandler = new EventHandler(this);
+        pFinder = new Pathfinder(this);
+        pathService = new PathfindingService(this);
+        cChecker = new CollisionChecker(this);
+        aSetter = new AssetSetter(this);
+        player = new Player(this, keyH);
+        snowballs = new ProjectilePool<>(() -> new Obj_Snowball(this), PROJECTILE_POOL_SIZE);
+        fireballs = new ProjectilePool<>(() -> new Obj_Fireball(this), PROJECTILE_POOL_SIZE);
+        bullets = new BulletStore(this, BULLET_CAPACITY);
+
+        profiler.setEnabled(Boolean.getBoolean("hauntedhotel.profile"));
+        String profileCsv = System.getProperty("hauntedhotel.profile.csv");
+        if (profileCsv != null) {
+            profiler.startCsv(Path.of(profileCsv));
+        }
 
+        if (!headless) {
+            this.setPreferredSize(new Dimension(screenWidth, screenHeight));
+            this.setBackground(Color.black);
+            this.setDoubleBuffered(true);
+            this.addKeyListener(keyH);
+            this.setFocusable(true);
+        }
+    }
+
+    /**
+     * Advances the simulation by the given number of fixed steps without rendering.
+     * Used by the headless mode for soak tests, replays and AI tuning.
+     *
+     * @param frames the number of {@link #update()} calls to run
+     */
+    public void simulate(int frames) {
+        for (int i = 0; i < frames; i++) {
+            update();
+        }
     }
 
     /** Starts the main game loop in a separate thread. */
     public void startGameThread() {
+        gameLoop = createGameLoop();
+        gameLoop.setPrintStats(true);
         gameThread = new Thread(this);
         gameThread.start();
 
     }
 
     /**
-     * The main game loop. Controls update and rendering frequency to maintain target FPS.
-     * This method continuously updates game state and repaints the screen.
+     * The main game loop. Runs {@link #update()} at a fixed rate and {@link #repaint()}, or
+     * {@link CanvasRenderer#render()} with the canvas backend, at the render rate, parking the thread between frames instead of spinning.
+     * Measured frame times are available from {@link #getGameLoop()}.
      */
     @Override
     public void run() {
-        double drawInterval = 1000000000/FPS;
-        double delta = 0;
-        long lastTime = System.nanoTime();
-        long currentTime;
-        long timer = 0;
-        int drawCount = 0;
-
-        while (gameThread != null) {
-            currentTime = System.nanoTime();
-            delta += (currentTime - lastTime) / drawInterval;
-            timer += (currentTime - lastTime);
-            lastTime = currentTime;
-
-            if(delta > 1){
-                update();
-                repaint();
-                delta--;
-                drawCount++;
+        if (gameLoop == null) {
+            gameLoop = createGameLoop();
+        }
+        gameLoop.run();
+    }
+
+    /**
+     * Creates the game loop for the active backend. With {@code vsync} pacing the loop leaves the
+     * waiting to a page-flipping canvas, and otherwise renders at the display refresh rate.
+     *
+     * @return the new game loop
+     */
+    private GameLoop createGameLoop() {
+        int rate = pacing == GameLoop.PacingMode.VSYNC ? GameLoop.displayRefreshRate(renderFPS) : renderFPS;
+        CanvasRenderer target = canvas;
+        return new GameLoop(this::update, renderCallback(), FPS, rate, pacing, System::nanoTime,
+                () -> target != null && target.isPageFlipping());
+    }
+
+    /** @return the callback the game loop presents frames with for the active backend */
+    private Runnable renderCallback() {
+        return canvas != null ? canvas::render : this::repaint;
+    }
+
+    /**
+     * Creates the canvas used by the active rendering backend. Once created, the game loop
+     * draws and presents frames on it directly instead of repainting this panel.
+     *
+     * @return the canvas to add to the window in place of this panel
+     */
+    public CanvasRenderer createCanvas() {
+        canvas = new CanvasRenderer(this);
+        return canvas;
+    }
+
+    /** @return the active rendering canvas, or {@code null} when this panel is painted by Swing */
+    public CanvasRenderer getCanvas() {
+        return canvas;
+    }
+
+    /** @return the rendering backend selected for this game */
+    public RenderBackend getBackend() {
+        return backend;
+    }
+
+    /**
+     * Parses a rendering backend name, falling back to {@link RenderBackend#PANEL}.
+     *
+     * @param name the backend name, case-insensitive, may be {@code null}
+     * @return the matching backend
+     */
+    public static RenderBackend parseBackend(String name) {
+        if (name != null) {
+            for (RenderBackend b : RenderBackend.values()) {
+                if (b.name().equalsIgnoreCase(name.trim())) {
+                    return b;
+                }
+            }
+        }
+        return RenderBackend.PANEL;
+    }
+
+    /** Stops the main game loop; the game thread exits after the current frame. */
+    public void stopGameThread() {
+        if (gameLoop != null) {
+            gameLoop.stop();
+        }
+        profiler.closeCsv();
+        gameThread = null;
+    }
+
+    /**
+     * Returns the running game loop, which reports FPS, UPS and measured frame times.
+     *
+     * @return the game loop, or {@code null} before the game thread has started
+     */
+    public GameLoop getGameLoop() {
+        return gameLoop;
+    }
+
+    /**
+     * Runs {@link Entity#planPath()} for every active monster on the current map.
+     * <p>
+     * Planning only reads the immutable collision map, path graph and flow field and writes each
+     * monster's own path state, with A* searches running on contexts from the
+     * {@link PathfindingService}. Chasing the player is a flow-field lookup that costs less than
+     * handing work to another thread, so the work is only split across the common
+     * {@link java.util.concurrent.ForkJoinPool} when enough monsters searched for a path on the
+     * previous update (see {@link Entity#plansSearch()}). The shared state is brought up to
+     * date on this thread first.
+     * </p>
+     */
+    void planMonsterPaths() {
+        pathPlanners.clear();
+        int searching = 0;
+        for(int i = 0; i < monster[1].length; i++) {
+            Entity m = monster[currentMap][i];
+            if(m != null && m.alive && !m.dying) {
+                pathPlanners.add(m);
+                if(m.plansSearch()) {
+                    searching++;
+                }
             }
-            if (timer >= 1000000000) {
-                System.out.println("FPS: " + drawCount);
-                drawCount = 0;
-                timer = 0;
+        }
+        if(pathPlanners.isEmpty()) {
+            return;
+        }
+
+        getPlayerFlowField();
+        tileM.getPathGraph(currentMap);
+
+        if(searching >= PARALLEL_PLAN_THRESHOLD) {
+            pathPlanners.parallelStream().forEach(Entity::planPath);
+        } else {
+            for(Entity m : pathPlanners) {
+                m.planPath();
             }
         }
     }
@@ -174,11 +463,20 @@ public class GamePanel extends JPanel implements Runnable {
      */
     public void update() {
 
-        if(gameState == playState) {
+        boolean playing = gameState == playState;
+        if(playing) {
+            profiler.beginUpdate();
+            updateCount++;
+            long t = profiler.start();
             player.update();
+            profiler.stop(FrameProfiler.Phase.PLAYER, t);
             //UPDATE NPC IF NEEDED
 
-            // UPDATE MONSTER
+            // PLAN MONSTER PATHS, THEN UPDATE MONSTER
+            t = profiler.start();
+            planMonsterPaths();
+            profiler.stop(FrameProfiler.Phase.PATHFINDING, t);
+            t = profiler.start();
             for(int i = 0; i < monster[1].length; i++) {
                 if(monster[currentMap][i] != null) {
                     if(monster[currentMap][i].alive == true && monster[currentMap][i].dying == false) {
@@ -187,20 +485,39 @@ public class GamePanel extends JPanel implements Runnable {
                     if(monster[currentMap][i].alive == false){
                         monster[currentMap][i].checkDrop();
                         monster[currentMap][i] = null;
+                        cChecker.refresh();
                     }
                 }
             }
+            for(int i = 0; i < monster[1].length; i++) {
+                if(monster[currentMap][i] != null) {
+                    monster[currentMap][i].updateEffects();
+                }
+            }
+            profiler.stop(FrameProfiler.Phase.MONSTERS, t);
 
+            // expired projectiles are swapped with the last one, removed and reused
+            t = profiler.start();
             for(int i = 0; i < projectileList.size(); i++) {
-                if(projectileList.get(i) != null) {
-                    if(projectileList.get(i).alive == true) {
-                        projectileList.get(i).update();
-                    }
-                    if(projectileList.get(i).alive == false){
-                        projectileList.remove(i);
+                Entity p = projectileList.get(i);
+                if(p == null) {
+                    continue;
+                }
+                if(p.alive == true) {
+                    p.update();
+                }
+                if(p.alive == false){
+                    int last = projectileList.size() - 1;
+                    projectileList.set(i, projectileList.get(last));
+                    projectileList.remove(last);
+                    if(p instanceof Projectile) {
+                        ((Projectile) p).release();
                     }
+                    i--;
                 }
             }
+            bullets.update();
+            profiler.stop(FrameProfiler.Phase.PROJECTILES, t);
 
 
         }
@@ -208,93 +525,91 @@ public class GamePanel extends JPanel implements Runnable {
 
         }
 
+        // the world only changes while playing, so paused and title frames reuse the last snapshot
+        if(!headless && updateCount != publishedTick) {
+            long t = profiler.start();
+            publishFrame();
+            if(playing) {
+                profiler.stop(FrameProfiler.Phase.SNAPSHOT, t);
+            }
+        }
+        if(playing) {
+            profiler.endUpdate(updateCount);
+        }
     }
 
     /**
-     * Handles all rendering for the game, including tiles, entities, projectiles, and UI.
-     * Entities are sorted by Y-coordinate for proper depth rendering.
+     * Captures the world as it is after this step and hands it to the renderer. Called on
+     * the game thread; {@link #paintComponent(Graphics)} draws the latest published frame
+     * on the rendering thread, so the two can run at the same time.
+     */
+    public void publishFrame() {
+        frames.back().capture(this);
+        frames.publish();
+        publishedTick = updateCount;
+    }
+
+    /**
+     * Paints this panel when the {@link RenderBackend#PANEL} backend is used.
      *
      * @param g The {@link Graphics} context used for drawing.
      */
     public void paintComponent(Graphics g) { //written compon in java
         super.paintComponent(g); // super means parent graph of the graph (jpanel)
         Graphics2D g2 = (Graphics2D) g;
+        render(g2);
+        g2.dispose();
+    }
+
+    /**
+     * Handles all rendering for the game: the title screen, or the latest world snapshot
+     * published by the game thread (tiles, entities in depth order and projectiles) and the UI.
+     * The drawing phases of a world frame are then committed to the {@link #profiler}.
+     *
+     * @param g2 the graphics context to draw into
+     */
+    public void render(Graphics2D g2) {
+        if(drawFrame(g2)) {
+            profiler.endRender();
+        }
+    }
 
+    /**
+     * Draws the title screen or the latest world snapshot without committing the timed drawing
+     * phases, so the {@link CanvasRenderer} can add the present before it does. Shared by both
+     * rendering backends.
+     *
+     * @param g2 the graphics context to draw into
+     * @return {@code true} if a world frame was drawn and timed
+     */
+    boolean drawFrame(Graphics2D g2) {
         // TITLE SCREEN
         if(gameState == titleState) {
             ui.draw(g2);
+            return false;
         }
         // others
         else {
 
-            // TILE
-            tileM.draw(g2);
-
-            // FANCY
-
-            // ENTITIES ADDED TO LIST
-            entityList.add(player);
-
-            if (npc[currentMap][0] != null)
-                entityList.add(npc[currentMap][0]); // if you add more npc then you create a for loop
-
-            for(int i = 0; i < monster[1].length; i++) {
-                if(monster[currentMap][i] != null) {
-                    entityList.add(monster[currentMap][i]);
-                }
-            }
-
-            for(int i = 0; i < projectileList.size(); i++) {
-                if(projectileList.get(i) != null) {
-                    entityList.add(projectileList.get(i));
-                }
+            // WORLD FROM THE LATEST SNAPSHOT; NOTHING UNTIL THE GAME THREAD HAS PUBLISHED ONE,
+            // SINCE CAPTURING WALKS ENTITIES THE GAME THREAD OWNS
+            FrameSnapshot frame = frames.latest();
+            if(!frame.isCaptured()) {
+                return false;
             }
-
-            //refactor: removing dead code from here 
-            
-
-
-            for(int i = 0; i < obj[1].length; i++) {
-                if(obj[currentMap][i] != null) {
-                    entityList.add(obj[currentMap][i]);
-                }
-            }
-
-
-
-            Collections.sort(entityList, new Comparator<Entity>() {
-
-                @Override
-                public int compare(Entity e1, Entity e2) {
-                    int result = Integer.compare(e1.worldy, e2.worldy);
-                    return result;
-                }
-            });
-
-
-            // DRAW ENITY SORTED BY WHO IS DRAWN FIRST BASED ON Y VAL
-            for(int i = 0; i < entityList.size(); i++) {
-                entityList.get(i).draw(g2);
-            }
-
-            //npc[0].draw(g2);
-
-
-            // RESET ENTITY LIST
-
-            entityList.clear();
-
-
+            frame.draw(g2, this);
 
             //UI
-            ui.draw(g2);
+            long t = profiler.start();
+            ui.draw(g2, frame);
+            profiler.stop(FrameProfiler.Phase.UI, t);
+            return true;
         }
-
-        g2.dispose();
     }
 
     /** Plays background music for the given track index. */
     public void playMusic(int i) {
+        if (headless) return;
         music.setFile(i);
         music.play();
         music.loop();
@@ -312,6 +627,7 @@ public class GamePanel extends JPanel implements Runnable {
 
     /** Plays a specific sound effect once. */
     public void playSE(int i) {
+        if (headless) return;
         se.setFile(i);
         se.play();
     }
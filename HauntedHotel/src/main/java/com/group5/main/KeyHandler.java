@@ -20,6 +20,7 @@ import java.awt.event.KeyListener;
  *     <li>SPACE — shoot projectile</li>
  *     <li>ESC — pause/resume</li>
  *     <li>C — inventory/character menu</li>
+ *     <li>F3 — frame profiler overlay</li>
  * </ul>
  *
  * @author Group 5
@@ -147,6 +148,9 @@ public class KeyHandler implements KeyListener {
         if(code == KeyEvent.VK_SPACE){
             shootKeyPressed = true;
         }
+        if(code == KeyEvent.VK_F3){
+            gp.profiler.toggleOverlay();
+        }
     }
 
     /**
@@ -1,6 +1,7 @@
 package com.group5.main;
 
 import javax.swing.*;
+import java.awt.GraphicsEnvironment;
 
 /**
  * The {@code Main} class serves as the entry point for the game.
@@ -12,6 +13,13 @@ import javax.swing.*;
  * and user input for the entire game.
  * </p>
  * 
+ * <p>When started with {@code --headless [frames]} or on a machine without a display
+ * ({@code java.awt.headless=true}), the game runs as a headless simulation instead
+ * and prints how fast the frames were simulated.</p>
+ *
+ * <p>With {@code -Dhauntedhotel.renderer=canvas} the window holds a {@link CanvasRenderer}
+ * that the game loop draws and presents directly instead of the Swing-painted panel.</p>
+ *
  * <p><b>Game Title:</b> Haunted Hotel</p>
  * 
  * @author Group 5
@@ -19,27 +27,66 @@ import javax.swing.*;
  */
 public class Main {
 
+    /** Number of frames simulated by a headless run when none are given. */
+    static final int DEFAULT_HEADLESS_FRAMES = 60 * 60;
+
      /**
      * The main method that launches the game.
      *
-     * @param args command-line arguments (not used).
+     * @param args command-line arguments; {@code --headless [frames]} runs a headless simulation.
      */
     public static void main(String[] args) {
 
+        if (GraphicsEnvironment.isHeadless() || (args.length > 0 && "--headless".equals(args[0]))) {
+            int frames = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_HEADLESS_FRAMES;
+            runHeadless(frames);
+            return;
+        }
+
         JFrame window = new JFrame();
         window.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         window.setResizable(false);
         window.setTitle("Haunted Hotel");
 
         GamePanel gamePanel = new GamePanel();
-        window.add(gamePanel);
+        CanvasRenderer canvas = null;
+        if (gamePanel.getBackend() == GamePanel.RenderBackend.CANVAS) {
+            canvas = gamePanel.createCanvas();
+            window.add(canvas);
+        } else {
+            window.add(gamePanel);
+        }
 
         window.pack();
 
         window.setLocationRelativeTo(null);
         window.setVisible(true);
+        if (canvas != null) {
+            canvas.requestFocus();
+        }
 
+        Runtime.getRuntime().addShutdownHook(new Thread(gamePanel.profiler::closeCsv));
         gamePanel.setupGame();
         gamePanel.startGameThread();
     }
-}
\ No newline at end of file
+
+    /**
+     * Runs the game simulation without a window, images or audio and reports the throughput.
+     *
+     * @param frames the number of simulation steps to run
+     */
+    static void runHeadless(int frames) {
+        GamePanel gamePanel = new GamePanel(true);
+        gamePanel.setupGame();
+        gamePanel.gameState = gamePanel.playState;
+
+        long start = System.nanoTime();
+        gamePanel.simulate(frames);
+        long elapsed = System.nanoTime() - start;
+        gamePanel.profiler.closeCsv();
+
+        double millis = elapsed / 1_000_000.0;
+        System.out.printf("Simulated %d frames in %.1f ms (%.1f frames/ms)%n",
+                frames, millis, frames / Math.max(millis, 0.001));
+    }
+}
@@ -0,0 +1,121 @@
+package com.group5.main;
+
+import com.group5.entity.Entity;
+
+import java.util.Arrays;
+
+/**
+ * The {@code RenderQueue} class keeps the entities to draw in depth order (by
+ * {@link Entity#worldy}) from one frame to the next.
+ * <p>
+ * Each frame the caller offers every entity that should be drawn between {@link #begin()}
+ * and {@link #end()}. Entities offered for the first time are appended, entities that were
+ * not offered again (dead monsters, picked-up objects, expired projectiles, another map's
+ * entities) are dropped, and the queue is re-ordered with an insertion sort. Entities move a
+ * few pixels per frame, so the order is almost always already right and the sort is close to
+ * a single pass. Nothing is allocated once the queue has grown to its working size.
+ * </p>
+ *
+ * @author Group 5
+ * @version 1.0
+ */
+public class RenderQueue {
+
+    /** Entities in drawing order; entries {@code [0, size)} are in use. */
+    private Entity[] entities = new Entity[64];
+    private int size = 0;
+
+    /** Number of the current frame, stamped on every entity offered during it. */
+    private int frame = 0;
+
+    /** Number of entities moved by the last sort, mainly for tests. */
+    private int moves = 0;
+
+    /** Starts a new frame. */
+    public void begin() {
+        frame++;
+    }
+
+    /**
+     * Marks an entity as drawn this frame, adding it if it is not queued yet.
+     *
+     * @param entity the entity to draw; {@code null} is ignored
+     */
+    public void offer(Entity entity) {
+        if (entity == null) {
+            return;
+        }
+        if (entity.renderQueue != this) {
+            if (size == entities.length) {
+                entities = Arrays.copyOf(entities, size * 2);
+            }
+            entities[size++] = entity;
+            entity.renderQueue = this;
+        }
+        entity.renderFrame = frame;
+    }
+
+    /** Drops the entities not offered this frame and restores depth order. */
+    public void end() {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            Entity entity = entities[i];
+            if (entity.renderFrame == frame) {
+                entities[kept++] = entity;
+            } else {
+                entity.renderQueue = null;
+            }
+        }
+        Arrays.fill(entities, kept, size, null);
+        size = kept;
+        sort();
+    }
+
+    /** @return the number of queued entities */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a queued entity in drawing order.
+     *
+     * @param i the position, from 0 (drawn first) to {@link #size()} - 1
+     * @return the entity
+     */
+    public Entity get(int i) {
+        return entities[i];
+    }
+
+    /** @return how many entities the last {@link #end()} had to move */
+    public int getMoves() {
+        return moves;
+    }
+
+    /** Removes every entity. */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            entities[i].renderQueue = null;
+            entities[i] = null;
+        }
+        size = 0;
+    }
+
+    /** Stable insertion sort by {@code worldy}; linear when the order is unchanged. */
+    private void sort() {
+        moves = 0;
+        for (int i = 1; i < size; i++) {
+            Entity entity = entities[i];
+            int y = entity.worldy;
+            int j = i - 1;
+            if (entities[j].worldy <= y) {
+                continue;
+            }
+            do {
+                entities[j + 1] = entities[j];
+                j--;
+            } while (j >= 0 && entities[j].worldy > y);
+            entities[j + 1] = entity;
+            moves++;
+        }
+    }
+}
@@ -61,8 +61,10 @@ public class Sound {
 
     /**
      * Plays the currently loaded sound once.
+     * Does nothing if no clip could be loaded (e.g. no audio device is available).
      */
     public void play() {
+        if (clip == null) return;
         clip.start();
     }
 
@@ -70,6 +72,7 @@ public class Sound {
      * Loops the currently loaded sound continuously until stopped.
      */
     public void loop() {
+        if (clip == null) return;
         clip.loop(Clip.LOOP_CONTINUOUSLY);
     }
 
@@ -77,6 +80,7 @@ public class Sound {
      * Stops the currently playing sound clip.
      */
     public void stop() {
+        if (clip == null) return;
         clip.stop();
     }
 
@@ -0,0 +1,189 @@
+package com.group5.main;
+
+import com.group5.entity.Entity;
+
+import java.util.Arrays;
+
+/**
+ * The {@code SpatialHash} class buckets the entities of one slot array (for example
+ * {@code gp.monster[map]}) into a uniform grid of world cells so collision queries only
+ * look at entities near the area being tested.
+ *
+ * <p>Each entity is stored in every cell its solid area overlaps. {@link #sync()} walks the
+ * slots and re-buckets only the entities that moved to other cells, appeared or were
+ * removed, so keeping the grid current costs one comparison per slot for entities that
+ * stayed put. Queries return slot numbers; callers still test the real rectangles.</p>
+ *
+ * @author Group 5
+ * @version 1.0
+ */
+public class SpatialHash {
+
+    /** The slot array being indexed. */
+    private final Entity[] slots;
+
+    /** Width and height of a cell in pixels. */
+    private final int cellSize;
+
+    /** Number of cells across and down; positions outside the world use the border cells. */
+    private final int cols, rows;
+
+    /** Slot numbers stored in each cell, and how many of them are in use. */
+    private final int[][] cells;
+    private final int[] counts;
+
+    /** The entity each slot was bucketed for, and the cell range it was stored in. */
+    private final Entity[] indexed;
+    private final int[] minCol, minRow, maxCol, maxRow;
+
+    /** Frame this hash was last synced on; managed by {@link CollisionChecker}. */
+    long syncedFrame = -1;
+
+    /**
+     * Creates an empty hash over a world of the given size.
+     *
+     * @param slots the slot array to index
+     * @param cellSize the cell size in pixels
+     * @param worldWidth the world width in pixels
+     * @param worldHeight the world height in pixels
+     */
+    public SpatialHash(Entity[] slots, int cellSize, int worldWidth, int worldHeight) {
+        this.slots = slots;
+        this.cellSize = cellSize;
+        this.cols = Math.max(1, (worldWidth + cellSize - 1) / cellSize);
+        this.rows = Math.max(1, (worldHeight + cellSize - 1) / cellSize);
+        this.cells = new int[cols * rows][];
+        this.counts = new int[cols * rows];
+        this.indexed = new Entity[slots.length];
+        this.minCol = new int[slots.length];
+        this.minRow = new int[slots.length];
+        this.maxCol = new int[slots.length];
+        this.maxRow = new int[slots.length];
+    }
+
+    /** Brings every slot up to date, re-bucketing only the ones that changed. */
+    public void sync() {
+        for (int i = 0; i < slots.length; i++) {
+            update(i);
+        }
+    }
+
+    /**
+     * Brings one slot up to date.
+     *
+     * @param slot the slot number
+     */
+    public void update(int slot) {
+        Entity entity = slots[slot];
+        if (entity == null) {
+            if (indexed[slot] != null) {
+                remove(slot);
+                indexed[slot] = null;
+            }
+            return;
+        }
+
+        int left = entity.worldx + entity.solidArea.x;
+        int top = entity.worldy + entity.solidArea.y;
+        int c0 = col(left);
+        int r0 = row(top);
+        int c1 = col(left + entity.solidArea.width);
+        int r1 = row(top + entity.solidArea.height);
+
+        if (indexed[slot] == entity && c0 == minCol[slot] && r0 == minRow[slot]
+                && c1 == maxCol[slot] && r1 == maxRow[slot]) {
+            return;
+        }
+        if (indexed[slot] != null) {
+            remove(slot);
+        }
+        indexed[slot] = entity;
+        minCol[slot] = c0;
+        minRow[slot] = r0;
+        maxCol[slot] = c1;
+        maxRow[slot] = r1;
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                add(r * cols + c, slot);
+            }
+        }
+    }
+
+    /**
+     * Collects the slots stored in the cells overlapping a rectangle, each slot once.
+     * An entity spanning several cells is reported only from the first cell it shares with
+     * the rectangle, so queries do not write any state and may run on several threads
+     * while no {@link #sync()} is in progress.
+     *
+     * @param x the left edge in world pixels
+     * @param y the top edge in world pixels
+     * @param width the rectangle width
+     * @param height the rectangle height
+     * @param out receives the slot numbers; must hold at least as many entries as there are slots
+     * @return the number of slots written to {@code out}
+     */
+    public int query(int x, int y, int width, int height, int[] out) {
+        int count = 0;
+        int c0 = col(x);
+        int r0 = row(y);
+        int c1 = col(x + width);
+        int r1 = row(y + height);
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                int cell = r * cols + c;
+                int[] bucket = cells[cell];
+                for (int k = 0; k < counts[cell]; k++) {
+                    int slot = bucket[k];
+                    if (c == Math.max(c0, minCol[slot]) && r == Math.max(r0, minRow[slot])) {
+                        out[count++] = slot;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /** @return the slot array this hash indexes */
+    public Entity[] getSlots() {
+        return slots;
+    }
+
+    /** @return the cell size in pixels */
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    private int col(int x) {
+        return Math.max(0, Math.min(cols - 1, Math.floorDiv(x, cellSize)));
+    }
+
+    private int row(int y) {
+        return Math.max(0, Math.min(rows - 1, Math.floorDiv(y, cellSize)));
+    }
+
+    private void add(int cell, int slot) {
+        int[] bucket = cells[cell];
+        if (bucket == null) {
+            bucket = cells[cell] = new int[4];
+        } else if (counts[cell] == bucket.length) {
+            bucket = cells[cell] = Arrays.copyOf(bucket, bucket.length * 2);
+        }
+        bucket[counts[cell]++] = slot;
+    }
+
+    /** Removes a slot from every cell it was stored in; order inside a cell does not matter. */
+    private void remove(int slot) {
+        for (int r = minRow[slot]; r <= maxRow[slot]; r++) {
+            for (int c = minCol[slot]; c <= maxCol[slot]; c++) {
+                int cell = r * cols + c;
+                int[] bucket = cells[cell];
+                for (int k = 0; k < counts[cell]; k++) {
+                    if (bucket[k] == slot) {
+                        bucket[k] = bucket[--counts[cell]];
+                        break;
+                    }
+                }
+            }
+        }
+    }
+}
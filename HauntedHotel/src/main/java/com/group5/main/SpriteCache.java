@@ -0,0 +1,131 @@
+package com.group5.main;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@code SpriteCache} class is a process-wide registry of decoded and scaled images.
+ * <p>
+ * Each resource is read with {@link ImageIO}, scaled and converted to the screen's pixel
+ * layout once per (path, width, height); every later request gets the same shared image.
+ * Entities created during play, such as the projectiles fired by monsters, therefore no
+ * longer decode PNG files on the game thread. Shared images must not be drawn into.
+ * </p>
+ * <p>
+ * The cache is safe to use from several threads: {@link AssetLoader} decodes on worker threads
+ * while the game builds its entities. A thread asking for an image another thread is decoding
+ * waits for that decode instead of starting a second one.
+ * </p>
+ *
+ * @author Group 5
+ * @version 1.0
+ */
+public final class SpriteCache {
+
+    /** Cache key: the resource path without {@code .png} and the scaled size. */
+    private record Key(String path, int width, int height) {}
+
+    /** Loaded images by key; a task that is still running is an image being decoded. */
+    private static final Map<Key, FutureTask<BufferedImage>> sprites = new ConcurrentHashMap<>();
+
+    /** Number of images decoded so far, mainly for tests. */
+    private static final AtomicInteger loads = new AtomicInteger();
+
+    private SpriteCache() {}
+
+    /**
+     * Returns the image at a resource path scaled to the given size, loading it on first use.
+     *
+     * @param imagePath the resource path without the {@code .png} extension
+     * @param width the scaled width
+     * @param height the scaled height
+     * @return the shared image, or {@code null} if it could not be read
+     */
+    public static BufferedImage get(String imagePath, int width, int height) {
+        Key key = new Key(imagePath, width, height);
+        FutureTask<BufferedImage> task = sprites.get(key);
+        if (task == null) {
+            FutureTask<BufferedImage> created = new FutureTask<>(() -> load(key));
+            task = sprites.putIfAbsent(key, created);
+            if (task == null) {
+                task = created;
+            }
+        }
+        // decodes here, unless another thread has already decoded it or is decoding it now
+        task.run();
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            sprites.remove(key, task);
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether an image has been requested, without loading it.
+     *
+     * @param imagePath the resource path without the {@code .png} extension
+     * @param width the scaled width
+     * @param height the scaled height
+     * @return {@code true} if the image is cached or being decoded
+     */
+    public static boolean contains(String imagePath, int width, int height) {
+        return sprites.containsKey(new Key(imagePath, width, height));
+    }
+
+    /** @return every cached image as {@code path WxH}, sorted, mainly for tests */
+    static Set<String> keys() {
+        Set<String> keys = new TreeSet<>();
+        for (Key key : sprites.keySet()) {
+            keys.add(key.path() + " " + key.width() + "x" + key.height());
+        }
+        return keys;
+    }
+
+    /** @return the number of images decoded since start-up or the last {@link #clear()} */
+    public static int getLoads() {
+        return loads.get();
+    }
+
+    /** @return the number of cached images */
+    public static int size() {
+        return sprites.size();
+    }
+
+    /** Forgets every cached image. */
+    public static void clear() {
+        sprites.clear();
+        loads.set(0);
+    }
+
+    private static BufferedImage load(Key key) {
+        UtilityTool uTool = new UtilityTool();
+        BufferedImage scaledImage = null;
+
+        try (InputStream is = SpriteCache.class.getResourceAsStream(key.path() + ".png")) {
+            scaledImage = ImageIO.read(is);
+            scaledImage = uTool.scaleImage(scaledImage, key.width(), key.height());
+            scaledImage = UtilityTool.toCompatibleImage(scaledImage);
+            loads.incrementAndGet();
+
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return scaledImage;
+    }
+}
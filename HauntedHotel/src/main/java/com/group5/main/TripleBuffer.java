@@ -0,0 +1,86 @@
+package com.group5.main;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * The {@code TripleBuffer} class hands values from one producer thread to one consumer
+ * thread without locks and without either side ever waiting for the other.
+ * <p>
+ * It holds three instances. The producer fills {@link #back()} and calls {@link #publish()},
+ * which swaps it with the ready slot. The consumer calls {@link #latest()}, which swaps the
+ * ready slot into its front slot if something new was published and returns the front slot.
+ * Each instance is only ever touched by one side at a time, so the consumer can read the
+ * front value for as long as it likes while the producer keeps publishing; frames the
+ * consumer was too slow to see are simply overwritten.
+ * </p>
+ *
+ * @param <T> the buffered value type
+ * @author Group 5
+ * @version 1.0
+ */
+public class TripleBuffer<T> {
+
+    /** Flag set in {@link #ready} while the ready slot holds a value the consumer has not taken. */
+    private static final int FRESH = 4;
+
+    /** Mask of the slot index in {@link #ready}. */
+    private static final int INDEX = 3;
+
+    /** The three buffered instances. */
+    private final Object[] slots = new Object[3];
+
+    /** Slot written by the producer; only the producer reads or writes this field. */
+    private int back = 0;
+
+    /** Slot read by the consumer; only the consumer reads or writes this field. */
+    private int front = 1;
+
+    /** Index of the slot waiting between the two sides, plus {@link #FRESH}. */
+    private final AtomicInteger ready = new AtomicInteger(2);
+
+    /**
+     * Creates a buffer holding three fresh instances.
+     *
+     * @param factory creates one instance
+     */
+    public TripleBuffer(Supplier<T> factory) {
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = factory.get();
+        }
+    }
+
+    /**
+     * Returns the instance the producer may write. Producer side only.
+     *
+     * @return the back instance
+     */
+    @SuppressWarnings("unchecked")
+    public T back() {
+        return (T) slots[back];
+    }
+
+    /** Makes the back instance the latest value and takes a free one as the new back. Producer side only. */
+    public void publish() {
+        back = ready.getAndSet(back | FRESH) & INDEX;
+    }
+
+    /**
+     * Returns the most recently published instance, or the previous one again if nothing
+     * new has been published since. Consumer side only.
+     *
+     * @return the front instance
+     */
+    @SuppressWarnings("unchecked")
+    public T latest() {
+        if ((ready.get() & FRESH) != 0) {
+            front = ready.getAndSet(front) & INDEX;
+        }
+        return (T) slots[front];
+    }
+
+    /** @return {@code true} if a value was published that {@link #latest()} has not returned yet */
+    public boolean hasFresh() {
+        return (ready.get() & FRESH) != 0;
+    }
+}
@@ -1,9 +1,5 @@
 package com.group5.main;
 
-import com.group5.entity.Entity;
-import com.group5.object.Obj_Chest_Key;
-import com.group5.object.Obj_Heart;
-import com.group5.object.Obj_Money;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
@@ -38,7 +34,7 @@ public class UI {
     Graphics2D g2;
 
     /** Fonts used throughout the UI. */
-    Font arial_40, arial_45, end, dialogueFont;
+    Font arial_40, arial_45, end, dialogueFont, profilerFont;
 
     /** Heart icons representing player life. */
     BufferedImage heart_full, heart_half, heart_blank;
@@ -76,6 +72,9 @@ public class UI {
     /** Icon representing money or currency. */
     BufferedImage moneyImage;
 
+    /** HUD values shown this frame, taken from the player or from a {@link FrameSnapshot}. */
+    int hudLife, hudMaxLife, hudKeys, hudMoney;
+
     /**
      * Constructs the UI and initializes fonts, item icons, and life images.
      *
@@ -89,22 +88,21 @@ public class UI {
         arial_45 = new Font("Ariel", Font.PLAIN, 42);
         end = new Font("Ariel", Font.BOLD, 55);
         dialogueFont = new Font("Ariel", Font.PLAIN, 30);
+        profilerFont = new Font(Font.MONOSPACED, Font.PLAIN, 14);
 
-        // KEY IMAGE
-        Obj_Chest_Key key = new Obj_Chest_Key(gp);
-        keyImage = key.down1;
-        Obj_Money money = new Obj_Money(gp);
-        moneyImage = money.down1;
-
+        // ITEM AND LIFE ICONS, shared with the objects that use the same sprites
+        keyImage = icon("/objects/Chest_Key");
+        moneyImage = icon("/objects/Money");
+        heart_full = icon("/objects/heart_full");
+        heart_half = icon("/objects/heart_half");
+        heart_blank = icon("/objects/heart_blank");
 
 
-        // CREATE HEART OBJECT
-        Entity heart = new Obj_Heart(gp);
-        heart_full = heart.image;
-        heart_half = heart.image2;
-        heart_blank = heart.image3;
-
+    }
 
+    /** @return a tile-sized icon from the sprite cache, or {@code null} in headless mode */
+    private BufferedImage icon(String imagePath) {
+        return gp.headless ? null : SpriteCache.get(imagePath, gp.tileSize, gp.tileSize);
     }
 
      /**
@@ -123,6 +121,29 @@ public class UI {
      * @param g2 the graphics context used for rendering.
      */
     public void draw(Graphics2D g2) {
+        hudLife = gp.player.life;
+        hudMaxLife = gp.player.maxLife;
+        hudKeys = gp.player.hasKey;
+        hudMoney = gp.player.hasMoney;
+        drawScreen(g2);
+    }
+
+    /**
+     * Draws the UI with the health, keys and money captured in a frame snapshot, so the HUD
+     * matches the world drawn in the same frame.
+     *
+     * @param g2 the graphics context used for rendering.
+     * @param frame the snapshot being drawn.
+     */
+    public void draw(Graphics2D g2, FrameSnapshot frame) {
+        hudLife = frame.life;
+        hudMaxLife = frame.maxLife;
+        hudKeys = frame.keys;
+        hudMoney = frame.money;
+        drawScreen(g2);
+    }
+
+    private void drawScreen(Graphics2D g2) {
 
         this.g2 = g2;
 
@@ -141,11 +162,11 @@ public class UI {
             if(gp.currentMap == 2){
                 g2.setFont(arial_45);
                 g2.setColor(Color.black);
-                g2.drawString("x " + gp.player.hasKey, 111, 190);
-                g2.drawString("x " + gp.player.hasKey, 115, 191);
+                g2.drawString("x " + hudKeys, 111, 190);
+                g2.drawString("x " + hudKeys, 115, 191);
 
-                g2.drawString("x " + gp.player.hasMoney, 123, 249);
-                g2.drawString("x " + gp.player.hasMoney, 125, 251);
+                g2.drawString("x " + hudMoney, 123, 249);
+                g2.drawString("x " + hudMoney, 125, 251);
 
                 if(messageOn == true) {
                     g2.setFont(g2.getFont().deriveFont(32F));
@@ -162,13 +183,13 @@ public class UI {
             g2.setFont(arial_40);
             g2.setColor(Color.white);// font name, font style, font size
             g2.drawImage(keyImage, 35, 130, gp.tileSize, gp.tileSize, null);
-            g2.drawString("x " + gp.player.hasKey, 115, 190);
+            g2.drawString("x " + hudKeys, 115, 190);
 
             // MONEY stuff
             g2.setFont(arial_40);
             g2.setColor(Color.white);// font name, font style, font size
             g2.drawImage(moneyImage, 35, 190, gp.tileSize, gp.tileSize, null);
-            g2.drawString("x " + gp.player.hasMoney, 125, 250);
+            g2.drawString("x " + hudMoney, 125, 250);
             
             // END OF KEY STUFF
             
@@ -212,6 +233,9 @@ public class UI {
             drawGameWinScreen();
         }
 
+        if(gp.profiler.isOverlayVisible() && gp.gameState != gp.titleState) {
+            drawProfiler();
+        }
 
     }
 
@@ -226,7 +250,7 @@ public class UI {
         int i = 0;
 
         // DRAW MAX LIFE
-        while (i < gp.player.maxLife/2) {
+        while (i < hudMaxLife/2) {
             g2.drawImage(heart_blank, x, y, null);
             i++;
             x+= gp.tileSize;
@@ -237,10 +261,10 @@ public class UI {
         i = 0;
 
         // DRAW CURRENT LIFE
-        while (i < gp.player.life) {
+        while (i < hudLife) {
             g2.drawImage(heart_half, x, y, null);
             i++;
-            if(i < gp.player.life) {
+            if(i < hudLife) {
                 g2.drawImage(heart_full, x, y, null);
             }
             i++;
@@ -295,6 +319,32 @@ public class UI {
         if(commandNum == 1) {
             g2.drawString(">", x - gp.tileSize, y);
         }
+
+        if (!gp.assets.isDone()) {
+            drawLoadingBar(gp.assets.getProgress());
+        }
+    }
+
+    /**
+     * Draws the progress of the background asset loading below the title menu.
+     *
+     * @param progress the fraction of assets loaded, from 0 to 1
+     */
+    void drawLoadingBar(double progress) {
+        int width = gp.tileSize * 6;
+        int height = gp.tileSize / 4;
+        int x = gp.screenWidth / 2 - width / 2;
+        int y = 300 + gp.tileSize * 2;
+
+        g2.setColor(new Color(40, 45, 70));
+        g2.fillRect(x, y, width, height);
+        g2.setColor(Color.white);
+        g2.fillRect(x, y, (int) (width * Math.min(1, progress)), height);
+        g2.drawRect(x, y, width, height);
+
+        g2.setFont(g2.getFont().deriveFont(Font.PLAIN, 20F));
+        String text = "Loading " + (int) (progress * 100) + "%";
+        g2.drawString(text, getTextCentered(text), y + height + 24);
     }
 
     /**
@@ -397,6 +447,41 @@ public class UI {
         g2.drawRoundRect(x + 5, y + 5, width - 10, height - 10, 25, 25);
     }
 
+    /**
+     * Draws the frame profiler overlay in the top-right corner: the p50, p95 and p99 time of
+     * every phase over the profiler's window, in milliseconds, and with the canvas backend how
+     * frames are presented and how often one had to be drawn again.
+     */
+    public void drawProfiler() {
+        FrameProfiler.Phase[] phases = FrameProfiler.Phase.values();
+        CanvasRenderer canvas = gp.getCanvas();
+        int lineHeight = 18;
+        int width = 330;
+        int x = gp.screenWidth - width - 10;
+        int y = 10;
+        int lines = phases.length + (canvas != null ? 2 : 1);
+
+        g2.setColor(new Color(0, 0, 0, 170));
+        g2.fillRect(x, y, width, lineHeight * lines + 10);
+
+        g2.setFont(profilerFont);
+        g2.setColor(Color.white);
+        int textX = x + 8;
+        int textY = y + lineHeight;
+        g2.drawString(String.format("%-12s %6s %6s %6s", "ms", "p50", "p95", "p99"), textX, textY);
+        for (FrameProfiler.Phase phase : phases) {
+            long[] p = gp.profiler.percentiles(phase, 0.50, 0.95, 0.99);
+            textY += lineHeight;
+            g2.drawString(String.format("%-12s %6.2f %6.2f %6.2f", phase.label,
+                    p[0] / 1_000_000.0, p[1] / 1_000_000.0, p[2] / 1_000_000.0), textX, textY);
+        }
+        if (canvas != null) {
+            textY += lineHeight;
+            g2.drawString(String.format("%-12s %s, %d redraws", "present",
+                    canvas.isPageFlipping() ? "flip" : "blit", canvas.getRedraws()), textX, textY);
+        }
+    }
+
     public void drawOptionsScreen() {
         g2.setColor(Color.white);
         g2.setFont(g2.getFont().deriveFont(20F));
@@ -38,4 +38,52 @@ public class UtilityTool {
         return scaledImage;
     }
 
-}
\ No newline at end of file
+    /**
+     * Creates an empty image in the screen's native pixel layout. Without a display a plain
+     * RGB or ARGB image is created instead.
+     *
+     * @param width the image width.
+     * @param height the image height.
+     * @param opaque {@code true} if the image will have no transparent pixels.
+     * @return a new image compatible with the default screen.
+     */
+    public static BufferedImage createCompatibleImage(int width, int height, boolean opaque) {
+        GraphicsConfiguration config = defaultConfiguration();
+        if (config == null) {
+            return new BufferedImage(width, height, opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        }
+        return config.createCompatibleImage(width, height, opaque ? Transparency.OPAQUE : Transparency.TRANSLUCENT);
+    }
+
+    /**
+     * Returns a copy of an image in the screen's native pixel layout, so Java2D can keep it in
+     * video memory and draw it without converting pixels. Without a display, or when the image
+     * already has the native layout, the image is returned unchanged.
+     *
+     * @param image the image to convert.
+     * @return an image compatible with the default screen.
+     */
+    public static BufferedImage toCompatibleImage(BufferedImage image) {
+        GraphicsConfiguration config = defaultConfiguration();
+        if (config == null || image == null) {
+            return image;
+        }
+        if (image.getColorModel().equals(config.getColorModel(image.getTransparency()))) {
+            return image;
+        }
+        BufferedImage compatible = config.createCompatibleImage(image.getWidth(), image.getHeight(), image.getTransparency());
+        Graphics2D g2 = compatible.createGraphics();
+        g2.drawImage(image, 0, 0, null);
+        g2.dispose();
+        return compatible;
+    }
+
+    /** @return the default screen configuration, or {@code null} without a display */
+    private static GraphicsConfiguration defaultConfiguration() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return null;
+        }
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+    }
+
+}
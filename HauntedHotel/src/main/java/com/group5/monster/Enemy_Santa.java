@@ -1,5 +1,7 @@
 package com.group5.monster;
 
+import com.group5.entity.BulletStore;
+import com.group5.entity.Direction;
 import com.group5.entity.Entity;
 import com.group5.entity.Projectile;
 import com.group5.main.GamePanel;
@@ -18,6 +20,9 @@ public class Enemy_Santa extends Entity {
      /** Reference to the main game panel for accessing player, tiles, and other entities. */
     GamePanel gp;
 
+    /** Source of the random wandering and firing decisions. */
+    private final Random random = new Random();
+
     /**
      * Constructor for the santa enemy.
      * Initializes its stats, collision box, and projectile type.
@@ -94,6 +99,14 @@ public class Enemy_Santa extends Entity {
         }
     }
 
+    /** Plans the chase step ahead of {@link #setAction()} while chasing the player. */
+    @Override
+    public void planPath() {
+        if (onPath) {
+            planPathToPlayer();
+        }
+    }
+
     /**
      * Determines santa's actions each frame.
      * Handles chasing the player, firing projectiles, and random movement.
@@ -119,20 +132,19 @@ public class Enemy_Santa extends Entity {
                 actionLockCounter++;
 
                 if(actionLockCounter == 180) {
-                    Random random = new Random();
                     int i = random.nextInt(100)+1;
 
                     if (i <= 25) {
-                        direction = "up";
+                        direction = Direction.UP;
                     }
                     if (i > 25 && i <= 50) {
-                        direction = "down";
+                        direction = Direction.DOWN;
                     }
                     if (i > 50 && i <= 75) {
-                        direction = "left";
+                        direction = Direction.LEFT;
                     }
                     if (i > 75 && i <= 100) {
-                        direction = "right";
+                        direction = Direction.RIGHT;
                     }
                     actionLockCounter = 0;
 
@@ -141,37 +153,21 @@ public class Enemy_Santa extends Entity {
 
             }
 
-            int i = new Random().nextInt(100) + 1;
+            int i = random.nextInt(100) + 1;
             if(i > 19 && !projectile.alive && shotAvailableCounter == 30) {
-                Projectile newProjectile = new Obj_Snowball(gp);
-                newProjectile.set(worldx,worldy,direction,true,this);
-                gp.projectileList.add(newProjectile);
+                if (gp.storeMonsterShots) {
+                    gp.bullets.fire(BulletStore.SNOWBALL, this, projectile);
+                } else {
+                    Projectile newProjectile = gp.snowballs.obtain();
+                    newProjectile.set(worldx,worldy,direction,true,this);
+                    gp.projectileList.add(newProjectile);
+                }
                 shotAvailableCounter = 0;
-                System.out.println("Santa fired projectile!");
 
             }
 
     }
 
-    /**
-     * Gets the opposite direction of the given direction.
-     * 
-     * @param dir The direction to reverse
-     * @return The opposite direction
-     */
-    private String getOppositeDirection(String dir) {
-        if ("up".equals(dir)) {
-            return "down";
-        } else if ("down".equals(dir)) {
-            return "up";
-        } else if ("left".equals(dir)) {
-            return "right";
-        } else if ("right".equals(dir)) {
-            return "left";
-        }
-        return dir;
-    }
-
     /**
      * Defines santa's reaction to taking damage.
      * Resets the action counter and sets it to chase the player.
@@ -179,7 +175,7 @@ public class Enemy_Santa extends Entity {
     public void damageReaction() {
 
         actionLockCounter = 0;
-        direction = getOppositeDirection(gp.player.direction);
+        direction = gp.player.direction.opposite();
         onPath = true;
     }
 
@@ -1,5 +1,7 @@
 package com.group5.monster;
 
+import com.group5.entity.BulletStore;
+import com.group5.entity.Direction;
 import com.group5.entity.Entity;
 import com.group5.entity.Projectile;
 import com.group5.main.GamePanel;
@@ -18,6 +20,9 @@ public class Mon_Boss extends Entity {
     /** Reference to the main game panel for accessing player, tiles, and other entities. */
     GamePanel gp;
 
+    /** Source of the random wandering and firing decisions. */
+    private final Random random = new Random();
+
     /**
      * Constructor for the Boss monster.
      * Initializes its stats, collision box, and projectile type.
@@ -95,6 +100,14 @@ public class Mon_Boss extends Entity {
         }
     }
 
+    /** Plans the chase step ahead of {@link #setAction()} while chasing the player. */
+    @Override
+    public void planPath() {
+        if (onPath) {
+            planPathToPlayer();
+        }
+    }
+
     /**
      * Determines the boss's actions each frame.
      * Handles chasing the player, firing projectiles, and random movement.
@@ -120,20 +133,19 @@ public class Mon_Boss extends Entity {
                 actionLockCounter++;
 
                 if(actionLockCounter == 180) {
-                    Random random = new Random();
                     int i = random.nextInt(100)+1;
 
                     if (i <= 25) {
-                        direction = "up";
+                        direction = Direction.UP;
                     }
                     if (i > 25 && i <= 50) {
-                        direction = "down";
+                        direction = Direction.DOWN;
                     }
                     if (i > 50 && i <= 75) {
-                        direction = "left";
+                        direction = Direction.LEFT;
                     }
                     if (i > 75 && i <= 100) {
-                        direction = "right";
+                        direction = Direction.RIGHT;
                     }
                     actionLockCounter = 0;
 
@@ -142,13 +154,16 @@ public class Mon_Boss extends Entity {
 
             }
 
-            int i = new Random().nextInt(100) + 1;
+            int i = random.nextInt(100) + 1;
             if(i > 19 && projectile.alive == false && shotAvailableCounter == 30) {
-                Projectile newProjectile = new Obj_Fireball(gp);
-                newProjectile.set(worldx,worldy,direction,true,this);
-                gp.projectileList.add(newProjectile);
+                if (gp.storeMonsterShots) {
+                    gp.bullets.fire(BulletStore.FIREBALL, this, projectile);
+                } else {
+                    Projectile newProjectile = gp.fireballs.obtain();
+                    newProjectile.set(worldx,worldy,direction,true,this);
+                    gp.projectileList.add(newProjectile);
+                }
                 shotAvailableCounter = 0;
-                System.out.println("Boss fired projectile!");
 
             }
 
@@ -161,20 +176,8 @@ public class Mon_Boss extends Entity {
     public void damageReaction() {
 
         actionLockCounter = 0;
-        direction = gp.player.direction;
         onPath = true;
-        if(gp.player.direction == "up"){
-            direction = "down";
-        }
-        if(gp.player.direction == "down"){
-            direction = "up";
-        }
-        if(gp.player.direction == "left"){
-            direction = "right";
-        }
-        if(gp.player.direction == "right"){
-            direction = "left";
-        }
+        direction = gp.player.direction.opposite();
     }
 
     /**
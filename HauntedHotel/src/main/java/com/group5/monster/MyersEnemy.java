@@ -1,5 +1,6 @@
 package com.group5.monster;
 
+import com.group5.entity.Direction;
 import com.group5.entity.Entity;
 import com.group5.main.GamePanel;
 import com.group5.object.Obj_Money;
@@ -84,6 +85,12 @@ public class MyersEnemy extends Entity {
         return (gp.player.worldy + gp.player.solidArea.y) / gp.tileSize;
     }
 
+    /** Plans the chase step ahead of {@link #setAction()}. */
+    @Override
+    public void planPath() {
+        planPathToPlayer();
+    }
+
     @Override
     public void setAction() {
 
@@ -101,40 +108,22 @@ public class MyersEnemy extends Entity {
         int startCol = (worldx + solidArea.x)/ gp.tileSize;
         int startRow = (worldy + solidArea.y)/ gp.tileSize;
 
-        gp.pFinder.setNode(startCol, startRow, goalCol, goalRow);
-
-        
-
-        if (gp.pFinder.search()) {
-            int nextCol = gp.pFinder.pathList.get(0).col;
-            int nextRow = gp.pFinder.pathList.get(0).row;
+        // reads the map's shared flow field toward the player
+        if (nextPathStep(startCol, startRow, goalCol, goalRow)) {
+            int nextCol = nextPathCol;
+            int nextRow = nextPathRow;
 
-            if (nextRow < startRow) direction = "up";
-            else if (nextRow > startRow) direction = "down";
-            else if (nextCol < startCol) direction = "left";
-            else if (nextCol > startCol) direction = "right";
+            if (nextRow < startRow) direction = Direction.UP;
+            else if (nextRow > startRow) direction = Direction.DOWN;
+            else if (nextCol < startCol) direction = Direction.LEFT;
+            else if (nextCol > startCol) direction = Direction.RIGHT;
         }
     }
 
     @Override
     public void damageReaction() {
         actionLockCounter = 0;
-
-        //refactor
-        //removed unsafe string comparisions using equals() insted of ==
-        if("up".equals(gp.player.direction)){
-            direction = "down";
-        }
-        if("down".equals(gp.player.direction)){
-            direction = "up";
-        }
-        if("left".equals(gp.player.direction)){
-            direction = "right";
-        }
-        if("right".equals(gp.player.direction)){
-            direction = "left";
-        }
-        
+        direction = gp.player.direction.opposite();
     }
 
     /**
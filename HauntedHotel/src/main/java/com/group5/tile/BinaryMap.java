@@ -0,0 +1,242 @@
+package com.group5.tile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+/**
+ * The {@code BinaryMap} class reads and writes compiled tile maps.
+ * <p>
+ * A compiled map is a 10 byte header followed by the tile grid and, optionally, the
+ * collision layer, all big-endian:
+ * </p>
+ * <pre>
+ *   int    magic    'HHMP'
+ *   byte   version  1
+ *   byte   flags    {@link #FLAG_WIDE}: tiles are shorts instead of bytes,
+ *                   {@link #FLAG_COLLISION}: a collision layer follows the tiles
+ *   short  cols
+ *   short  rows
+ *   tiles  cols * rows unsigned bytes or shorts, row by row
+ *   longs  (cols * rows + 63) / 64 solid bits, laid out like {@link CollisionMap}
+ * </pre>
+ * <p>
+ * A {@code BinaryMap} is a view over the bytes it was read from and does not copy them: files
+ * are memory-mapped and resources are read into one array. Maps are compiled from the text
+ * maps with {@link MapCompiler}.
+ * </p>
+ *
+ * @author Group 5
+ * @version 1.0
+ */
+public final class BinaryMap {
+
+    /** The first four bytes of every compiled map: {@code HHMP}. */
+    public static final int MAGIC = 0x48484D50;
+
+    /** The format version written by {@link #encode(TileGrid, CollisionMap)}. */
+    public static final int VERSION = 1;
+
+    /** Flag: tile numbers are stored as shorts. */
+    public static final int FLAG_WIDE = 1;
+
+    /** Flag: a collision layer follows the tiles. */
+    public static final int FLAG_COLLISION = 2;
+
+    /** Size of the header in bytes. */
+    static final int HEADER_SIZE = 10;
+
+    private final ByteBuffer buffer;
+    private final int cols, rows, flags;
+
+    /** Byte offset of the collision layer, or -1 if there is none. */
+    private final int collisionOffset;
+
+    private BinaryMap(ByteBuffer buffer, int cols, int rows, int flags, int collisionOffset) {
+        this.buffer = buffer;
+        this.cols = cols;
+        this.rows = rows;
+        this.flags = flags;
+        this.collisionOffset = collisionOffset;
+    }
+
+    /**
+     * Reads a compiled map from a buffer, without copying it.
+     *
+     * @param buffer the compiled map, starting at position 0
+     * @return a view over the map
+     * @throws IOException if the buffer does not hold a complete compiled map
+     */
+    public static BinaryMap read(ByteBuffer buffer) throws IOException {
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("not a compiled map");
+        }
+        int version = buffer.get(4);
+        if (version != VERSION) {
+            throw new IOException("unsupported map version " + version);
+        }
+        int flags = buffer.get(5);
+        int cols = buffer.getShort(6) & 0xFFFF;
+        int rows = buffer.getShort(8) & 0xFFFF;
+
+        int tileBytes = cols * rows * ((flags & FLAG_WIDE) != 0 ? 2 : 1);
+        int collisionOffset = -1;
+        int size = HEADER_SIZE + tileBytes;
+        if ((flags & FLAG_COLLISION) != 0) {
+            collisionOffset = size;
+            size += collisionWords(cols, rows) * Long.BYTES;
+        }
+        if (buffer.limit() != size) {
+            throw new IOException("expected " + size + " bytes for a " + cols + "x" + rows + " map but found " + buffer.limit());
+        }
+        return new BinaryMap(buffer, cols, rows, flags, collisionOffset);
+    }
+
+    /**
+     * Memory-maps a compiled map file.
+     *
+     * @param file the compiled map
+     * @return a view over the mapped file
+     * @throws IOException if the file cannot be read or is not a compiled map
+     */
+    public static BinaryMap load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file)) {
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Reads a compiled map from a stream, such as a resource inside the game's jar, into a
+     * single array.
+     *
+     * @param in the compiled map; not closed
+     * @return a view over the bytes read
+     * @throws IOException if reading fails or the bytes are not a compiled map
+     */
+    public static BinaryMap load(InputStream in) throws IOException {
+        return read(ByteBuffer.wrap(in.readAllBytes()));
+    }
+
+    /** @return the number of columns */
+    public int getCols() {
+        return cols;
+    }
+
+    /** @return the number of rows */
+    public int getRows() {
+        return rows;
+    }
+
+    /** @return {@code true} if the map has a collision layer */
+    public boolean hasCollision() {
+        return collisionOffset >= 0;
+    }
+
+    /**
+     * Returns one tile number.
+     *
+     * @param col the tile column
+     * @param row the tile row
+     * @return the tile number
+     */
+    public int getTile(int col, int row) {
+        int i = row * cols + col;
+        if ((flags & FLAG_WIDE) != 0) {
+            return buffer.getShort(HEADER_SIZE + i * 2) & 0xFFFF;
+        }
+        return buffer.get(HEADER_SIZE + i) & 0xFF;
+    }
+
+    /**
+     * Copies the tile numbers into a grid of the same size.
+     *
+     * @param grid the grid to fill
+     * @throws IllegalArgumentException if the grid has a different size
+     */
+    public void copyTo(TileGrid grid) {
+        if (grid.getCols() != cols || grid.getRows() != rows) {
+            throw new IllegalArgumentException("grid is " + grid.getCols() + "x" + grid.getRows()
+                    + ", map is " + cols + "x" + rows);
+        }
+        int count = cols * rows;
+        if ((flags & FLAG_WIDE) != 0) {
+            for (int i = 0; i < count; i++) {
+                grid.set(i, buffer.getShort(HEADER_SIZE + i * 2) & 0xFFFF);
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                grid.set(i, buffer.get(HEADER_SIZE + i) & 0xFF);
+            }
+        }
+    }
+
+    /**
+     * Builds the collision map stored in the collision layer.
+     *
+     * @param generation build number of the new map
+     * @return the collision map, or {@code null} if the map has no collision layer
+     */
+    public CollisionMap toCollisionMap(int generation) {
+        if (!hasCollision()) {
+            return null;
+        }
+        long[] bits = new long[collisionWords(cols, rows)];
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = buffer.getLong(collisionOffset + i * Long.BYTES);
+        }
+        return CollisionMap.fromBits(cols, rows, bits, generation);
+    }
+
+    /**
+     * Compiles a map. Tiles are stored as bytes when every tile number fits, as shorts otherwise.
+     *
+     * @param grid the tile numbers, at most 65535 x 65535
+     * @param collision the map's collision map to store as the collision layer, or {@code null}
+     * @return the compiled map
+     * @throws IllegalArgumentException if the map is too large for the format
+     */
+    public static byte[] encode(TileGrid grid, CollisionMap collision) {
+        int cols = grid.getCols();
+        int rows = grid.getRows();
+        if (cols > 0xFFFF || rows > 0xFFFF) {
+            throw new IllegalArgumentException("map is too large: " + cols + "x" + rows);
+        }
+        boolean wide = grid.max() > 0xFF;
+        int flags = (wide ? FLAG_WIDE : 0) | (collision != null ? FLAG_COLLISION : 0);
+        int count = cols * rows;
+        int size = HEADER_SIZE + count * (wide ? 2 : 1)
+                + (collision != null ? collisionWords(cols, rows) * Long.BYTES : 0);
+
+        ByteBuffer out = ByteBuffer.allocate(size);
+        out.putInt(MAGIC).put((byte) VERSION).put((byte) flags).putShort((short) cols).putShort((short) rows);
+        for (int i = 0; i < count; i++) {
+            if (wide) {
+                out.putShort((short) grid.get(i));
+            } else {
+                out.put((byte) grid.get(i));
+            }
+        }
+        if (collision != null) {
+            long[] bits = new long[collisionWords(cols, rows)];
+            for (int row = 0; row < rows; row++) {
+                for (int col = 0; col < cols; col++) {
+                    if (collision.isSolid(col, row)) {
+                        int i = row * cols + col;
+                        bits[i >>> 6] |= 1L << i;
+                    }
+                }
+            }
+            for (long word : bits) {
+                out.putLong(word);
+            }
+        }
+        return out.array();
+    }
+
+    /** @return the number of longs in the collision layer of a map */
+    private static int collisionWords(int cols, int rows) {
+        return (cols * rows + 63) >>> 6;
+    }
+}
@@ -0,0 +1,103 @@
+package com.group5.tile;
+
+/**
+ * Immutable walkability grid for one map.
+ * Stores one bit per tile (set when the tile blocks movement) so collision and
+ * pathfinding queries are a single bit test instead of looking up the tile number
+ * and then the tile's collision flag.
+ *
+ * <p>Instances are built by the {@link TileManager} when a map is loaded and replaced
+ * with a new instance whenever a tile of that map changes, so a reference to a
+ * {@code CollisionMap} can be kept and compared to detect changes.</p>
+ */
+public final class CollisionMap {
+
+    /** Number of columns in the map. */
+    private final int cols;
+
+    /** Number of rows in the map. */
+    private final int rows;
+
+    /** Solid bits in row-major order, 64 tiles per word. */
+    private final long[] bits;
+
+    /** Increasing build number, unique for every collision map built by the game. */
+    private final int generation;
+
+    private CollisionMap(int cols, int rows, long[] bits, int generation) {
+        this.cols = cols;
+        this.rows = rows;
+        this.bits = bits;
+        this.generation = generation;
+    }
+
+    /**
+     * Builds the collision map for one map's tile numbers.
+     *
+     * @param grid the map's tile numbers
+     * @param tiles the tile types; missing tiles count as walkable
+     * @param generation build number of the new map
+     * @return the new collision map
+     */
+    public static CollisionMap build(TileGrid grid, Tile[] tiles, int generation) {
+        int cols = grid.getCols();
+        int rows = grid.getRows();
+        int count = cols * rows;
+        long[] bits = new long[(count + 63) >>> 6];
+
+        // the grid and the bits share the row-major order, so one index walks both
+        for (int i = 0; i < count; i++) {
+            int tileNum = grid.get(i);
+            if (tileNum < tiles.length && tiles[tileNum] != null && tiles[tileNum].collision) {
+                bits[i >>> 6] |= 1L << i;
+            }
+        }
+        return new CollisionMap(cols, rows, bits, generation);
+    }
+
+    /**
+     * Wraps solid bits read from a compiled map.
+     *
+     * @param cols number of columns
+     * @param rows number of rows
+     * @param bits solid bits in row-major order, 64 tiles per word; not copied
+     * @param generation build number of the new map
+     * @return the new collision map
+     */
+    static CollisionMap fromBits(int cols, int rows, long[] bits, int generation) {
+        if (bits.length != (cols * rows + 63) >>> 6) {
+            throw new IllegalArgumentException("expected " + ((cols * rows + 63) >>> 6) + " words but got " + bits.length);
+        }
+        return new CollisionMap(cols, rows, bits, generation);
+    }
+
+    /**
+     * Checks whether a tile blocks movement. Tiles outside the map are solid.
+     *
+     * @param col the tile column
+     * @param row the tile row
+     * @return {@code true} if the tile is solid or out of bounds
+     */
+    public boolean isSolid(int col, int row) {
+        if (col < 0 || row < 0 || col >= cols || row >= rows) {
+            return true;
+        }
+        int i = row * cols + col;
+        return (bits[i >>> 6] & (1L << i)) != 0;
+    }
+
+    /** @return the number of columns */
+    public int getCols() {
+        return cols;
+    }
+
+    /** @return the number of rows */
+    public int getRows() {
+        return rows;
+    }
+
+    /** @return the build number of this collision map */
+    public int getGeneration() {
+        return generation;
+    }
+}
@@ -0,0 +1,105 @@
+package com.group5.tile;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * The {@code MapCompiler} class converts text maps into compiled {@link BinaryMap} files,
+ * with the collision layer taken from the game's tile table. The size of a map is taken from
+ * its text: the number of tile numbers on the first line and the number of non-blank lines.
+ * <p>
+ * Usage: {@code java -cp target/classes com.group5.tile.MapCompiler src/main/resources/maps/*.txt}
+ * writes a {@code .bin} next to every text map. Run it again whenever a text map or a tile's
+ * collision flag changes.
+ * </p>
+ *
+ * @author Group 5
+ * @version 1.0
+ */
+public final class MapCompiler {
+
+    private MapCompiler() {}
+
+    /**
+     * Compiles one text map.
+     *
+     * @param text the text map
+     * @param tiles the tile types whose collision flags make the collision layer
+     * @param cols the number of columns
+     * @param rows the number of rows
+     * @return the compiled map
+     * @throws IOException if the text map cannot be read or parsed
+     */
+    public static byte[] compile(Path text, Tile[] tiles, int cols, int rows) throws IOException {
+        TileGrid grid;
+        try (FileChannel channel = FileChannel.open(text)) {
+            grid = MapReader.read(channel, cols, rows);
+        }
+        return BinaryMap.encode(grid, CollisionMap.build(grid, tiles, 0));
+    }
+
+    /**
+     * Returns the compiled file name for a text map: the same name with {@code .bin} in place
+     * of {@code .txt}.
+     *
+     * @param text the text map
+     * @return the compiled map path
+     */
+    public static Path binaryPath(Path text) {
+        String name = text.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return text.resolveSibling((dot > 0 ? name.substring(0, dot) : name) + ".bin");
+    }
+
+    /**
+     * Compiles one text map, taking its size from the text.
+     *
+     * @param text the text map
+     * @param tiles the tile types whose collision flags make the collision layer
+     * @return the compiled map
+     * @throws IOException if the text map cannot be read or parsed
+     */
+    public static byte[] compile(Path text, Tile[] tiles) throws IOException {
+        List<String> lines = Files.readAllLines(text);
+        lines.removeIf(line -> line.isBlank());
+        if (lines.isEmpty()) {
+            throw new IOException(text + " is empty");
+        }
+        int cols = lines.get(0).trim().split("\\s+").length;
+        return compile(text, tiles, cols, lines.size());
+    }
+
+    /** @return the tile types with the collision flags from the game's tile table, without images */
+    static Tile[] collisionTiles() {
+        Tile[] tiles = new Tile[TileManager.TILE_DATA.length];
+        for (Object[] data : TileManager.TILE_DATA) {
+            Tile tile = new Tile();
+            tile.collision = (boolean) data[2];
+            tiles[(int) data[0]] = tile;
+        }
+        return tiles;
+    }
+
+    /**
+     * Compiles every text map given on the command line.
+     *
+     * @param args the text maps
+     */
+    public static void main(String[] args) {
+        Tile[] tiles = collisionTiles();
+        for (String arg : args) {
+            Path text = Path.of(arg);
+            try {
+                byte[] compiled = compile(text, tiles);
+                Path out = binaryPath(text);
+                Files.write(out, compiled);
+                System.out.printf("%s -> %s (%d bytes)%n", text, out, compiled.length);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.group5.tile;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * The {@code MapReader} class parses text tile maps: one row of the map per line, tile
+ * numbers separated by spaces or tabs.
+ * <p>
+ * The bytes are read from a {@link ReadableByteChannel} into one reused buffer and the numbers
+ * are parsed straight from it in a single pass, without building a {@code String} per line or
+ * per number. Blank lines, runs of spaces and tabs, {@code \r\n} line ends and a missing final
+ * line end are accepted. Anything else that would leave the map partly filled — another
+ * character, a row of the wrong length or the wrong number of rows — is reported with the line
+ * it was found on.
+ * </p>
+ *
+ * @author Group 5
+ * @version 1.0
+ */
+public final class MapReader {
+
+    /** Size of the read buffer in bytes. */
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private MapReader() {}
+
+    /**
+     * Reads a map into a new grid.
+     *
+     * @param channel the map text
+     * @param cols the number of tile numbers on every line
+     * @param rows the number of non-blank lines
+     * @return the tile numbers
+     * @throws IOException if reading fails or the text is not a {@code cols} x {@code rows} map
+     */
+    public static TileGrid read(ReadableByteChannel channel, int cols, int rows) throws IOException {
+        TileGrid grid = new TileGrid(cols, rows);
+        read(channel, grid);
+        return grid;
+    }
+
+    /**
+     * Reads a map into an existing grid.
+     *
+     * @param channel the map text
+     * @param grid the grid to fill; the text must have the grid's size
+     * @throws IOException if reading fails or the text does not match the grid's size
+     */
+    public static void read(ReadableByteChannel channel, TileGrid grid) throws IOException {
+        int cols = grid.getCols();
+        int rows = grid.getRows();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        byte[] bytes = buffer.array();
+
+        int line = 1;
+        int row = 0;
+        int col = 0;
+        int value = 0;
+        boolean inNumber = false;
+
+        while (channel.read(buffer) != -1) {
+            int end = buffer.position();
+            for (int i = 0; i < end; i++) {
+                int b = bytes[i];
+                if (b >= '0' && b <= '9') {
+                    value = value * 10 + (b - '0');
+                    if (value > TileGrid.MAX_TILE) {
+                        throw error(line, "tile number is too large");
+                    }
+                    inNumber = true;
+                    continue;
+                }
+                if (inNumber) {
+                    store(grid, col, row, value, line);
+                    col++;
+                    value = 0;
+                    inNumber = false;
+                }
+                if (b == '\n') {
+                    if (col != 0) {
+                        checkRow(cols, col, line);
+                        row++;
+                        col = 0;
+                    }
+                    line++;
+                } else if (b != ' ' && b != '\t' && b != '\r') {
+                    throw error(line, "unexpected character '" + (char) (b & 0xFF) + "'");
+                }
+            }
+            buffer.clear();
+        }
+
+        if (inNumber) {
+            store(grid, col, row, value, line);
+            col++;
+        }
+        if (col != 0) {
+            checkRow(cols, col, line);
+            row++;
+        }
+        if (row != rows) {
+            throw new IOException("expected " + rows + " rows but found " + row);
+        }
+    }
+
+    /** Stores one tile number, failing if it lies outside the map. */
+    private static void store(TileGrid grid, int col, int row, int value, int line) throws IOException {
+        if (row >= grid.getRows()) {
+            throw error(line, "more than " + grid.getRows() + " rows");
+        }
+        if (col >= grid.getCols()) {
+            throw error(line, "more than " + grid.getCols() + " tile numbers");
+        }
+        grid.set(grid.index(col, row), value);
+    }
+
+    /** Fails if a finished line did not have exactly {@code cols} numbers. */
+    private static void checkRow(int cols, int col, int line) throws IOException {
+        if (col != cols) {
+            throw error(line, "expected " + cols + " tile numbers but found " + col);
+        }
+    }
+
+    private static IOException error(int line, String message) {
+        return new IOException("line " + line + ": " + message);
+    }
+}
@@ -0,0 +1,235 @@
+package com.group5.tile;
+
+import com.group5.main.UtilityTool;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caches pre-rendered blocks of tiles ("chunks") so the map can be drawn with a handful
+ * of {@code drawImage} calls instead of one per tile.
+ *
+ * <p>Chunks are square blocks of {@link #CHUNK_TILES} tiles stored as screen-compatible
+ * images. They are baked ahead of time around the player when a map is entered (see
+ * {@link #prebake(int, int, int, int, int)}), or the first time they are drawn. Only the most
+ * recently drawn chunks are kept, up to a capacity chosen by the {@link TileManager} to cover
+ * everything it prebakes, so prebaking never evicts chunks it baked a moment earlier; a whole
+ * map is never held at once. Changing a tile
+ * repaints just that tile in a copy of its cached chunk, which then replaces the original, so
+ * a chunk being drawn is never written to.</p>
+ *
+ * <p>The rendering thread draws while the game thread patches and a loader thread prebakes.
+ * The cache itself is synchronized, but chunks are baked outside the lock and only then
+ * published, so drawing never waits for another thread's bake.</p>
+ */
+public class TileChunkCache {
+
+    /** Width and height of a chunk, in tiles. */
+    public static final int CHUNK_TILES = 6;
+
+    /** Number of chunks kept before the least recently drawn one is dropped. */
+    private final int capacity;
+
+    /** The tile manager whose maps are baked. */
+    private final TileManager tileM;
+
+    /** Size of a tile in pixels. */
+    private final int tileSize;
+
+    /** Baked chunks in least-recently-drawn order, keyed by {@link #key(int, int, int)}. */
+    private final LinkedHashMap<Long, BufferedImage> chunks;
+
+    /** Number of chunks baked and tiles patched so far, mainly for tests. */
+    private int bakes = 0;
+    private int patches = 0;
+
+    /** Bumped whenever cached chunks are patched or dropped, so a bake that raced one is redone. */
+    private int generation = 0;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param tileM the tile manager providing tile images and map data
+     * @param tileSize the size of a tile in pixels
+     * @param capacity the number of chunks kept
+     */
+    public TileChunkCache(TileManager tileM, int tileSize, int capacity) {
+        this.tileM = tileM;
+        this.tileSize = tileSize;
+        this.capacity = capacity;
+        chunks = new LinkedHashMap<>(capacity * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, BufferedImage> eldest) {
+                return size() > TileChunkCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the baked image of a chunk, baking it if needed. The bake runs outside the lock
+     * and is redone if a tile was patched or chunks were dropped while it ran.
+     *
+     * @param map the map index
+     * @param chunkCol the chunk column
+     * @param chunkRow the chunk row
+     * @return the chunk image, or {@code null} if the map is not loaded; chunks on the right
+     * and bottom edges of a map may be smaller
+     */
+    public BufferedImage get(int map, int chunkCol, int chunkRow) {
+        long key = key(map, chunkCol, chunkRow);
+        while (true) {
+            int seen;
+            synchronized (this) {
+                BufferedImage image = chunks.get(key);
+                if (image != null) {
+                    return image;
+                }
+                seen = generation;
+            }
+            BufferedImage image = bake(map, chunkCol, chunkRow);
+            synchronized (this) {
+                if (image == null) {
+                    return null;
+                }
+                bakes++;
+                if (generation == seen) {
+                    // another thread may have baked the same chunk meanwhile; keep the first
+                    BufferedImage cached = chunks.putIfAbsent(key, image);
+                    return cached != null ? cached : image;
+                }
+            }
+        }
+    }
+
+    /**
+     * Bakes every chunk overlapping a range of tiles that is not cached yet. Each chunk is baked
+     * without holding the cache lock, so a loader thread can prebake while the rendering thread
+     * keeps drawing. If both bake the same chunk, the first one published is kept.
+     *
+     * @param map the map index
+     * @param firstCol the first tile column
+     * @param lastCol the last tile column
+     * @param firstRow the first tile row
+     * @param lastRow the last tile row
+     */
+    public void prebake(int map, int firstCol, int lastCol, int firstRow, int lastRow) {
+        for (int chunkRow = firstRow / CHUNK_TILES; chunkRow <= lastRow / CHUNK_TILES; chunkRow++) {
+            for (int chunkCol = firstCol / CHUNK_TILES; chunkCol <= lastCol / CHUNK_TILES; chunkCol++) {
+                get(map, chunkCol, chunkRow);
+            }
+        }
+    }
+
+    /**
+     * Repaints one tile after the tile changed, in a copy of its cached chunk that replaces the
+     * cached one. The rendering thread may be drawing the old image outside the lock, so it is
+     * never modified. Chunks that are not cached are left alone; they pick up the new tile when
+     * baked.
+     *
+     * @param map the map index
+     * @param col the tile column
+     * @param row the tile row
+     */
+    public synchronized void patch(int map, int col, int row) {
+        long key = key(map, col / CHUNK_TILES, row / CHUNK_TILES);
+        BufferedImage old = chunks.get(key);
+        TileGrid tiles = tileM.getLoadedMap(map);
+        if (old == null || tiles == null) {
+            return;
+        }
+        BufferedImage image = UtilityTool.createCompatibleImage(old.getWidth(), old.getHeight(), false);
+        Graphics2D g2 = image.createGraphics();
+        // copy and replace pixels, transparency included, as if baked onto an empty chunk
+        g2.setComposite(AlphaComposite.Src);
+        g2.drawImage(old, 0, 0, null);
+        int x = (col % CHUNK_TILES) * tileSize;
+        int y = (row % CHUNK_TILES) * tileSize;
+        BufferedImage tileImage = tileM.tile[tiles.get(col, row)].image;
+        if (tileImage != null) {
+            g2.drawImage(tileImage, x, y, null);
+        } else {
+            g2.setComposite(AlphaComposite.Clear);
+            g2.fillRect(x, y, tileSize, tileSize);
+        }
+        g2.dispose();
+        chunks.put(key, image);
+        patches++;
+        generation++;
+    }
+
+    /**
+     * Drops every chunk of a map.
+     *
+     * @param map the map index
+     */
+    public synchronized void invalidate(int map) {
+        Iterator<Long> keys = chunks.keySet().iterator();
+        while (keys.hasNext()) {
+            if ((int) (keys.next() >>> 40) == map) {
+                keys.remove();
+            }
+        }
+        generation++;
+    }
+
+    /** Drops every chunk. */
+    public synchronized void clear() {
+        chunks.clear();
+        generation++;
+    }
+
+    /** @return the number of chunks kept before the least recently drawn one is dropped */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /** @return the number of chunks currently cached */
+    public synchronized int size() {
+        return chunks.size();
+    }
+
+    /** @return the number of chunks baked since the cache was created */
+    public synchronized int getBakes() {
+        return bakes;
+    }
+
+    /** @return the number of tiles repainted inside cached chunks */
+    public synchronized int getPatches() {
+        return patches;
+    }
+
+    /**
+     * Draws the tiles of one chunk into a new image, or returns {@code null} if the map is not
+     * loaded. Called without the cache lock held.
+     */
+    private BufferedImage bake(int map, int chunkCol, int chunkRow) {
+        // never load a map here: this runs on the rendering thread
+        TileGrid tiles = tileM.getLoadedMap(map);
+        if (tiles == null) {
+            return null;
+        }
+        int col0 = chunkCol * CHUNK_TILES;
+        int row0 = chunkRow * CHUNK_TILES;
+        int cols = Math.min(CHUNK_TILES, tiles.getCols() - col0);
+        int rows = Math.min(CHUNK_TILES, tiles.getRows() - row0);
+
+        BufferedImage image = UtilityTool.createCompatibleImage(cols * tileSize, rows * tileSize, false);
+        Graphics2D g2 = image.createGraphics();
+        for (int row = 0; row < rows; row++) {
+            int index = tiles.index(col0, row0 + row);
+            for (int col = 0; col < cols; col++) {
+                g2.drawImage(tileM.tile[tiles.get(index + col)].image, col * tileSize, row * tileSize, null);
+            }
+        }
+        g2.dispose();
+        return image;
+    }
+
+    private static long key(int map, int chunkCol, int chunkRow) {
+        return ((long) map << 40) | ((long) chunkRow << 20) | chunkCol;
+    }
+}
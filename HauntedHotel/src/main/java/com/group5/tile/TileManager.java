@@ -1,19 +1,31 @@
 package com.group5.tile;
 
+import com.group5.ai.AbstractGraph;
 import com.group5.main.GamePanel;
-import com.group5.main.UtilityTool;
+import com.group5.main.SpriteCache;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
-import java.io.BufferedReader;
+import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 
 /**
  * Manages all the tiles in the game world.
  * Handles loading tile images, setting collision properties, loading maps from files,
  * and drawing visible tiles to the screen.
+ * <p>
+ * Maps are loaded the first time they are used, usually when the player first teleports into
+ * them. Only the most recently entered maps stay resident (see {@link #setResidentMaps(int)});
+ * entering another map drops the tiles, collision map, path graph and tile chunks of the least
+ * recently entered one, and it is loaded again from its file when next needed. Maps changed with
+ * {@link #setTile(int, int, int, int)} keep their tiles, since those are game state.
+ * </p>
  */
 public class TileManager {
     /** Reference to the main GamePanel for accessing game properties and player info. */
@@ -22,15 +34,64 @@ public class TileManager {
     /** Array of all tile types used in the game. */
     public Tile[] tile;
 
-    /** 3D array storing tile numbers for each map and world position. */
-    public int mapTilenum[][][];
+    /** Compiled map files, indexed by map number. */
+    public static final String[] MAP_FILES = {
+        "/maps/Lobby.bin", "/maps/worldmap.bin", "/maps/ChristmasMap.bin", "/maps/Basement.bin"
+    };
+
+    /** Number of maps kept loaded unless {@code hauntedhotel.residentMaps} says otherwise. */
+    public static final int DEFAULT_RESIDENT_MAPS = 3;
+
+    /**
+     * Tile numbers of each map, one row-major {@link TileGrid} per map; {@code null} while a map
+     * is not loaded. Use {@link #getMap(int)} to load it on demand.
+     */
+    public TileGrid[] mapTilenum;
+
+    /** Loaded maps, least recently entered first. */
+    private final LinkedHashSet<Integer> resident = new LinkedHashSet<>();
+
+    /** Number of maps kept loaded. */
+    private int residentMaps = Math.max(1, Integer.getInteger("hauntedhotel.residentMaps", DEFAULT_RESIDENT_MAPS));
+
+    /** Maps whose tiles were changed with {@link #setTile}; their tiles survive eviction. */
+    private final boolean[] modified;
+
+    /** Number of maps read from their files so far, mainly for tests. */
+    private int loads = 0;
+
+    /**
+     * Walkability grid of each map, rebuilt lazily after a tile changes. Like the map data and
+     * {@link #collisionGeneration}, guarded by this manager's lock, since {@link com.group5.main.AssetLoader}
+     * workers load maps while the game thread reads and changes them.
+     */
+    private CollisionMap[] collisionMaps;
+
+    /** Hierarchical pathfinding graph of each map, rebuilt when its collision map changes. */
+    private AbstractGraph[] pathGraphs;
+
+    /** Build number handed to the next collision map. */
+    private int collisionGeneration = 0;
+
+    /** Pre-rendered blocks of tiles used by {@link #draw(Graphics2D)}. */
+    private final TileChunkCache chunkCache;
+
+    /** Tiles baked around the view when a map is entered, on every side, in pixels. */
+    private final int prebakeMargin;
+
+    /** Visible window reused by {@link #draw(Graphics2D, int, int, int)} on the rendering thread. */
+    private final int[] drawWindow = new int[4];
+
+    /** Whether {@link #draw(Graphics2D)} blits cached chunks instead of single tiles. */
+    public boolean useChunkCache = true;
 
     /** Flag to draw the path overlay for debugging or pathfinding visualization. */
     boolean drawPath = true;
 
     /**
      * Constructor for the TileManager.
-     * Initializes tile array, loads all tile images, and loads maps into memory.
+     * Initializes tile array, loads all tile images, and loads the map the game starts on;
+     * the other maps are loaded when first used.
      * 
      * @param gp Reference to the GamePanel
     */
@@ -39,14 +100,42 @@ public class TileManager {
         this.gp = gp;
 
         tile = new Tile[35];
-        mapTilenum = new int[gp.maxMap][gp.maxWorldCol] [gp.maxWorldRow];
-        //mapTilenum2 = new int[gp.maxScreenCol] [gp.maxScreenRow];
+        mapTilenum = new TileGrid[gp.maxMap];
+        modified = new boolean[gp.maxMap];
+        collisionMaps = new CollisionMap[gp.maxMap];
+        pathGraphs = new AbstractGraph[gp.maxMap];
+        prebakeMargin = TileChunkCache.CHUNK_TILES * gp.tileSize;
+        // the area baked around the player plus the view of a map prefetched for a teleport
+        chunkCache = new TileChunkCache(this, gp.tileSize, chunksCovering(prebakeMargin) + chunksCovering(0));
 
         getTileImage();
-        loadMap("/maps/Lobby.txt", 0); // will load map chang args for diff map
-        loadMap("/maps/worldmap.txt", 1);
-        loadMap("/maps/ChristmasMap.txt", 2);
-        loadMap("/maps/Basement.txt", 3);
+        getMap(gp.currentMap);
+    }
+
+    /** Every tile type: index, image name and whether it blocks movement. */
+    static final Object[][] TILE_DATA = {
+        {0, "BrickG", true}, {1, "Corner_Brick", true}, {2, "Wood", false},
+        {3, "Torch", true}, {4, "EvilP", true}, {5, "NormalP", false},
+        {6, "TimeP", false}, {7, "Fire", false}, {8, "Black", false},
+        {9, "LobbyFloor", false}, {10, "LobbyWall", true},
+        {11, "BottomLeftRug", false}, {12, "BottomRightRug", false},
+        {13, "TopLeftRug", false}, {14, "TopRightRug", false},
+        {15, "Desk1", true}, {16, "deadPlant", true}, {17, "floor", false},
+        {18, "wall", true}, {19, "door", true}, {20, "stool", false},
+        {21, "woodBlock", true}, {22, "CandyCane", false},
+        {23, "chimney", false}, {24, "WoodDoor", false},
+        {25, "Ice", false}, {26, "Snow", false}, {27, "snowing", true},
+        {28, "Soil", true}, {29, "BOMB_TILE", false}, {30, "RedBlock", true},
+        {31, "DoorT", false}
+    };
+
+    /** @return the resource path of every tile image, without the {@code .png} extension */
+    public static List<String> tileImages() {
+        List<String> paths = new ArrayList<>();
+        for (Object[] data : TILE_DATA) {
+            paths.add("/tiles/" + data[1]);
+        }
+        return paths;
     }
 
     /**
@@ -54,23 +143,7 @@ public class TileManager {
      * Calls setUp() for each tile index to initialize its image and collision properties.
      */
     public void getTileImage() {
-        Object[][] tileData = {
-            {0, "BrickG", true}, {1, "Corner_Brick", true}, {2, "Wood", false},
-            {3, "Torch", true}, {4, "EvilP", true}, {5, "NormalP", false},
-            {6, "TimeP", false}, {7, "Fire", false}, {8, "Black", false},
-            {9, "LobbyFloor", false}, {10, "LobbyWall", true},
-            {11, "BottomLeftRug", false}, {12, "BottomRightRug", false},
-            {13, "TopLeftRug", false}, {14, "TopRightRug", false},
-            {15, "Desk1", true}, {16, "deadPlant", true}, {17, "floor", false},
-            {18, "wall", true}, {19, "door", true}, {20, "stool", false},
-            {21, "woodBlock", true}, {22, "CandyCane", false},
-            {23, "chimney", false}, {24, "WoodDoor", false},
-            {25, "Ice", false}, {26, "Snow", false}, {27, "snowing", true},
-            {28, "Soil", true}, {29, "BOMB_TILE", false}, {30, "RedBlock", true},
-            {31, "DoorT", false}
-        };
-
-        for (Object[] data : tileData) {
+        for (Object[] data : TILE_DATA) {
             int index = (int) data[0];
             String name = (String) data[1];
             boolean collision = (boolean) data[2];
@@ -81,111 +154,398 @@ public class TileManager {
 
     /**
      * Initializes a single tile at a given index.
-     * Loads its image, scales it to the tile size, and sets its collision property.
+     * Takes its image, scaled to the tile size, from the shared {@link SpriteCache}
+     * and sets its collision property.
      * 
      * @param index Index in the tile array
      * @param imagePath Path to the tile image (without the /tiles/ prefix and .png extension)
      * @param collision Whether the tile blocks movement
      */
     public void setUp(int index, String imagePath, boolean collision) {
-        UtilityTool uTool = new UtilityTool();
-
-        try {
+        if (gp.headless) {
+            // headless simulation only needs the collision flag
             tile[index] = new Tile();
-            tile[index].image = ImageIO.read(getClass().getResourceAsStream("/tiles/" + imagePath +".png"));
-            tile[index].image = uTool.scaleImage(tile[index].image, gp.tileSize, gp.tileSize);
             tile[index].collision = collision;
-
-        }catch (IOException e) {
-           e.printStackTrace();
+            return;
         }
+        tile[index] = new Tile();
+        tile[index].image = SpriteCache.get("/tiles/" + imagePath, gp.tileSize, gp.tileSize);
+        tile[index].collision = collision;
     }
 
      /**
-     * Loads a map from a text file into the mapTilenum array.
-     * Each number in the file corresponds to a tile index.
+     * Loads a map into the mapTilenum array and marks it resident.
+     * Each number in the file corresponds to a tile index. Compiled {@code .bin} maps are read
+     * with {@link BinaryMap} and bring their collision layer along; text maps are parsed by
+     * {@link MapReader}.
      * 
      * @param filePath Path to the map file
      * @param map The index of the map in the mapTilenum array
      */
-    public void loadMap(String filePath, int map){
+    public synchronized void loadMap(String filePath, int map){
+
+        if (mapTilenum[map] == null) {
+            mapTilenum[map] = new TileGrid(gp.maxWorldCol, gp.maxWorldRow);
+        }
+        loads++;
+        CollisionMap collision = null;
+        try (InputStream is = getClass().getResourceAsStream(filePath)) {
+            if (filePath.endsWith(".bin")) {
+                BinaryMap binary = BinaryMap.load(is);
+                if (binary.getCols() != gp.maxWorldCol || binary.getRows() != gp.maxWorldRow) {
+                    throw new IOException(filePath + " is " + binary.getCols() + "x" + binary.getRows()
+                            + ", expected " + gp.maxWorldCol + "x" + gp.maxWorldRow);
+                }
+                binary.copyTo(mapTilenum[map]);
+                collision = binary.toCollisionMap(++collisionGeneration);
+            } else {
+                MapReader.read(Channels.newChannel(is), mapTilenum[map]);
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        collisionMaps[map] = collision != null ? collision : buildCollisionMap(map);
+        pathGraphs[map] = AbstractGraph.build(collisionMaps[map]);
+        resident.add(map);
+    }
 
-        try{
-            InputStream is = getClass().getResourceAsStream(filePath);
-            BufferedReader br = new BufferedReader(new InputStreamReader(is));
+    /**
+     * Returns the tile numbers of a map, loading the map from {@link #MAP_FILES} if it is not
+     * resident. Loading on demand never evicts another map; only {@link #enterMap(int)} does.
+     *
+     * @param map the map index
+     * @return the map's tile numbers
+     */
+    public synchronized TileGrid getMap(int map) {
+        if (mapTilenum[map] == null) {
+            loadMap(MAP_FILES[map], map);
+        } else {
+            // a changed map keeps its tiles when evicted; its derived data is rebuilt on use
+            resident.add(map);
+        }
+        return mapTilenum[map];
+    }
 
-            int col = 0;
-            int row = 0;
+    /**
+     * Returns the tile numbers of a map only if they are loaded. Rendering uses this instead of
+     * {@link #getMap(int)}: a frame captured just before its map was evicted is drawn without
+     * tiles rather than reading the map file on the rendering thread and growing the resident
+     * set past {@link #getResidentMaps()}.
+     *
+     * @param map the map index
+     * @return the map's tile numbers, or {@code null} if the map is not loaded
+     */
+    public synchronized TileGrid getLoadedMap(int map) {
+        return mapTilenum[map];
+    }
 
+    /**
+     * Makes a map the most recently entered one, loading it if needed, and evicts the least
+     * recently entered maps beyond {@link #getResidentMaps()}. Call this when the player moves
+     * to a map.
+     *
+     * @param map the map index
+     */
+    public void enterMap(int map) {
+        synchronized (this) {
+            getMap(map);
+            resident.remove(map);
+            resident.add(map);
+        }
+        evictExcess(map);
+    }
 
-            // WORLD MAP
-            while (col < gp.maxWorldCol && row < gp.maxWorldRow) {
-                String line = br.readLine();
-                //String numbers[] = line.split(" ");
+    /**
+     * Checks whether a map is loaded.
+     *
+     * @param map the map index
+     * @return {@code true} if the map is resident
+     */
+    public synchronized boolean isResident(int map) {
+        return resident.contains(map);
+    }
 
+    /** @return the number of maps kept loaded */
+    public int getResidentMaps() {
+        return residentMaps;
+    }
 
-                while (col < gp.maxWorldCol) {
-                    String numbers[] = line.split(" ");
+    /**
+     * Changes the number of maps kept loaded, evicting maps if there are now too many.
+     *
+     * @param residentMaps the number of maps to keep, at least 1
+     */
+    public void setResidentMaps(int residentMaps) {
+        this.residentMaps = Math.max(1, residentMaps);
+        evictExcess(gp.currentMap);
+    }
 
-                    int num = Integer.parseInt(numbers[col]);
+    /** @return the number of maps read from their files so far */
+    public int getLoads() {
+        return loads;
+    }
 
-                    mapTilenum[map][col][row] = num;
-                    //System.out.println(num);
-                    col++;
+    /**
+     * Evicts the least recently entered maps until at most {@link #residentMaps} are loaded.
+     * The given map and the current map are never evicted. The tile chunks and the game's
+     * per-map state are released outside this manager's lock, because the chunk cache reads
+     * maps while holding its own lock.
+     */
+    private void evictExcess(int keep) {
+        List<Integer> evicted = new ArrayList<>();
+        synchronized (this) {
+            Iterator<Integer> it = resident.iterator();
+            while (resident.size() > residentMaps && it.hasNext()) {
+                int map = it.next();
+                if (map == keep || map == gp.currentMap) {
+                    continue;
                 }
-                if (col == gp.maxWorldCol) {
-                    col = 0;
-                    row++;
+                it.remove();
+                if (map >= modified.length || !modified[map]) {
+                    mapTilenum[map] = null;
                 }
+                collisionMaps[map] = null;
+                pathGraphs[map] = null;
+                evicted.add(map);
+            }
+        }
+        for (int map : evicted) {
+            chunkCache.invalidate(map);
+            gp.releaseMap(map);
+        }
+    }
+
+    /**
+     * Returns the walkability grid of a map, building it if a tile of the map
+     * changed since it was last built.
+     *
+     * @param map the map index
+     * @return the collision map
+     */
+    public synchronized CollisionMap getCollisionMap(int map) {
+        if (map >= collisionMaps.length) {
+            collisionMaps = Arrays.copyOf(collisionMaps, mapTilenum.length);
+        }
+        CollisionMap collisionMap = collisionMaps[map];
+        if (collisionMap == null) {
+            // loading a map brings its collision map along
+            getMap(map);
+            collisionMap = collisionMaps[map];
+        }
+        if (collisionMap == null) {
+            collisionMap = buildCollisionMap(map);
+            collisionMaps[map] = collisionMap;
+        }
+        return collisionMap;
+    }
+
+    /**
+     * Returns the hierarchical pathfinding graph of a map, rebuilding it if a tile of
+     * the map changed since it was last built.
+     *
+     * @param map the map index
+     * @return the abstract graph over the map's current collision map
+     */
+    public synchronized AbstractGraph getPathGraph(int map) {
+        CollisionMap collisionMap = getCollisionMap(map);
+        if (map >= pathGraphs.length) {
+            pathGraphs = Arrays.copyOf(pathGraphs, collisionMaps.length);
+        }
+        AbstractGraph graph = pathGraphs[map];
+        if (graph == null || graph.getCollision() != collisionMap) {
+            graph = AbstractGraph.build(collisionMap);
+            pathGraphs[map] = graph;
+        }
+        return graph;
+    }
+
+    /**
+     * Changes the tile at a map position and invalidates that map's collision grid. The cached
+     * chunk is patched after this manager's lock is released, since the chunk cache reads maps
+     * while holding its own lock.
+     *
+     * @param map the map index
+     * @param col the tile column
+     * @param row the tile row
+     * @param tileNum the new tile number
+     */
+    public void setTile(int map, int col, int row, int tileNum) {
+        synchronized (this) {
+            getMap(map).set(col, row, tileNum);
+            if (map < modified.length) {
+                modified[map] = true;
             }
-            br.close();
+            if (map < collisionMaps.length) {
+                collisionMaps[map] = null;
+            }
+        }
+        chunkCache.patch(map, col, row);
+    }
 
+    /**
+     * Discards a map's collision grid and cached tile chunks so they are rebuilt on next use.
+     * Call this after changing {@code mapTilenum} or a tile's collision flag directly.
+     *
+     * @param map the map index
+     */
+    public void invalidateCollision(int map) {
+        synchronized (this) {
+            if (map < collisionMaps.length) {
+                collisionMaps[map] = null;
+            }
+        }
+        chunkCache.invalidate(map);
+    }
 
-        }catch(Exception e) {
-            e.printStackTrace();
+    /** Discards the collision grids and cached tile chunks of all maps. */
+    public void invalidateCollision() {
+        synchronized (this) {
+            Arrays.fill(collisionMaps, null);
+        }
+        chunkCache.clear();
+    }
 
+    /** Builds a map's collision grid; called with this manager's lock held. */
+    private CollisionMap buildCollisionMap(int map) {
+        return CollisionMap.build(getMap(map), tile, ++collisionGeneration);
+    }
+
+    /**
+     * Bakes the tile chunks around a position ahead of time, so the first frames after
+     * entering a map do not stall on baking. Does nothing in headless mode.
+     *
+     * @param map the map index
+     * @param worldx the world x position the view will be centred on
+     * @param worldy the world y position the view will be centred on
+     */
+    public void prebake(int map, int worldx, int worldy) {
+        // the visible window plus one chunk on every side, for the first steps
+        prebake(map, worldx, worldy, prebakeMargin);
+    }
+
+    /**
+     * Bakes only the tile chunks visible from a position. Used to prepare a map the player may
+     * teleport into without pushing the current view's chunks out of the cache.
+     *
+     * @param map the map index
+     * @param worldx the world x position the view will be centred on
+     * @param worldy the world y position the view will be centred on
+     */
+    public void prebakeView(int map, int worldx, int worldy) {
+        prebake(map, worldx, worldy, 0);
+    }
+
+    private void prebake(int map, int worldx, int worldy, int margin) {
+        if (gp.headless || !useChunkCache) {
+            return;
         }
+        int[] window = window(worldx, worldy, margin, new int[4]);
+        chunkCache.prebake(map, window[0], window[1], window[2], window[3]);
     }
 
     /**
-     * Draws all visible tiles to the screen based on the player's position.
-     * Optionally overlays the path for debugging/pathfinding visualization.
+     * Draws the visible tiles to the screen based on the player's position.
+     * Only the window of columns and rows that can appear on screen is visited; with the
+     * chunk cache enabled that window is drawn as a few pre-rendered chunks.
      * 
      * @param g2 Graphics2D object used to draw tiles
      */
     public void draw(Graphics2D g2) {
+        draw(g2, gp.currentMap, gp.player.worldx, gp.player.worldy);
+    }
 
+    /**
+     * Draws the visible tiles of a map with the view centred on a world position, as
+     * captured in a frame snapshot.
+     *
+     * @param g2 Graphics2D object used to draw tiles
+     * @param map the map index
+     * @param cameraX the world X-coordinate at the player's screen position
+     * @param cameraY the world Y-coordinate at the player's screen position
+     */
+    public void draw(Graphics2D g2, int map, int cameraX, int cameraY) {
+        int[] window = window(cameraX, cameraY, 0, drawWindow);
 
-        int worldCol = 0;
-        int worldRow = 0;
+        if (useChunkCache) {
+            drawChunks(g2, map, cameraX, cameraY, window[0], window[1], window[2], window[3]);
+        } else {
+            drawTiles(g2, map, cameraX, cameraY, window[0], window[1], window[2], window[3]);
+        }
+    }
 
-        while(worldCol < gp.maxWorldCol && worldRow < gp.maxWorldRow) {
+    /**
+     * Computes the tiles that can appear on screen when the view is centred on a position.
+     *
+     * @param window receives the result
+     * @return {@code window}: first column, last column, first row and last row, clamped to the map
+     */
+    private int[] window(int worldx, int worldy, int margin, int[] window) {
+        // world-space edges of the screen, widened by one tile on each side
+        int left = worldx - gp.player.screenX - gp.tileSize - margin;
+        int right = worldx + gp.player.screenX + gp.tileSize + margin;
+        int top = worldy - gp.player.screenY - gp.tileSize - margin;
+        int bottom = worldy + gp.player.screenY + gp.tileSize + margin;
+
+        window[0] = Math.max(0, Math.floorDiv(left, gp.tileSize) + 1);
+        window[1] = Math.min(gp.maxWorldCol - 1, Math.floorDiv(right - 1, gp.tileSize));
+        window[2] = Math.max(0, Math.floorDiv(top, gp.tileSize) + 1);
+        window[3] = Math.min(gp.maxWorldRow - 1, Math.floorDiv(bottom - 1, gp.tileSize));
+        return window;
+    }
 
-            int tileNum = mapTilenum[gp.currentMap][worldCol][worldRow];
+    /**
+     * @return the most chunks a {@link #window} with the given margin can overlap, wherever the
+     * view is centred
+     */
+    private int chunksCovering(int margin) {
+        int chunkPixels = TileChunkCache.CHUNK_TILES * gp.tileSize;
+        // the window spans the screen plus one tile and the margin on each side
+        int width = gp.screenWidth + gp.tileSize + 2 * margin;
+        int height = gp.screenHeight + gp.tileSize + 2 * margin;
+        return (width / chunkPixels + 2) * (height / chunkPixels + 2);
+    }
 
-            //System.out.println(tileNum);
+    /** Draws each tile of the visible window separately. */
+    private void drawTiles(Graphics2D g2, int map, int cameraX, int cameraY,
+                           int firstCol, int lastCol, int firstRow, int lastRow) {
+        TileGrid tiles = getLoadedMap(map);
+        if (tiles == null) {
+            return;
+        }
 
-            int worldX = worldCol * gp.tileSize;
-            int worldY = worldRow * gp.tileSize;
-            int screenX = worldX - gp.player.worldx + gp.player.screenX;
-            int screenY = worldY - gp.player.worldy + gp.player.screenY;
+        for (int worldRow = firstRow; worldRow <= lastRow; worldRow++) {
+            int index = tiles.index(firstCol, worldRow);
+            for (int worldCol = firstCol; worldCol <= lastCol; worldCol++, index++) {
+                int tileNum = tiles.get(index);
 
-            if(worldX + gp.tileSize > gp.player.worldx - gp.player.screenX &&
-                    worldX - gp.tileSize < gp.player.worldx + gp.player.screenX &&
-                    worldY + gp.tileSize > gp.player.worldy - gp.player.screenY &&
-                    worldY - gp.tileSize < gp.player.worldy + gp.player.screenY) {
+                int screenX = worldCol * gp.tileSize - cameraX + gp.player.screenX;
+                int screenY = worldRow * gp.tileSize - cameraY + gp.player.screenY;
 
                 g2.drawImage(tile[tileNum].image, screenX, screenY, null);
             }
+        }
+    }
 
-            worldCol++;
+    /** Draws the chunks overlapping the visible window. */
+    private void drawChunks(Graphics2D g2, int map, int cameraX, int cameraY,
+                            int firstCol, int lastCol, int firstRow, int lastRow) {
+        int chunkPixels = TileChunkCache.CHUNK_TILES * gp.tileSize;
 
+        for (int chunkRow = firstRow / TileChunkCache.CHUNK_TILES; chunkRow <= lastRow / TileChunkCache.CHUNK_TILES; chunkRow++) {
+            for (int chunkCol = firstCol / TileChunkCache.CHUNK_TILES; chunkCol <= lastCol / TileChunkCache.CHUNK_TILES; chunkCol++) {
+                int screenX = chunkCol * chunkPixels - cameraX + gp.player.screenX;
+                int screenY = chunkRow * chunkPixels - cameraY + gp.player.screenY;
 
-            if(worldCol == gp.maxWorldCol){
-                worldCol = 0;
-                worldRow++;
+                BufferedImage chunk = chunkCache.get(map, chunkCol, chunkRow);
+                if (chunk != null) {
+                    g2.drawImage(chunk, screenX, screenY, null);
+                }
             }
         }
+    }
 
+    /** @return the cache of pre-rendered tile chunks */
+    public TileChunkCache getChunkCache() {
+        return chunkCache;
     }
 }
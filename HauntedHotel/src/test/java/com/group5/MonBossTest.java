@@ -1,5 +1,6 @@
 package com.group5;
 
+import com.group5.entity.Direction;
 import com.group5.main.GamePanel;
 import com.group5.entity.Projectile;
 import com.group5.monster.Mon_Boss;
@@ -83,30 +84,30 @@ public class MonBossTest {
         boss.onPath = false;
         boss.actionLockCounter = 180;
         boss.setAction();
-        assertTrue(boss.direction.equals("up") ||
-                   boss.direction.equals("down") ||
-                   boss.direction.equals("left") ||
-                   boss.direction.equals("right"));  // should randomly pick a direction
+        assertTrue(boss.direction.equals(Direction.UP) ||
+                   boss.direction.equals(Direction.DOWN) ||
+                   boss.direction.equals(Direction.LEFT) ||
+                   boss.direction.equals(Direction.RIGHT));  // should randomly pick a direction
     }
 
     @Test
     void testDamageReactionChangesDirection() {
         // Test for all possible player directions and verify the boss reacts accordingly
-        gp.player.direction = "up";
+        gp.player.direction = Direction.UP;
         boss.damageReaction();
-        assertEquals("down", boss.direction);  // should change direction to down
+        assertEquals(Direction.DOWN, boss.direction);  // should change direction to down
 
-        gp.player.direction = "down";
+        gp.player.direction = Direction.DOWN;
         boss.damageReaction();
-        assertEquals("up", boss.direction);  // should change direction to up
+        assertEquals(Direction.UP, boss.direction);  // should change direction to up
 
-        gp.player.direction = "left";
+        gp.player.direction = Direction.LEFT;
         boss.damageReaction();
-        assertEquals("right", boss.direction);  // should change direction to right
+        assertEquals(Direction.RIGHT, boss.direction);  // should change direction to right
 
-        gp.player.direction = "right";
+        gp.player.direction = Direction.RIGHT;
         boss.damageReaction();
-        assertEquals("left", boss.direction);  // should change direction to left
+        assertEquals(Direction.LEFT, boss.direction);  // should change direction to left
     }
 
     @Test
@@ -110,7 +110,7 @@ public class TileManagerTest {
     //test for loading map with specific tile
     @Test
     void testMapload(){
-        int tileNum = tileM.mapTilenum[1][0][0];
+        int tileNum = tileM.getMap(1).get(0, 0);
         assertEquals(18, tileNum);
     }
 
@@ -0,0 +1,124 @@
+package com.group5.ai;
+
+import com.group5.main.GamePanel;
+import com.group5.monster.MyersEnemy;
+import com.group5.tile.CollisionMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for {@link FlowField} and the shared per-map field used by chasing monsters.
+ */
+public class FlowFieldTest {
+
+    private static final int FLOOR = 2;
+    private static final int WALL = 0;
+
+    private GamePanel gp;
+    private FlowField field;
+
+    @BeforeEach
+    void setUp() {
+        gp = new GamePanel(true);
+        gp.currentMap = 0;
+        for (int col = 0; col < gp.maxWorldCol; col++) {
+            for (int row = 0; row < gp.maxWorldRow; row++) {
+                gp.tileM.mapTilenum[0].set(col, row, FLOOR);
+            }
+        }
+        gp.tileM.invalidateCollision(0);
+        field = new FlowField(gp.maxWorldCol, gp.maxWorldRow);
+    }
+
+    private CollisionMap collision() {
+        return gp.tileM.getCollisionMap(0);
+    }
+
+    private void placePlayer(int col, int row) {
+        gp.player.worldx = col * gp.tileSize;
+        gp.player.worldy = row * gp.tileSize;
+    }
+
+    @Test
+    void testDistancesOnOpenFloor() {
+        field.update(collision(), 10, 10);
+
+        assertEquals(0, field.getDistance(10, 10));
+        assertEquals(5, field.getDistance(13, 8));
+        assertEquals(FlowField.UNREACHABLE, field.getDistance(-1, 0));
+    }
+
+    @Test
+    void testDistancesGoAroundWalls() {
+        // vertical wall at col 10 from row 0 to row 8
+        for (int row = 0; row <= 8; row++) {
+            gp.tileM.setTile(0, 10, row, WALL);
+        }
+        field.update(collision(), 12, 2);
+
+        assertEquals(18, field.getDistance(8, 2));
+        assertEquals(FlowField.UNREACHABLE, field.getDistance(10, 2));
+    }
+
+    @Test
+    void testNextStepMovesCloser() {
+        field.update(collision(), 10, 10);
+
+        int next = field.nextStep(4, 9);
+        assertEquals(5, next % field.getCols());
+        assertEquals(9, next / field.getCols());
+
+        next = field.nextStep(10, 14);
+        assertEquals(10, next % field.getCols());
+        assertEquals(13, next / field.getCols());
+
+        assertEquals(-1, field.nextStep(10, 10), "No step from the goal itself");
+    }
+
+    @Test
+    void testEnclosedTileHasNoStep() {
+        gp.tileM.setTile(0, 19, 10, WALL);
+        gp.tileM.setTile(0, 21, 10, WALL);
+        gp.tileM.setTile(0, 20, 9, WALL);
+        gp.tileM.setTile(0, 20, 11, WALL);
+        field.update(collision(), 5, 5);
+
+        assertEquals(FlowField.UNREACHABLE, field.getDistance(20, 10));
+        assertEquals(-1, field.nextStep(20, 10));
+    }
+
+    @Test
+    void testRebuildsOnlyWhenGoalOrMapChanges() {
+        assertTrue(field.update(collision(), 10, 10));
+        assertFalse(field.update(collision(), 10, 10));
+        assertTrue(field.update(collision(), 11, 10));
+
+        gp.tileM.setTile(0, 3, 3, WALL);
+        assertTrue(field.update(collision(), 11, 10));
+        assertEquals(3, field.getBuilds());
+    }
+
+    @Test
+    void testChasersShareOneField() {
+        placePlayer(20, 10);
+        MyersEnemy[] chasers = new MyersEnemy[8];
+        for (int i = 0; i < chasers.length; i++) {
+            chasers[i] = new MyersEnemy(gp);
+            chasers[i].worldx = (5 + i) * gp.tileSize;
+            chasers[i].worldy = 3 * gp.tileSize;
+        }
+
+        for (int frame = 0; frame < 10; frame++) {
+            for (MyersEnemy chaser : chasers) {
+                chaser.setAction();
+            }
+        }
+
+        assertEquals(1, gp.getPlayerFlowField().getBuilds(), "Field should be built once while the player stands still");
+        for (MyersEnemy chaser : chasers) {
+            assertEquals(0, chaser.getPathCache().getSearches(), "Chasing the player should not run A*");
+        }
+    }
+}
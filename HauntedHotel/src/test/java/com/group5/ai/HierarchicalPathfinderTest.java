@@ -0,0 +1,202 @@
+package com.group5.ai;
+
+import com.group5.main.GamePanel;
+import com.group5.tile.CollisionMap;
+import com.group5.tile.Tile;
+import com.group5.tile.TileGrid;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for hierarchical pathfinding: {@link AbstractGraph}, {@link HierarchicalPathfinder}
+ * and lazy refinement through {@link PathCache}.
+ */
+public class HierarchicalPathfinderTest {
+
+    /** Refines every segment of the last search into a list of tile indexes. */
+    private List<Integer> refineAll(AbstractGraph graph, HierarchicalPathfinder hpa) {
+        List<Integer> tiles = new ArrayList<>();
+        AbstractGraph.Scratch scratch = graph.newScratch();
+        tiles.add(hpa.getWaypoint(0));
+        for (int i = 1; i < hpa.getWaypointCount(); i++) {
+            int count = graph.refine(tiles.get(tiles.size() - 1), hpa.getWaypoint(i), scratch);
+            assertTrue(count > 0, "segment " + i + " should refine");
+            for (int j = 0; j < count; j++) {
+                tiles.add(scratch.path[j]);
+            }
+        }
+        return tiles;
+    }
+
+    /** Checks that a refined route is a connected walk over walkable tiles. */
+    private void assertValidRoute(CollisionMap collision, List<Integer> tiles, int start, int goal) {
+        int cols = collision.getCols();
+        assertEquals(start, tiles.get(0).intValue());
+        assertEquals(goal, tiles.get(tiles.size() - 1).intValue());
+        for (int i = 1; i < tiles.size(); i++) {
+            int a = tiles.get(i - 1), b = tiles.get(i);
+            assertEquals(1, Math.abs(a % cols - b % cols) + Math.abs(a / cols - b / cols), "steps must be adjacent");
+            if (b != goal) {
+                assertFalse(collision.isSolid(b % cols, b / cols), "route must not cross solid tiles");
+            }
+        }
+    }
+
+    /** Compares HPA* with exact BFS distances for random pairs of walkable tiles. */
+    private void checkAgainstFlowField(CollisionMap collision, int pairs, long seed) {
+        AbstractGraph graph = AbstractGraph.build(collision);
+        HierarchicalPathfinder hpa = new HierarchicalPathfinder();
+        FlowField exact = new FlowField(collision.getCols(), collision.getRows());
+        Random random = new Random(seed);
+        int cols = collision.getCols();
+
+        int checked = 0;
+        while (checked < pairs) {
+            int sc = random.nextInt(cols), sr = random.nextInt(collision.getRows());
+            int gc = random.nextInt(cols), gr = random.nextInt(collision.getRows());
+            if (collision.isSolid(sc, sr) || collision.isSolid(gc, gr) || (sc == gc && sr == gr)) {
+                continue;
+            }
+            checked++;
+            exact.update(collision, gc, gr);
+            int optimal = exact.getDistance(sc, sr);
+
+            boolean found = hpa.search(graph, sc, sr, gc, gr);
+            assertEquals(optimal != FlowField.UNREACHABLE, found,
+                    "HPA* should find a route exactly when one exists: (" + sc + "," + sr + ") -> (" + gc + "," + gr + ")");
+            if (found) {
+                List<Integer> route = refineAll(graph, hpa);
+                assertValidRoute(collision, route, sr * cols + sc, gr * cols + gc);
+                int length = route.size() - 1;
+                assertTrue(length <= optimal * 1.5 + 10,
+                        "route of " + length + " steps is too long for optimal " + optimal);
+            }
+        }
+    }
+
+    @Test
+    void testGameMapsMatchExactReachability() {
+        GamePanel gp = new GamePanel(true);
+        for (int map = 0; map < 4; map++) {
+            checkAgainstFlowField(gp.tileM.getCollisionMap(map), 100, map);
+        }
+    }
+
+    @Test
+    void testLargeMap() {
+        int size = 500;
+        TileGrid tiles = new TileGrid(size, size);
+        Random random = new Random(7);
+        for (int col = 0; col < size; col++) {
+            for (int row = 0; row < size; row++) {
+                tiles.set(col, row, random.nextInt(100) < 25 ? 1 : 0);
+            }
+        }
+        Tile floor = new Tile();
+        Tile wall = new Tile();
+        wall.collision = true;
+        CollisionMap collision = CollisionMap.build(tiles, new Tile[] {floor, wall}, 1);
+
+        checkAgainstFlowField(collision, 30, 11);
+    }
+
+    @Test
+    void testSameClusterUsesDirectSegment() {
+        GamePanel gp = new GamePanel(true);
+        for (int col = 0; col < gp.maxWorldCol; col++) {
+            for (int row = 0; row < gp.maxWorldRow; row++) {
+                gp.tileM.mapTilenum[0].set(col, row, 2);
+            }
+        }
+        gp.tileM.invalidateCollision(0);
+        AbstractGraph graph = gp.tileM.getPathGraph(0);
+        HierarchicalPathfinder hpa = new HierarchicalPathfinder();
+
+        assertTrue(hpa.search(graph, 1, 1, 8, 8));
+        assertEquals(2, hpa.getWaypointCount());
+        assertEquals(0, hpa.getExpanded());
+    }
+
+    @Test
+    void testPathGraphRebuiltAfterTileChange() {
+        GamePanel gp = new GamePanel(true);
+        AbstractGraph before = gp.tileM.getPathGraph(1);
+        assertSame(before, gp.tileM.getPathGraph(1));
+
+        gp.tileM.setTile(1, 5, 5, 0);
+        AbstractGraph after = gp.tileM.getPathGraph(1);
+        assertNotSame(before, after);
+        assertSame(gp.tileM.getCollisionMap(1), after.getCollision());
+    }
+
+    @Test
+    void testPathCacheRefinesLazily() {
+        GamePanel gp = new GamePanel(true);
+        for (int col = 0; col < gp.maxWorldCol; col++) {
+            for (int row = 0; row < gp.maxWorldRow; row++) {
+                gp.tileM.mapTilenum[0].set(col, row, 2);
+            }
+        }
+        gp.tileM.invalidateCollision(0);
+        AbstractGraph graph = gp.tileM.getPathGraph(0);
+        PathCache cache = new PathCache();
+        PathfindingService service = new PathfindingService(gp);
+
+        int col = 1, row = 1;
+        assertTrue(cache.next(service, graph, col, row, 68, 28));
+        assertTrue(cache.isHierarchical());
+        assertTrue(cache.getRefinedLength() < 67 + 27, "Only the first segments should be refined");
+
+        // walk the whole route one waypoint at a time
+        int steps = 0;
+        while (cache.next(service, graph, col, row, 68, 28)) {
+            col = cache.getNextCol();
+            row = cache.getNextRow();
+            steps++;
+            assertTrue(steps < 500);
+        }
+        assertEquals(68, col);
+        assertEquals(28, row);
+        assertEquals(67 + 27, steps, "Open floor route should be optimal");
+        assertEquals(1, cache.getSearches());
+    }
+
+    @Test
+    void testPathCacheKeepsScratchAcrossPlans() {
+        GamePanel gp = new GamePanel(true);
+        for (int col = 0; col < gp.maxWorldCol; col++) {
+            for (int row = 0; row < gp.maxWorldRow; row++) {
+                gp.tileM.mapTilenum[0].set(col, row, 2);
+            }
+        }
+        gp.tileM.invalidateCollision(0);
+        PathCache cache = new PathCache();
+        PathfindingService service = new PathfindingService(gp);
+
+        assertTrue(cache.next(service, gp.tileM.getPathGraph(0), 1, 1, 68, 28));
+        AbstractGraph.Scratch scratch = cache.getScratch();
+        assertNotNull(scratch);
+
+        // a goal far from the cached one forces a new hierarchical plan on the same graph
+        assertTrue(cache.next(service, gp.tileM.getPathGraph(0), 1, 1, 68, 2));
+        assertTrue(cache.isHierarchical());
+        assertEquals(2, cache.getSearches());
+        assertSame(scratch, cache.getScratch(), "replanning on the same map should reuse the work arrays");
+
+        // a tile change rebuilds the graph, so the work arrays are rebuilt too
+        gp.tileM.setTile(0, 30, 15, 0);
+        assertTrue(cache.next(service, gp.tileM.getPathGraph(0), 1, 1, 68, 2));
+        assertNotSame(scratch, cache.getScratch());
+    }
+
+    @Test
+    void testRejectsTinyClusters() {
+        GamePanel gp = new GamePanel(true);
+        assertThrows(IllegalArgumentException.class, () -> AbstractGraph.build(gp.tileM.getCollisionMap(0), 1));
+    }
+}
@@ -0,0 +1,114 @@
+package com.group5.ai;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for {@link NodeHeap}, the open set used by the {@link Pathfinder}.
+ */
+public class NodeHeapTest {
+
+    private NodeHeap heap;
+
+    @BeforeEach
+    void setUp() {
+        heap = new NodeHeap(2);
+    }
+
+    private Node node(int fCost, int hCost) {
+        Node n = new Node(0, 0);
+        n.fCost = fCost;
+        n.hCost = hCost;
+        return n;
+    }
+
+    @Test
+    void testPollReturnsLowestFCost() {
+        heap.add(node(5, 0));
+        heap.add(node(2, 0));
+        heap.add(node(9, 0));
+
+        assertEquals(2, heap.poll().fCost);
+        assertEquals(5, heap.poll().fCost);
+        assertEquals(9, heap.poll().fCost);
+        assertNull(heap.poll());
+    }
+
+    @Test
+    void testTiesPreferLowerHCost() {
+        heap.add(node(4, 3));
+        heap.add(node(4, 1));
+
+        assertEquals(1, heap.poll().hCost);
+    }
+
+    @Test
+    void testContainsAndRemove() {
+        Node a = node(1, 0);
+        Node b = node(2, 0);
+        heap.add(a);
+        heap.add(b);
+
+        assertTrue(heap.contains(a));
+        assertTrue(heap.remove(a));
+        assertFalse(heap.contains(a));
+        assertFalse(heap.remove(a));
+        assertEquals(-1, a.heapIndex);
+        assertEquals(b, heap.peek());
+    }
+
+    @Test
+    void testAddIgnoresDuplicates() {
+        Node a = node(1, 0);
+        assertTrue(heap.add(a));
+        assertFalse(heap.add(a));
+        assertEquals(1, heap.size());
+    }
+
+    @Test
+    void testUpdateAfterDecreaseKey() {
+        Node a = node(3, 0);
+        Node b = node(8, 0);
+        heap.add(a);
+        heap.add(b);
+
+        b.fCost = 1;
+        heap.update(b);
+
+        assertEquals(b, heap.poll());
+    }
+
+    @Test
+    void testClearResetsHeapIndexes() {
+        Node a = node(1, 0);
+        heap.add(a);
+        heap.clear();
+
+        assertTrue(heap.isEmpty());
+        assertEquals(-1, a.heapIndex);
+        assertFalse(heap.contains(a));
+    }
+
+    @Test
+    void testRandomOrderIsSorted() {
+        Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            heap.add(node(random.nextInt(100), random.nextInt(10)));
+        }
+        // remove a few from the middle
+        for (int i = 0; i < 50; i++) {
+            heap.remove(heap.peek());
+        }
+
+        int last = -1;
+        while (!heap.isEmpty()) {
+            int f = heap.poll().fCost;
+            assertTrue(f >= last);
+            last = f;
+        }
+    }
+}
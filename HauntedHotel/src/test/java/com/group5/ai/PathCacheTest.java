@@ -0,0 +1,143 @@
+package com.group5.ai;
+
+import com.group5.main.GamePanel;
+import com.group5.tile.CollisionMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for {@link PathCache}: cache hits, waypoint consumption, incremental
+ * goal repair and invalidation when the map changes.
+ */
+public class PathCacheTest {
+
+    private static final int FLOOR = 2;
+    private static final int WALL = 0;
+
+    private GamePanel gp;
+    private Pathfinder pathfinder;
+    private PathCache cache;
+
+    @BeforeEach
+    void setUp() {
+        gp = new GamePanel(true);
+        gp.currentMap = 0;
+        for (int col = 0; col < gp.maxWorldCol; col++) {
+            for (int row = 0; row < gp.maxWorldRow; row++) {
+                gp.tileM.mapTilenum[0].set(col, row, FLOOR);
+            }
+        }
+        gp.tileM.invalidateCollision(0);
+        pathfinder = new Pathfinder(gp);
+        cache = new PathCache();
+    }
+
+    private boolean next(int startCol, int startRow, int goalCol, int goalRow) {
+        CollisionMap collision = gp.tileM.getCollisionMap(0);
+        return cache.next(pathfinder, collision, startCol, startRow, goalCol, goalRow);
+    }
+
+    @Test
+    void testSameStartAndGoalSearchesOnce() {
+        assertTrue(next(5, 5, 10, 5));
+        assertTrue(next(5, 5, 10, 5));
+        assertTrue(next(5, 5, 10, 5));
+
+        assertEquals(1, cache.getSearches());
+        assertEquals(6, cache.getNextCol());
+        assertEquals(5, cache.getNextRow());
+    }
+
+    @Test
+    void testReachingWaypointConsumesIt() {
+        assertTrue(next(5, 5, 10, 5));
+        assertTrue(next(6, 5, 10, 5));
+
+        assertEquals(1, cache.getSearches());
+        assertEquals(7, cache.getNextCol());
+        assertEquals(4, cache.getRemaining());
+    }
+
+    @Test
+    void testGoalStepAwayIsRepaired() {
+        assertTrue(next(5, 5, 10, 5));
+        assertTrue(next(5, 5, 11, 5));
+        assertTrue(next(5, 5, 11, 6));
+
+        assertEquals(1, cache.getSearches());
+        assertEquals(2, cache.getRepairs());
+        assertEquals(7, cache.getRemaining());
+    }
+
+    @Test
+    void testGoalMovingOntoPathShortensIt() {
+        assertTrue(next(5, 5, 10, 5));
+        assertTrue(next(5, 5, 9, 5));
+
+        assertEquals(1, cache.getSearches());
+        assertEquals(4, cache.getRemaining());
+    }
+
+    @Test
+    void testGoalJumpReplans() {
+        assertTrue(next(5, 5, 10, 5));
+        assertTrue(next(5, 5, 5, 15));
+
+        assertEquals(2, cache.getSearches());
+        assertEquals(5, cache.getNextCol());
+        assertEquals(6, cache.getNextRow());
+    }
+
+    @Test
+    void testTooManyRepairsReplans() {
+        assertTrue(next(5, 5, 10, 5));
+        for (int i = 1; i <= PathCache.MAX_REPAIRS; i++) {
+            assertTrue(next(5, 5, 10 + i, 5));
+        }
+        assertEquals(1, cache.getSearches());
+
+        assertTrue(next(5, 5, 11 + PathCache.MAX_REPAIRS, 5));
+        assertEquals(2, cache.getSearches());
+    }
+
+    @Test
+    void testLeavingPathReplans() {
+        assertTrue(next(5, 5, 10, 5));
+        assertTrue(next(5, 6, 10, 5));
+
+        assertEquals(2, cache.getSearches());
+    }
+
+    @Test
+    void testTileChangeReplans() {
+        assertTrue(next(5, 5, 10, 5));
+        gp.tileM.setTile(0, 7, 5, WALL);
+        assertTrue(next(5, 5, 10, 5));
+
+        assertEquals(2, cache.getSearches());
+    }
+
+    @Test
+    void testUnreachableGoalIsNotSearchedAgain() {
+        // wall the goal in
+        gp.tileM.setTile(0, 19, 10, WALL);
+        gp.tileM.setTile(0, 21, 10, WALL);
+        gp.tileM.setTile(0, 20, 9, WALL);
+        gp.tileM.setTile(0, 20, 11, WALL);
+
+        assertFalse(next(5, 5, 20, 10));
+        assertFalse(next(5, 5, 20, 10));
+        assertEquals(1, cache.getSearches());
+
+        assertFalse(next(5, 6, 20, 10));
+        assertEquals(2, cache.getSearches());
+    }
+
+    @Test
+    void testStartEqualsGoalHasNoWaypoint() {
+        assertFalse(next(5, 5, 5, 5));
+        assertEquals(0, cache.getSearches());
+    }
+}
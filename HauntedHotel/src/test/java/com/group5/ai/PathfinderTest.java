@@ -2,6 +2,7 @@ package com.group5.ai;
 
 import com.group5.main.GamePanel;
 import com.group5.tile.Tile;
+import com.group5.tile.TileGrid;
 import com.group5.tile.TileManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -43,14 +44,11 @@ public class PathfinderTest {
                 tile[i].image = null; 
             }
             
-            mapTilenum = new int[10][gp.maxWorldCol][gp.maxWorldRow];
+            mapTilenum = new TileGrid[10];
             for (int map = 0; map < mapTilenum.length; map++) {
-                for (int col = 0; col < gp.maxWorldCol; col++) {
-                    for (int row = 0; row < gp.maxWorldRow; row++) {
-                        mapTilenum[map][col][row] = 0;
-                    }
-                }
+                mapTilenum[map] = new TileGrid(gp.maxWorldCol, gp.maxWorldRow);
             }
+            invalidateCollision();
         }
 
         /**
@@ -59,6 +57,7 @@ public class PathfinderTest {
         public void setSolidTile(int tileNum) {
             if (tileNum < tile.length) {
                 tile[tileNum].collision = true;
+                invalidateCollision();
             }
         }
 
@@ -67,9 +66,9 @@ public class PathfinderTest {
          */
         public void setMapTile(int map, int col, int row, int tileNum) {
             if (map < mapTilenum.length && 
-                col < mapTilenum[map].length && 
-                row < mapTilenum[map][col].length) {
-                mapTilenum[map][col][row] = tileNum;
+                col < mapTilenum[map].getCols() && 
+                row < mapTilenum[map].getRows()) {
+                setTile(map, col, row, tileNum);
             }
         }
     }
@@ -207,11 +206,13 @@ public class PathfinderTest {
     }
 
     @Test
-    void testSetNode_CalculatesCostsForAllNodes() {
+    void testSetNode_SeedsStartNodeCosts() {
         pathfinder.setNode(5, 5, 15, 15);
         
-        Node testNode = pathfinder.node[10][10];
-        assertNotEquals(0, testNode.gCost + testNode.hCost + testNode.fCost);
+        Node start = pathfinder.node[5][5];
+        assertEquals(0, start.gCost);
+        assertEquals(20, start.hCost);
+        assertEquals(20, start.fCost);
     }
 
 
@@ -647,4 +648,49 @@ public class PathfinderTest {
         
         assertTrue(result || pathfinder.step >= 500);
     }
+
+    @Test
+    void testSearch_FindsShortestPathAroundWall() {
+        MockTileManager mockTileM = (MockTileManager) gp.tileM;
+        mockTileM.setSolidTile(1);
+        // vertical wall at col 10 from row 0 to row 8, gap below
+        for (int row = 0; row <= 8; row++) {
+            mockTileM.setMapTile(0, 10, row, 1);
+        }
+
+        pathfinder.setNode(8, 2, 12, 2);
+        assertTrue(pathfinder.search());
+
+        // down to row 9, across 4 columns, back up to row 2
+        assertEquals(7 + 4 + 7, pathfinder.pathList.size());
+        assertEquals(pathfinder.pathList.size(), pathfinder.goalNode.gCost);
+    }
+
+    @Test
+    void testSearch_StaleStateFromPreviousSearchIsIgnored() {
+        pathfinder.setNode(5, 5, 20, 5);
+        assertTrue(pathfinder.search());
+
+        pathfinder.setNode(20, 5, 5, 5);
+        assertTrue(pathfinder.search());
+        assertEquals(15, pathfinder.pathList.size());
+        assertEquals(pathfinder.node[5][5], pathfinder.pathList.get(14));
+    }
+
+    @Test
+    void testSearch_RespectsMaxSteps() {
+        pathfinder.maxSteps = 3;
+        pathfinder.setNode(0, 0, 20, 20);
+
+        assertFalse(pathfinder.search());
+        assertEquals(3, pathfinder.step);
+    }
+
+    @Test
+    void testSearch_StartEqualsGoalHasNoPath() {
+        pathfinder.setNode(5, 5, 5, 5);
+
+        assertFalse(pathfinder.search());
+        assertTrue(pathfinder.pathList.isEmpty());
+    }
 }
@@ -0,0 +1,160 @@
+package com.group5.ai;
+
+import com.group5.main.GamePanel;
+import com.group5.monster.MyersEnemy;
+import com.group5.tile.CollisionMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for {@link PathfindingService}: pooling of search contexts and
+ * concurrent searches over a shared collision map.
+ */
+public class PathfindingServiceTest {
+
+    private GamePanel gp;
+    private PathfindingService service;
+
+    @BeforeEach
+    void setUp() {
+        gp = new GamePanel(true);
+        service = new PathfindingService(gp);
+    }
+
+    @Test
+    void testAcquireHandsOutSeparateContexts() {
+        Pathfinder a = service.acquire();
+        Pathfinder b = service.acquire();
+
+        assertNotSame(a, b);
+        assertEquals(2, service.getCreated());
+    }
+
+    @Test
+    void testReleasedContextIsReused() {
+        Pathfinder a = service.acquire();
+        service.release(a);
+
+        assertSame(a, service.acquire());
+        assertEquals(1, service.getCreated());
+        assertEquals(0, service.getIdle());
+    }
+
+    @Test
+    void testConcurrentSearchesMatchSequentialResults() throws Exception {
+        CollisionMap collision = gp.tileM.getCollisionMap(1);
+
+        // collect walkable tiles of the world map as start/goal candidates
+        List<int[]> open = new ArrayList<>();
+        for (int col = 0; col < gp.maxWorldCol; col += 3) {
+            for (int row = 0; row < gp.maxWorldRow; row += 3) {
+                if (!collision.isSolid(col, row)) {
+                    open.add(new int[] {col, row});
+                }
+            }
+        }
+        int pairs = Math.min(40, open.size() - 1);
+
+        int[] expected = new int[pairs];
+        Pathfinder sequential = new Pathfinder(gp);
+        for (int i = 0; i < pairs; i++) {
+            expected[i] = pathLength(sequential, collision, open.get(i), open.get(i + 1));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Callable<Integer>> tasks = new ArrayList<>();
+            for (int round = 0; round < 5; round++) {
+                for (int i = 0; i < pairs; i++) {
+                    final int pair = i;
+                    tasks.add(() -> {
+                        Pathfinder context = service.acquire();
+                        try {
+                            return pathLength(context, collision, open.get(pair), open.get(pair + 1));
+                        } finally {
+                            service.release(context);
+                        }
+                    });
+                }
+            }
+            List<Future<Integer>> results = executor.invokeAll(tasks);
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(expected[i % pairs], results.get(i).get().intValue(), "pair " + (i % pairs));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(service.getCreated() <= 4);
+    }
+
+    private int pathLength(Pathfinder pathfinder, CollisionMap collision, int[] start, int[] goal) {
+        pathfinder.setNode(collision, start[0], start[1], goal[0], goal[1]);
+        return pathfinder.search() ? pathfinder.pathList.size() : -1;
+    }
+
+    @Test
+    void testParallelPlanningMovesEveryMonster() {
+        gp.currentMap = 1;
+        gp.gameState = gp.playState;
+        gp.player.worldx = gp.tileSize * 35;
+        gp.player.worldy = gp.tileSize * 15;
+
+        int placed = 0;
+        int[][] starts = new int[8][];
+        for (int col = 25; col < 45 && placed < 8; col += 2) {
+            for (int row = 5; row < 25 && placed < 8; row += 4) {
+                if (!gp.tileM.getCollisionMap(1).isSolid(col, row)
+                        && gp.getPlayerFlowField().getDistance(col, row) > 2) {
+                    MyersEnemy m = new MyersEnemy(gp);
+                    m.worldx = col * gp.tileSize;
+                    m.worldy = row * gp.tileSize;
+                    gp.monster[1][placed] = m;
+                    starts[placed] = new int[] {m.worldx, m.worldy};
+                    placed++;
+                }
+            }
+        }
+        assertEquals(8, placed);
+
+        gp.simulate(30);
+
+        for (int i = 0; i < placed; i++) {
+            assertNotNull(gp.monster[1][i]);
+            assertTrue(gp.monster[1][i].worldx != starts[i][0] || gp.monster[1][i].worldy != starts[i][1],
+                    "Monster " + i + " should have moved");
+        }
+    }
+
+    @Test
+    void testOnlySearchesCountTowardParallelPlanning() {
+        gp.currentMap = 1;
+        gp.gameState = gp.playState;
+        gp.player.worldx = gp.tileSize * 35;
+        gp.player.worldy = gp.tileSize * 15;
+
+        MyersEnemy chaser = new MyersEnemy(gp);
+        chaser.worldx = gp.tileSize * 30;
+        chaser.worldy = gp.tileSize * 15;
+        chaser.planPath();
+        assertFalse(chaser.plansSearch(), "chasing the player reads the flow field");
+
+        MyersEnemy wanderer = new MyersEnemy(gp);
+        wanderer.worldx = gp.tileSize * 30;
+        wanderer.worldy = gp.tileSize * 15;
+        wanderer.nextPathStep(30, 15, 40, 15);
+        assertTrue(wanderer.plansSearch(), "any other goal goes through the path cache");
+
+        gp.updateCount++;
+        wanderer.planPath();
+        assertFalse(wanderer.plansSearch());
+    }
+}
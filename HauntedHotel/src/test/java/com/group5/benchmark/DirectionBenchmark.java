@@ -0,0 +1,265 @@
+package com.group5.benchmark;
+
+import com.group5.entity.Direction;
+import com.group5.entity.Entity;
+import com.group5.main.GamePanel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Entity#update()} and {@link Entity#currentImage()} with {@link Direction}
+ * against the code they replaced, on the same headless game and entities.
+ * <p>
+ * The "legacy" cases run {@link LegacyEntity}, which overrides both methods with the bodies
+ * they had before {@code direction} was a {@code String}: a string switch for the movement
+ * step and a string switch with an {@code if} per frame for the sprite. The collision probes
+ * that {@code update()} calls are today's in both cases, so the difference is the direction
+ * handling itself.
+ * </p>
+ * <p>
+ * Run with {@code mvn test-compile} followed by this class's {@link #main(String[])} on the
+ * test classpath, for example from the IDE. Surefire does not pick up benchmarks.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DirectionBenchmark {
+
+    /** Number of entities per invocation. */
+    @Param({"1000"})
+    public int entities;
+
+    private Entity[] current;
+    private LegacyEntity[] legacy;
+
+    /**
+     * An entity running the pre-{@link Direction} {@code update()} and sprite lookup, copied
+     * from the old {@link Entity}. {@link #direction} is kept in step with {@link #name} only
+     * for the collision probes.
+     */
+    static class LegacyEntity extends Entity {
+
+        /** The old direction field. */
+        String name;
+
+        LegacyEntity(GamePanel gp) {
+            super(gp);
+        }
+
+        void face(Direction d) {
+            direction = d;
+            switch (d) {
+                case UP: name = "up"; break;
+                case DOWN: name = "down"; break;
+                case LEFT: name = "left"; break;
+                default: name = "right"; break;
+            }
+        }
+
+        @Override
+        public void update() {
+
+            // USED FOR MOVEMENT
+            setAction();
+            checkCollision();
+
+            // IF COLLIS IS FALSE PLAYERS MOVES
+            if(collisionOn == false){
+                switch (name){
+                    case "up":
+                        worldy -= speed;
+                        break;
+                    case "down":
+                        worldy += speed;
+                        break;
+                    case "left":
+                        worldx -= speed;
+                        break;
+                    case "right":
+                        worldx += speed;
+                        break;
+                }
+            }
+
+            spriteCounter++;
+            if (spriteCounter > 10) {
+                if (spriteNum == 1){
+                    spriteNum = 2;
+                }
+                else if (spriteNum == 2) {
+                    spriteNum = 3;
+                }
+                else if (spriteNum == 3 ){
+                    spriteNum = 1;
+                }
+                spriteCounter = 0;
+            }
+
+
+            if(invincible == true) {
+                invincibleCounter++;
+                if(invincibleCounter > 40) {
+                    invincible = false;
+                    invincibleCounter = 0;
+                }
+            }
+
+        }
+
+        @Override
+        public BufferedImage currentImage() {
+            BufferedImage image = null;
+            switch(name) {
+                case "up":
+                    if(spriteNum == 1){
+                        image = up1;
+                    }
+                    if(spriteNum == 2){
+                        image = up2;
+                    }
+                    if(spriteNum == 3){
+                        image = up3;
+                    }
+                    break;
+                case "down":
+                    if(spriteNum == 1){
+                        image = down1;
+                    }
+                    if(spriteNum == 2){
+                        image = down2;
+                    }
+                    if(spriteNum == 3){
+                        image = down3;
+                    }
+                    break;
+                case "right":
+                    if(spriteNum == 1){
+                        image = right1;
+                    }
+                    if(spriteNum == 2){
+                        image = right2;
+                    }
+                    if(spriteNum == 3){
+                        image = right3;
+                    }
+                    break;
+                case "left":
+                    if(spriteNum == 1){
+                        image = left1;
+                    }
+                    if(spriteNum == 2){
+                        image = left2;
+                    }
+                    if(spriteNum == 3){
+                        image = left3;
+                    }
+                    break;
+            }
+            return image;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        GamePanel gp = new GamePanel(true);
+        BufferedImage[] frames = new BufferedImage[12];
+        for (int i = 0; i < frames.length; i++) {
+            frames[i] = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        }
+
+        current = new Entity[entities];
+        legacy = new LegacyEntity[entities];
+        for (int i = 0; i < entities; i++) {
+            int worldx = gp.tileSize * (2 + random.nextInt(gp.maxWorldCol - 4));
+            int worldy = gp.tileSize * (2 + random.nextInt(gp.maxWorldRow - 4));
+            Direction direction = Direction.of(random.nextInt(4));
+            int spriteNum = 1 + random.nextInt(3);
+
+            Entity e = new Entity(gp);
+            LegacyEntity l = new LegacyEntity(gp);
+            for (Entity target : new Entity[] {e, l}) {
+                target.worldx = worldx;
+                target.worldy = worldy;
+                target.speed = 4;
+                target.direction = direction;
+                target.spriteNum = spriteNum;
+                target.up1 = frames[0]; target.up2 = frames[1]; target.up3 = frames[2];
+                target.down1 = frames[3]; target.down2 = frames[4]; target.down3 = frames[5];
+                target.left1 = frames[6]; target.left2 = frames[7]; target.left3 = frames[8];
+                target.right1 = frames[9]; target.right2 = frames[10]; target.right3 = frames[11];
+            }
+            l.face(direction);
+            current[i] = e;
+            legacy[i] = l;
+        }
+    }
+
+    /** The old {@code update()}: string switch for the step. */
+    @Benchmark
+    public int legacyUpdate() {
+        int sum = 0;
+        for (LegacyEntity e : legacy) {
+            e.update();
+            e.face(e.direction.opposite());
+            sum += e.worldx;
+        }
+        return sum;
+    }
+
+    /** {@link Entity#update()}: the direction's unit step. */
+    @Benchmark
+    public int entityUpdate() {
+        int sum = 0;
+        for (Entity e : current) {
+            e.update();
+            e.direction = e.direction.opposite();
+            sum += e.worldx;
+        }
+        return sum;
+    }
+
+    /** The old sprite lookup: string switch, then an {@code if} per frame. */
+    @Benchmark
+    public int legacySpriteLookup() {
+        int sum = 0;
+        for (LegacyEntity e : legacy) {
+            sum += e.currentImage().getWidth();
+        }
+        return sum;
+    }
+
+    /** {@link Entity#currentImage()}: one lookup in the per-direction sprite index. */
+    @Benchmark
+    public int spriteLookup() {
+        int sum = 0;
+        for (Entity e : current) {
+            sum += e.currentImage().getWidth();
+        }
+        return sum;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DirectionBenchmark.class.getSimpleName()).build()).run();
+    }
+}
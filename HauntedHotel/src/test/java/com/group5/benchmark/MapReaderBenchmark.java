@@ -0,0 +1,141 @@
+package com.group5.benchmark;
+
+import com.group5.tile.MapReader;
+import com.group5.tile.TileGrid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures map parsing: the old loader, which split every line once per column, against
+ * {@link MapReader}, for the game's map size and three larger square maps. {@code mapReaderFile}
+ * reads the same map from a file, to compare parsing with plain I/O.
+ * <p>
+ * {@code splitPerColumn} grows with the square of the line length and takes tens of seconds
+ * per call at 1000x1000; leave that size out with {@code -p size=70x30,250x250,500x500} when
+ * running it.
+ * </p>
+ * <p>
+ * Run with {@code mvn test-compile} followed by this class's {@link #main(String[])} on the
+ * test classpath, for example from the IDE. Surefire does not pick up benchmarks.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapReaderBenchmark {
+
+    /** Map size as {@code cols x rows}. */
+    @Param({"70x30", "250x250", "500x500", "1000x1000"})
+    public String size;
+
+    private int cols, rows;
+    private byte[] text;
+    private Path file;
+    private int[][] tiles;
+    private TileGrid grid;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        String[] parts = size.split("x");
+        cols = Integer.parseInt(parts[0]);
+        rows = Integer.parseInt(parts[1]);
+
+        Random random = new Random(7);
+        StringBuilder sb = new StringBuilder();
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                if (col > 0) {
+                    sb.append(' ');
+                }
+                sb.append(random.nextInt(32));
+            }
+            sb.append('\n');
+        }
+        text = sb.toString().getBytes(StandardCharsets.US_ASCII);
+        file = Files.createTempFile("map", ".txt");
+        Files.write(file, text);
+        tiles = new int[cols][rows];
+        grid = new TileGrid(cols, rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /** The old loader: {@code line.split(" ")} inside the column loop, so each line is split once per column. */
+    @Benchmark
+    public int[][] splitPerColumn() throws IOException {
+        BufferedReader br = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(text)));
+        for (int row = 0; row < rows; row++) {
+            String line = br.readLine();
+            for (int col = 0; col < cols; col++) {
+                String[] numbers = line.split(" ");
+                tiles[col][row] = Integer.parseInt(numbers[col]);
+            }
+        }
+        return tiles;
+    }
+
+    /** The old loader with the split hoisted out of the column loop. */
+    @Benchmark
+    public int[][] splitPerLine() throws IOException {
+        BufferedReader br = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(text)));
+        for (int row = 0; row < rows; row++) {
+            String[] numbers = br.readLine().split(" ");
+            for (int col = 0; col < cols; col++) {
+                tiles[col][row] = Integer.parseInt(numbers[col]);
+            }
+        }
+        return tiles;
+    }
+
+    /** {@link MapReader} parsing from memory. */
+    @Benchmark
+    public TileGrid mapReader() throws IOException {
+        MapReader.read(Channels.newChannel(new ByteArrayInputStream(text)), grid);
+        return grid;
+    }
+
+    /** {@link MapReader} reading from a file channel. */
+    @Benchmark
+    public TileGrid mapReaderFile() throws IOException {
+        try (FileChannel channel = FileChannel.open(file)) {
+            MapReader.read(channel, grid);
+        }
+        return grid;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MapReaderBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,127 @@
+package com.group5.benchmark;
+
+import com.group5.entity.Entity;
+import com.group5.main.GamePanel;
+import com.group5.monster.MyersEnemy;
+import com.group5.tile.CollisionMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one update's path planning for eight monsters, planned one after another and on a
+ * parallel stream: chasing the player, which is a flow-field lookup per monster, and walking
+ * to goals elsewhere on the map, which runs an A* search per monster.
+ * <p>
+ * Run with {@code mvn test-compile} followed by this class's {@link #main(String[])} on the
+ * test classpath, for example from the IDE. Surefire does not pick up benchmarks.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathPlanningBenchmark {
+
+    /** Number of monsters planning, twice the game's parallel threshold. */
+    private static final int MONSTERS = 8;
+
+    private GamePanel gp;
+    private final List<Entity> planners = new ArrayList<>();
+    private final List<int[]> open = new ArrayList<>();
+    private int round = 0;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        gp = new GamePanel(true);
+        gp.currentMap = 1;
+        gp.tileM.enterMap(1);
+        gp.player.worldx = gp.tileSize * 35;
+        gp.player.worldy = gp.tileSize * 15;
+        gp.getPlayerFlowField();
+        gp.tileM.getPathGraph(1);
+
+        CollisionMap collision = gp.tileM.getCollisionMap(1);
+        for (int col = 2; col < gp.maxWorldCol - 2; col += 3) {
+            for (int row = 2; row < gp.maxWorldRow - 2; row += 3) {
+                if (!collision.isSolid(col, row)) {
+                    open.add(new int[] {col, row});
+                }
+            }
+        }
+        for (int i = 0; i < MONSTERS; i++) {
+            int[] start = open.get(i * open.size() / MONSTERS);
+            MyersEnemy m = new MyersEnemy(gp);
+            m.worldx = start[0] * gp.tileSize;
+            m.worldy = start[1] * gp.tileSize;
+            planners.add(m);
+        }
+    }
+
+    @Benchmark
+    public long serialChase() {
+        gp.updateCount++;
+        for (Entity m : planners) {
+            m.planPath();
+        }
+        return gp.updateCount;
+    }
+
+    @Benchmark
+    public long parallelChase() {
+        gp.updateCount++;
+        planners.parallelStream().forEach(Entity::planPath);
+        return gp.updateCount;
+    }
+
+    @Benchmark
+    public int serialSearch() {
+        int goal = nextGoal();
+        int found = 0;
+        for (Entity m : planners) {
+            found += search(m, goal);
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int parallelSearch() {
+        int goal = nextGoal();
+        return planners.parallelStream().mapToInt(m -> search(m, goal)).sum();
+    }
+
+    /** Picks a new goal each update so every monster's cached path is replanned. */
+    private int nextGoal() {
+        gp.updateCount++;
+        round = (round + 7) % open.size();
+        return round;
+    }
+
+    private int search(Entity m, int goal) {
+        int[] g = open.get(goal);
+        int col = m.worldx / gp.tileSize;
+        int row = m.worldy / gp.tileSize;
+        return m.nextPathStep(col, row, g[0], g[1]) ? 1 : 0;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PathPlanningBenchmark.class.getSimpleName()).build()).run();
+    }
+}
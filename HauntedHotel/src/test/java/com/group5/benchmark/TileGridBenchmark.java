@@ -0,0 +1,167 @@
+package com.group5.benchmark;
+
+import com.group5.tile.CollisionMap;
+import com.group5.tile.Tile;
+import com.group5.tile.TileGrid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures tile lookups in the old {@code int[col][row]} jagged array against {@link TileGrid},
+ * for the game's map size and a large square map: a scan in drawing order (row by row), random
+ * lookups as collision probes make them, and building the solid bits of a
+ * {@link CollisionMap}.
+ * <p>
+ * Run with {@code mvn test-compile} followed by this class's {@link #main(String[])} on the
+ * test classpath, for example from the IDE. Surefire does not pick up benchmarks.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TileGridBenchmark {
+
+    /** Map size as {@code cols x rows}. */
+    @Param({"70x30", "1000x1000"})
+    public String size;
+
+    /** Number of lookups per random-access invocation. */
+    private static final int PROBES = 4096;
+
+    private int cols, rows;
+    private int[][] jagged;
+    private TileGrid grid;
+    private Tile[] tiles;
+    private int[] probeCols, probeRows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] parts = size.split("x");
+        cols = Integer.parseInt(parts[0]);
+        rows = Integer.parseInt(parts[1]);
+
+        Random random = new Random(7);
+        jagged = new int[cols][rows];
+        grid = new TileGrid(cols, rows);
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                int tile = random.nextInt(32);
+                jagged[col][row] = tile;
+                grid.set(col, row, tile);
+            }
+        }
+
+        tiles = new Tile[32];
+        for (int i = 0; i < tiles.length; i++) {
+            tiles[i] = new Tile();
+            tiles[i].collision = i % 3 == 0;
+        }
+
+        probeCols = new int[PROBES];
+        probeRows = new int[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probeCols[i] = random.nextInt(cols);
+            probeRows[i] = random.nextInt(rows);
+        }
+    }
+
+    /** Row-by-row scan of the jagged array, the order tiles are drawn in. */
+    @Benchmark
+    public long scanJagged() {
+        long sum = 0;
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                sum += jagged[col][row];
+            }
+        }
+        return sum;
+    }
+
+    /** Row-by-row scan of the grid by column and row. */
+    @Benchmark
+    public long scanGrid() {
+        long sum = 0;
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                sum += grid.get(col, row);
+            }
+        }
+        return sum;
+    }
+
+    /** Row-by-row scan of the grid walking one index. */
+    @Benchmark
+    public long scanGridIndex() {
+        long sum = 0;
+        int count = cols * rows;
+        for (int i = 0; i < count; i++) {
+            sum += grid.get(i);
+        }
+        return sum;
+    }
+
+    /** Random lookups in the jagged array. */
+    @Benchmark
+    public long randomJagged() {
+        long sum = 0;
+        for (int i = 0; i < PROBES; i++) {
+            sum += jagged[probeCols[i]][probeRows[i]];
+        }
+        return sum;
+    }
+
+    /** Random lookups in the grid. */
+    @Benchmark
+    public long randomGrid() {
+        long sum = 0;
+        for (int i = 0; i < PROBES; i++) {
+            sum += grid.get(probeCols[i], probeRows[i]);
+        }
+        return sum;
+    }
+
+    /** The solid bits built from the jagged array, as the old collision map build did. */
+    @Benchmark
+    public long[] collisionJagged() {
+        long[] bits = new long[(cols * rows + 63) >>> 6];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                int tileNum = jagged[col][row];
+                if (tileNum < tiles.length && tiles[tileNum] != null && tiles[tileNum].collision) {
+                    int i = row * cols + col;
+                    bits[i >>> 6] |= 1L << i;
+                }
+            }
+        }
+        return bits;
+    }
+
+    /** {@link CollisionMap#build} from the grid. */
+    @Benchmark
+    public CollisionMap collisionGrid() {
+        return CollisionMap.build(grid, tiles, 0);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TileGridBenchmark.class.getSimpleName()).build()).run();
+    }
+}
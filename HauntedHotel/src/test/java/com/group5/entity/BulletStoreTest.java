@@ -0,0 +1,142 @@
+package com.group5.entity;
+
+import com.group5.main.GamePanel;
+import com.group5.monster.Enemy_Santa;
+import com.group5.monster.Mon_Boss;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for {@link BulletStore}.
+ */
+public class BulletStoreTest {
+
+    private GamePanel gp;
+    private BulletStore store;
+
+    @BeforeEach
+    void setUp() {
+        gp = new GamePanel(true);
+        gp.gameState = gp.playState;
+        gp.player.worldx = 0;
+        gp.player.worldy = 0;
+        store = new BulletStore(gp, 4);
+    }
+
+    @Test
+    void testBulletsMoveAndExpire() {
+        store.spawn(BulletStore.FIREBALL, 1000, 1000, 3, -2, 2, BulletStore.OWNER_MONSTER);
+        store.update();
+        assertEquals(1, store.size());
+        assertEquals(1003f, store.getX(0));
+        assertEquals(998f, store.getY(0));
+        assertEquals(1, store.getLife(0));
+
+        store.update();
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void testExpiredBulletsAreSwapRemoved() {
+        store.spawn(BulletStore.FIREBALL, 1000, 1000, 0, 0, 1, BulletStore.OWNER_MONSTER);
+        store.spawn(BulletStore.FIREBALL, 2000, 1000, 0, 0, 5, BulletStore.OWNER_MONSTER);
+        store.spawn(BulletStore.FIREBALL, 3000, 1000, 0, 0, 1, BulletStore.OWNER_MONSTER);
+        store.spawn(BulletStore.FIREBALL, 4000, 1000, 0, 0, 5, BulletStore.OWNER_MONSTER);
+        store.update();
+
+        assertEquals(2, store.size());
+        float a = store.getX(0), b = store.getX(1);
+        assertEquals(6000f, a + b);
+        assertTrue(a == 2000f || a == 4000f);
+    }
+
+    @Test
+    void testStoreGrowsPastInitialCapacity() {
+        for (int i = 0; i < 10_000; i++) {
+            store.spawn(BulletStore.SNOWBALL, 5000 + i % 100, 2000, 1, 0, 60, BulletStore.OWNER_MONSTER);
+        }
+        assertEquals(10_000, store.size());
+        assertTrue(store.capacity() >= 10_000);
+
+        store.update();
+        assertEquals(10_000, store.size());
+        assertEquals(5001f, store.getX(0));
+    }
+
+    @Test
+    void testMonsterBulletHitsPlayerOnce() {
+        int life = gp.player.life;
+        store.spawn(BulletStore.FIREBALL, 0, 0, 0, 0, 60, BulletStore.OWNER_MONSTER);
+        store.spawn(BulletStore.FIREBALL, 10, 10, 0, 0, 60, BulletStore.OWNER_MONSTER);
+        store.update();
+
+        assertEquals(life - 2, gp.player.life);
+        assertTrue(gp.player.invincible);
+        assertEquals(1, store.getHits());
+        assertEquals(1, store.size(), "The second bullet passes through while the player is invincible");
+    }
+
+    @Test
+    void testOnlyMonsterBulletsHitThePlayer() {
+        int life = gp.player.life;
+        store.spawn(BulletStore.FIREBALL, 0, 0, 0, 0, 60, 1);
+        store.update();
+
+        assertEquals(life, gp.player.life);
+        assertEquals(0, store.getHits());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void testPlayerBulletsHitMonsters() {
+        Enemy_Santa santa = new Enemy_Santa(gp);
+        santa.worldx = 2000;
+        santa.worldy = 2000;
+        gp.monster[gp.currentMap][0] = santa;
+        int life = santa.life;
+
+        store.spawn(BulletStore.FIREBALL, 2000, 2000, 0, 0, 60, BulletStore.OWNER_PLAYER);
+        store.spawn(BulletStore.FIREBALL, 2000, 2000, 0, 0, 60, BulletStore.OWNER_MONSTER);
+        store.update();
+
+        assertEquals(life - 1, santa.life);
+        assertTrue(santa.invincible);
+        assertEquals(1, store.getHits());
+        assertEquals(1, store.size(), "monster bullets pass through monsters");
+    }
+
+    @Test
+    void testMonstersFireIntoTheStoreWhenEnabled() {
+        gp.storeMonsterShots = true;
+        Mon_Boss boss = new Mon_Boss(gp);
+        boss.worldx = gp.tileSize * 10;
+        boss.worldy = gp.tileSize * 10;
+        boss.direction = Direction.LEFT;
+        gp.player.worldx = gp.tileSize * 60;
+        gp.player.worldy = gp.tileSize * 25;
+
+        // the boss fires on four rolls in five once its cooldown is up
+        while (gp.bullets.size() == 0) {
+            boss.shotAvailableCounter = 30;
+            boss.setAction();
+        }
+        assertTrue(gp.projectileList.isEmpty());
+
+        float x = gp.bullets.getX(0);
+        gp.bullets.update();
+        assertEquals(x - boss.projectile.speed, gp.bullets.getX(0));
+        assertEquals(boss.projectile.maxLife - 1, gp.bullets.getLife(0));
+    }
+
+    @Test
+    void testGameUpdateAdvancesBullets() {
+        gp.bullets.spawn(BulletStore.SNOWBALL, 4000, 2000, 2, 0, 10, BulletStore.OWNER_MONSTER);
+        gp.update();
+        assertEquals(4002f, gp.bullets.getX(0));
+
+        gp.restart();
+        assertEquals(0, gp.bullets.size());
+    }
+}
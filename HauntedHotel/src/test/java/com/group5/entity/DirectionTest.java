@@ -0,0 +1,40 @@
+package com.group5.entity;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for {@link Direction}.
+ */
+public class DirectionTest {
+
+    @Test
+    void testUnitSteps() {
+        assertEquals(0, Direction.UP.dx);
+        assertEquals(-1, Direction.UP.dy);
+        assertEquals(0, Direction.DOWN.dx);
+        assertEquals(1, Direction.DOWN.dy);
+        assertEquals(-1, Direction.LEFT.dx);
+        assertEquals(0, Direction.LEFT.dy);
+        assertEquals(1, Direction.RIGHT.dx);
+        assertEquals(0, Direction.RIGHT.dy);
+    }
+
+    @Test
+    void testOppositeCancelsStep() {
+        for (Direction d : Direction.values()) {
+            assertNotEquals(d, d.opposite());
+            assertEquals(d, d.opposite().opposite());
+            assertEquals(0, d.dx + d.opposite().dx);
+            assertEquals(0, d.dy + d.opposite().dy);
+        }
+    }
+
+    @Test
+    void testOfFollowsDeclarationOrder() {
+        for (Direction d : Direction.values()) {
+            assertSame(d, Direction.of(d.ordinal()));
+        }
+    }
+}
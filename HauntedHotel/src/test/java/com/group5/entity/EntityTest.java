@@ -39,7 +39,7 @@ class EntityTest {
 
     @Test
     void testUpdateMovesEntity() {
-        e.direction = "right";
+        e.direction = Direction.RIGHT;
         e.speed = 5;
         e.update();
         assertTrue(e.worldx >= 0);
@@ -69,9 +69,9 @@ class EntityTest {
 
     @Test
     void testDyingAnimationEndsLife() {
-        Graphics2D g2 = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB).createGraphics();
+        e.dying = true;
         e.dyingCounter = 50;
-        e.dyingAnimation(g2);
+        e.updateEffects();
         assertFalse(e.alive);
     }
 
@@ -91,8 +91,8 @@ class EntityTest {
     @Test
     void testUpdateCoversAllDirections() {
         e.speed = 2;
-        String[] dirs = {"up","down","left","right"};
-        for (String d : dirs) {
+        Direction[] dirs = {Direction.UP,Direction.DOWN,Direction.LEFT,Direction.RIGHT};
+        for (Direction d : dirs) {
             e.direction = d;
             e.collisionOn = false;
             e.update();
@@ -143,10 +143,10 @@ class EntityTest {
 
         e.up1 = e.down1 = e.left1 = e.right1 = new BufferedImage(10,10,BufferedImage.TYPE_INT_ARGB);
 
-        e.direction = "up";    e.spriteNum = 1; e.draw(g2);
-        e.direction = "down";  e.spriteNum = 2; e.draw(g2);
-        e.direction = "left";  e.spriteNum = 3; e.draw(g2);
-        e.direction = "right"; e.spriteNum = 1; e.draw(g2);
+        e.direction = Direction.UP;    e.spriteNum = 1; e.draw(g2);
+        e.direction = Direction.DOWN;  e.spriteNum = 2; e.draw(g2);
+        e.direction = Direction.LEFT;  e.spriteNum = 3; e.draw(g2);
+        e.direction = Direction.RIGHT; e.spriteNum = 1; e.draw(g2);
 
         // hp bar section
         e.type = 2; e.hpBarOn = true; e.life = 5; e.maxLife = 10;
@@ -178,7 +178,10 @@ class EntityTest {
         e.life = 5;
         e.draw(g2);
 
-        // after draw(), hpBarOn should now be false
+        // drawing leaves the timers alone; the simulation step resets the bar
+        assertTrue(e.hpBarOn);
+        assertEquals(601, e.hpBarCounter);
+        e.updateEffects();
         assertFalse(e.hpBarOn);
 
         // NPC text draw block
@@ -195,14 +198,36 @@ class EntityTest {
 
 
 
+    @Test
+    void testDrawLeavesDyingTimerToTheSimulation() {
+        Graphics2D g2 = new BufferedImage(200, 200, BufferedImage.TYPE_INT_ARGB).createGraphics();
+        e.worldx = gp.player.worldx;
+        e.worldy = gp.player.worldy;
+        e.dying = true;
+        e.invincible = true;
+        e.dyingCounter = 3;
+        e.draw(g2);
+        e.draw(g2);
+        assertEquals(3, e.dyingCounter);
+        assertFalse(e.hpBarOn);
+
+        e.updateEffects();
+        assertEquals(4, e.dyingCounter);
+        assertTrue(e.hpBarOn);
+    }
+
     @Test
     void testDyingAnimationAllFlashes() {
-        Graphics2D g2 = new BufferedImage(10,10,BufferedImage.TYPE_INT_ARGB).createGraphics();
-        for (int step = 0; step <= 35; step += 5) {
-            e.dyingCounter = step;
-            e.dyingAnimation(g2);
+        e.dying = true;
+        for (int blink = 0; blink < 6; blink++) {
+            for (int frame = 0; frame < Entity.DYING_BLINK; frame++) {
+                e.updateEffects();
+                assertEquals(blink % 2 == 0 ? 0f : 1f, e.currentAlpha(), "blink " + blink);
+                assertTrue(e.alive);
+            }
         }
-        assertFalse(e.alive); // becomes false after final branch
+        e.updateEffects();
+        assertFalse(e.alive); // removed after the sixth blink
     }
 
     @Test
@@ -271,8 +296,8 @@ class EntityTest {
         e.worldy = 100;
 
 
-        String[] dirs = {"up", "down", "left", "right"};
-        for (String dir : dirs) {
+        Direction[] dirs = {Direction.UP, Direction.DOWN, Direction.LEFT, Direction.RIGHT};
+        for (Direction dir : dirs) {
             int oldX = e.worldx;
             int oldY = e.worldy;
             e.direction = dir;
@@ -282,14 +307,14 @@ class EntityTest {
             e.update();
 
             switch (dir) {
-                case "up" -> assertTrue(e.worldy < oldY, "Expected movement up");
-                case "down" -> assertTrue(e.worldy > oldY, "Expected movement down");
-                case "left" -> assertTrue(e.worldx < oldX, "Expected movement left");
-                case "right" -> assertTrue(e.worldx > oldX, "Expected movement right");
+                case UP -> assertTrue(e.worldy < oldY, "Expected movement up");
+                case DOWN -> assertTrue(e.worldy > oldY, "Expected movement down");
+                case LEFT -> assertTrue(e.worldx < oldX, "Expected movement left");
+                case RIGHT -> assertTrue(e.worldx > oldX, "Expected movement right");
             }
         }
 
-        e.direction = "up";
+        e.direction = Direction.UP;
         e.collisionOn = true;
         int prevX = e.worldx;
         int prevY = e.worldy;
@@ -323,7 +348,7 @@ class EntityTest {
             new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB);
 
         // Test all directions and spriteNum values
-        for (String dir : new String[]{"up","down","left","right"}) {
+        for (Direction dir : new Direction[]{Direction.UP,Direction.DOWN,Direction.LEFT,Direction.RIGHT}) {
             e.direction = dir;
             for (int sn = 1; sn <= 3; sn++) {
                 e.spriteNum = sn;
@@ -413,7 +438,7 @@ class EntityTest {
         e.worldy = gp.player.worldy;
         e.up1 = e.down1 = e.left1 = e.right1 = new BufferedImage(10,10,BufferedImage.TYPE_INT_ARGB);
 
-        for (String d : new String[]{"up","down","left","right"}) {
+        for (Direction d : new Direction[]{Direction.UP,Direction.DOWN,Direction.LEFT,Direction.RIGHT}) {
             e.direction = d;
             e.spriteNum = 3;
             e.type = 2;
@@ -423,5 +448,34 @@ class EntityTest {
         }
     }
 
+    @Test
+    void testCurrentImageIsIndexedByDirectionAndFrame() {
+        BufferedImage[][] frames = new BufferedImage[4][3];
+        for (BufferedImage[] row : frames) {
+            for (int i = 0; i < 3; i++) {
+                row[i] = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+            }
+        }
+        e.up1 = frames[0][0]; e.up2 = frames[0][1]; e.up3 = frames[0][2];
+        e.down1 = frames[1][0]; e.down2 = frames[1][1]; e.down3 = frames[1][2];
+        e.left1 = frames[2][0]; e.left2 = frames[2][1]; e.left3 = frames[2][2];
+        e.right1 = frames[3][0]; e.right2 = frames[3][1]; e.right3 = frames[3][2];
+
+        for (Direction d : Direction.values()) {
+            e.direction = d;
+            for (int frame = 1; frame <= 3; frame++) {
+                e.spriteNum = frame;
+                assertSame(frames[d.ordinal()][frame - 1], e.currentImage(), d + " frame " + frame);
+            }
+        }
+        e.spriteNum = 4;
+        assertNull(e.currentImage());
 
+        // frames replaced after the first lookup show up once reindexed
+        BufferedImage replaced = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        e.right1 = replaced;
+        e.spriteNum = 1;
+        e.indexSprites();
+        assertSame(replaced, e.currentImage());
+    }
 }
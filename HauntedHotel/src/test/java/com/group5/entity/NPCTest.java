@@ -19,7 +19,7 @@ class NPCTest {
 
     @Test
     void testConstructorSetsDirectionAndDialogue() {
-        assertEquals("down", npc.direction);
+        assertEquals(Direction.DOWN, npc.direction);
         assertNotNull(npc.down1);
         assertTrue(npc.dialogues[0].contains("money"));
     }
@@ -63,10 +63,10 @@ class NPCTest {
             npc.setAction();
 
             switch (npc.direction) {
-                case "up":    up = true; break;
-                case "down":  down = true; break;
-                case "left":  left = true; break;
-                case "right": right = true; break;
+                case UP:    up = true; break;
+                case DOWN:  down = true; break;
+                case LEFT:  left = true; break;
+                case RIGHT: right = true; break;
             }
 
             // Break early if all covered
@@ -50,7 +50,7 @@ public class PlayerTest {
         gp.keyH.upPressed = true;
         int startY = player.worldy;
         player.update();
-        assertEquals("up", player.direction);
+        assertEquals(Direction.UP, player.direction);
         assertTrue(player.worldy < startY);
     }
 
@@ -59,7 +59,7 @@ public class PlayerTest {
         gp.keyH.downPressed = true;
         int startY = player.worldy;
         player.update();
-        assertEquals("down", player.direction);
+        assertEquals(Direction.DOWN, player.direction);
         assertTrue(player.worldy > startY);
     }
 
@@ -68,7 +68,7 @@ public class PlayerTest {
         gp.keyH.leftPressed = true;
         int startX = player.worldx;
         player.update();
-        assertEquals("left", player.direction);
+        assertEquals(Direction.LEFT, player.direction);
         assertTrue(player.worldx < startX);
     }
 
@@ -77,7 +77,7 @@ public class PlayerTest {
         gp.keyH.rightPressed = true;
         int startX = player.worldx;
         player.update();
-        assertEquals("right", player.direction);
+        assertEquals(Direction.RIGHT, player.direction);
         assertTrue(player.worldx > startX);
     }
 
@@ -188,6 +188,22 @@ public class PlayerTest {
     }
 
     // ---------------- DRAW ----------------
+    @Test
+    void testAttackReachesOneStepBeyondTheAttackArea() {
+        Entity monster = new Entity(gp);
+        monster.solidArea = new Rectangle(0, 0, 48, 48);
+        monster.life = 3;
+        // just inside the reach: attack area width past the solid area, plus one step
+        monster.worldx = player.worldx + player.solidArea.x + 2 * player.attackArea.width + player.speed - 1;
+        monster.worldy = player.worldy + player.solidArea.y;
+        gp.monster[gp.currentMap][0] = monster;
+
+        player.direction = Direction.RIGHT;
+        player.attacking = true;
+        player.update();
+        assertEquals(2, monster.life);
+    }
+
     @Test
     void testDrawDoesNotThrow() {
         Graphics2D g2 = (Graphics2D) new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).getGraphics();
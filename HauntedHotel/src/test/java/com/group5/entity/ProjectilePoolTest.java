@@ -0,0 +1,111 @@
+package com.group5.entity;
+
+import com.group5.main.GamePanel;
+import com.group5.monster.Mon_Boss;
+import com.group5.object.Obj_Snowball;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for {@link ProjectilePool} and the reuse of expired projectiles by
+ * {@link GamePanel#update()}.
+ */
+public class ProjectilePoolTest {
+
+    private GamePanel gp;
+
+    @BeforeEach
+    void setUp() {
+        gp = new GamePanel(true);
+        gp.gameState = gp.playState;
+    }
+
+    @Test
+    void testPoolIsFilledUpFront() {
+        ProjectilePool<Obj_Snowball> pool = new ProjectilePool<>(() -> new Obj_Snowball(gp), 3);
+        assertEquals(3, pool.getCreated());
+        assertEquals(3, pool.getFree());
+    }
+
+    @Test
+    void testReleasedProjectileIsReused() {
+        ProjectilePool<Obj_Snowball> pool = new ProjectilePool<>(() -> new Obj_Snowball(gp), 1);
+        Obj_Snowball first = pool.obtain();
+        assertEquals(0, pool.getFree());
+
+        first.release();
+        assertSame(first, pool.obtain());
+        assertEquals(1, pool.getCreated());
+    }
+
+    @Test
+    void testEmptyPoolGrows() {
+        ProjectilePool<Obj_Snowball> pool = new ProjectilePool<>(() -> new Obj_Snowball(gp), 1);
+        Obj_Snowball a = pool.obtain();
+        Obj_Snowball b = pool.obtain();
+
+        assertNotSame(a, b);
+        assertEquals(2, pool.getCreated());
+        a.release();
+        b.release();
+        assertEquals(2, pool.getFree());
+    }
+
+    @Test
+    void testForeignProjectileIsIgnored() {
+        ProjectilePool<Obj_Snowball> pool = new ProjectilePool<>(() -> new Obj_Snowball(gp), 0);
+        pool.release(new Obj_Snowball(gp));
+        gp.fireballs.release(pool.obtain());
+
+        assertEquals(0, pool.getFree());
+        assertEquals(gp.fireballs.getCreated(), gp.fireballs.getFree());
+    }
+
+    @Test
+    void testUpdateUpdatesEveryProjectileOnceWhenOneExpires() {
+        Projectile dying = gp.snowballs.obtain();
+        dying.set(500, 500, Direction.UP, true, new Entity(gp));
+        dying.life = 1;
+        Projectile a = gp.snowballs.obtain();
+        a.set(600, 600, Direction.LEFT, true, new Entity(gp));
+        Projectile b = gp.snowballs.obtain();
+        b.set(700, 700, Direction.RIGHT, true, new Entity(gp));
+        gp.projectileList.add(dying);
+        gp.projectileList.add(a);
+        gp.projectileList.add(b);
+        int free = gp.snowballs.getFree();
+
+        gp.update();
+
+        assertEquals(600 - a.speed, a.worldx);
+        assertEquals(700 + b.speed, b.worldx);
+        assertEquals(2, gp.projectileList.size());
+        assertFalse(gp.projectileList.contains(dying));
+        assertEquals(free + 1, gp.snowballs.getFree());
+    }
+
+    @Test
+    void testBossFiringReusesPooledFireballs() {
+        Mon_Boss boss = new Mon_Boss(gp);
+        boss.worldx = gp.tileSize * 10;
+        boss.worldy = gp.tileSize * 10;
+        gp.player.worldx = gp.tileSize * 60;
+        gp.player.worldy = gp.tileSize * 25;
+        int created = gp.fireballs.getCreated();
+
+        // one shot chance every 30 frames, as the boss's cooldown allows
+        for (int frame = 0; frame < 600; frame++) {
+            boss.shotAvailableCounter = frame % 30 == 0 ? 30 : 0;
+            boss.setAction();
+            // keep the game running even if a stray fireball reaches the player
+            gp.player.life = gp.player.maxLife;
+            gp.gameState = gp.playState;
+            gp.update();
+        }
+
+        assertEquals(created, gp.fireballs.getCreated(), "steady firing should not allocate fireballs");
+        assertEquals(created, gp.fireballs.getFree() + gp.projectileList.size());
+    }
+}
@@ -27,14 +27,14 @@ class ProjectileTest {
 
     @Test
     void testSetValues() {
-        proj.set(10, 20, "up", true, gp.player);
+        proj.set(10, 20, Direction.UP, true, gp.player);
         assertEquals(10, proj.worldx);
         assertTrue(proj.alive);
     }
 
     @Test
     void testUpdateMovesUpAndDiesAfterLife() {
-        proj.set(100, 100, "up", true, gp.player);
+        proj.set(100, 100, Direction.UP, true, gp.player);
         for (int i = 0; i < 4; i++) proj.update();
         assertFalse(proj.alive);
     }
@@ -43,14 +43,14 @@ class ProjectileTest {
     void testUpdateMovesDownAndHitsMonster() {
         gp.monster[gp.currentMap][0] = new Entity(gp);
         gp.monster[gp.currentMap][0].life = 5;
-        proj.set(0, 0, "down", true, gp.player);
+        proj.set(0, 0, Direction.DOWN, true, gp.player);
         proj.update();
         assertTrue(true);
     }
 
     @Test
     void testEnemyProjectileHitsPlayerAndDies() {
-        proj.set(0, 0, "right", true, new Entity(gp));
+        proj.set(0, 0, Direction.RIGHT, true, new Entity(gp));
         gp.player.invincible = false;
         gp.player.worldx = 0;
         gp.player.worldy = 0;
@@ -61,7 +61,7 @@ class ProjectileTest {
 
     @Test
     void testProjectileMovesLeft() {
-        proj.set(100, 100, "left", true, gp.player);
+        proj.set(100, 100, Direction.LEFT, true, gp.player);
         int before = proj.worldx;
         proj.update();
         assertTrue(proj.worldx < before);
@@ -69,7 +69,7 @@ class ProjectileTest {
 
     @Test
     void testEnemyProjectileWhenPlayerIsInvincible_NoDamage() {
-        proj.set(0, 0, "right", true, new Entity(gp));
+        proj.set(0, 0, Direction.RIGHT, true, new Entity(gp));
 
         gp.player.invincible = true;   // ✅ this makes the condition false
         gp.player.worldx = 0;
@@ -82,14 +82,13 @@ class ProjectileTest {
     }
 
     @Test
-    void testProjectileWithInvalidDirection_DefaultCase() {
-        proj.set(50, 50, "diagonal", true, gp.player); // direction not in switch
-        int beforeX = proj.worldx;
-        int beforeY = proj.worldy;
-        proj.update();
-        // No movement happens, so coords unchanged
-        assertEquals(beforeX, proj.worldx);
-        assertEquals(beforeY, proj.worldy);
+    void testProjectileMovesAlongEveryDirection() {
+        for (Direction d : Direction.values()) {
+            proj.set(2000, 2000, d, true, gp.player);
+            proj.update();
+            assertEquals(2000 + d.dx * proj.speed, proj.worldx);
+            assertEquals(2000 + d.dy * proj.speed, proj.worldy);
+        }
     }
 
 
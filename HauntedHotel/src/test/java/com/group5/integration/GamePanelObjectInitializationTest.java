@@ -25,6 +25,13 @@ public class GamePanelObjectInitializationTest {
     void testSetupGame_initializesObjectsNPCsAndMonsters() {
         gp.setupGame(); // <- Integration entry point
 
+        // only the starting map is populated; the others are populated when first entered
+        assertNull(gp.obj[1][0], "Map 1 should stay empty until it is entered");
+        assertNull(gp.monster[1][0], "Map 1 should stay empty until it is entered");
+        for (int map = 1; map <= 3; map++) {
+            gp.enterMap(map);
+        }
+
         // MAP 0 : Chest Key
         Entity chestKey = gp.obj[0][0];
         assertNotNull(chestKey, "Map 0 should have a chest key at index 0");
@@ -57,4 +64,18 @@ public class GamePanelObjectInitializationTest {
         assertNotNull(gp.monster[2][0], "Enemy_Santa should spawn on map 2");
         assertNotNull(gp.monster[3][0], "Mon_Boss should spawn on map 3");
     }
+
+    @Test
+    void testEnteringAMapAgainKeepsItsEntities() {
+        gp.setupGame();
+        gp.enterMap(1);
+        Entity myers = gp.monster[1][0];
+        gp.obj[1][0] = null; // key picked up
+
+        gp.enterMap(0);
+        gp.enterMap(1);
+
+        assertSame(myers, gp.monster[1][0], "Entering a map again should not respawn its monsters");
+        assertNull(gp.obj[1][0], "Picked up items should stay picked up");
+    }
 }
@@ -0,0 +1,68 @@
+package com.group5.integration;
+
+import com.group5.main.GamePanel;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HeadlessSimulationTest {
+
+    GamePanel gp;
+
+    @BeforeEach
+    void setup() {
+        gp = new GamePanel(true);
+        gp.setupGame();
+        gp.gameState = gp.playState;
+    }
+
+    @Test
+    void testHeadlessSkipsImageDecoding() {
+        assertTrue(gp.headless);
+        assertNull(gp.tileM.tile[0].image, "Tiles should not be decoded in headless mode");
+        assertNull(gp.player.down1, "Player sprites should not be decoded in headless mode");
+        gp.enterMap(1);
+        assertNull(gp.monster[1][0].down1, "Monster sprites should not be decoded in headless mode");
+    }
+
+    @Test
+    void testHeadlessKeepsTileCollision() {
+        assertTrue(gp.tileM.tile[0].collision);
+        assertFalse(gp.tileM.tile[2].collision);
+    }
+
+    @Test
+    void testSimulateRunsMonstersAndPathfinding() {
+        gp.enterMap(1);
+        int startX = gp.monster[1][0].worldx;
+        int startY = gp.monster[1][0].worldy;
+
+        gp.simulate(120);
+
+        assertNotNull(gp.monster[1][0]);
+        assertTrue(gp.monster[1][0].worldx != startX || gp.monster[1][0].worldy != startY,
+                "Myers should chase the player during a headless simulation");
+    }
+
+    @Test
+    void testSimulateSoakAllMaps() {
+        for (int map = 0; map < 4; map++) {
+            gp.enterMap(map);
+            final int current = map;
+            assertDoesNotThrow(() -> gp.simulate(600), "Simulation failed on map " + current);
+            gp.gameState = gp.playState;
+        }
+    }
+
+    @Test
+    void testPickupDoesNotNeedAudio() {
+        gp.enterMap(0);
+        gp.player.worldx = gp.obj[0][0].worldx;
+        gp.player.worldy = gp.obj[0][0].worldy;
+
+        assertDoesNotThrow(() -> gp.player.pickUpObject(0));
+        assertEquals(1, gp.player.hasKey);
+    }
+}
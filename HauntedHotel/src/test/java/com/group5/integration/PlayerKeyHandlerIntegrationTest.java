@@ -1,5 +1,6 @@
 package com.group5.integration;
 
+import com.group5.entity.Direction;
 import com.group5.main.TestGamePanel;
 import com.group5.main.KeyHandler;
 import com.group5.entity.Player;
@@ -57,7 +58,7 @@ public class PlayerKeyHandlerIntegrationTest {
         // GamePanel update SHOULD call player.update()
         gp.update();
 
-        assertEquals("right", player.direction, "Direction should be set by KeyHandler");
+        assertEquals(Direction.RIGHT, player.direction, "Direction should be set by KeyHandler");
         assertTrue(player.worldx > startX, "Player should move right when D is pressed");
     }
 
@@ -68,7 +69,7 @@ public class PlayerKeyHandlerIntegrationTest {
         keyH.leftPressed = true;
         gp.update();
 
-        assertEquals("left", player.direction);
+        assertEquals(Direction.LEFT, player.direction);
         assertTrue(player.worldx < startX);
     }
 
@@ -79,7 +80,7 @@ public class PlayerKeyHandlerIntegrationTest {
         keyH.upPressed = true;
         gp.update();
 
-        assertEquals("up", player.direction);
+        assertEquals(Direction.UP, player.direction);
         assertTrue(player.worldy < startY);
     }
 
@@ -90,7 +91,7 @@ public class PlayerKeyHandlerIntegrationTest {
         keyH.downPressed = true;
         gp.update();
 
-        assertEquals("down", player.direction);
+        assertEquals(Direction.DOWN, player.direction);
         assertTrue(player.worldy > startY);
     }
 
@@ -1,5 +1,6 @@
 package com.group5.integration;
 
+import com.group5.entity.Direction;
 import com.group5.main.GamePanel;
 import com.group5.monster.Enemy_Santa;
 import com.group5.monster.Mon_Boss;
@@ -34,9 +35,9 @@ public class PlayerTileCollisionIntegrationTest {
 
         // force the tile above player to be a collision tile
         gp.tileM.tile[18].collision = true;  
-        gp.tileM.mapTilenum[0][5][4] = 18;   
+        gp.tileM.setTile(0, 5, 4, 18);
 
-        gp.player.direction = "up";
+        gp.player.direction = Direction.UP;
 
         int beforeX = gp.player.worldx;
         int beforeY = gp.player.worldy;
@@ -57,9 +58,9 @@ public class PlayerTileCollisionIntegrationTest {
 
     // make tile above non colliding
     gp.tileM.tile[17].collision = false; // floor tile
-    gp.tileM.mapTilenum[0][5][4] = 17;
+    gp.tileM.setTile(0, 5, 4, 17);
 
-    gp.player.direction = "up";
+    gp.player.direction = Direction.UP;
     gp.keyH.upPressed = true;
 
     int beforeY = gp.player.worldy;
@@ -77,7 +78,7 @@ public class PlayerTileCollisionIntegrationTest {
     gp.player.worldx = gp.tileSize * 5;
     gp.player.worldy = 0;
 
-    gp.player.direction = "up";
+    gp.player.direction = Direction.UP;
 
     int beforeY = gp.player.worldy;
 
@@ -0,0 +1,115 @@
+package com.group5.main;
+
+import com.group5.tile.TileManager;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for {@link AssetLoader}: start-up preloading and teleport prefetching.
+ */
+public class AssetLoaderTest {
+
+    /** @return every sprite the loader knows about, in {@link SpriteCache#keys()} form */
+    private static Set<String> manifest(GamePanel gp, int... maps) {
+        Set<String> keys = new TreeSet<>();
+        for (String path : TileManager.tileImages()) {
+            keys.add(path + " " + gp.tileSize + "x" + gp.tileSize);
+        }
+        for (AssetLoader.Sprite sprite : AssetLoader.COMMON_SPRITES) {
+            keys.add(key(gp, sprite));
+        }
+        for (int map : maps) {
+            for (AssetLoader.Sprite sprite : AssetLoader.MAP_SPRITES.get(map)) {
+                keys.add(key(gp, sprite));
+            }
+        }
+        return keys;
+    }
+
+    private static String key(GamePanel gp, AssetLoader.Sprite sprite) {
+        return sprite.path() + " " + sprite.cols() * gp.tileSize + "x" + sprite.rows() * gp.tileSize;
+    }
+
+    @Test
+    void testPreloadDecodesEverySprite() throws InterruptedException {
+        GamePanel gp = new GamePanel();
+        assertTrue(gp.assets.awaitDone(30_000));
+        assertTrue(gp.assets.isDone());
+        assertEquals(1.0, gp.assets.getProgress());
+
+        Set<String> missing = manifest(gp, 0, 1, 2, 3);
+        missing.removeAll(SpriteCache.keys());
+        assertEquals(Set.of(), missing, "every listed sprite should exist and be decoded");
+    }
+
+    @Test
+    void testManifestCoversTheSpritesEachMapUses() throws InterruptedException {
+        SpriteCache.clear();
+        GamePanel gp = new GamePanel(false);
+        Set<String> used = new TreeSet<>(SpriteCache.keys());
+        used.removeAll(manifest(gp, 0, 1, 2, 3));
+        assertEquals(Set.of(), used, "sprites decoded at start-up but missing from AssetLoader");
+
+        for (int map = 0; map < gp.maxMap; map++) {
+            assertTrue(gp.assets.awaitDone(30_000));
+            Set<String> before = SpriteCache.keys();
+            gp.enterMap(map);
+            Set<String> added = new TreeSet<>(SpriteCache.keys());
+            added.removeAll(before);
+            assertEquals(Set.of(), added, "entering map " + map + " decoded sprites the loader did not");
+        }
+    }
+
+    @Test
+    void testWalkingTowardAnOpenTeleportPrefetchesItsMap() throws InterruptedException {
+        GamePanel gp = new GamePanel(true);
+        gp.setupGame();
+        gp.gameState = gp.playState;
+        assertFalse(gp.tileM.isResident(1));
+
+        // three tiles from the lobby's teleport to the Myers map, without the key it needs
+        gp.player.worldx = gp.tileSize * 4;
+        gp.player.worldy = gp.tileSize * 7;
+        gp.eHandler.checkEvent();
+        assertEquals(0, gp.assets.getPrefetches());
+
+        gp.player.hasKey = 1;
+        gp.eHandler.checkEvent();
+        gp.eHandler.checkEvent();
+        assertTrue(gp.assets.awaitDone(10_000));
+        assertEquals(1, gp.assets.getPrefetches(), "a map is prefetched once per approach");
+        assertTrue(gp.tileM.isResident(1));
+
+        int loads = gp.tileM.getLoads();
+        gp.eHandler.teleport(1, 40, 7);
+        assertEquals(1, gp.currentMap);
+        assertEquals(loads, gp.tileM.getLoads(), "the teleport should not read the map again");
+        assertNotNull(gp.monster[1][0]);
+
+        gp.eHandler.checkEvent();
+        assertEquals(1, gp.assets.getPrefetches(), "the lobby is still resident");
+    }
+
+    @Test
+    void testFarFromTeleportsNothingIsPrefetched() {
+        GamePanel gp = new GamePanel(true);
+        gp.setupGame();
+        gp.player.hasKey = 3;
+        gp.player.worldx = gp.tileSize * 30;
+        gp.player.worldy = gp.tileSize * 20;
+
+        gp.eHandler.checkEvent();
+        assertEquals(0, gp.assets.getPrefetches());
+    }
+
+    @Test
+    void testHeadlessLoaderHasNothingToPreload() {
+        GamePanel gp = new GamePanel(true);
+        assertTrue(gp.assets.isDone());
+        assertEquals(1.0, gp.assets.getProgress());
+    }
+}
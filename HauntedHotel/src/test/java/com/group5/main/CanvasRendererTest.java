@@ -0,0 +1,159 @@
+package com.group5.main;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.BufferCapabilities;
+import java.awt.Graphics;
+import java.awt.ImageCapabilities;
+import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for {@link CanvasRenderer} and the rendering backend selection in {@link GamePanel}.
+ */
+public class CanvasRendererTest {
+
+    /** A strategy drawing into an image that loses its contents a given number of times. */
+    private static class FakeStrategy extends BufferStrategy {
+        final BufferedImage image;
+        int draws, shows, restores, losses;
+
+        FakeStrategy(BufferedImage image) {
+            this.image = image;
+        }
+
+        @Override
+        public BufferCapabilities getCapabilities() {
+            return new BufferCapabilities(new ImageCapabilities(false), new ImageCapabilities(false), null);
+        }
+
+        @Override
+        public Graphics getDrawGraphics() {
+            draws++;
+            return image.createGraphics();
+        }
+
+        @Override
+        public boolean contentsLost() {
+            return losses-- > 0;
+        }
+
+        @Override
+        public boolean contentsRestored() {
+            return restores-- > 0;
+        }
+
+        @Override
+        public void show() {
+            shows++;
+        }
+    }
+
+    private GamePanel gp;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        gp = new GamePanel();
+        gp.setupGame();
+        gp.gameState = gp.playState;
+    }
+
+    private FakeStrategy strategy() {
+        return new FakeStrategy(new BufferedImage(gp.screenWidth, gp.screenHeight, BufferedImage.TYPE_INT_ARGB));
+    }
+
+    @Test
+    void testPresentDrawsLatestSnapshotAndShows() {
+        CanvasRenderer canvas = new CanvasRenderer(gp);
+        gp.update();
+        FakeStrategy strategy = strategy();
+
+        canvas.present(strategy);
+
+        assertEquals(1, strategy.draws);
+        assertEquals(1, strategy.shows);
+        assertFalse(gp.frames.hasFresh(), "The published frame was taken by the renderer");
+        assertEquals(1, canvas.getPresents());
+        assertEquals(0, canvas.getRedraws());
+        assertNotEquals(0, strategy.image.getRGB(gp.screenWidth / 2, gp.screenHeight / 2), "Something was drawn");
+    }
+
+    @Test
+    void testLostAndRestoredContentsAreDrawnAgain() {
+        CanvasRenderer canvas = new CanvasRenderer(gp);
+        FakeStrategy strategy = strategy();
+        strategy.restores = 1;
+        strategy.losses = 1;
+
+        canvas.present(strategy);
+
+        assertEquals(3, strategy.draws, "once, again after the restore, again after the loss");
+        assertEquals(2, strategy.shows);
+        assertEquals(2, canvas.getRedraws());
+    }
+
+    @Test
+    void testPresentLatencyIsMeasuredAroundShow() {
+        now = 0;
+        CanvasRenderer canvas = new CanvasRenderer(gp, () -> now);
+        FakeStrategy strategy = new FakeStrategy(new BufferedImage(gp.screenWidth, gp.screenHeight, BufferedImage.TYPE_INT_ARGB)) {
+            @Override
+            public void show() {
+                super.show();
+                now += shows * 1_000_000L;
+            }
+        };
+
+        canvas.present(strategy);
+        canvas.present(strategy);
+
+        assertEquals(2_000_000L, canvas.getLastPresentNanos());
+        assertEquals(2.0, canvas.getMaxPresentMillis(), 1e-9);
+        assertEquals(1.5, canvas.getAveragePresentMillis(), 1e-9);
+    }
+
+    @Test
+    void testPresentLatencyIsReportedToTheProfiler() {
+        now = 0;
+        CanvasRenderer canvas = new CanvasRenderer(gp, () -> now);
+        FakeStrategy strategy = new FakeStrategy(new BufferedImage(gp.screenWidth, gp.screenHeight, BufferedImage.TYPE_INT_ARGB)) {
+            @Override
+            public void show() {
+                super.show();
+                now += 3_000_000L;
+            }
+        };
+        gp.profiler.setEnabled(true);
+        gp.update();
+
+        canvas.present(strategy);
+
+        assertEquals(1, gp.profiler.getCount(FrameProfiler.Phase.PRESENT));
+        assertEquals(3_000_000L, gp.profiler.getLast(FrameProfiler.Phase.PRESENT));
+        assertEquals(1, gp.profiler.getCount(FrameProfiler.Phase.TILES), "one frame is committed once");
+    }
+
+    @Test
+    void testRenderWaitsUntilDisplayable() {
+        CanvasRenderer canvas = new CanvasRenderer(gp);
+        canvas.render();
+        assertEquals(0, canvas.getPresents());
+        assertFalse(canvas.isPageFlipping());
+    }
+
+    @Test
+    void testBackendSelection() {
+        assertEquals(GamePanel.RenderBackend.PANEL, GamePanel.parseBackend(null));
+        assertEquals(GamePanel.RenderBackend.PANEL, GamePanel.parseBackend("bogus"));
+        assertEquals(GamePanel.RenderBackend.CANVAS, GamePanel.parseBackend(" Canvas "));
+
+        assertNull(gp.getCanvas());
+        CanvasRenderer canvas = gp.createCanvas();
+        assertSame(canvas, gp.getCanvas());
+        assertTrue(canvas.getKeyListeners().length > 0, "Keys reach the game when the canvas has focus");
+    }
+}
@@ -1,8 +1,18 @@
 package com.group5.main;
 
+import com.group5.entity.Direction;
 import com.group5.entity.Entity;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import static org.junit.jupiter.api.Assertions.*;
 
 class CollisionCheckerTest {
@@ -19,10 +29,10 @@ class CollisionCheckerTest {
     void testCheckTileAllDirections() {
         Entity e = new Entity(gp);
         e.speed = 1;
-        e.direction = "up"; c.checkTile(e);
-        e.direction = "down"; c.checkTile(e);
-        e.direction = "left"; c.checkTile(e);
-        e.direction = "right"; c.checkTile(e);
+        e.direction = Direction.UP; c.checkTile(e);
+        e.direction = Direction.DOWN; c.checkTile(e);
+        e.direction = Direction.LEFT; c.checkTile(e);
+        e.direction = Direction.RIGHT; c.checkTile(e);
         assertTrue(true);
     }
 
@@ -45,8 +55,200 @@ class CollisionCheckerTest {
     @Test
     void testCheckPlayerCollision() {
         Entity e = new Entity(gp);
-        e.direction = "up";
+        e.direction = Direction.UP;
         boolean result = c.checkPlayer(e);
         assertFalse(result); // usually no overlap
     }
+
+    @Test
+    void testCheckObjectFindsObjectAmongManyDistantOnes() {
+        for (int i = 0; i < gp.obj[0].length; i++) {
+            Entity o = new Entity(gp);
+            o.worldx = gp.tileSize * (3 * i + 1);
+            o.worldy = gp.tileSize * (i % 5 + 1);
+            gp.obj[0][i] = o;
+        }
+        gp.currentMap = 0;
+        Entity e = new Entity(gp);
+        e.direction = Direction.DOWN;
+        e.speed = 0;
+        e.worldx = gp.obj[0][7].worldx + 10;
+        e.worldy = gp.obj[0][7].worldy + 10;
+
+        assertEquals(7, c.checkObject(e, true));
+
+        e.worldx = gp.tileSize * 60;
+        e.worldy = gp.tileSize * 25;
+        assertEquals(999, c.checkObject(e, true));
+    }
+
+    @Test
+    void testCheckEntityReturnsHighestOverlappingSlot() {
+        gp.currentMap = 0;
+        for (int i : new int[] {1, 4, 6}) {
+            Entity m = new Entity(gp);
+            m.worldx = gp.tileSize * 10;
+            m.worldy = gp.tileSize * 10;
+            gp.monster[0][i] = m;
+        }
+        Entity e = new Entity(gp);
+        e.direction = Direction.UP;
+        e.speed = 0;
+        e.worldx = gp.tileSize * 10 + 20;
+        e.worldy = gp.tileSize * 10 + 20;
+
+        assertEquals(6, c.checkEntity(e, gp.monster));
+        assertTrue(e.collisionOn);
+    }
+
+    @Test
+    void testRefreshPicksUpEntityMovedOutsideUpdate() {
+        gp.currentMap = 0;
+        Entity m = new Entity(gp);
+        m.worldx = gp.tileSize * 50;
+        m.worldy = gp.tileSize * 20;
+        gp.monster[0][2] = m;
+        Entity e = new Entity(gp);
+        e.direction = Direction.UP;
+        e.speed = 0;
+        e.worldx = gp.tileSize * 5;
+        e.worldy = gp.tileSize * 5;
+        assertEquals(999, c.checkEntity(e, gp.monster));
+
+        m.worldx = e.worldx;
+        m.worldy = e.worldy;
+        c.refresh();
+        assertEquals(2, c.checkEntity(e, gp.monster));
+    }
+
+    @Test
+    void testDroppedItemIsVisibleInTheSameTick() {
+        gp.currentMap = 0;
+        Entity e = new Entity(gp);
+        e.direction = Direction.UP;
+        e.speed = 0;
+        e.worldx = gp.tileSize * 30;
+        e.worldy = gp.tileSize * 20;
+        assertEquals(999, c.checkObject(e, true));
+
+        Entity dropper = new Entity(gp);
+        dropper.worldx = e.worldx;
+        dropper.worldy = e.worldy;
+        dropper.dropItem(new Entity(gp));
+        assertNotEquals(999, c.checkObject(e, true), "the drop should not wait for the next tick");
+    }
+
+    @Test
+    void testProbesLeaveSolidAreasUntouched() {
+        gp.currentMap = 0;
+        Entity m = new Entity(gp);
+        m.solidArea = new Rectangle(8, 10, 80, 86);
+        m.worldx = gp.tileSize * 10;
+        m.worldy = gp.tileSize * 10;
+        gp.monster[0][3] = m;
+        gp.obj[0][3] = m;
+        Entity e = new Entity(gp);
+        e.solidArea = new Rectangle(5, 7, 40, 40);
+        e.direction = Direction.LEFT;
+        e.speed = 4;
+        e.worldx = m.worldx + 30;
+        e.worldy = m.worldy + 30;
+
+        assertTrue(c.probeEntities(e, gp.monster[0]).hit());
+        assertTrue(c.probeObjects(e).hit());
+        c.probePlayer(e);
+        c.checkEntity(e, gp.monster);
+
+        assertEquals(new Rectangle(5, 7, 40, 40), e.solidArea);
+        assertEquals(new Rectangle(8, 10, 80, 86), m.solidArea);
+        assertEquals(gp.player.solidAreaDefultX, gp.player.solidArea.x);
+        assertEquals(gp.player.solidAreaDefultY, gp.player.solidArea.y);
+    }
+
+    @Test
+    void testStepRightIsCheckedHorizontally() {
+        gp.currentMap = 0;
+        Entity wall = new Entity(gp);
+        wall.collision = true;
+        wall.solidArea = new Rectangle(0, 0, 48, 48);
+        wall.worldx = gp.tileSize * 10 + 50;
+        wall.worldy = gp.tileSize * 10;
+        gp.obj[0][0] = wall;
+        Entity e = new Entity(gp);
+        e.solidArea = new Rectangle(0, 0, 48, 48);
+        e.worldx = gp.tileSize * 10;
+        e.worldy = gp.tileSize * 10;
+        e.speed = 4;
+
+        e.direction = Direction.RIGHT;
+        assertTrue(c.probeObjects(e).blocked());
+
+        e.direction = Direction.LEFT;
+        assertFalse(c.probeObjects(e).hit());
+    }
+
+    @Test
+    void testProbeAreaIgnoresOwner() {
+        gp.currentMap = 0;
+        Entity m = new Entity(gp);
+        m.worldx = 500;
+        m.worldy = 500;
+        gp.monster[0][5] = m;
+
+        assertFalse(c.probeArea(510, 510, 10, 10, m, gp.monster[0]).hit());
+        assertEquals(5, c.probeArea(510, 510, 10, 10, null, gp.monster[0]).index());
+        assertFalse(c.probeArea(0, 0, 10, 10, null, gp.monster[0]).hit());
+    }
+
+    @Test
+    void testIntersectsMatchesRectangle() {
+        Random random = new Random(3);
+        for (int i = 0; i < 10000; i++) {
+            Rectangle a = new Rectangle(random.nextInt(40), random.nextInt(40), random.nextInt(30) - 5, random.nextInt(30) - 5);
+            Rectangle b = new Rectangle(random.nextInt(40), random.nextInt(40), random.nextInt(30) - 5, random.nextInt(30) - 5);
+            assertEquals(a.intersects(b),
+                    CollisionChecker.intersects(a.x, a.y, a.width, a.height, b.x, b.y, b.width, b.height),
+                    a + " vs " + b);
+        }
+    }
+
+    @Test
+    void testConcurrentProbesMatchSequentialResults() throws Exception {
+        gp.currentMap = 0;
+        Random random = new Random(9);
+        for (int i = 0; i < gp.monster[0].length; i++) {
+            Entity m = new Entity(gp);
+            m.worldx = random.nextInt(gp.tileSize * 20);
+            m.worldy = random.nextInt(gp.tileSize * 10);
+            gp.monster[0][i] = m;
+        }
+        List<Entity> probes = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Entity e = new Entity(gp);
+            e.solidArea = new Rectangle(0, 0, 40, 40);
+            e.worldx = random.nextInt(gp.tileSize * 20);
+            e.worldy = random.nextInt(gp.tileSize * 10);
+            e.direction = Direction.DOWN;
+            e.speed = 3;
+            probes.add(e);
+        }
+        int[] expected = new int[probes.size()];
+        for (int i = 0; i < probes.size(); i++) {
+            expected[i] = c.probeEntities(probes.get(i), gp.monster[0]).index();
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Callable<Integer>> tasks = new ArrayList<>();
+            for (Entity e : probes) {
+                tasks.add(() -> c.probeEntities(e, gp.monster[0]).index());
+            }
+            List<Future<Integer>> results = executor.invokeAll(tasks);
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(expected[i], results.get(i).get().intValue());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
 }
@@ -38,10 +38,26 @@ public class EventHandlerTest {
 
         boolean result = e.isEventTriggered(0,1,1);
         assertTrue(result, "EventHandler.isEventTriggered() should detect collision but didn't");
+        assertEquals(gp.player.solidAreaDefultX, gp.player.solidArea.x);
+        assertEquals(gp.player.solidAreaDefultY, gp.player.solidArea.y);
+        assertEquals(23, e.getEventRect(0, 1, 1).x);
+        assertEquals(23, e.getEventRect(0, 1, 1).y);
 
 
     }
 
+    @Test
+    public void eventAreasAreCreatedOnDemand(){
+        assertNull(e.eventRect[2]);
+        EventRect rect = e.getEventRect(2, 16, 10);
+        assertNotNull(e.eventRect[2]);
+        assertSame(rect, e.getEventRect(2, 16, 10));
+        assertNull(e.eventRect[2][10 * gp.maxWorldCol + 17]);
+
+        e.releaseMap(2);
+        assertNull(e.eventRect[2]);
+    }
+
     // simple bomb punishment test
 
     @Test
@@ -0,0 +1,144 @@
+package com.group5.main;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.awt.Graphics2D;
+import java.awt.event.KeyEvent;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for {@link FrameProfiler}: phase timing, rolling percentiles and the exports.
+ */
+public class FrameProfilerTest {
+
+    private long now;
+
+    private FrameProfiler profiler() {
+        FrameProfiler profiler = new FrameProfiler(() -> now);
+        profiler.setEnabled(true);
+        return profiler;
+    }
+
+    /** Times one step in which the player takes {@code nanos}. */
+    private void step(FrameProfiler profiler, long tick, long nanos) {
+        profiler.beginUpdate();
+        long t = profiler.start();
+        now += nanos;
+        profiler.stop(FrameProfiler.Phase.PLAYER, t);
+        profiler.endUpdate(tick);
+    }
+
+    @Test
+    void testDisabledProfilerRecordsNothing() {
+        FrameProfiler profiler = new FrameProfiler(() -> now);
+        assertEquals(FrameProfiler.OFF, profiler.start());
+        step(profiler, 1, 1000);
+        assertEquals(0, profiler.getCount(FrameProfiler.Phase.PLAYER));
+    }
+
+    @Test
+    void testRepeatedTimingsOfAPhaseAddUp() {
+        FrameProfiler profiler = profiler();
+        for (int i = 0; i < 3; i++) {
+            long t = profiler.start();
+            now += 100;
+            profiler.stop(FrameProfiler.Phase.COLLISION, t);
+        }
+        profiler.endUpdate(1);
+
+        assertEquals(300, profiler.getLast(FrameProfiler.Phase.COLLISION));
+        assertEquals(0, profiler.getCount(FrameProfiler.Phase.TILES), "drawing phases are committed separately");
+
+        profiler.endRender();
+        assertEquals(1, profiler.getCount(FrameProfiler.Phase.TILES));
+        assertEquals(1, profiler.getCount(FrameProfiler.Phase.COLLISION));
+    }
+
+    @Test
+    void testPercentilesOverRollingWindow() {
+        FrameProfiler profiler = profiler();
+        for (int i = 1; i <= 100; i++) {
+            step(profiler, i, i * 1000L);
+        }
+        long[] p = profiler.percentiles(FrameProfiler.Phase.PLAYER, 0.5, 0.95, 0.99, 1.0);
+        assertArrayEquals(new long[] {50_000, 95_000, 99_000, 100_000}, p);
+
+        // once the window is full the oldest frames fall out
+        for (int i = 0; i < FrameProfiler.WINDOW; i++) {
+            step(profiler, 100 + i, 10);
+        }
+        assertEquals(FrameProfiler.WINDOW, profiler.getCount(FrameProfiler.Phase.PLAYER));
+        assertArrayEquals(new long[] {10, 10}, profiler.percentiles(FrameProfiler.Phase.PLAYER, 0.5, 0.99));
+    }
+
+    @Test
+    void testCsvHasOneRowPerStep(@TempDir Path dir) throws Exception {
+        FrameProfiler profiler = new FrameProfiler(() -> now);
+        Path file = dir.resolve("frames.csv");
+        profiler.startCsv(file);
+        assertTrue(profiler.isEnabled());
+
+        step(profiler, 7, 1234);
+        step(profiler, 8, 99);
+        profiler.closeCsv();
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).startsWith("tick,player,monsters,pathfinding,collision"));
+        assertTrue(lines.get(0).contains(",snapshot,"), "the snapshot phase is named for all it times");
+        assertTrue(lines.get(1).startsWith("7,1234,0,"));
+        assertTrue(lines.get(2).startsWith("8,99,0,"));
+        assertEquals(FrameProfiler.Phase.values().length + 1, lines.get(1).split(",").length);
+    }
+
+    @Test
+    void testFlightRecorderEvent(@TempDir Path dir) throws Exception {
+        FrameProfiler profiler = profiler();
+        Path file = dir.resolve("frames.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(FrameEvent.class);
+            recording.start();
+            step(profiler, 42, 5000);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent frame = events.stream()
+                .filter(e -> e.getEventType().getName().equals("com.group5.Frame"))
+                .findFirst().orElseThrow();
+        assertEquals(42, frame.getLong("tick"));
+        assertEquals(5000, frame.getDuration("player").toNanos());
+    }
+
+    @Test
+    void testGameUpdateAndRenderAreProfiled() {
+        GamePanel gp = new GamePanel();
+        gp.setupGame();
+        gp.gameState = gp.playState;
+        gp.keyH.keyPressed(new KeyEvent(gp, KeyEvent.KEY_PRESSED, 0, 0, KeyEvent.VK_F3, KeyEvent.CHAR_UNDEFINED));
+        assertTrue(gp.profiler.isOverlayVisible());
+        assertTrue(gp.profiler.isEnabled());
+
+        gp.update();
+        BufferedImage image = new BufferedImage(gp.screenWidth, gp.screenHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        gp.render(g2);
+        g2.dispose();
+
+        for (FrameProfiler.Phase phase : FrameProfiler.Phase.values()) {
+            assertEquals(1, gp.profiler.getCount(phase), phase.label);
+        }
+        assertTrue(gp.profiler.getLast(FrameProfiler.Phase.PLAYER) > 0);
+        assertTrue(gp.profiler.getLast(FrameProfiler.Phase.TILES) > 0);
+    }
+}
@@ -0,0 +1,147 @@
+package com.group5.main;
+
+import com.group5.entity.BulletStore;
+import com.group5.entity.Entity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for {@link FrameSnapshot} and the snapshot hand-off in {@link GamePanel}.
+ */
+public class FrameSnapshotTest {
+
+    private GamePanel gp;
+
+    @BeforeEach
+    void setUp() {
+        gp = new GamePanel();
+        gp.gameState = gp.playState;
+    }
+
+    private Entity monsterAt(int slot, int x, int y) {
+        Entity m = new Entity(gp);
+        m.type = 2;
+        m.maxLife = 4;
+        m.life = 4;
+        m.worldx = x;
+        m.worldy = y;
+        gp.monster[gp.currentMap][slot] = m;
+        return m;
+    }
+
+    @Test
+    void testCaptureOrdersByDepthAndCullsOffScreen() {
+        Entity above = monsterAt(0, gp.player.worldx + 50, gp.player.worldy - 100);
+        Entity below = monsterAt(1, gp.player.worldx - 50, gp.player.worldy + 100);
+        monsterAt(2, gp.player.worldx + gp.tileSize * 30, gp.player.worldy);
+
+        FrameSnapshot frame = new FrameSnapshot();
+        frame.capture(gp);
+
+        assertEquals(3, frame.getSpriteCount(), "player and the two visible monsters");
+        assertEquals(above.worldy, frame.getY(0));
+        assertEquals(gp.player.worldy, frame.getY(1));
+        assertEquals(below.worldy, frame.getY(2));
+        assertEquals(gp.updateCount, frame.tick);
+    }
+
+    @Test
+    void testSnapshotDoesNotFollowLaterChanges() {
+        Entity m = monsterAt(0, gp.player.worldx + 50, gp.player.worldy + 10);
+        m.invincible = true;
+        FrameSnapshot frame = new FrameSnapshot();
+        frame.capture(gp);
+
+        m.worldx += 40;
+        m.invincible = false;
+        gp.player.life = 1;
+
+        assertEquals(gp.player.worldx + 50, frame.getX(1));
+        assertEquals(0.4f, frame.getAlpha(1));
+        assertEquals(gp.player.maxLife, frame.life);
+    }
+
+    @Test
+    void testBulletsAreDrawnAboveEntities() {
+        monsterAt(0, gp.player.worldx + 50, gp.player.worldy + 300);
+        gp.bullets.spawn(BulletStore.FIREBALL, gp.player.worldx, gp.player.worldy - 200, 0, 0, 10, BulletStore.OWNER_MONSTER);
+
+        FrameSnapshot frame = new FrameSnapshot();
+        frame.capture(gp);
+
+        assertEquals(3, frame.getSpriteCount());
+        assertEquals(gp.player.worldy - 200, frame.getY(2));
+    }
+
+    @Test
+    void testUpdatePublishesAndPaintDrawsLatest() {
+        gp.update();
+        assertTrue(gp.frames.hasFresh());
+
+        BufferedImage image = new BufferedImage(gp.screenWidth, gp.screenHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        gp.paintComponent(g2);
+
+        assertFalse(gp.frames.hasFresh());
+        assertEquals(gp.updateCount, gp.frames.latest().tick);
+    }
+
+    @Test
+    void testPaintBeforeFirstPublishLeavesEntitiesAlone() {
+        gp.gameState = gp.playState;
+        monsterAt(0, gp.player.worldx + 50, gp.player.worldy);
+        BufferedImage image = new BufferedImage(gp.screenWidth, gp.screenHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        gp.paintComponent(g2);
+
+        assertFalse(gp.frames.latest().isCaptured(), "the renderer must not capture entities itself");
+        assertEquals(0, gp.renderQueue.size());
+    }
+
+    @Test
+    void testPausedUpdatesDoNotCaptureAgain() {
+        gp.gameState = gp.playState;
+        gp.update();
+        gp.paintComponent(new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics());
+        assertFalse(gp.frames.hasFresh());
+
+        gp.gameState = gp.pauseState;
+        gp.update();
+        gp.update();
+        assertFalse(gp.frames.hasFresh(), "nothing changed while paused");
+
+        gp.gameState = gp.playState;
+        gp.update();
+        assertTrue(gp.frames.hasFresh());
+    }
+
+    @Test
+    void testHeadlessUpdateDoesNotPublish() {
+        GamePanel headless = new GamePanel(true);
+        headless.gameState = headless.playState;
+        headless.update();
+        assertFalse(headless.frames.hasFresh());
+    }
+
+    @Test
+    void testDyingMonsterIsRemovedWithoutRendering() {
+        GamePanel headless = new GamePanel(true);
+        headless.gameState = headless.playState;
+        Entity m = new Entity(headless);
+        m.type = 2;
+        m.worldx = 40 * headless.tileSize;
+        m.worldy = 20 * headless.tileSize;
+        m.dying = true;
+        headless.monster[headless.currentMap][0] = m;
+
+        for (int i = 0; i < 40 && headless.monster[headless.currentMap][0] != null; i++) {
+            headless.update();
+        }
+        assertNull(headless.monster[headless.currentMap][0]);
+    }
+}
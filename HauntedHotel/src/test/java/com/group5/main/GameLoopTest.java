@@ -0,0 +1,144 @@
+package com.group5.main;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameLoopTest {
+
+    static final long STEP = GameLoop.NANOS_PER_SECOND / 60;
+
+    int updates;
+    int renders;
+
+    @BeforeEach
+    void setup() {
+        updates = 0;
+        renders = 0;
+    }
+
+    GameLoop loop(int ups, int fps, GameLoop.PacingMode pacing) {
+        return new GameLoop(() -> updates++, () -> renders++, ups, fps, pacing, () -> 0L);
+    }
+
+    @Test
+    void testRunsOneUpdatePerStep() {
+        GameLoop loop = loop(60, 60, GameLoop.PacingMode.CAPPED);
+        loop.advance(0);
+        for (int i = 1; i <= 10; i++) {
+            loop.advance(i * STEP);
+        }
+        assertEquals(10, updates);
+    }
+
+    @Test
+    void testNoUpdateBeforeStepElapsed() {
+        GameLoop loop = loop(60, 60, GameLoop.PacingMode.CAPPED);
+        loop.advance(0);
+        loop.advance(STEP / 2);
+        assertEquals(0, updates);
+    }
+
+    @Test
+    void testCatchUpIsClamped() {
+        GameLoop loop = loop(60, 60, GameLoop.PacingMode.CAPPED);
+        loop.advance(0);
+        loop.advance(STEP * 100);
+
+        assertEquals(GameLoop.MAX_CATCH_UP_STEPS, updates, "A long stall should not replay every missed step");
+        assertTrue(loop.getDroppedSteps() > 0);
+
+        loop.advance(STEP * 101);
+        assertEquals(GameLoop.MAX_CATCH_UP_STEPS + 1, updates, "Backlog should be dropped after clamping");
+    }
+
+    @Test
+    void testCappedRenderRateIsDecoupledFromUpdates() {
+        GameLoop loop = loop(60, 30, GameLoop.PacingMode.CAPPED);
+        for (int i = 0; i <= 60; i++) {
+            loop.advance(i * STEP);
+        }
+        assertEquals(60, updates);
+        assertTrue(renders >= 30 && renders <= 31, "Expected about 30 renders but got " + renders);
+    }
+
+    @Test
+    void testCappedReturnsTimeToSleep() {
+        GameLoop loop = loop(60, 60, GameLoop.PacingMode.CAPPED);
+        loop.advance(0);
+        long wait = loop.advance(STEP / 4);
+        assertTrue(wait > 0 && wait <= STEP, "Capped loop should park until the next step");
+    }
+
+    @Test
+    void testUncappedRendersEveryIterationWithoutSleeping() {
+        GameLoop loop = loop(60, 60, GameLoop.PacingMode.UNCAPPED);
+        long wait = 0;
+        for (int i = 0; i < 10; i++) {
+            wait = loop.advance(i * 1000L);
+        }
+        assertEquals(10, renders);
+        assertEquals(0, wait);
+        assertEquals(0, updates);
+    }
+
+    @Test
+    void testVsyncWithoutBlockingRenderIsPacedAtTheRenderRate() {
+        GameLoop loop = new GameLoop(() -> updates++, () -> renders++, 60, 30,
+                GameLoop.PacingMode.VSYNC, () -> 0L, () -> false);
+        for (int i = 0; i <= 60; i++) {
+            loop.advance(i * STEP);
+        }
+        assertTrue(renders >= 30 && renders <= 31, "Expected about 30 renders but got " + renders);
+
+        long wait = loop.advance(60 * STEP + STEP / 4);
+        assertTrue(wait > 0, "a non-blocking present should not spin the loop");
+    }
+
+    @Test
+    void testVsyncWithBlockingRenderLeavesPacingToTheDisplay() {
+        GameLoop loop = new GameLoop(() -> updates++, () -> renders++, 60, 30,
+                GameLoop.PacingMode.VSYNC, () -> 0L, () -> true);
+        long wait = 0;
+        for (int i = 0; i < 10; i++) {
+            wait = loop.advance(i * 1000L);
+        }
+        assertEquals(10, renders);
+        assertEquals(0, wait);
+    }
+
+    @Test
+    void testReportsMeasuredFrameTime() {
+        GameLoop loop = loop(60, 60, GameLoop.PacingMode.CAPPED);
+        for (int i = 0; i <= 61; i++) {
+            loop.advance(i * STEP);
+        }
+        assertEquals(STEP, loop.getLastFrameNanos());
+        assertEquals(STEP / 1_000_000.0, loop.getAverageFrameMillis(), 0.01);
+        assertTrue(loop.getFps() >= 59 && loop.getFps() <= 61);
+        assertTrue(loop.getUps() >= 59 && loop.getUps() <= 61);
+    }
+
+    @Test
+    void testStopBeforeRunExitsImmediately() {
+        GameLoop loop = loop(60, 60, GameLoop.PacingMode.CAPPED);
+        loop.stop();
+        assertDoesNotThrow(loop::run);
+        assertFalse(loop.isRunning());
+    }
+
+    @Test
+    void testRejectsNonPositiveRates() {
+        assertThrows(IllegalArgumentException.class, () -> loop(0, 60, GameLoop.PacingMode.CAPPED));
+        assertThrows(IllegalArgumentException.class, () -> loop(60, 0, GameLoop.PacingMode.CAPPED));
+    }
+
+    @Test
+    void testParsePacing() {
+        assertEquals(GameLoop.PacingMode.UNCAPPED, GameLoop.parsePacing("uncapped"));
+        assertEquals(GameLoop.PacingMode.VSYNC, GameLoop.parsePacing(" VSYNC "));
+        assertEquals(GameLoop.PacingMode.CAPPED, GameLoop.parsePacing(null));
+        assertEquals(GameLoop.PacingMode.CAPPED, GameLoop.parsePacing("bogus"));
+    }
+}
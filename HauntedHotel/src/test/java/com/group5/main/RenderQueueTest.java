@@ -0,0 +1,137 @@
+package com.group5.main;
+
+import com.group5.entity.Entity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for {@link RenderQueue}: membership across frames and depth ordering.
+ */
+public class RenderQueueTest {
+
+    private GamePanel gp;
+    private RenderQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        gp = new GamePanel(true);
+        queue = new RenderQueue();
+    }
+
+    private Entity at(int y) {
+        Entity e = new Entity(gp);
+        e.worldy = y;
+        return e;
+    }
+
+    private void frame(Entity... entities) {
+        queue.begin();
+        for (Entity e : entities) {
+            queue.offer(e);
+        }
+        queue.end();
+    }
+
+    private void assertSorted() {
+        for (int i = 1; i < queue.size(); i++) {
+            assertTrue(queue.get(i - 1).worldy <= queue.get(i).worldy, "queue must be ordered by worldy");
+        }
+    }
+
+    @Test
+    void testSortsByWorldY() {
+        Entity a = at(300), b = at(100), c = at(200);
+        frame(a, b, c, null);
+
+        assertEquals(3, queue.size());
+        assertSame(b, queue.get(0));
+        assertSame(c, queue.get(1));
+        assertSame(a, queue.get(2));
+    }
+
+    @Test
+    void testUnchangedOrderNeedsNoMoves() {
+        Entity a = at(100), b = at(200), c = at(300);
+        frame(c, b, a);
+        frame(c, b, a);
+        assertEquals(0, queue.getMoves());
+
+        b.worldy = 350;
+        frame(c, b, a);
+        assertEquals(1, queue.getMoves());
+        assertSame(b, queue.get(2));
+        assertSorted();
+    }
+
+    @Test
+    void testEntitiesNotOfferedAreDropped() {
+        Entity a = at(100), b = at(200), c = at(300);
+        frame(a, b, c);
+        frame(a, c);
+
+        assertEquals(2, queue.size());
+        assertSame(a, queue.get(0));
+        assertSame(c, queue.get(1));
+        assertNull(b.renderQueue);
+
+        frame(a, b, c);
+        assertEquals(3, queue.size());
+        assertSame(b, queue.get(1));
+    }
+
+    @Test
+    void testOfferingTwiceQueuesOnce() {
+        Entity a = at(100);
+        frame(a, a);
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    void testEqualDepthKeepsInsertionOrder() {
+        Entity a = at(100), b = at(100), c = at(50);
+        frame(a, b, c);
+        assertSame(c, queue.get(0));
+        assertSame(a, queue.get(1));
+        assertSame(b, queue.get(2));
+    }
+
+    @Test
+    void testGrowsAndRandomMovesStaySorted() {
+        Entity[] entities = new Entity[200];
+        Random random = new Random(3);
+        for (int i = 0; i < entities.length; i++) {
+            entities[i] = at(random.nextInt(3000));
+        }
+        for (int f = 0; f < 20; f++) {
+            for (Entity e : entities) {
+                e.worldy += random.nextInt(9) - 4;
+            }
+            frame(entities);
+            assertEquals(entities.length, queue.size());
+            assertSorted();
+        }
+    }
+
+    @Test
+    void testPaintUsesQueue() {
+        GamePanel panel = new GamePanel();
+        panel.setupGame();
+        panel.gameState = panel.playState;
+        panel.publishFrame();
+        BufferedImage image = new BufferedImage(panel.screenWidth, panel.screenHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        panel.paintComponent(g2);
+
+        assertTrue(panel.renderQueue.size() > 1);
+        assertSame(panel.renderQueue, panel.player.renderQueue);
+        for (int i = 1; i < panel.renderQueue.size(); i++) {
+            assertTrue(panel.renderQueue.get(i - 1).worldy <= panel.renderQueue.get(i).worldy);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.group5.main;
+
+import com.group5.entity.Entity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for {@link SpatialHash}: bucketing, incremental re-bucketing and queries.
+ */
+public class SpatialHashTest {
+
+    private static final int CELL = 100;
+
+    private GamePanel gp;
+    private Entity[] slots;
+    private SpatialHash hash;
+    private int[] out;
+
+    @BeforeEach
+    void setUp() {
+        gp = new GamePanel(true);
+        slots = new Entity[10];
+        hash = new SpatialHash(slots, CELL, 1000, 1000);
+        out = new int[slots.length];
+    }
+
+    private Entity place(int slot, int x, int y, int size) {
+        Entity e = new Entity(gp);
+        e.worldx = x;
+        e.worldy = y;
+        e.solidArea.x = 0;
+        e.solidArea.y = 0;
+        e.solidArea.width = size;
+        e.solidArea.height = size;
+        slots[slot] = e;
+        return e;
+    }
+
+    private int[] query(int x, int y, int w, int h) {
+        int count = hash.query(x, y, w, h, out);
+        int[] result = Arrays.copyOf(out, count);
+        Arrays.sort(result);
+        return result;
+    }
+
+    @Test
+    void testQueryReturnsOnlyNearbySlots() {
+        place(0, 10, 10, 20);
+        place(3, 510, 510, 20);
+        place(7, 900, 50, 20);
+        hash.sync();
+
+        assertArrayEquals(new int[] {0}, query(0, 0, 50, 50));
+        assertArrayEquals(new int[] {3}, query(500, 500, 10, 10));
+        assertArrayEquals(new int[] {0, 7}, query(0, 0, 1000, 99));
+    }
+
+    @Test
+    void testEntitySpanningCellsIsReturnedOnce() {
+        place(2, 90, 90, 150);
+        hash.sync();
+
+        assertArrayEquals(new int[] {2}, query(0, 0, 1000, 1000));
+        assertArrayEquals(new int[] {2}, query(200, 200, 10, 10));
+    }
+
+    @Test
+    void testSyncFollowsMovedEntity() {
+        Entity e = place(4, 10, 10, 20);
+        hash.sync();
+        e.worldx = 710;
+        e.worldy = 310;
+        hash.sync();
+
+        assertArrayEquals(new int[0], query(0, 0, 50, 50));
+        assertArrayEquals(new int[] {4}, query(700, 300, 50, 50));
+    }
+
+    @Test
+    void testSyncDropsRemovedAndReplacedEntities() {
+        place(1, 10, 10, 20);
+        place(2, 10, 10, 20);
+        hash.sync();
+
+        slots[1] = null;
+        place(2, 410, 410, 20);
+        hash.sync();
+
+        assertArrayEquals(new int[0], query(0, 0, 50, 50));
+        assertArrayEquals(new int[] {2}, query(400, 400, 50, 50));
+    }
+
+    @Test
+    void testPositionsOutsideTheWorldUseBorderCells() {
+        place(5, -300, 1500, 20);
+        hash.sync();
+
+        assertArrayEquals(new int[] {5}, query(0, 900, 10, 10));
+        assertArrayEquals(new int[] {5}, query(-1000, 2000, 10, 10));
+    }
+
+    @Test
+    void testManySlotsInOneCell() {
+        for (int i = 0; i < slots.length; i++) {
+            place(i, 10 + i, 10, 5);
+        }
+        hash.sync();
+
+        assertEquals(slots.length, query(0, 0, 50, 50).length);
+    }
+}
@@ -0,0 +1,88 @@
+package com.group5.main;
+
+import com.group5.object.Obj_Fireball;
+import com.group5.object.Obj_Snowball;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for {@link SpriteCache}: images are decoded once and shared.
+ */
+public class SpriteCacheTest {
+
+    @Test
+    void testSameKeyReturnsSharedImage() {
+        BufferedImage first = SpriteCache.get("/objects/key", 48, 48);
+        int loads = SpriteCache.getLoads();
+        BufferedImage second = SpriteCache.get("/objects/key", 48, 48);
+
+        assertNotNull(first);
+        assertSame(first, second);
+        assertEquals(loads, SpriteCache.getLoads(), "a cached image must not be decoded again");
+    }
+
+    @Test
+    void testSizeIsPartOfTheKey() {
+        BufferedImage small = SpriteCache.get("/objects/key", 24, 24);
+        BufferedImage large = SpriteCache.get("/objects/key", 72, 72);
+
+        assertNotSame(small, large);
+        assertEquals(24, small.getWidth());
+        assertEquals(72, large.getHeight());
+    }
+
+    @Test
+    void testMissingResourceIsNotCached() {
+        int size = SpriteCache.size();
+        assertThrows(IllegalArgumentException.class, () -> SpriteCache.get("/invalid/path/to/image", 10, 10));
+        assertEquals(size, SpriteCache.size());
+    }
+
+    @Test
+    void testProjectilesShareSprites() {
+        GamePanel gp = new GamePanel();
+        Obj_Snowball a = new Obj_Snowball(gp);
+        int loads = SpriteCache.getLoads();
+        Obj_Snowball b = new Obj_Snowball(gp);
+        Obj_Fireball c = new Obj_Fireball(gp);
+        Obj_Fireball d = new Obj_Fireball(gp);
+
+        assertSame(a.down1, b.down1);
+        assertSame(c.left1, d.right1);
+        assertTrue(SpriteCache.getLoads() - loads <= 1, "only the first fireball should decode its image");
+    }
+
+    @Test
+    void testConcurrentRequestsDecodeOnce() throws Exception {
+        SpriteCache.clear();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<BufferedImage>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> SpriteCache.get("/objects/gift", 40, 40)));
+            }
+            BufferedImage first = results.get(0).get();
+            for (Future<BufferedImage> result : results) {
+                assertSame(first, result.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(1, SpriteCache.getLoads());
+        assertTrue(SpriteCache.contains("/objects/gift", 40, 40));
+    }
+
+    @Test
+    void testHeadlessEntitiesSkipImages() {
+        GamePanel gp = new GamePanel(true);
+        assertNull(new Obj_Snowball(gp).down1);
+    }
+}
@@ -1,13 +1,18 @@
 package com.group5.main;
 
 import com.group5.main.GamePanel;
+import com.group5.tile.CollisionMap;
 import com.group5.tile.TileManager;
 import com.group5.tile.Tile;
+import com.group5.tile.TileChunkCache;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -109,7 +114,7 @@ public class TileManagerTest {
     //test for loading map with specific tile
     @Test
     void testMapload(){
-        int tileNum = tileM.mapTilenum[1][0][0];
+        int tileNum = tileM.getMap(1).get(0, 0);
         assertEquals(18, tileNum);
     }
 
@@ -128,4 +133,277 @@ public class TileManagerTest {
     }
 
 
+    //test for the collision bitmap
+    @Test
+    void testCollisionMapMatchesTiles() {
+        for (int map = 0; map < 4; map++) {
+            CollisionMap collision = tileM.getCollisionMap(map);
+            for (int col = 0; col < gp.maxWorldCol; col++) {
+                for (int row = 0; row < gp.maxWorldRow; row++) {
+                    boolean expected = tileM.tile[tileM.mapTilenum[map].get(col, row)].collision;
+                    assertEquals(expected, collision.isSolid(col, row), "map " + map + " [" + col + "][" + row + "]");
+                }
+            }
+        }
+    }
+
+    @Test
+    void testCollisionMapOutOfBoundsIsSolid() {
+        CollisionMap collision = tileM.getCollisionMap(0);
+        assertTrue(collision.isSolid(-1, 0));
+        assertTrue(collision.isSolid(0, -1));
+        assertTrue(collision.isSolid(gp.maxWorldCol, 0));
+        assertTrue(collision.isSolid(0, gp.maxWorldRow));
+    }
+
+    @Test
+    void testCollisionMapReusedUntilTileChanges() {
+        CollisionMap before = tileM.getCollisionMap(1);
+        assertSame(before, tileM.getCollisionMap(1));
+
+        tileM.setTile(1, 5, 5, 0);
+
+        CollisionMap after = tileM.getCollisionMap(1);
+        assertNotSame(before, after);
+        assertTrue(after.isSolid(5, 5));
+        assertTrue(after.getGeneration() > before.getGeneration());
+    }
+
+
+
+    //tests for the culled and chunked drawing
+    private int[] render(boolean chunked) {
+        tileM.useChunkCache = chunked;
+        BufferedImage img = new BufferedImage(gp.screenWidth, gp.screenHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = img.createGraphics();
+        tileM.draw(g2);
+        g2.dispose();
+        return img.getRGB(0, 0, gp.screenWidth, gp.screenHeight, null, 0, gp.screenWidth);
+    }
+
+    @Test
+    void testChunkedDrawMatchesTileDraw() {
+        int[][] positions = {
+            {0, 0}, {gp.tileSize * 23 + 17, gp.tileSize * 11 + 5},
+            {gp.tileSize * (gp.maxWorldCol - 1), gp.tileSize * (gp.maxWorldRow - 1)}, {-200, 300}
+        };
+        for (int map = 0; map < 4; map++) {
+            gp.currentMap = map;
+            tileM.enterMap(map);
+            for (int[] pos : positions) {
+                gp.player.worldx = pos[0];
+                gp.player.worldy = pos[1];
+                assertArrayEquals(render(false), render(true), "map " + map + " at " + pos[0] + "," + pos[1]);
+            }
+        }
+    }
+
+    @Test
+    void testDrawOnlyBakesChunksNearThePlayer() {
+        gp.currentMap = 1;
+        tileM.enterMap(1);
+        gp.player.worldx = gp.tileSize * 30;
+        gp.player.worldy = gp.tileSize * 15;
+        render(true);
+
+        int visibleCols = gp.maxScreenCol / TileChunkCache.CHUNK_TILES + 2;
+        int visibleRows = gp.maxScreenRow / TileChunkCache.CHUNK_TILES + 2;
+        assertTrue(tileM.getChunkCache().getBakes() <= visibleCols * visibleRows);
+
+        // drawing the same view again reuses the chunks
+        int bakes = tileM.getChunkCache().getBakes();
+        render(true);
+        assertEquals(bakes, tileM.getChunkCache().getBakes());
+    }
+
+    @Test
+    void testChunkCacheStaysBoundedWhileWalking() {
+        gp.currentMap = 1;
+        tileM.enterMap(1);
+        gp.player.worldy = gp.tileSize * 15;
+        for (int col = 0; col < gp.maxWorldCol; col += 2) {
+            gp.player.worldx = gp.tileSize * col;
+            render(true);
+        }
+        assertTrue(tileM.getChunkCache().size() <= tileM.getChunkCache().getCapacity());
+    }
+
+    @Test
+    void testPrebakeFitsInTheCache() {
+        gp.currentMap = 1;
+        tileM.enterMap(1);
+        gp.player.worldx = gp.tileSize * 33 + 40;
+        gp.player.worldy = gp.tileSize * 15 + 40;
+        tileM.prebake(1, gp.player.worldx, gp.player.worldy);
+        TileChunkCache cache = tileM.getChunkCache();
+        assertEquals(cache.getBakes(), cache.size(), "prebaking should not evict its own chunks");
+
+        // the first chunk of walking in any direction is already baked
+        int bakes = cache.getBakes();
+        int step = TileChunkCache.CHUNK_TILES * gp.tileSize;
+        int[][] offsets = {{step, 0}, {-step, 0}, {0, step}, {0, -step}};
+        for (int[] offset : offsets) {
+            gp.player.worldx += offset[0];
+            gp.player.worldy += offset[1];
+            render(true);
+            gp.player.worldx -= offset[0];
+            gp.player.worldy -= offset[1];
+        }
+        assertEquals(bakes, cache.getBakes());
+    }
+
+    @Test
+    void testSetTilePatchesACopyOfItsChunk() {
+        gp.currentMap = 1;
+        tileM.enterMap(1);
+        gp.player.worldx = gp.tileSize * 30;
+        gp.player.worldy = gp.tileSize * 15;
+        render(true);
+        int bakes = tileM.getChunkCache().getBakes();
+        int chunkCol = 30 / TileChunkCache.CHUNK_TILES;
+        int chunkRow = 15 / TileChunkCache.CHUNK_TILES;
+        BufferedImage drawn = tileM.getChunkCache().get(1, chunkCol, chunkRow);
+        int[] before = drawn.getRGB(0, 0, drawn.getWidth(), drawn.getHeight(), null, 0, drawn.getWidth());
+
+        int current = tileM.mapTilenum[1].get(30, 15);
+        tileM.setTile(1, 30, 15, current == 2 ? 9 : 2);
+        assertEquals(1, tileM.getChunkCache().getPatches());
+        assertNotSame(drawn, tileM.getChunkCache().get(1, chunkCol, chunkRow));
+        assertArrayEquals(before, drawn.getRGB(0, 0, drawn.getWidth(), drawn.getHeight(), null, 0, drawn.getWidth()),
+                "an image that may be on screen is never written to");
+        assertArrayEquals(render(false), render(true));
+        assertEquals(bakes, tileM.getChunkCache().getBakes());
+    }
+
+    @Test
+    void testPrebakeCoversTheFirstFrame() {
+        gp.currentMap = 2;
+        tileM.enterMap(2);
+        gp.player.worldx = gp.tileSize * 16;
+        gp.player.worldy = gp.tileSize * 10;
+        tileM.prebake(2, gp.player.worldx, gp.player.worldy);
+        int bakes = tileM.getChunkCache().getBakes();
+        assertTrue(bakes > 0);
+
+        render(true);
+        assertEquals(bakes, tileM.getChunkCache().getBakes());
+    }
+
+    @Test
+    void testPrebakeWhileDrawingSharesTheChunks() throws InterruptedException {
+        gp.currentMap = 1;
+        tileM.enterMap(1);
+        gp.player.worldx = gp.tileSize * 30;
+        gp.player.worldy = gp.tileSize * 15;
+        Thread worker = new Thread(() -> tileM.prebake(1, gp.player.worldx, gp.player.worldy));
+        worker.start();
+        int[] chunked = render(true);
+        worker.join();
+
+        assertArrayEquals(render(false), chunked);
+        TileChunkCache cache = tileM.getChunkCache();
+        int bakes = cache.getBakes();
+        render(true);
+        assertEquals(bakes, cache.getBakes(), "the drawn chunks should all be cached once");
+    }
+
+    @Test
+    void testLoadingOnAWorkerNeverReusesACollisionGeneration() throws InterruptedException {
+        java.util.Set<Integer> generations = java.util.concurrent.ConcurrentHashMap.newKeySet();
+        int rounds = 200;
+        Thread worker = new Thread(() -> {
+            for (int i = 0; i < rounds; i++) {
+                tileM.loadMap(TileManager.MAP_FILES[1 + i % 3], 1 + i % 3);
+                generations.add(tileM.getCollisionMap(1 + i % 3).getGeneration());
+            }
+        });
+        worker.start();
+        for (int i = 0; i < rounds; i++) {
+            tileM.setTile(0, 5, 5, i % 2 == 0 ? 9 : 2);
+            generations.add(tileM.getCollisionMap(0).getGeneration());
+        }
+        worker.join();
+        assertEquals(2 * rounds, generations.size(), "every collision map gets its own generation");
+    }
+
+    @Test
+    void testDrawingAnEvictedMapDoesNotReloadIt() {
+        gp.currentMap = 3;
+        int loads = tileM.getLoads();
+        render(false);
+        render(true);
+        assertEquals(loads, tileM.getLoads());
+        assertFalse(tileM.isResident(3));
+        assertEquals(0, tileM.getChunkCache().size());
+    }
+
+    @Test
+    void testOnlyTheStartingMapIsLoaded() {
+        assertTrue(tileM.isResident(0));
+        for (int map = 1; map < gp.maxMap; map++) {
+            assertFalse(tileM.isResident(map));
+            assertEquals(null, tileM.mapTilenum[map]);
+        }
+        assertEquals(1, tileM.getLoads());
+
+        assertEquals(18, tileM.getMap(1).get(0, 0));
+        assertTrue(tileM.isResident(1));
+        assertEquals(2, tileM.getLoads());
+    }
+
+    @Test
+    void testEnteringMapsEvictsTheLeastRecentlyEntered() {
+        tileM.setResidentMaps(2);
+        int lobbyTile = tileM.getMap(0).get(10, 1);
+        gp.eHandler.getEventRect(0, 1, 1);
+
+        gp.currentMap = 1;
+        tileM.enterMap(1);
+        gp.currentMap = 2;
+        tileM.enterMap(2);
+
+        assertFalse(tileM.isResident(0));
+        assertEquals(null, tileM.mapTilenum[0]);
+        assertEquals(null, gp.eHandler.eventRect[0], "evicting a map drops its event areas");
+        assertTrue(tileM.isResident(1));
+        assertTrue(tileM.isResident(2));
+
+        int loads = tileM.getLoads();
+        gp.currentMap = 0;
+        tileM.enterMap(0);
+        assertEquals(loads + 1, tileM.getLoads());
+        assertEquals(lobbyTile, tileM.getMap(0).get(10, 1));
+        assertFalse(tileM.isResident(1), "map 1 is now the least recently entered");
+
+        tileM.enterMap(2);
+        assertEquals(loads + 1, tileM.getLoads(), "entering a resident map does not reload it");
+    }
+
+    @Test
+    void testCurrentMapIsNeverEvicted() {
+        tileM.setResidentMaps(1);
+        gp.currentMap = 0;
+        tileM.enterMap(1);
+        assertTrue(tileM.isResident(0));
+        assertTrue(tileM.isResident(1));
+
+        gp.currentMap = 1;
+        tileM.setResidentMaps(1);
+        assertFalse(tileM.isResident(0));
+        assertTrue(tileM.isResident(1));
+    }
+
+    @Test
+    void testChangedMapKeepsItsTilesWhenEvicted() {
+        tileM.setTile(1, 5, 5, 9);
+        tileM.setResidentMaps(1);
+        gp.currentMap = 2;
+        tileM.enterMap(2);
+        assertFalse(tileM.isResident(1));
+
+        int loads = tileM.getLoads();
+        assertEquals(9, tileM.getMap(1).get(5, 5));
+        assertFalse(tileM.getCollisionMap(1).isSolid(5, 5));
+        assertEquals(loads, tileM.getLoads());
+    }
 }
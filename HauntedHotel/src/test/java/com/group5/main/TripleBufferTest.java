@@ -0,0 +1,87 @@
+package com.group5.main;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for {@link TripleBuffer}.
+ */
+public class TripleBufferTest {
+
+    /** A value written in two steps, so a torn read would show two different numbers. */
+    private static class Pair {
+        long a, b;
+    }
+
+    @Test
+    void testLatestReturnsLastPublished() {
+        TripleBuffer<Pair> buffer = new TripleBuffer<>(Pair::new);
+        assertFalse(buffer.hasFresh());
+
+        buffer.back().a = 1;
+        buffer.publish();
+        buffer.back().a = 2;
+        buffer.publish();
+        assertTrue(buffer.hasFresh());
+
+        assertEquals(2, buffer.latest().a);
+        assertFalse(buffer.hasFresh());
+        assertEquals(2, buffer.latest().a, "Without a new publish the same value is returned");
+    }
+
+    @Test
+    void testProducerNeverWritesTheFrontValue() {
+        TripleBuffer<Pair> buffer = new TripleBuffer<>(Pair::new);
+        buffer.back().a = 1;
+        buffer.publish();
+        Pair front = buffer.latest();
+
+        for (int i = 0; i < 10; i++) {
+            assertNotSame(front, buffer.back());
+            buffer.back().a = 100 + i;
+            buffer.publish();
+        }
+        assertEquals(1, front.a);
+        assertEquals(109, buffer.latest().a);
+    }
+
+    @Test
+    void testConcurrentReadsAreNeverTorn() throws InterruptedException {
+        TripleBuffer<Pair> buffer = new TripleBuffer<>(Pair::new);
+        int frames = 200_000;
+        AtomicReference<String> error = new AtomicReference<>();
+
+        Thread producer = new Thread(() -> {
+            for (long i = 1; i <= frames; i++) {
+                Pair p = buffer.back();
+                p.a = i;
+                p.b = i;
+                buffer.publish();
+            }
+        });
+        producer.start();
+
+        long last = 0;
+        while (producer.isAlive() || buffer.hasFresh()) {
+            Pair p = buffer.latest();
+            long a = p.a;
+            long b = p.b;
+            if (a != b) {
+                error.set("torn read: " + a + " / " + b);
+                break;
+            }
+            if (a < last) {
+                error.set("went back from " + last + " to " + a);
+                break;
+            }
+            last = a;
+        }
+        producer.join();
+
+        assertNull(error.get());
+        assertEquals(frames, buffer.latest().a);
+    }
+}
@@ -57,4 +57,23 @@ public class UtilityToolTest {
 
         assertEquals(original.getType(), scaled.getType(), "Scaled image should have the same type as original");
     }
+
+    @Test
+    void testCreateCompatibleImageHasRequestedSize() {
+        BufferedImage image = UtilityTool.createCompatibleImage(30, 20, false);
+        assertEquals(30, image.getWidth());
+        assertEquals(20, image.getHeight());
+        assertTrue(image.getColorModel().hasAlpha());
+    }
+
+    @Test
+    void testToCompatibleImageKeepsPixels() {
+        BufferedImage original = new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB);
+        original.setRGB(1, 2, 0xFF336699);
+
+        BufferedImage compatible = UtilityTool.toCompatibleImage(original);
+        assertEquals(4, compatible.getWidth());
+        assertEquals(0xFF336699, compatible.getRGB(1, 2));
+        assertNull(UtilityTool.toCompatibleImage(null));
+    }
 }
@@ -1,5 +1,6 @@
 package com.group5.monster;
 
+import com.group5.entity.Direction;
 import com.group5.entity.Entity;
 import com.group5.entity.Player;
 import com.group5.main.GamePanel;
@@ -251,10 +252,10 @@ public class Enemy_SantaTest {
         santa.setAction();
         
         assertNotNull(santa.direction);
-        assertTrue(santa.direction.equals("up") || 
-                   santa.direction.equals("down") || 
-                   santa.direction.equals("left") || 
-                   santa.direction.equals("right"));
+        assertTrue(santa.direction.equals(Direction.UP) || 
+                   santa.direction.equals(Direction.DOWN) || 
+                   santa.direction.equals(Direction.LEFT) || 
+                   santa.direction.equals(Direction.RIGHT));
     }
 
     @Test
@@ -295,7 +296,7 @@ public class Enemy_SantaTest {
         santa.projectile.alive = false;
         santa.worldx = gp.tileSize * 5;
         santa.worldy = gp.tileSize * 5;
-        santa.direction = "down";
+        santa.direction = Direction.DOWN;
         
         gp.projectileList.clear();
         
@@ -366,19 +367,19 @@ public class Enemy_SantaTest {
         santa.projectile.alive = false;
         santa.worldx = gp.tileSize * 5;
         santa.worldy = gp.tileSize * 5;
-        santa.direction = "left";
+        santa.direction = Direction.LEFT;
         
         gp.projectileList.clear();
         
         for (int i = 0; i < 100; i++) {
             santa.shotAvailableCounter = 30;
             santa.projectile.alive = false;
-            santa.direction = "left";
+            santa.direction = Direction.LEFT;
             santa.setAction();
             
             if (!gp.projectileList.isEmpty()) {
                 Entity fired = gp.projectileList.get(gp.projectileList.size() - 1);
-                assertEquals("left", fired.direction, "Projectile should inherit Santa's direction");
+                assertEquals(Direction.LEFT, fired.direction, "Projectile should inherit Santa's direction");
                 break;
             }
         }
@@ -405,44 +406,44 @@ public class Enemy_SantaTest {
 
     @Test
     void testDamageReaction_OppositeDirectionWhenPlayerMovesUp() {
-        gp.player.direction = "up";
+        gp.player.direction = Direction.UP;
         
         santa.damageReaction();
         
-        assertEquals("down", santa.direction);
+        assertEquals(Direction.DOWN, santa.direction);
     }
 
     @Test
     void testDamageReaction_OppositeDirectionWhenPlayerMovesDown() {
-        gp.player.direction = "down";
+        gp.player.direction = Direction.DOWN;
         
         santa.damageReaction();
         
-        assertEquals("up", santa.direction);
+        assertEquals(Direction.UP, santa.direction);
     }
 
     @Test
     void testDamageReaction_OppositeDirectionWhenPlayerMovesLeft() {
-        gp.player.direction = "left";
+        gp.player.direction = Direction.LEFT;
         
         santa.damageReaction();
         
-        assertEquals("right", santa.direction);
+        assertEquals(Direction.RIGHT, santa.direction);
     }
 
     @Test
     void testDamageReaction_OppositeDirectionWhenPlayerMovesRight() {
-        gp.player.direction = "right";
+        gp.player.direction = Direction.RIGHT;
         
         santa.damageReaction();
         
-        assertEquals("left", santa.direction);
+        assertEquals(Direction.LEFT, santa.direction);
     }
 
     @Test
     void testDamageReaction_HandlesAllPlayerDirections() {
-        String[] playerDirections = {"up", "down", "left", "right"};
-        String[] expectedSantaDirections = {"down", "up", "right", "left"};
+        Direction[] playerDirections = {Direction.UP, Direction.DOWN, Direction.LEFT, Direction.RIGHT};
+        Direction[] expectedSantaDirections = {Direction.DOWN, Direction.UP, Direction.RIGHT, Direction.LEFT};
         
         for (int i = 0; i < playerDirections.length; i++) {
             gp.player.direction = playerDirections[i];
@@ -505,13 +506,13 @@ public class Enemy_SantaTest {
     void testIntegration_DamageAndRecovery() {
         santa.actionLockCounter = 150;
         santa.onPath = false;
-        gp.player.direction = "right";
+        gp.player.direction = Direction.RIGHT;
         
         santa.damageReaction();
         
         assertEquals(0, santa.actionLockCounter);
         assertTrue(santa.onPath);
-        assertEquals("left", santa.direction);
+        assertEquals(Direction.LEFT, santa.direction);
     }
 
     @Test
@@ -604,9 +605,9 @@ public class Enemy_SantaTest {
 
     @Test
     void testEdgeCase_MultipleConsecutiveDamageReactions() {
-        String[] directions = {"up", "down", "left", "right"};
+        Direction[] directions = {Direction.UP, Direction.DOWN, Direction.LEFT, Direction.RIGHT};
         
-        for (String dir : directions) {
+        for (Direction dir : directions) {
             gp.player.direction = dir;
             santa.actionLockCounter = 100;
             
@@ -1,5 +1,6 @@
 package com.group5.monster;
 
+import com.group5.entity.Direction;
 import com.group5.main.GamePanel;
 import com.group5.monster.MyersEnemy;
 import com.group5.object.Obj_Money;
@@ -55,45 +56,45 @@ public class MyersEnemyTest {
     @Test
     void testDamageReactiondDirectionup(){
 
-        gp.player.direction = "up";
-        myers.direction = "left";
+        gp.player.direction = Direction.UP;
+        myers.direction = Direction.LEFT;
         
         myers.damageReaction();
         
-        assertEquals("down", myers.direction);
+        assertEquals(Direction.DOWN, myers.direction);
         assertEquals(0, myers.actionLockCounter);
     }
 
     @Test
     void testDamageReactiondDirectiondown(){
 
-        gp.player.direction = "down";
-        myers.direction = "right";
+        gp.player.direction = Direction.DOWN;
+        myers.direction = Direction.RIGHT;
         
         myers.damageReaction();
         
-        assertEquals("up", myers.direction);
+        assertEquals(Direction.UP, myers.direction);
         assertEquals(0, myers.actionLockCounter);
     }
 
     @Test
     void testDamageReactiondDirectionleft(){
 
-        gp.player.direction = "left";
+        gp.player.direction = Direction.LEFT;
         
         myers.damageReaction();
         
-        assertEquals("right", myers.direction);
+        assertEquals(Direction.RIGHT, myers.direction);
     }
 
     @Test
     void testDamageReactiondDirectionright(){
 
-        gp.player.direction = "right";
+        gp.player.direction = Direction.RIGHT;
         
         myers.damageReaction();
         
-        assertEquals("left", myers.direction);
+        assertEquals(Direction.LEFT, myers.direction);
     }
 
 
@@ -136,7 +137,7 @@ public class MyersEnemyTest {
 
         myers.setAction();
 
-        assertEquals("right", myers.direction, "myers should move right toward the player");
+        assertEquals(Direction.RIGHT, myers.direction, "myers should move right toward the player");
     }
     @Test
     void testCheckDrop() {
@@ -0,0 +1,146 @@
+package com.group5.tile;
+
+import com.group5.main.GamePanel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for {@link BinaryMap} and {@link MapCompiler}.
+ */
+public class BinaryMapTest {
+
+    private static final String[] MAPS = {"Lobby", "worldmap", "ChristmasMap", "Basement"};
+
+    private static TileGrid grid(int cols, int rows, int scale) {
+        TileGrid tiles = new TileGrid(cols, rows);
+        for (int col = 0; col < cols; col++) {
+            for (int row = 0; row < rows; row++) {
+                tiles.set(col, row, (col * 7 + row * 3) * scale % (scale == 1 ? 32 : 40_000));
+            }
+        }
+        return tiles;
+    }
+
+    private static void assertSameTiles(TileGrid expected, TileGrid actual) {
+        for (int col = 0; col < expected.getCols(); col++) {
+            for (int row = 0; row < expected.getRows(); row++) {
+                assertEquals(expected.get(col, row), actual.get(col, row), col + "," + row);
+            }
+        }
+    }
+
+    @Test
+    void testRoundTripUsesBytesWhenTilesFit() throws IOException {
+        TileGrid tiles = grid(5, 4, 1);
+        byte[] compiled = BinaryMap.encode(tiles, null);
+        assertEquals(BinaryMap.HEADER_SIZE + 5 * 4, compiled.length);
+
+        BinaryMap map = BinaryMap.read(ByteBuffer.wrap(compiled));
+        assertEquals(5, map.getCols());
+        assertEquals(4, map.getRows());
+        assertFalse(map.hasCollision());
+        assertNull(map.toCollisionMap(1));
+        TileGrid copy = new TileGrid(5, 4);
+        map.copyTo(copy);
+        assertSameTiles(tiles, copy);
+        assertThrows(IllegalArgumentException.class, () -> map.copyTo(new TileGrid(4, 5)));
+    }
+
+    @Test
+    void testRoundTripUsesShortsForLargeTileNumbers() throws IOException {
+        TileGrid tiles = grid(3, 3, 1000);
+        byte[] compiled = BinaryMap.encode(tiles, null);
+        assertEquals(BinaryMap.HEADER_SIZE + 3 * 3 * 2, compiled.length);
+
+        BinaryMap map = BinaryMap.read(ByteBuffer.wrap(compiled));
+        for (int col = 0; col < 3; col++) {
+            for (int row = 0; row < 3; row++) {
+                assertEquals(tiles.get(col, row), map.getTile(col, row));
+            }
+        }
+        TileGrid copy = new TileGrid(3, 3);
+        map.copyTo(copy);
+        assertSameTiles(tiles, copy);
+    }
+
+    @Test
+    void testCollisionLayerRoundTrip() throws IOException {
+        TileGrid tiles = grid(9, 8, 1);
+        Tile[] types = MapCompiler.collisionTiles();
+        CollisionMap collision = CollisionMap.build(tiles, types, 1);
+
+        BinaryMap map = BinaryMap.read(ByteBuffer.wrap(BinaryMap.encode(tiles, collision)));
+        CollisionMap loaded = map.toCollisionMap(2);
+        for (int col = -1; col <= 9; col++) {
+            for (int row = -1; row <= 8; row++) {
+                assertEquals(collision.isSolid(col, row), loaded.isSolid(col, row), col + "," + row);
+            }
+        }
+    }
+
+    @Test
+    void testRejectsDamagedMaps() {
+        byte[] compiled = BinaryMap.encode(grid(4, 4, 1), null);
+
+        byte[] badMagic = compiled.clone();
+        badMagic[0] = 'X';
+        assertThrows(IOException.class, () -> BinaryMap.read(ByteBuffer.wrap(badMagic)));
+
+        byte[] badVersion = compiled.clone();
+        badVersion[4] = 9;
+        assertThrows(IOException.class, () -> BinaryMap.read(ByteBuffer.wrap(badVersion)));
+
+        byte[] truncated = Arrays.copyOf(compiled, compiled.length - 1);
+        assertThrows(IOException.class, () -> BinaryMap.read(ByteBuffer.wrap(truncated)));
+    }
+
+    @Test
+    void testMemoryMappedFile(@TempDir Path dir) throws IOException {
+        TileGrid tiles = grid(6, 2, 1);
+        Path file = dir.resolve("map.bin");
+        Files.write(file, BinaryMap.encode(tiles, null));
+
+        BinaryMap map = BinaryMap.load(file);
+        assertEquals(tiles.get(5, 1), map.getTile(5, 1));
+    }
+
+    @Test
+    void testCompiledResourcesAreUpToDate() throws IOException {
+        Tile[] types = MapCompiler.collisionTiles();
+        for (String name : MAPS) {
+            byte[] expected = MapCompiler.compile(Path.of("src/main/resources/maps/" + name + ".txt"), types);
+            byte[] actual;
+            try (InputStream in = getClass().getResourceAsStream("/maps/" + name + ".bin")) {
+                assertNotNull(in, name + ".bin is missing");
+                actual = in.readAllBytes();
+            }
+            assertArrayEquals(expected, actual, name + ".bin is stale; run MapCompiler on the text maps");
+        }
+    }
+
+    @Test
+    void testTileManagerLoadsCompiledMaps() {
+        GamePanel gp = new GamePanel(true);
+        TileManager tileM = gp.tileM;
+        assertEquals(18, tileM.getMap(1).get(0, 0));
+
+        for (int map = 0; map < MAPS.length; map++) {
+            CollisionMap loaded = tileM.getCollisionMap(map);
+            CollisionMap built = CollisionMap.build(tileM.getMap(map), tileM.tile, 0);
+            for (int col = 0; col < gp.maxWorldCol; col++) {
+                for (int row = 0; row < gp.maxWorldRow; row++) {
+                    assertEquals(built.isSolid(col, row), loaded.isSolid(col, row));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.group5.tile;
+
+import com.group5.main.GamePanel;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for {@link MapReader}.
+ */
+public class MapReaderTest {
+
+    private static ReadableByteChannel channel(String text) {
+        return Channels.newChannel(new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    /** A channel handing out one byte per read, so every number crosses a read boundary. */
+    private static ReadableByteChannel trickle(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        return new ReadableByteChannel() {
+            int next = 0;
+
+            @Override
+            public int read(ByteBuffer dst) {
+                if (next == bytes.length) {
+                    return -1;
+                }
+                dst.put(bytes[next++]);
+                return 1;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    /** @return the tile numbers of one column */
+    private static int[] column(TileGrid grid, int col) {
+        int[] column = new int[grid.getRows()];
+        for (int row = 0; row < column.length; row++) {
+            column[row] = grid.get(col, row);
+        }
+        return column;
+    }
+
+    @Test
+    void testReadsColumnsAndRows() throws IOException {
+        TileGrid tiles = MapReader.read(channel("1 2 3\n4 5 6\n"), 3, 2);
+        assertArrayEquals(new int[] {1, 4}, column(tiles, 0));
+        assertArrayEquals(new int[] {2, 5}, column(tiles, 1));
+        assertArrayEquals(new int[] {3, 6}, column(tiles, 2));
+    }
+
+    @Test
+    void testToleratesWhitespaceVariants() throws IOException {
+        String text = "\n  10\t 2  30 \r\n\r\n\t4 50 6";
+        TileGrid tiles = MapReader.read(channel(text), 3, 2);
+        assertArrayEquals(new int[] {10, 4}, column(tiles, 0));
+        assertArrayEquals(new int[] {2, 50}, column(tiles, 1));
+        assertArrayEquals(new int[] {30, 6}, column(tiles, 2));
+
+        assertArrayEquals(column(tiles, 2), column(MapReader.read(trickle(text), 3, 2), 2));
+    }
+
+    @Test
+    void testRejectsWrongDimensions() {
+        IOException shortRow = assertThrows(IOException.class, () -> MapReader.read(channel("1 2 3\n4 5\n"), 3, 2));
+        assertEquals("line 2: expected 3 tile numbers but found 2", shortRow.getMessage());
+
+        IOException longRow = assertThrows(IOException.class, () -> MapReader.read(channel("1 2 3 4\n"), 3, 1));
+        assertEquals("line 1: more than 3 tile numbers", longRow.getMessage());
+
+        IOException fewRows = assertThrows(IOException.class, () -> MapReader.read(channel("1 2 3\n"), 3, 2));
+        assertEquals("expected 2 rows but found 1", fewRows.getMessage());
+
+        IOException manyRows = assertThrows(IOException.class, () -> MapReader.read(channel("1 2\n3 4\n5 6"), 2, 2));
+        assertEquals("line 3: more than 2 rows", manyRows.getMessage());
+    }
+
+    @Test
+    void testRejectsOtherCharacters() {
+        IOException comma = assertThrows(IOException.class, () -> MapReader.read(channel("1,2\n"), 2, 1));
+        assertEquals("line 1: unexpected character ','", comma.getMessage());
+        assertThrows(IOException.class, () -> MapReader.read(channel("-1 2\n"), 2, 1));
+        assertThrows(IOException.class, () -> MapReader.read(channel("65536 2\n"), 2, 1));
+        assertThrows(IOException.class, () -> MapReader.read(channel("99999999999 2\n"), 2, 1));
+    }
+
+    @Test
+    void testMatchesLineSplitOnGameMaps() throws IOException {
+        GamePanel gp = new GamePanel(true);
+        for (String path : new String[] {"/maps/Lobby.txt", "/maps/worldmap.txt", "/maps/ChristmasMap.txt", "/maps/Basement.txt"}) {
+            int[][] expected = new int[gp.maxWorldCol][gp.maxWorldRow];
+            try (BufferedReader br = new BufferedReader(new InputStreamReader(getClass().getResourceAsStream(path)))) {
+                for (int row = 0; row < gp.maxWorldRow; row++) {
+                    String[] numbers = br.readLine().trim().split(" +");
+                    for (int col = 0; col < gp.maxWorldCol; col++) {
+                        expected[col][row] = Integer.parseInt(numbers[col]);
+                    }
+                }
+            }
+
+            TileGrid tiles = MapReader.read(Channels.newChannel(getClass().getResourceAsStream(path)),
+                    gp.maxWorldCol, gp.maxWorldRow);
+            for (int col = 0; col < gp.maxWorldCol; col++) {
+                assertArrayEquals(expected[col], column(tiles, col), path + " column " + col);
+            }
+            assertArrayEquals(column(gp.tileM.getMap(indexOf(path)), 5), column(tiles, 5), "TileManager loads the same map");
+        }
+    }
+
+    private static int indexOf(String path) {
+        switch (path) {
+            case "/maps/Lobby.txt": return 0;
+            case "/maps/worldmap.txt": return 1;
+            case "/maps/ChristmasMap.txt": return 2;
+            default: return 3;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.group5.tile;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for {@link TileGrid}.
+ */
+public class TileGridTest {
+
+    @Test
+    void testNewGridIsFilledWithTileZero() {
+        TileGrid grid = new TileGrid(4, 3);
+        assertEquals(4, grid.getCols());
+        assertEquals(3, grid.getRows());
+        for (int i = 0; i < 12; i++) {
+            assertEquals(0, grid.get(i));
+        }
+        assertEquals(0, grid.max());
+    }
+
+    @Test
+    void testIndexIsRowMajor() {
+        TileGrid grid = new TileGrid(4, 3);
+        assertEquals(0, grid.index(0, 0));
+        assertEquals(3, grid.index(3, 0));
+        assertEquals(4, grid.index(0, 1));
+        assertEquals(11, grid.index(3, 2));
+
+        grid.set(2, 1, 7);
+        assertEquals(7, grid.get(2, 1));
+        assertEquals(7, grid.get(grid.index(2, 1)));
+        assertEquals(0, grid.get(1, 2), "column and row are not swapped");
+    }
+
+    @Test
+    void testStoresTileNumbersUnsigned() {
+        TileGrid grid = new TileGrid(2, 1);
+        grid.set(0, 0, 40_000);
+        grid.set(1, TileGrid.MAX_TILE);
+        assertEquals(40_000, grid.get(0, 0));
+        assertEquals(TileGrid.MAX_TILE, grid.get(1, 0));
+        assertEquals(TileGrid.MAX_TILE, grid.max());
+    }
+
+    @Test
+    void testRejectsTileNumbersThatDoNotFit() {
+        TileGrid grid = new TileGrid(1, 1);
+        assertThrows(IllegalArgumentException.class, () -> grid.set(0, 0, 70_000));
+        assertThrows(IllegalArgumentException.class, () -> grid.set(0, 0, -1));
+        assertEquals(0, grid.get(0, 0));
+    }
+}